@@ -0,0 +1,35 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.data.DatabaseConnection;
+import edu.univ.erp.data.EmbeddedDataSourceProvider;
+import edu.univ.erp.util.DatasetGenerator;
+
+import java.sql.SQLException;
+
+/**
+ * Embedded database for benchmarks.
+ *
+ * Selects the embedded DataSourceProvider (schema only, no sample seed) and
+ * fills it with DatasetGenerator, so the unmodified DAOs run against a
+ * realistic, reproducible dataset. Must be started before the first DAO call.
+ */
+public final class BenchmarkDatabase {
+
+    private static boolean started;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Create the schema and generate the dataset. Idempotent within a JVM;
+     * IDs start at 1, so benchmarks can address rows by small IDs.
+     */
+    public static synchronized void start(DatasetGenerator.Spec spec) throws SQLException {
+        if (started) {
+            return;
+        }
+        DatabaseConnection.setProvider(new EmbeddedDataSourceProvider(false));
+        new DatasetGenerator(spec).generate();
+        started = true;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.data.CourseDAO;
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.util.DatasetGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseDAO.search as used by the catalog search box: a selective code
+ * prefix, a broad department match, and no match at all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CourseSearchBenchmark {
+
+    @Param({"1000"})
+    public int courses;
+
+    @Param({"CSE12", "Mathematics", "nomatch"})
+    public String query;
+
+    private CourseDAO courseDAO;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Catalog-heavy shape: many courses, few students
+        BenchmarkDatabase.start(new DatasetGenerator.Spec(2000, 300, courses, 1, 5, 2, "Fall", 2025, 42L));
+        courseDAO = new CourseDAO();
+    }
+
+    @Benchmark
+    public List<Course> search() {
+        return courseDAO.search(query);
+    }
+
+    @Benchmark
+    public List<Course> findAll() {
+        return courseDAO.findAll();
+    }
+}
@@ -0,0 +1,71 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.util.CsvUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV escaping and row formatting for the grade-sheet and class-data exports,
+ * written to memory so only formatting cost is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private String[][] table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            String name = i % 7 == 0 ? "O'Brien, \"Jr.\"" : "Student No" + i;
+            table[i] = new String[] {
+                "CS101-A", String.format("2025%06d", i), name, "stu" + i + "@univ.edu",
+                String.valueOf(40 + i % 60), String.valueOf(50 + i % 50), "B"
+            };
+        }
+    }
+
+    /** Grade sheet export: fields quoted only when needed (GradeEntryPanel). */
+    @Benchmark
+    public String gradeSheetExport() {
+        StringBuilder out = new StringBuilder(rows * 64);
+        for (String[] row : table) {
+            for (int c = 0; c < row.length; c++) {
+                if (c > 0) out.append(',');
+                out.append(CsvUtil.escape(row[c]));
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    /** Class data export: always-quoted fields via printf (ReportsPanel). */
+    @Benchmark
+    public String classDataExport() {
+        StringWriter buffer = new StringWriter(rows * 80);
+        try (PrintWriter writer = new PrintWriter(buffer)) {
+            for (String[] row : table) {
+                writer.printf("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%.1f,\"%s\"%n",
+                        CsvUtil.escapeQuoted(row[0]),
+                        CsvUtil.escapeQuoted(row[1]),
+                        CsvUtil.escapeQuoted(row[2]),
+                        CsvUtil.escapeQuoted(row[3]),
+                        "ENROLLED",
+                        Double.parseDouble(row[5]),
+                        row[6]);
+            }
+        }
+        return buffer.toString();
+    }
+}
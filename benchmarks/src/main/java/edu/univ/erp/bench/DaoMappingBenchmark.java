@@ -0,0 +1,72 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.data.EnrollmentDAO;
+import edu.univ.erp.data.GradeDAO;
+import edu.univ.erp.data.SectionDAO;
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.util.DatasetGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query plus ResultSet-to-domain mapping for the DAO calls the panels make most.
+ * The private map methods are exercised through their public callers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoMappingBenchmark {
+
+    @Param({"10000"})
+    public int students;
+
+    private SectionDAO sectionDAO;
+    private EnrollmentDAO enrollmentDAO;
+    private GradeDAO gradeDAO;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start(DatasetGenerator.Spec.forStudents(students, 42L));
+        sectionDAO = new SectionDAO();
+        enrollmentDAO = new EnrollmentDAO();
+        gradeDAO = new GradeDAO();
+    }
+
+    @Benchmark
+    public List<Section> sectionFindAll() throws SQLException {
+        return sectionDAO.findAll();
+    }
+
+    @Benchmark
+    public Section sectionFindById() throws SQLException {
+        return sectionDAO.findById(7L);
+    }
+
+    @Benchmark
+    public List<Section> sectionListOpen() {
+        return sectionDAO.listOpenSections("Fall", 2025);
+    }
+
+    @Benchmark
+    public List<Enrollment> enrollmentListBySection() {
+        return enrollmentDAO.listBySection(7L);
+    }
+
+    @Benchmark
+    public List<Enrollment> enrollmentListByStudent() {
+        return enrollmentDAO.listByStudent(7L);
+    }
+
+    @Benchmark
+    public List<Grade> gradeListByEnrollment() {
+        return gradeDAO.listByEnrollment(7L);
+    }
+}
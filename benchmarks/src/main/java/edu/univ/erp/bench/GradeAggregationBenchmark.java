@@ -0,0 +1,81 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.service.GradeKernel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Term-end aggregation over 10M grade cells (2.5M students x 4 components,
+ * one in ten ungraded): weighted totals, per-component stats and the
+ * letter-grade histogram, with the scalar kernel against the Vector API one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class GradeAggregationBenchmark {
+
+    private static final double[] WEIGHTS = {0.2, 0.1, 0.3, 0.4};
+    private static final double[] LETTER_BOUNDS = {60, 70, 80, 90};
+
+    @Param({"scalar", "vector"})
+    public String kernelType;
+
+    @Param({"2500000"})
+    public int students;
+
+    private GradeKernel kernel;
+    private double[][] columns;
+    private double[] totals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernel = "vector".equals(kernelType) ? GradeKernel.get() : GradeKernel.scalar();
+        if (kernel == GradeKernel.scalar() && "vector".equals(kernelType)) {
+            throw new IllegalStateException("Vector API not available; run with --add-modules jdk.incubator.vector");
+        }
+        Random random = new Random(42L);
+        columns = new double[WEIGHTS.length][students];
+        for (double[] column : columns) {
+            for (int i = 0; i < students; i++) {
+                column[i] = random.nextInt(10) == 0 ? Double.NaN : 40 + random.nextInt(61);
+            }
+        }
+        totals = new double[students];
+    }
+
+    @Benchmark
+    public double[] weightedTotals() {
+        Arrays.fill(totals, 0.0);
+        for (int c = 0; c < columns.length; c++) {
+            kernel.addWeighted(totals, columns[c], WEIGHTS[c]);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public double componentStats() {
+        double spread = 0.0;
+        for (double[] column : columns) {
+            spread += kernel.summarize(column).stdDev();
+        }
+        return spread;
+    }
+
+    @Benchmark
+    public int[] letterHistogram() {
+        int[] counts = new int[LETTER_BOUNDS.length + 1];
+        for (double[] column : columns) {
+            int[] columnCounts = kernel.histogram(column, LETTER_BOUNDS);
+            for (int b = 0; b < counts.length; b++) {
+                counts[b] += columnCounts[b];
+            }
+        }
+        return counts;
+    }
+}
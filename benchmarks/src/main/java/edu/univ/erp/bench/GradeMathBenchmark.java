@@ -0,0 +1,72 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.domain.Grade;
+import edu.univ.erp.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Final-grade arithmetic and letter-grade conversion over a section's worth
+ * of enrollments, each with the usual four weighted components.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeMathBenchmark {
+
+    private static final String[] COMPONENTS = {"Assignment", "Quiz", "Midterm", "End-Sem"};
+    private static final double[] WEIGHTS = {20, 10, 30, 40};
+
+    @Param({"60", "1000"})
+    public int enrollments;
+
+    private List<List<Grade>> gradesByEnrollment;
+    private double[] percents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        gradesByEnrollment = new ArrayList<>(enrollments);
+        percents = new double[enrollments];
+        for (int e = 0; e < enrollments; e++) {
+            List<Grade> grades = new ArrayList<>(COMPONENTS.length);
+            for (int c = 0; c < COMPONENTS.length; c++) {
+                Grade g = new Grade((long) e, COMPONENTS[c], 100.0, WEIGHTS[c]);
+                // Leave some scores ungraded, as mid-term data looks
+                g.setScore(random.nextInt(10) == 0 ? null : (double) (40 + random.nextInt(61)));
+                grades.add(g);
+            }
+            gradesByEnrollment.add(grades);
+            percents[e] = random.nextDouble() * 100.0;
+        }
+    }
+
+    @Benchmark
+    public void finalPercent(Blackhole bh) {
+        for (List<Grade> grades : gradesByEnrollment) {
+            bh.consume(GradeCalculator.finalPercent(grades));
+        }
+    }
+
+    @Benchmark
+    public void letterGrade(Blackhole bh) {
+        for (double pct : percents) {
+            bh.consume(GradeCalculator.letterGrade(pct));
+        }
+    }
+
+    @Benchmark
+    public void finalLetterGrade(Blackhole bh) {
+        for (List<Grade> grades : gradesByEnrollment) {
+            bh.consume(GradeCalculator.letterGrade(GradeCalculator.finalPercent(grades)));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.auth.PasswordUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt verification, the dominant CPU cost of a login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "student123";
+
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hash = PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifyCorrect() {
+        return PasswordUtil.verifyPassword(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean verifyWrong() {
+        return PasswordUtil.verifyPassword("wrong-password", hash);
+    }
+}
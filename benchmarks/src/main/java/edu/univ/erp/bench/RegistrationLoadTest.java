@@ -0,0 +1,343 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.auth.UserRole;
+import edu.univ.erp.data.DatabaseConnection;
+import edu.univ.erp.data.EmbeddedDataSourceProvider;
+import edu.univ.erp.data.PoolMetrics;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.domain.User;
+import edu.univ.erp.service.CourseService;
+import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.service.SectionService;
+import edu.univ.erp.service.SettingsService;
+import edu.univ.erp.util.DatasetGenerator;
+import edu.univ.erp.util.LatencyHistogram;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registration-opening load test: registration flips on and N students hit
+ * the services at once, each on its own virtual thread, with a mix of
+ * enroll, drop, browse (SectionService.listOpen) and search
+ * (CourseService.search) operations.
+ *
+ * Reports throughput, per-operation latency percentiles and outcomes, ERP
+ * pool wait times, and checks afterwards that no section is overbooked and
+ * that every section's enrolled counter matches its active enrollments.
+ * Exits with status 1 if the consistency checks fail.
+ *
+ * Runs against the database selected by db.provider. With the embedded
+ * provider (the default here) a dataset is generated first; against MySQL
+ * the existing data is used unless --generate is given.
+ * <pre>
+ *   java -cp benchmarks/target/benchmarks.jar edu.univ.erp.bench.RegistrationLoadTest --users 2000 --ops 20
+ *   java -Ddb.provider=mysql -cp benchmarks/target/benchmarks.jar edu.univ.erp.bench.RegistrationLoadTest
+ * </pre>
+ *
+ * The desktop app holds one session per JVM, so the harness runs under a
+ * single ADMIN session; permission checks pass and each virtual user acts
+ * as a different student.
+ */
+public final class RegistrationLoadTest {
+
+    private enum Op { ENROLL, DROP, BROWSE, SEARCH }
+
+    private static final String[] SEARCH_TERMS = {"Intro", "Advanced", "CSE", "Mathematics", "Algorithms", "Physics", "Data"};
+
+    private final int users;
+    private final int opsPerUser;
+    private final int[] mix;
+    private final long thinkMillis;
+    private final long seed;
+
+    private final SectionService sectionService = new SectionService();
+    private final CourseService courseService = new CourseService();
+    private final EnrollmentService enrollmentService = new EnrollmentService();
+
+    private final Map<Op, LatencyHistogram> latencies = new EnumMap<>(Op.class);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    private RegistrationLoadTest(int users, int opsPerUser, int[] mix, long thinkMillis, long seed) {
+        this.users = users;
+        this.opsPerUser = opsPerUser;
+        this.mix = mix;
+        this.thinkMillis = thinkMillis;
+        this.seed = seed;
+        for (Op op : Op.values()) {
+            latencies.put(op, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = 2000;
+        int opsPerUser = 20;
+        int[] mix = {50, 10, 25, 15};
+        long thinkMillis = 0;
+        long seed = 42L;
+        Integer generate = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--help".equals(arg) || "-h".equals(arg)) {
+                printUsage();
+                return;
+            }
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value for " + arg);
+                printUsage();
+                System.exit(2);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--users" -> users = Integer.parseInt(value);
+                case "--ops" -> opsPerUser = Integer.parseInt(value);
+                case "--think-ms" -> thinkMillis = Long.parseLong(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--generate" -> generate = Integer.parseInt(value);
+                case "--mix" -> mix = parseMix(value);
+                default -> {
+                    System.err.println("Unknown option: " + arg);
+                    printUsage();
+                    System.exit(2);
+                }
+            }
+        }
+
+        // Embedded unless -Ddb.provider is given explicitly (application.properties defaults to mysql)
+        boolean embedded = "embedded".equalsIgnoreCase(System.getProperty("db.provider", "embedded"));
+        if (embedded) {
+            DatabaseConnection.setProvider(new EmbeddedDataSourceProvider(false));
+            if (generate == null) {
+                generate = users;
+            }
+        }
+        if (generate != null && generate > 0) {
+            System.out.printf("Generating %d students...%n", generate);
+            DatasetGenerator.Summary summary = new DatasetGenerator(DatasetGenerator.Spec.forStudents(generate, seed)).generate();
+            System.out.printf("  %d sections, %d enrollments, %d grades in %.1f s%n",
+                    summary.sections(), summary.enrollments(), summary.grades(), summary.elapsedMillis() / 1000.0);
+        }
+
+        boolean consistent;
+        try {
+            consistent = new RegistrationLoadTest(users, opsPerUser, mix, thinkMillis, seed).run();
+        } finally {
+            DatabaseConnection.closeAll();
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        SettingsService settings = new SettingsService();
+        String semester = settings.get("current_semester");
+        int year = Integer.parseInt(settings.get("current_year"));
+
+        SessionManager.getInstance().setCurrentUser(new User(0L, "loadtest", UserRole.ADMIN));
+
+        List<Long> students = loadStudentIds(users);
+        List<Section> openSections = sectionService.listOpen(semester, year);
+        if (students.isEmpty() || openSections.isEmpty()) {
+            System.err.printf("Nothing to test: %d students, %d open sections for %s %d%n",
+                    students.size(), openSections.size(), semester, year);
+            return false;
+        }
+        long[] sectionIds = openSections.stream().mapToLong(Section::getSectionId).toArray();
+
+        // The operational event: registration flips on with everyone waiting
+        settings.set("registration_enabled", "true");
+        PoolMetrics pool = PoolMetrics.forPool("ErpDB-Pool");
+        pool.reset();
+
+        System.out.printf("Running %d users x %d ops (enroll/drop/browse/search = %d/%d/%d/%d) against %d open sections of %s %d%n",
+                students.size(), opsPerUser, mix[0], mix[1], mix[2], mix[3], sectionIds.length, semester, year);
+
+        CountDownLatch gate = new CountDownLatch(1);
+        long start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < students.size(); u++) {
+                long studentId = students.get(u);
+                Random random = new Random(seed * 31 + u);
+                executor.submit(() -> {
+                    gate.await();
+                    simulateStudent(studentId, sectionIds, semester, year, random);
+                    return null;
+                });
+            }
+            start = System.nanoTime();
+            gate.countDown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(seconds, pool);
+        return checkConsistency();
+    }
+
+    private void simulateStudent(long studentId, long[] sectionIds, String semester, int year, Random random) {
+        List<Long> mySections = new ArrayList<>();
+        for (int i = 0; i < opsPerUser; i++) {
+            Op op = pickOp(random, !mySections.isEmpty());
+            long begin = System.nanoTime();
+            try {
+                switch (op) {
+                    case ENROLL -> {
+                        long sectionId = sectionIds[random.nextInt(sectionIds.length)];
+                        String result = enrollmentService.enroll(studentId, sectionId);
+                        count(op, result);
+                        if ("ENROLLED".equals(result)) {
+                            mySections.add(sectionId);
+                        }
+                    }
+                    case DROP -> {
+                        Long sectionId = mySections.remove(random.nextInt(mySections.size()));
+                        count(op, enrollmentService.drop(studentId, sectionId));
+                    }
+                    case BROWSE -> count(op, sectionService.listOpen(semester, year).isEmpty() ? "empty" : "ok");
+                    case SEARCH -> count(op, courseService.search(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]).isEmpty() ? "empty" : "ok");
+                }
+            } catch (Exception e) {
+                errors.increment();
+                count(op, "exception: " + e.getClass().getSimpleName());
+            } finally {
+                latencies.get(op).record(System.nanoTime() - begin);
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(random.nextLong(thinkMillis * 2 + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Op pickOp(Random random, boolean canDrop) {
+        int total = mix[0] + (canDrop ? mix[1] : 0) + mix[2] + mix[3];
+        int roll = random.nextInt(total);
+        if ((roll -= mix[0]) < 0) return Op.ENROLL;
+        if (canDrop && (roll -= mix[1]) < 0) return Op.DROP;
+        if ((roll -= mix[2]) < 0) return Op.BROWSE;
+        return Op.SEARCH;
+    }
+
+    private void count(Op op, String result) {
+        // Collapse messages with IDs or exception text into their category
+        String category = result.length() > 48 ? result.substring(0, 48) + "..." : result;
+        outcomes.computeIfAbsent(op + ": " + category, k -> new LongAdder()).increment();
+    }
+
+    private List<Long> loadStudentIds(int limit) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT student_id FROM students ORDER BY student_id LIMIT ?")) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void report(double seconds, PoolMetrics pool) {
+        long totalOps = latencies.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+        System.out.printf("%nCompleted %d operations in %.2f s: %.0f ops/s (%d errors)%n", totalOps, seconds, totalOps / seconds, errors.sum());
+
+        System.out.printf("%n%-8s %9s %10s %10s %10s %10s %10s%n", "op", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<Op, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            if (h.getCount() == 0) continue;
+            System.out.printf("%-8s %9d %10.2f %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(), h.getCount(),
+                    h.getMeanNanos() / 1e6, ms(h.getPercentileNanos(0.50)), ms(h.getPercentileNanos(0.90)),
+                    ms(h.getPercentileNanos(0.99)), ms(h.getMaxNanos()));
+        }
+
+        System.out.println("\nOutcomes:");
+        new TreeMap<>(outcomes).forEach((outcome, n) -> System.out.printf("  %-60s %8d%n", outcome, n.sum()));
+
+        LatencyHistogram wait = pool.getAcquireTimes();
+        LatencyHistogram hold = pool.getUsageTimes();
+        System.out.printf("%nPool %s (max %d): %d checkouts, wait p50 %.2f / p99 %.2f / max %.2f ms, hold p99 %.0f ms, %d timeouts%n",
+                pool.getPoolName(), pool.getMaxConnections(), wait.getCount(),
+                ms(wait.getPercentileNanos(0.50)), ms(wait.getPercentileNanos(0.99)), ms(wait.getMaxNanos()),
+                ms(hold.getPercentileNanos(0.99)), pool.getTimeouts());
+    }
+
+    /**
+     * Overbooking check: no section above capacity, and each section's
+     * enrolled counter equal to its count of enrollments that are not DROPPED
+     * (past terms keep their COMPLETED rows in the counter).
+     */
+    private boolean checkConsistency() throws SQLException {
+        String overCapacity = "SELECT s.section_id, s.capacity, s.enrolled, "
+                + "(SELECT COUNT(*) FROM enrollments e WHERE e.section_id = s.section_id AND e.status <> 'DROPPED') AS active "
+                + "FROM sections s";
+        int overbooked = 0;
+        int drifted = 0;
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement ps = conn.prepareStatement(overCapacity);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                long sectionId = rs.getLong("section_id");
+                int capacity = rs.getInt("capacity");
+                int enrolled = rs.getInt("enrolled");
+                int active = rs.getInt("active");
+                if (active > capacity || enrolled > capacity) {
+                    overbooked++;
+                    if (overbooked <= 10) {
+                        System.out.printf("  OVERBOOKED section %d: capacity %d, counter %d, active enrollments %d%n",
+                                sectionId, capacity, enrolled, active);
+                    }
+                }
+                if (enrolled != active) {
+                    drifted++;
+                    if (drifted <= 10) {
+                        System.out.printf("  DRIFT section %d: counter %d, active enrollments %d%n", sectionId, enrolled, active);
+                    }
+                }
+            }
+        }
+        System.out.printf("%nConsistency: %d overbooked sections, %d sections with counter drift -> %s%n",
+                overbooked, drifted, overbooked == 0 && drifted == 0 ? "OK" : "FAILED");
+        return overbooked == 0 && drifted == 0;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static int[] parseMix(String value) {
+        String[] parts = value.split(":");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("--mix needs four weights enroll:drop:browse:search, e.g. 50:10:25:15");
+        }
+        int[] mix = new int[4];
+        for (int i = 0; i < 4; i++) {
+            mix[i] = Integer.parseInt(parts[i].trim());
+        }
+        return mix;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: RegistrationLoadTest [--users N] [--ops N] [--mix enroll:drop:browse:search]");
+        System.out.println("                            [--think-ms N] [--seed N] [--generate STUDENTS]");
+        System.out.println("Database: -Ddb.provider=embedded (default, generates data) or -Ddb.provider=mysql");
+    }
+}
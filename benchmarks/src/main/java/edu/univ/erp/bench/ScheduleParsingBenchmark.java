@@ -0,0 +1,74 @@
+package edu.univ.erp.bench;
+
+import edu.univ.erp.util.ScheduleUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timetable grid placement: the student timetable (day list split plus hour
+ * slot lookup) and the instructor schedule (every day/slot cell checked
+ * against every section, parsing the 12-hour slot label each time).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleParsingBenchmark {
+
+    private static final String[] HOUR_SLOTS = {"08:00", "09:00", "10:00", "11:00", "12:00", "13:00", "14:00", "15:00", "16:00", "17:00"};
+    private static final String[] AMPM_SLOTS = {"08:00 AM", "09:00 AM", "10:00 AM", "11:00 AM", "12:00 PM",
+            "01:00 PM", "02:00 PM", "03:00 PM", "04:00 PM", "05:00 PM"};
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+    private static final String[] DAY_PATTERNS = {"Monday,Wednesday", "Tuesday,Thursday", "Monday,Wednesday,Friday", "Friday"};
+
+    @Param({"6", "40"})
+    public int sections;
+
+    private String[] dayLists;
+    private LocalTime[] starts;
+    private LocalTime[] ends;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        dayLists = new String[sections];
+        starts = new LocalTime[sections];
+        ends = new LocalTime[sections];
+        for (int i = 0; i < sections; i++) {
+            dayLists[i] = DAY_PATTERNS[random.nextInt(DAY_PATTERNS.length)];
+            starts[i] = LocalTime.of(8 + random.nextInt(9), 0);
+            ends[i] = starts[i].plusMinutes(90);
+        }
+    }
+
+    @Benchmark
+    public void studentTimetable(Blackhole bh) {
+        for (int i = 0; i < sections; i++) {
+            for (String day : ScheduleUtil.splitDays(dayLists[i])) {
+                bh.consume(day);
+                bh.consume(ScheduleUtil.findHourSlot(starts[i], HOUR_SLOTS));
+            }
+        }
+    }
+
+    @Benchmark
+    public int instructorGrid() {
+        int occupied = 0;
+        for (String day : DAYS) {
+            for (String slot : AMPM_SLOTS) {
+                for (int i = 0; i < sections; i++) {
+                    if (ScheduleUtil.occupiesSlot(dayLists[i], starts[i], ends[i], day, ScheduleUtil.parseTimeSlot(slot))) {
+                        occupied++;
+                    }
+                }
+            }
+        }
+        return occupied;
+    }
+}
@@ -124,6 +124,57 @@ CREATE TABLE IF NOT EXISTS settings (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 ) ENGINE=InnoDB;
 
+-- Change log: one row per domain write, committed with it. Clients poll
+-- WHERE seq > ? to pick up each other's writes; rows are pruned after
+-- db.changelog.retentionHours.
+CREATE TABLE IF NOT EXISTS change_log (
+    seq BIGINT PRIMARY KEY AUTO_INCREMENT,
+    origin BIGINT NOT NULL,
+    entity VARCHAR(20) NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT,
+    student_id BIGINT,
+    section_id BIGINT,
+    enrollment_id BIGINT,
+    setting_key VARCHAR(100),
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_changed_at (changed_at)
+) ENGINE=InnoDB;
+
+-- Running grade statistics per section: one row per grade component, plus
+-- '#overall' (students' weighted averages) and '#final' (final letter
+-- grades). Kept current by the DAO writes; see GradeStatsDAO.
+CREATE TABLE IF NOT EXISTS grade_stats (
+    section_id BIGINT NOT NULL,
+    component VARCHAR(50) NOT NULL,
+    graded_count INT NOT NULL DEFAULT 0,
+    score_sum DOUBLE NOT NULL DEFAULT 0,
+    score_sum_squares DOUBLE NOT NULL DEFAULT 0,
+    min_score DOUBLE,
+    max_score DOUBLE,
+    count_a INT NOT NULL DEFAULT 0,
+    count_b INT NOT NULL DEFAULT 0,
+    count_c INT NOT NULL DEFAULT 0,
+    count_d INT NOT NULL DEFAULT 0,
+    count_f INT NOT NULL DEFAULT 0,
+    digest BLOB,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (section_id, component),
+    FOREIGN KEY (section_id) REFERENCES sections(section_id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- Cumulative GPA per student: graded credits and credits x grade points
+-- over graded, non-dropped enrollments. Kept current by
+-- EnrollmentDAO.updateFinalGrade; see TranscriptDAO.
+CREATE TABLE IF NOT EXISTS student_gpa (
+    student_id BIGINT PRIMARY KEY,
+    graded_credits INT NOT NULL DEFAULT 0,
+    quality_points DOUBLE NOT NULL DEFAULT 0,
+    graded_courses INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (student_id) REFERENCES students(student_id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
 -- Insert default settings
 INSERT INTO settings (setting_key, setting_value) VALUES
     ('maintenance_mode', 'false'),
@@ -1,35 +1,70 @@
 package edu.univ.erp;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import edu.univ.erp.data.ChangeLogPoller;
+import edu.univ.erp.data.DatabaseConnection;
+import edu.univ.erp.metrics.MetricsHttpServer;
+import edu.univ.erp.metrics.MetricsMBeans;
+import edu.univ.erp.remote.ServiceHost;
+import edu.univ.erp.remote.Services;
+import edu.univ.erp.ui.EdtWatchdog;
 import edu.univ.erp.ui.auth.LoginFrame;
+import edu.univ.erp.util.ConfigUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
- * Main entry point for the University ERP System.
+ * Main entry point for the University ERP System. With --server it runs
+ * headless as the {@link ServiceHost} instead of opening the UI.
  */
 public class Main {
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--server")) {
+            runServer();
+            return;
+        }
+
+        long start = System.nanoTime();
         logger.info("Starting University ERP System...");
 
+        // Build the connection pools in the background while the UI comes up.
+        // Remote clients reach the database through the service host and only
+        // open pools lazily if an admin screen needs them.
+        if (!Services.isRemote()) {
+            DatabaseConnection.initializeAsync();
+            ChangeLogPoller.startFromConfig();
+        }
+
+        if (ConfigUtil.getBooleanProperty("metrics.jmx.enabled", true)) {
+            MetricsMBeans.register();
+        }
+        MetricsHttpServer.startFromConfig();
+
         // Set the FlatLaf Look and Feel
         try {
             UIManager.setLookAndFeel(new FlatLightLaf());
-            logger.info("FlatLaf Look and Feel applied successfully");
+            logger.info("FlatLaf Look and Feel applied in {} ms", elapsedMillis(start));
         } catch (UnsupportedLookAndFeelException e) {
             logger.warn("Failed to apply FlatLaf, using default Look and Feel", e);
         }
 
+        EdtWatchdog watchdog = EdtWatchdog.installFromConfig();
+        if (watchdog != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(watchdog.report()), "edt-watchdog-report"));
+        }
+
         // Initialize the application on the Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             try {
                 LoginFrame loginFrame = new LoginFrame();
                 loginFrame.setVisible(true);
-                logger.info("Login frame displayed");
+                logger.info("Login frame displayed in {} ms", elapsedMillis(start));
             } catch (Exception e) {
                 logger.error("Failed to start application", e);
                 JOptionPane.showMessageDialog(null,
@@ -40,4 +75,37 @@ public class Main {
             }
         });
     }
+
+    /**
+     * Host the service layer for remote clients; the HTTP server threads keep
+     * the JVM running.
+     */
+    private static void runServer() {
+        logger.info("Starting University ERP service host...");
+        if (!DatabaseConnection.testConnections()) {
+            logger.error("Database not reachable; service host not started");
+            System.exit(1);
+        }
+        // The host's caches must also follow writes from local-mode clients and the admin screens
+        ChangeLogPoller.startFromConfig();
+        if (ConfigUtil.getBooleanProperty("metrics.jmx.enabled", true)) {
+            MetricsMBeans.register();
+        }
+        MetricsHttpServer.startFromConfig();
+        try {
+            ServiceHost host = ServiceHost.startFromConfig();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                host.stop();
+                ChangeLogPoller.stop();
+                DatabaseConnection.closeAll();
+            }, "service-host-shutdown"));
+        } catch (IOException e) {
+            logger.error("Failed to start service host", e);
+            System.exit(1);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
 }
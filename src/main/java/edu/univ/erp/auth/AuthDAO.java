@@ -71,6 +71,75 @@ public class AuthDAO {
         }
     }
 
+    /**
+     * Record a successful login in a single statement: stamps last_login and
+     * clears the failed attempt counter.
+     */
+    public void recordSuccessfulLogin(Long userId) throws SQLException {
+        String sql = "UPDATE users_auth SET last_login = CURRENT_TIMESTAMP, failed_login_attempts = 0 WHERE user_id = ?";
+
+        try (Connection conn = DatabaseConnection.getAuthConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, userId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Error recording successful login for user_id: {}", userId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Record a failed login in a single atomic statement. The UPDATE only
+     * applies if the counter still holds the value the caller read, so its
+     * update count says whether this call moved it to observedAttempts + 1,
+     * and the account is locked in the same statement once that reaches
+     * maxAttempts. Only if another login changed the counter in between is
+     * it read again and the update retried.
+     *
+     * @param observedAttempts the failed attempt count from findByUsername
+     * @return the failed attempt count written by this call
+     */
+    public int recordFailedLogin(Long userId, int observedAttempts, int maxAttempts) throws SQLException {
+        String sql = "UPDATE users_auth SET " +
+                     "status = CASE WHEN ? >= ? THEN 'LOCKED' ELSE status END, " +
+                     "failed_login_attempts = ? " +
+                     "WHERE user_id = ? AND failed_login_attempts = ?";
+
+        try (Connection conn = DatabaseConnection.getAuthConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int expected = observedAttempts;
+            while (true) {
+                stmt.setInt(1, expected + 1);
+                stmt.setInt(2, maxAttempts);
+                stmt.setInt(3, expected + 1);
+                stmt.setLong(4, userId);
+                stmt.setInt(5, expected);
+                if (stmt.executeUpdate() == 1) {
+                    return expected + 1;
+                }
+                expected = currentFailedAttempts(conn, userId);
+            }
+        } catch (SQLException e) {
+            logger.error("Error recording failed login for user_id: {}", userId, e);
+            throw e;
+        }
+    }
+
+    private int currentFailedAttempts(Connection conn, Long userId) throws SQLException {
+        String sql = "SELECT failed_login_attempts FROM users_auth WHERE user_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+                throw new SQLException("User not found: " + userId);
+            }
+        }
+    }
+
     /**
      * Update user status (ACTIVE, INACTIVE, LOCKED).
      */
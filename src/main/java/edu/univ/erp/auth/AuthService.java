@@ -1,66 +1,134 @@
 package edu.univ.erp.auth;
 
 import edu.univ.erp.domain.User;
+import edu.univ.erp.jfr.ServiceOperationEvent;
+import edu.univ.erp.metrics.ServiceMetrics;
 import edu.univ.erp.util.ConfigUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Authentication service for login and password management.
  */
 public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
+    // Profile loading is I/O bound and short-lived, so virtual threads fit well
+    private static final ExecutorService PROFILE_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     private final AuthDAO authDAO;
+    private final LoginThrottle loginThrottle;
+    private final ProfileLoader profileLoader;
     private final int maxLoginAttempts;
 
     public AuthService() {
-        this.authDAO = new AuthDAO();
+        this(new AuthDAO(), LoginThrottle.getInstance(), new ProfileLoader());
+    }
+
+    /**
+     * Constructor with dependency injection for testing.
+     */
+    public AuthService(AuthDAO authDAO, LoginThrottle loginThrottle) {
+        this(authDAO, loginThrottle, new ProfileLoader());
+    }
+
+    /**
+     * Constructor with dependency injection for testing.
+     */
+    public AuthService(AuthDAO authDAO, LoginThrottle loginThrottle, ProfileLoader profileLoader) {
+        this.authDAO = authDAO;
+        this.loginThrottle = loginThrottle;
+        this.profileLoader = profileLoader;
         this.maxLoginAttempts = ConfigUtil.getIntProperty("security.max.login.attempts", 5);
     }
 
     /**
      * Authenticate user with username and password.
      * Returns User object if successful, null otherwise.
+     * The desktop login has no source to pass: its throttle lives in the
+     * client process, so only the per-username limit applies there. The
+     * service host passes each client's address, which enables the
+     * per-source limit.
      */
     public AuthResult authenticate(String username, String password) {
+        return authenticate(username, password, null);
+    }
+
+    /**
+     * Authenticate user with username and password from a given source
+     * (client host or address). Attempts over the in-memory throttle limit
+     * are rejected before any password hashing or database access.
+     * Once the password checks out, the ERP profile is loaded alongside the
+     * last-login update and returned, so panels need no profile query.
+     */
+    public AuthResult authenticate(String username, String password, String source) {
+        ServiceOperationEvent event = ServiceOperationEvent.start("AuthService.authenticate");
+        AuthResult result = doAuthenticate(username, password, source);
+        event.finish(result.isSuccess() ? "SUCCESS" : result.getMessage());
+        return result;
+    }
+
+    private AuthResult doAuthenticate(String username, String password, String source) {
+        if (!loginThrottle.tryAcquire(username, source)) {
+            ServiceMetrics.THROTTLED_LOGINS.increment();
+            return new AuthResult(false, "Too many login attempts. Please wait a minute and try again.", null);
+        }
+
         try {
             // Find user
             User user = authDAO.findByUsername(username);
             if (user == null) {
                 logger.warn("Login attempt for non-existent user: {}", username);
+                ServiceMetrics.LOGIN_FAILURES.increment();
                 return new AuthResult(false, "Incorrect username or password", null);
             }
 
             // Check if account is locked
             if ("LOCKED".equals(user.getStatus())) {
                 logger.warn("Login attempt for locked account: {}", username);
+                ServiceMetrics.LOGIN_FAILURES.increment();
                 return new AuthResult(false, "Account is locked. Contact administrator.", null);
             }
 
             // Check if account is inactive
             if ("INACTIVE".equals(user.getStatus())) {
                 logger.warn("Login attempt for inactive account: {}", username);
+                ServiceMetrics.LOGIN_FAILURES.increment();
                 return new AuthResult(false, "Account is inactive. Contact administrator.", null);
             }
 
-            // Verify password
             boolean passwordValid = PasswordUtil.verifyPassword(password, user.getPasswordHash());
 
             if (passwordValid) {
-                // Successful login
-                authDAO.updateLastLogin(user.getUserId());
-                authDAO.updateFailedLoginAttempts(user.getUserId(), 0);
+                // Load the profile from the ERP DB while the auth DB records the login
+                CompletableFuture<UserProfile> profileFuture = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return profileLoader.load(user);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, PROFILE_EXECUTOR);
+                // Successful login - last_login and counter reset in one statement
+                authDAO.recordSuccessfulLogin(user.getUserId());
+                loginThrottle.recordSuccess(username, source);
                 logger.info("Successful login for user: {}", username);
-                return new AuthResult(true, "Login successful", user);
+                ServiceMetrics.LOGIN_SUCCESSES.increment();
+                return new AuthResult(true, "Login successful", user, awaitProfile(profileFuture, username));
             } else {
-                // Failed login - increment failed attempts
-                int failedAttempts = user.getFailedLoginAttempts() + 1;
-                authDAO.updateFailedLoginAttempts(user.getUserId(), failedAttempts);
 
-                // Lock account if max attempts exceeded
+                // Failed login - the database increments the counter and locks the
+                // account atomically; each count is written by exactly one attempt
+                int failedAttempts = authDAO.recordFailedLogin(user.getUserId(), user.getFailedLoginAttempts(), maxLoginAttempts);
+                ServiceMetrics.LOGIN_FAILURES.increment();
+
                 if (failedAttempts >= maxLoginAttempts) {
-                    authDAO.updateStatus(user.getUserId(), "LOCKED");
                     logger.warn("Account locked due to too many failed attempts: {}", username);
+                    ServiceMetrics.LOCKOUTS.increment();
                     return new AuthResult(false, "Account locked due to too many failed login attempts.", null);
                 }
 
@@ -74,10 +142,30 @@ public class AuthService {
         }
     }
 
+    /**
+     * Wait for the profile. A failed lookup does not fail the login; panels
+     * fall back to looking the profile up themselves.
+     */
+    private UserProfile awaitProfile(CompletableFuture<UserProfile> profileFuture, String username) {
+        try {
+            return profileFuture.join();
+        } catch (Exception e) {
+            logger.warn("Profile lookup failed for user: {}", username, e);
+            return null;
+        }
+    }
+
     /**
      * Change password for a user.
      */
     public boolean changePassword(Long userId, String currentPassword, String newPassword) {
+        ServiceOperationEvent event = ServiceOperationEvent.start("AuthService.changePassword");
+        boolean changed = doChangePassword(userId, currentPassword, newPassword);
+        event.finish(changed);
+        return changed;
+    }
+
+    private boolean doChangePassword(Long userId, String currentPassword, String newPassword) {
         try {
             // Get user
             User user = authDAO.findByUsername(SessionManager.getInstance().getCurrentUser().getUsername());
@@ -110,11 +198,17 @@ public class AuthService {
         private final boolean success;
         private final String message;
         private final User user;
+        private final UserProfile profile;
 
         public AuthResult(boolean success, String message, User user) {
+            this(success, message, user, null);
+        }
+
+        public AuthResult(boolean success, String message, User user, UserProfile profile) {
             this.success = success;
             this.message = message;
             this.user = user;
+            this.profile = profile;
         }
 
         public boolean isSuccess() {
@@ -128,5 +222,12 @@ public class AuthService {
         public User getUser() {
             return user;
         }
+
+        /**
+         * ERP profile loaded during login, or null if unavailable.
+         */
+        public UserProfile getProfile() {
+            return profile;
+        }
     }
 }
@@ -0,0 +1,256 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory sliding-window throttle for failed logins.
+ * Rejects attempts for a username (or source) that failed too often recently,
+ * before any BCrypt work or auth DB access happens. This sits in front of the
+ * persisted lockout counter in users_auth: throttled attempts never reach the
+ * database, so they neither cost a query nor count towards the lockout.
+ *
+ * {@link #tryAcquire} counts every admitted attempt as a failure up front, so
+ * a burst of concurrent attempts cannot all get past the limit while their
+ * password checks are still running. A successful login gives the attempt
+ * back with {@link #recordSuccess}.
+ *
+ * Each key keeps a two-bucket sliding window counter that is updated with CAS,
+ * so the hot path takes no locks. Counts decay as the window slides, and idle
+ * keys are swept out periodically so memory stays bounded.
+ */
+public class LoginThrottle {
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+    private static final int SWEEP_INTERVAL = 256;
+
+    private static LoginThrottle instance;
+
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerSource;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, SlidingWindow> usernameWindows = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindow> sourceWindows = new ConcurrentHashMap<>();
+    private final AtomicLong recordsSinceSweep = new AtomicLong();
+
+    private final LongAdder allowedAttempts = new LongAdder();
+    private final LongAdder rejectedByUsername = new LongAdder();
+    private final LongAdder rejectedBySource = new LongAdder();
+
+    public LoginThrottle(int maxFailuresPerUsername, int maxFailuresPerSource, long windowSeconds) {
+        this(maxFailuresPerUsername, maxFailuresPerSource, windowSeconds, System::nanoTime);
+    }
+
+    LoginThrottle(int maxFailuresPerUsername, int maxFailuresPerSource, long windowSeconds, LongSupplier clock) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("Window must be positive, got: " + windowSeconds);
+        }
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerSource = maxFailuresPerSource;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.clock = clock;
+    }
+
+    /**
+     * Shared throttle configured from application.properties.
+     */
+    public static synchronized LoginThrottle getInstance() {
+        if (instance == null) {
+            instance = new LoginThrottle(
+                    ConfigUtil.getIntProperty("security.throttle.username.max.failures", 10),
+                    ConfigUtil.getIntProperty("security.throttle.source.max.failures", 50),
+                    ConfigUtil.getIntProperty("security.throttle.window.seconds", 60));
+        }
+        return instance;
+    }
+
+    /**
+     * Admit an attempt if neither window is at its limit, counting it as a
+     * failure in the same atomic step. Call {@link #recordSuccess} if the
+     * attempt turns out to succeed.
+     *
+     * @param username the username being attempted
+     * @param source the client source (host/address), or null if unknown
+     * @return true if the attempt may proceed to password verification
+     */
+    public boolean tryAcquire(String username, String source) {
+        long now = clock.getAsLong();
+        SlidingWindow sourceWindow = maxFailuresPerSource > 0 && source != null ? window(sourceWindows, source, now) : null;
+        if (sourceWindow != null && !sourceWindow.tryIncrement(now, windowNanos, maxFailuresPerSource)) {
+            rejectedBySource.increment();
+            logger.warn("Login throttled for source: {}", source);
+            return false;
+        }
+        if (maxFailuresPerUsername > 0 && username != null
+                && !window(usernameWindows, normalize(username), now).tryIncrement(now, windowNanos, maxFailuresPerUsername)) {
+            if (sourceWindow != null) {
+                sourceWindow.decrement(now, windowNanos);
+            }
+            rejectedByUsername.increment();
+            logger.warn("Login throttled for user: {}", username);
+            return false;
+        }
+        allowedAttempts.increment();
+        if (recordsSinceSweep.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            sweep(now);
+        }
+        return true;
+    }
+
+    /**
+     * Count a failed attempt that did not go through {@link #tryAcquire}.
+     */
+    public void recordFailure(String username, String source) {
+        long now = clock.getAsLong();
+        if (username != null) {
+            window(usernameWindows, normalize(username), now).increment(now, windowNanos);
+        }
+        if (source != null) {
+            window(sourceWindows, source, now).increment(now, windowNanos);
+        }
+    }
+
+    /**
+     * Give back an attempt admitted by {@link #tryAcquire} that succeeded:
+     * forget the username's failures and uncount the attempt for the source.
+     */
+    public void recordSuccess(String username, String source) {
+        if (username != null) {
+            usernameWindows.remove(normalize(username));
+        }
+        SlidingWindow sourceWindow = source != null ? sourceWindows.get(source) : null;
+        if (sourceWindow != null) {
+            sourceWindow.decrement(clock.getAsLong(), windowNanos);
+        }
+    }
+
+    /**
+     * Remove windows that have been idle for longer than two window lengths.
+     */
+    void sweep(long now) {
+        usernameWindows.values().removeIf(w -> w.isIdle(now, windowNanos));
+        sourceWindows.values().removeIf(w -> w.isIdle(now, windowNanos));
+    }
+
+    private static SlidingWindow window(Map<String, SlidingWindow> windows, String key, long now) {
+        return windows.computeIfAbsent(key, k -> new SlidingWindow(now));
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Metrics
+
+    public long getAllowedAttempts() {
+        return allowedAttempts.sum();
+    }
+
+    public long getRejectedByUsername() {
+        return rejectedByUsername.sum();
+    }
+
+    public long getRejectedBySource() {
+        return rejectedBySource.sum();
+    }
+
+    public long getRejectedAttempts() {
+        return rejectedByUsername.sum() + rejectedBySource.sum();
+    }
+
+    public int getTrackedKeys() {
+        return usernameWindows.size() + sourceWindows.size();
+    }
+
+    /**
+     * Two-bucket sliding window counter. The estimate weights the previous
+     * bucket by how much of it still overlaps the sliding window.
+     */
+    private static final class SlidingWindow {
+        private final AtomicReference<Buckets> state;
+
+        SlidingWindow(long now) {
+            this.state = new AtomicReference<>(new Buckets(now, 0, 0));
+        }
+
+        void increment(long now, long windowNanos) {
+            Buckets current;
+            Buckets next;
+            do {
+                current = state.get();
+                Buckets rolled = current.roll(now, windowNanos);
+                next = new Buckets(rolled.start, rolled.previous, rolled.current + 1);
+            } while (!state.compareAndSet(current, next));
+        }
+
+        /**
+         * Increment unless the estimate is already at the limit.
+         */
+        boolean tryIncrement(long now, long windowNanos, int limit) {
+            Buckets current;
+            Buckets next;
+            do {
+                current = state.get();
+                Buckets rolled = current.roll(now, windowNanos);
+                if (rolled.estimate(now, windowNanos) >= limit) {
+                    return false;
+                }
+                next = new Buckets(rolled.start, rolled.previous, rolled.current + 1);
+            } while (!state.compareAndSet(current, next));
+            return true;
+        }
+
+        /**
+         * Take back one increment, from the previous bucket if it has rolled over.
+         */
+        void decrement(long now, long windowNanos) {
+            Buckets current;
+            Buckets next;
+            do {
+                current = state.get();
+                Buckets rolled = current.roll(now, windowNanos);
+                if (rolled.current > 0) {
+                    next = new Buckets(rolled.start, rolled.previous, rolled.current - 1);
+                } else if (rolled.previous > 0) {
+                    next = new Buckets(rolled.start, rolled.previous - 1, 0);
+                } else {
+                    return;
+                }
+            } while (!state.compareAndSet(current, next));
+        }
+
+        boolean isIdle(long now, long windowNanos) {
+            return now - state.get().start >= 2 * windowNanos;
+        }
+    }
+
+    private record Buckets(long start, int previous, int current) {
+        // The previous bucket is weighted by how much of it the window still overlaps
+        double estimate(long now, long windowNanos) {
+            double overlap = 1.0 - (double) (now - start) / windowNanos;
+            return previous * Math.max(0.0, overlap) + current;
+        }
+
+        Buckets roll(long now, long windowNanos) {
+            long elapsed = now - start;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            if (elapsed < 2 * windowNanos) {
+                return new Buckets(start + windowNanos, current, 0);
+            }
+            return new Buckets(now, 0, 0);
+        }
+    }
+}
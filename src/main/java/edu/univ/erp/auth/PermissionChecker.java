@@ -202,6 +202,34 @@ public class PermissionChecker {
         }
     }
 
+    /**
+     * Check if the current user can access the sections of the specified instructor.
+     * 
+     * @param instructorId The instructor ID to check access for
+     * @throws PermissionException if user is not that instructor or an admin
+     */
+    public void requireInstructorAccess(Long instructorId) {
+        requireInstructor();
+        User user = SessionManager.getInstance().getCurrentUser();
+
+        // Admins can access any instructor's sections
+        if (UserRole.ADMIN.equals(user.getRole())) {
+            return;
+        }
+
+        Long currentInstructorId = SessionManager.getInstance().getInstructorId();
+        if (currentInstructorId == null) {
+            logger.error("Instructor user {} has no instructor ID in session", user.getUsername());
+            throw new PermissionException("Instructor profile not found");
+        }
+
+        if (!currentInstructorId.equals(instructorId)) {
+            logger.warn("Permission denied: Instructor {} attempted to access sections of instructor {}", 
+                    currentInstructorId, instructorId);
+            throw new PermissionException("You can only access sections you are teaching");
+        }
+    }
+
     /**
      * Check if the current user is an instructor.
      * 
@@ -0,0 +1,65 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.data.InstructorDAO;
+import edu.univ.erp.data.StudentDAO;
+import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.domain.Student;
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+/**
+ * Resolves the ERP profile for an authenticated user.
+ * Used by AuthService once the password has been verified.
+ */
+public class ProfileLoader {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileLoader.class);
+
+    private final StudentDAO studentDAO;
+    private final InstructorDAO instructorDAO;
+
+    public ProfileLoader() {
+        this(new StudentDAO(), new InstructorDAO());
+    }
+
+    /**
+     * Constructor with dependency injection for testing.
+     */
+    public ProfileLoader(StudentDAO studentDAO, InstructorDAO instructorDAO) {
+        this.studentDAO = studentDAO;
+        this.instructorDAO = instructorDAO;
+    }
+
+    /**
+     * Load the profile matching the user's role.
+     *
+     * @return the profile, or an empty profile for admins and users without an ERP record
+     */
+    public UserProfile load(User user) throws SQLException {
+        if (user == null || user.getUserId() == null) {
+            return UserProfile.empty();
+        }
+
+        if (UserRole.STUDENT.equals(user.getRole())) {
+            Student student = studentDAO.findByUserId(user.getUserId());
+            if (student == null) {
+                logger.warn("No student record found for user ID: {}", user.getUserId());
+                return UserProfile.empty();
+            }
+            return UserProfile.forStudent(student);
+        }
+
+        if (UserRole.INSTRUCTOR.equals(user.getRole())) {
+            Instructor instructor = instructorDAO.findByUserId(user.getUserId());
+            if (instructor == null) {
+                logger.warn("No instructor record found for user ID: {}", user.getUserId());
+                return UserProfile.empty();
+            }
+            return UserProfile.forInstructor(instructor);
+        }
+
+        return UserProfile.empty();
+    }
+}
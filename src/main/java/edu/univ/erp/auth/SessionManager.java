@@ -1,17 +1,25 @@
 package edu.univ.erp.auth;
 
+import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.domain.Student;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.util.ConfigUtil;
 
 /**
  * Session manager to track the currently logged-in user.
  * Handles session timeout for security.
+ *
+ * The desktop client has one session. The service host keeps one per
+ * connected client and binds it to the request thread with
+ * {@link #bind(SessionManager)}, so permission checks see the caller.
  */
 public class SessionManager {
     private static SessionManager instance;
+    private static final ThreadLocal<SessionManager> boundSession = new ThreadLocal<>();
     private User currentUser;
     private Long studentId;
     private Long instructorId;
+    private volatile UserProfile profile;
     private long lastActivityTime;
     private static final long SESSION_TIMEOUT_MS = 30 * 60 * 1000;
 
@@ -19,13 +27,37 @@ public class SessionManager {
         this.lastActivityTime = System.currentTimeMillis();
     }
 
-    public static synchronized SessionManager getInstance() {
+    public static SessionManager getInstance() {
+        SessionManager bound = boundSession.get();
+        return bound != null ? bound : applicationSession();
+    }
+
+    private static synchronized SessionManager applicationSession() {
         if (instance == null) {
             instance = new SessionManager();
         }
         return instance;
     }
 
+    /**
+     * Create a session separate from the application's, for the service host.
+     */
+    public static SessionManager newSession() {
+        return new SessionManager();
+    }
+
+    /**
+     * Make {@link #getInstance()} return the given session on this thread
+     * until {@link #unbind()}.
+     */
+    public static void bind(SessionManager session) {
+        boundSession.set(session);
+    }
+
+    public static void unbind() {
+        boundSession.remove();
+    }
+
     public void setCurrentUser(User user) {
         this.currentUser = user;
         this.lastActivityTime = System.currentTimeMillis();
@@ -126,6 +158,45 @@ public class SessionManager {
         return instructorId;
     }
 
+    /**
+     * Set the ERP profile resolved at login. Also records the student or
+     * instructor ID used by permission checks.
+     */
+    public void setProfile(UserProfile profile) {
+        this.profile = profile;
+        if (profile != null && profile.isStudent()) {
+            this.studentId = profile.getStudent().getStudentId();
+        }
+        if (profile != null && profile.isInstructor()) {
+            this.instructorId = profile.getInstructor().getInstructorId();
+        }
+    }
+
+    /**
+     * Get the ERP profile resolved at login, or null if none was loaded.
+     */
+    public UserProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get the current student's record from the login profile.
+     * Returns null if the profile was not loaded at login; callers then look it up.
+     */
+    public Student getStudent() {
+        UserProfile p = profile;
+        return p != null ? p.getStudent() : null;
+    }
+
+    /**
+     * Get the current instructor's record from the login profile.
+     * Returns null if the profile was not loaded at login; callers then look it up.
+     */
+    public Instructor getInstructor() {
+        UserProfile p = profile;
+        return p != null ? p.getInstructor() : null;
+    }
+
     /**
      * Logout the current user.
      */
@@ -133,6 +204,7 @@ public class SessionManager {
         this.currentUser = null;
         this.studentId = null;
         this.instructorId = null;
+        this.profile = null;
     }
 
     @Override
@@ -0,0 +1,61 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.domain.Student;
+
+/**
+ * ERP-side profile of the logged-in user, resolved once at login.
+ * Holds the Student or Instructor record. Immutable; a fresh profile
+ * replaces the old one when it changes.
+ */
+public final class UserProfile {
+    private final Student student;
+    private final Instructor instructor;
+
+    private UserProfile(Student student, Instructor instructor) {
+        this.student = student;
+        this.instructor = instructor;
+    }
+
+    public static UserProfile forStudent(Student student) {
+        return new UserProfile(student, null);
+    }
+
+    public static UserProfile forInstructor(Instructor instructor) {
+        return new UserProfile(null, instructor);
+    }
+
+    /**
+     * Profile for users with no ERP record (admins, or a missing profile row).
+     */
+    public static UserProfile empty() {
+        return new UserProfile(null, null);
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Instructor getInstructor() {
+        return instructor;
+    }
+
+    public boolean isStudent() {
+        return student != null;
+    }
+
+    public boolean isInstructor() {
+        return instructor != null;
+    }
+
+    @Override
+    public String toString() {
+        if (student != null) {
+            return "UserProfile{student=" + student.getStudentId() + "}";
+        }
+        if (instructor != null) {
+            return "UserProfile{instructor=" + instructor.getInstructorId() + "}";
+        }
+        return "UserProfile{empty}";
+    }
+}
@@ -0,0 +1,293 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.events.CourseChanged;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EnrollmentChanged;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.GradeChanged;
+import edu.univ.erp.events.SectionChanged;
+import edu.univ.erp.events.SettingsChanged;
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Write side of the change_log table. DAO writes go through {@link #insert}
+ * or {@link #update}, which run the statement and append one change_log row
+ * describing it in the same transaction, then publish the event on the
+ * {@link EventBus} once committed:
+ * <pre>
+ *   try (Connection conn = ...; PreparedStatement ps = ...) {
+ *       ps.setLong(1, sectionId);
+ *       return ChangeLog.update(conn, ps, new SectionChanged(sectionId, Change.UPDATED)) == 1;
+ *   }
+ * </pre>
+ * Other clients tail the table with {@link ChangeLogPoller}. Each row carries
+ * this process's {@link #ORIGIN} so a client skips its own writes, which it
+ * has already published locally.
+ *
+ * A DAO that writes rows derived from the change in the same transaction
+ * (e.g. grade_stats) wraps both in {@link #inTransaction}; the events are
+ * then published when that transaction commits.
+ *
+ * With db.changelog.enabled=false no rows are written (for databases created
+ * before the table existed); events are still published in-process.
+ */
+public final class ChangeLog {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+
+    /**
+     * Random ID of this process, stored with every row it writes.
+     */
+    public static final long ORIGIN = new SecureRandom().nextLong();
+
+    private static final boolean enabled = ConfigUtil.getBooleanProperty("db.changelog.enabled", true);
+
+    static final String COLUMNS = "seq, origin, entity, change_type, entity_id, student_id, section_id, enrollment_id, setting_key";
+
+    // Events of the inTransaction block running on this thread, published on commit
+    private static final ThreadLocal<List<DomainEvent>> pending = new ThreadLocal<>();
+
+    /**
+     * Statements to run as one transaction.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO change_log (origin, entity, change_type, entity_id, student_id, section_id, enrollment_id, setting_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private ChangeLog() {
+    }
+
+    /**
+     * Whether DAO writes append change_log rows (db.changelog.enabled).
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Execute an INSERT prepared with RETURN_GENERATED_KEYS and log the event
+     * built from the new key.
+     *
+     * @return the generated key, or null if the statement inserted nothing
+     */
+    public static Long insert(Connection conn, PreparedStatement ps, LongFunction<? extends DomainEvent> event) throws SQLException {
+        DomainEvent logged = null;
+        Long key = null;
+        boolean autoCommit = begin(conn);
+        try {
+            if (ps.executeUpdate() > 0) {
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        key = keys.getLong(1);
+                        logged = event.apply(key);
+                        append(conn, logged);
+                    }
+                }
+            }
+            commit(conn, autoCommit);
+        } catch (SQLException | RuntimeException e) {
+            rollback(conn, autoCommit);
+            throw e;
+        } finally {
+            restore(conn, autoCommit);
+        }
+        publish(logged, autoCommit);
+        return key;
+    }
+
+    /**
+     * Execute an UPDATE, DELETE or upsert and log the event if it changed any
+     * rows.
+     *
+     * @return the update count
+     */
+    public static int update(Connection conn, PreparedStatement ps, DomainEvent event) throws SQLException {
+        int rows;
+        boolean autoCommit = begin(conn);
+        try {
+            rows = ps.executeUpdate();
+            if (rows > 0) {
+                append(conn, event);
+            }
+            commit(conn, autoCommit);
+        } catch (SQLException | RuntimeException e) {
+            rollback(conn, autoCommit);
+            throw e;
+        } finally {
+            restore(conn, autoCommit);
+        }
+        publish(rows > 0 ? event : null, autoCommit);
+        return rows;
+    }
+
+    /**
+     * Run work as one transaction on conn, publishing the events of the
+     * {@link #insert} and {@link #update} calls inside it after the commit.
+     * Joins the caller's transaction if conn is not in auto-commit mode.
+     */
+    public static <T> T inTransaction(Connection conn, Work<T> work) throws SQLException {
+        if (!conn.getAutoCommit() || pending.get() != null) {
+            return work.run();
+        }
+        List<DomainEvent> events = new ArrayList<>();
+        pending.set(events);
+        T result;
+        try {
+            conn.setAutoCommit(false);
+            try {
+                result = work.run();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            pending.remove();
+        }
+        for (DomainEvent event : events) {
+            EventBus.getInstance().publish(event);
+        }
+        return result;
+    }
+
+    /**
+     * Delete rows older than the retention period. Pollers only read recent
+     * rows, so the table stays small.
+     *
+     * @return rows deleted
+     */
+    public static int prune(Duration retention) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM change_log WHERE changed_at < ?")) {
+            ps.setTimestamp(1, Timestamp.from(Instant.now().minus(retention)));
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Rebuild the event a row (selected with {@link #COLUMNS}) describes.
+     */
+    static DomainEvent read(ResultSet rs) throws SQLException {
+        String entity = rs.getString("entity");
+        DomainEvent.Change change = DomainEvent.Change.valueOf(rs.getString("change_type"));
+        Long id = getLong(rs, "entity_id");
+        return switch (entity) {
+            case "COURSE" -> new CourseChanged(id, change);
+            case "SECTION" -> new SectionChanged(id, change);
+            case "ENROLLMENT" -> new EnrollmentChanged(id, getLong(rs, "student_id"), getLong(rs, "section_id"), change);
+            case "GRADE" -> new GradeChanged(id, getLong(rs, "enrollment_id"), change);
+            case "SETTINGS" -> new SettingsChanged(rs.getString("setting_key"));
+            default -> throw new SQLException("Unknown change_log entity: " + entity);
+        };
+    }
+
+    private static void append(Connection conn, DomainEvent event) throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+            ps.setLong(1, ORIGIN);
+            switch (event) {
+                case CourseChanged e -> bind(ps, "COURSE", e.change(), e.courseId(), null, null, null, null);
+                case SectionChanged e -> bind(ps, "SECTION", e.change(), e.sectionId(), null, null, null, null);
+                case EnrollmentChanged e -> bind(ps, "ENROLLMENT", e.change(), e.enrollmentId(), e.studentId(), e.sectionId(), null, null);
+                case GradeChanged e -> bind(ps, "GRADE", e.change(), e.gradeId(), null, null, e.enrollmentId(), null);
+                case SettingsChanged e -> bind(ps, "SETTINGS", DomainEvent.Change.UPDATED, null, null, null, null, e.key());
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    private static void bind(PreparedStatement ps, String entity, DomainEvent.Change change, Long entityId,
+                             Long studentId, Long sectionId, Long enrollmentId, String settingKey) throws SQLException {
+        ps.setString(2, entity);
+        ps.setString(3, change.name());
+        setLong(ps, 4, entityId);
+        setLong(ps, 5, studentId);
+        setLong(ps, 6, sectionId);
+        setLong(ps, 7, enrollmentId);
+        ps.setString(8, settingKey);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) ps.setLong(index, value); else ps.setNull(index, Types.BIGINT);
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * Open a transaction unless the caller already has one.
+     *
+     * @return whether the connection was in auto-commit mode
+     */
+    private static boolean begin(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        if (autoCommit && enabled) {
+            conn.setAutoCommit(false);
+        }
+        return autoCommit;
+    }
+
+    private static void commit(Connection conn, boolean autoCommit) throws SQLException {
+        if (autoCommit && enabled) {
+            conn.commit();
+        }
+    }
+
+    private static void rollback(Connection conn, boolean autoCommit) {
+        if (autoCommit && enabled) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                logger.warn("Rollback of change-logged write failed", e);
+            }
+        }
+    }
+
+    private static void restore(Connection conn, boolean autoCommit) throws SQLException {
+        if (autoCommit && enabled) {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void publish(DomainEvent event, boolean committed) {
+        if (event == null) {
+            return;
+        }
+        List<DomainEvent> deferred = pending.get();
+        if (committed) {
+            EventBus.getInstance().publish(event);
+        } else if (deferred != null) {
+            deferred.add(event);
+        } else {
+            // The caller's transaction may still roll back
+            logger.debug("Not publishing {} from an open transaction", event);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the change_log table and republishes other clients' writes on the
+ * {@link EventBus}, so open screens and caches see them without re-running
+ * their list queries. Each poll is one primary-key range scan
+ * ({@code WHERE seq > ?}) that returns nothing when nobody wrote.
+ *
+ * Sequence numbers are assigned at insert but become visible at commit, so
+ * a slow transaction can commit a lower seq after a higher one was read.
+ * Skipped numbers are remembered as gaps and re-checked for
+ * db.changelog.gapMillis; gaps left by rolled-back writes then expire.
+ */
+public final class ChangeLogPoller {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_TRACKED_GAPS = 1_000;
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private static ChangeLogPoller started;
+
+    private final long origin;
+    private final EventBus bus;
+    private final long gapNanos;
+    private final Duration retention;
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long lastSeq = -1;
+    private long lastPrune;
+    private Thread thread;
+
+    ChangeLogPoller(long origin, EventBus bus, Duration gapTimeout, Duration retention) {
+        this.origin = origin;
+        this.bus = bus;
+        this.gapNanos = gapTimeout.toNanos();
+        this.retention = retention;
+        this.lastPrune = System.nanoTime() - PRUNE_INTERVAL_NANOS;
+    }
+
+    /**
+     * Start polling every db.changelog.pollMillis if the change log is
+     * enabled. Starting again returns the running poller.
+     *
+     * @return the poller, or null when disabled
+     */
+    public static synchronized ChangeLogPoller startFromConfig() {
+        if (!ChangeLog.isEnabled()) {
+            return null;
+        }
+        if (started == null) {
+            ChangeLogPoller poller = new ChangeLogPoller(ChangeLog.ORIGIN, EventBus.getInstance(),
+                    Duration.ofMillis(ConfigUtil.getIntProperty("db.changelog.gapMillis", 10_000)),
+                    Duration.ofHours(ConfigUtil.getIntProperty("db.changelog.retentionHours", 24)));
+            long interval = ConfigUtil.getIntProperty("db.changelog.pollMillis", 2_000);
+            poller.thread = Thread.ofPlatform().daemon().name("change-log-poller").start(() -> poller.pollLoop(interval));
+            started = poller;
+            logger.info("Polling change_log every {} ms", interval);
+        }
+        return started;
+    }
+
+    /**
+     * Stop the poller started by {@link #startFromConfig}.
+     */
+    public static synchronized void stop() {
+        if (started != null) {
+            started.thread.interrupt();
+            started = null;
+        }
+    }
+
+    private void pollLoop(long intervalMillis) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                poll();
+                if (System.nanoTime() - lastPrune >= PRUNE_INTERVAL_NANOS) {
+                    lastPrune = System.nanoTime();
+                    int pruned = ChangeLog.prune(retention);
+                    if (pruned > 0) {
+                        logger.debug("Pruned {} change_log rows", pruned);
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("change_log poll failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Read rows committed since the last poll and publish those written by
+     * other processes. The first poll only records the current position.
+     *
+     * @return events published
+     */
+    synchronized int poll() throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection()) {
+            if (lastSeq < 0) {
+                try (Statement st = conn.createStatement();
+                     ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM change_log")) {
+                    rs.next();
+                    lastSeq = rs.getLong(1);
+                }
+                return 0;
+            }
+            int published = 0;
+            if (!gaps.isEmpty()) {
+                published += read(conn, "SELECT " + ChangeLog.COLUMNS + " FROM change_log WHERE seq BETWEEN ? AND ? ORDER BY seq",
+                        gaps.firstKey(), gaps.lastKey());
+                expireGaps();
+            }
+            published += read(conn, "SELECT " + ChangeLog.COLUMNS + " FROM change_log WHERE seq > ? ORDER BY seq LIMIT " + BATCH_SIZE,
+                    lastSeq, null);
+            return published;
+        }
+    }
+
+    private int read(Connection conn, String sql, long from, Long to) throws SQLException {
+        int published = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, from);
+            if (to != null) ps.setLong(2, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long seq = rs.getLong("seq");
+                    if (seq > lastSeq) {
+                        recordGaps(seq);
+                        lastSeq = seq;
+                    } else if (gaps.remove(seq) == null) {
+                        continue;
+                    }
+                    if (rs.getLong("origin") != origin) {
+                        bus.publish(ChangeLog.read(rs));
+                        published++;
+                    }
+                }
+            }
+        }
+        return published;
+    }
+
+    private void recordGaps(long seq) {
+        long now = System.nanoTime();
+        for (long missing = lastSeq + 1; missing < seq && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+            gaps.put(missing, now);
+        }
+    }
+
+    private void expireGaps() {
+        long now = System.nanoTime();
+        gaps.values().removeIf(seenAt -> now - seenAt >= gapNanos);
+    }
+
+    /**
+     * Highest sequence number seen so far, -1 before the first poll.
+     */
+    synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Skipped sequence numbers still being watched.
+     */
+    synchronized int getGapCount() {
+        return gaps.size();
+    }
+}
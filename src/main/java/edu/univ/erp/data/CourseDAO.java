@@ -1,6 +1,8 @@
 package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Course;
+import edu.univ.erp.events.CourseChanged;
+import edu.univ.erp.events.DomainEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +58,15 @@ public class CourseDAO {
 
     public Course findById(Long id) {
         if (id == null) return null;
+        try {
+            return EntityCaches.COURSES.get(id, this::loadById);
+        } catch (SQLException e) {
+            logger.error("Error finding course by id {}", id, e);
+        }
+        return null;
+    }
+
+    private Course loadById(Long id) throws SQLException {
         String sql = BASE_SELECT + " WHERE course_id = ?";
         try (Connection conn = DatabaseConnection.getErpConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -65,8 +76,6 @@ public class CourseDAO {
                     return mapRow(rs);
                 }
             }
-        } catch (SQLException e) {
-            logger.error("Error finding course by id {}", id, e);
         }
         return null;
     }
@@ -92,17 +101,11 @@ public class CourseDAO {
             ps.setInt(4, course.getCredits());
             ps.setString(5, course.getDepartment());
             
-            ps.executeUpdate();
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) {
-                    return keys.getLong(1);
-                }
-            }
+            return ChangeLog.insert(conn, ps, courseId -> new CourseChanged(courseId, DomainEvent.Change.CREATED));
         } catch (SQLException e) {
             logger.error("Error saving course with code: {}", course.getCode(), e);
             throw e;
         }
-        return null;
     }
     
     public void update(Course course) throws SQLException {
@@ -115,7 +118,11 @@ public class CourseDAO {
             ps.setString(4, course.getDepartment());
             ps.setLong(5, course.getCourseId());
             
-            ps.executeUpdate();
+            // Credits may have changed
+            ChangeLog.inTransaction(conn, () -> {
+                TranscriptDAO.invalidateCourse(conn, course.getCourseId());
+                return ChangeLog.update(conn, ps, new CourseChanged(course.getCourseId(), DomainEvent.Change.UPDATED));
+            });
         } catch (SQLException e) {
             logger.error("Error updating course with id: {}", course.getCourseId(), e);
             throw e;
@@ -127,7 +134,10 @@ public class CourseDAO {
         try (Connection conn = DatabaseConnection.getErpConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, courseId);
-            ps.executeUpdate();
+            ChangeLog.inTransaction(conn, () -> {
+                TranscriptDAO.invalidateCourse(conn, courseId);
+                return ChangeLog.update(conn, ps, new CourseChanged(courseId, DomainEvent.Change.DELETED));
+            });
         } catch (SQLException e) {
             logger.error("Error deleting course with id: {}", courseId, e);
             throw e;
@@ -0,0 +1,40 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.util.ConfigUtil;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Supplies the two application databases (erp_auth and erp_main).
+ *
+ * DatabaseConnection asks the configured provider for its pools once, at
+ * startup. Select the implementation with the db.provider property:
+ * "mysql" (default) for the real servers, "embedded" for an in-process
+ * database that needs no server, used by tests and benchmarks.
+ */
+public interface DataSourceProvider {
+
+    /**
+     * Short name for logs, e.g. "mysql".
+     */
+    String getName();
+
+    DataSource createAuthDataSource() throws SQLException;
+
+    DataSource createErpDataSource() throws SQLException;
+
+    /**
+     * Provider named by the db.provider property.
+     */
+    static DataSourceProvider fromConfig() {
+        String name = ConfigUtil.getProperty("db.provider", "mysql").trim();
+        if ("embedded".equalsIgnoreCase(name)) {
+            return new EmbeddedDataSourceProvider();
+        }
+        if (!"mysql".equalsIgnoreCase(name)) {
+            throw new IllegalStateException("Unknown db.provider: " + name + " (expected mysql or embedded)");
+        }
+        return new MySqlDataSourceProvider();
+    }
+}
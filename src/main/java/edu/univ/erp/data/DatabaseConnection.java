@@ -6,78 +6,183 @@ import edu.univ.erp.util.ConfigUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Database connection manager using HikariCP connection pooling.
+ *
+ * Pools are created lazily and in parallel on background threads, so startup
+ * never blocks on database latency. Call {@link #initializeAsync()} early
+ * (Main does this before showing the login window); the first
+ * getConnection call waits only for the pool it needs. The auth pool is
+ * started first with a higher thread priority since login needs it first;
+ * the ERP pool is warmed with a test checkout while the user types. A pool
+ * that failed to start (say the database was briefly down) is started again
+ * by the next getConnection call; see {@link LazyPool}.
+ *
+ * Where the pools come from is decided by a {@link DataSourceProvider}
+ * (MySQL by default, or an embedded database for offline runs). The pools
+ * are always wrapped in an {@link InstrumentedDataSource}, which tracks
+ * running statements so cancelled tasks can stop them
+ * ({@link RunningStatements}). Depending on db.metrics.enabled,
+ * db.querydetector.enabled, db.jfr.enabled and ui.watchdog.jdbcOnEdt it
+ * also feeds {@link QueryMetrics}, {@link QueryScope}, flight recordings and
+ * {@link EdtAccessGuard}.
  */
 public class DatabaseConnection {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
 
-    private static HikariDataSource authDataSource;
-    private static HikariDataSource erpDataSource;
+    private static volatile DataSourceProvider provider;
+    private static final LazyPool AUTH_POOL = new LazyPool("AuthDB", () -> startAuthPool(System.nanoTime()));
+    private static final LazyPool ERP_POOL = new LazyPool("ErpDB", () -> startErpPool(System.nanoTime()));
 
-    static {
-        initializeDataSources();
+    /**
+     * Use a specific provider instead of the one named by db.provider.
+     * Must be called before the pools are initialized.
+     */
+    public static synchronized void setProvider(DataSourceProvider dataSourceProvider) {
+        if (AUTH_POOL.isStarted()) {
+            throw new IllegalStateException("Database pools already initialized with provider " + provider.getName());
+        }
+        provider = dataSourceProvider;
     }
 
-    private static void initializeDataSources() {
-        try {
-            // Auth DB Connection Pool
-            HikariConfig authConfig = new HikariConfig();
-            authConfig.setJdbcUrl(ConfigUtil.getAuthDbUrl());
-            authConfig.setUsername(ConfigUtil.getAuthDbUsername());
-            authConfig.setPassword(ConfigUtil.getAuthDbPassword());
-            authConfig.setMaximumPoolSize(ConfigUtil.getIntProperty("db.pool.size", 10));
-            authConfig.setConnectionTimeout(ConfigUtil.getIntProperty("db.pool.connectionTimeout", 30000));
-            authConfig.setPoolName("AuthDB-Pool");
-            authDataSource = new HikariDataSource(authConfig);
-            logger.info("Auth database connection pool initialized");
-
-            // ERP DB Connection Pool
-            HikariConfig erpConfig = new HikariConfig();
-            erpConfig.setJdbcUrl(ConfigUtil.getErpDbUrl());
-            erpConfig.setUsername(ConfigUtil.getErpDbUsername());
-            erpConfig.setPassword(ConfigUtil.getErpDbPassword());
-            erpConfig.setMaximumPoolSize(ConfigUtil.getIntProperty("db.pool.size", 10));
-            erpConfig.setConnectionTimeout(ConfigUtil.getIntProperty("db.pool.connectionTimeout", 30000));
-            erpConfig.setPoolName("ErpDB-Pool");
-            erpDataSource = new HikariDataSource(erpConfig);
-            logger.info("ERP database connection pool initialized");
+    /**
+     * Start building both connection pools in the background. Safe to call
+     * more than once; later calls return immediately.
+     */
+    public static synchronized void initializeAsync() {
+        if (AUTH_POOL.isStarted()) {
+            return;
+        }
+        if (provider == null) {
+            provider = DataSourceProvider.fromConfig();
+        }
+        logger.info("Using {} database provider", provider.getName());
+        AUTH_POOL.get();
+        ERP_POOL.get();
+    }
+
+    private static CompletableFuture<DataSource> startAuthPool(long start) {
+        DataSourceProvider source = provider;
+        return CompletableFuture.supplyAsync(() -> createPool("AuthDB", source::createAuthDataSource, start),
+                daemonExecutor("db-init-auth", Thread.MAX_PRIORITY));
+    }
+
+    private static CompletableFuture<DataSource> startErpPool(long start) {
+        DataSourceProvider source = provider;
+        CompletableFuture<DataSource> pool = CompletableFuture.supplyAsync(
+                () -> createPool("ErpDB", source::createErpDataSource, start),
+                daemonExecutor("db-init-erp", Thread.NORM_PRIORITY));
+        // Warm the ERP pool once it exists so the first dashboard query doesn't pay connection setup
+        pool.thenAcceptAsync(ds -> warmUp(ds, start), daemonExecutor("db-warmup-erp", Thread.MIN_PRIORITY));
+        return pool;
+    }
 
+    private static DataSource createPool(String name, Callable<DataSource> factory, long start) {
+        try {
+            // Wrapped even with every diagnostic off: task cancellation needs the statement tracking
+            DataSource dataSource = new InstrumentedDataSource(factory.call(), QueryMetrics.isEnabled());
+            logger.info("{} pool initialized in {} ms", name, elapsedMillis(start));
+            return dataSource;
         } catch (Exception e) {
-            logger.error("Failed to initialize database connection pools", e);
-            throw new RuntimeException("Database initialization failed", e);
+            logger.error("Failed to initialize {} pool after {} ms", name, elapsedMillis(start), e);
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Build a Hikari pool with the shared pool settings from application.properties.
+     * Used by the DataSourceProvider implementations.
+     */
+    static HikariDataSource newPool(String poolName, String jdbcUrl, String username, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(ConfigUtil.getIntProperty("db.pool.size", 10));
+        config.setConnectionTimeout(ConfigUtil.getIntProperty("db.pool.connectionTimeout", 30000));
+        config.setPoolName(poolName);
+        config.setMetricsTrackerFactory(PoolMetrics.FACTORY);
+        // Hikari's own pool MXBeans (com.zaxxer.hikari:type=Pool (...)), next to MetricsMBeans
+        config.setRegisterMbeans(ConfigUtil.getBooleanProperty("metrics.jmx.enabled", true));
+        return new HikariDataSource(config);
+    }
+
+    private static void warmUp(DataSource dataSource, long start) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.isValid(2);
+            logger.info("ERP pool warmed up at {} ms", elapsedMillis(start));
+        } catch (SQLException e) {
+            logger.warn("Warm-up of ERP pool failed", e);
+        }
+    }
+
+    private static Executor daemonExecutor(String threadName, int priority) {
+        return task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            thread.start();
+        };
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Wait for a pool to be ready, translating initialization failures into SQLException.
+     */
+    private static DataSource await(CompletableFuture<DataSource> pool) throws SQLException {
+        try {
+            return pool.join();
+        } catch (CompletionException e) {
+            throw new SQLException("Database initialization failed", e.getCause());
+        }
+    }
+
+    private static CompletableFuture<DataSource> authPool() {
+        if (!AUTH_POOL.isStarted()) {
+            initializeAsync();
         }
+        return AUTH_POOL.get();
+    }
+
+    private static CompletableFuture<DataSource> erpPool() {
+        if (!ERP_POOL.isStarted()) {
+            initializeAsync();
+        }
+        return ERP_POOL.get();
     }
 
     /**
      * Get connection to Auth DB (for authentication).
      */
     public static Connection getAuthConnection() throws SQLException {
-        return authDataSource.getConnection();
+        return await(authPool()).getConnection();
     }
 
     /**
      * Get connection to ERP DB (for main data).
      */
     public static Connection getErpConnection() throws SQLException {
-        return erpDataSource.getConnection();
+        return await(erpPool()).getConnection();
     }
 
     /**
-     * Close all connection pools.
+     * Close all connection pools, waiting for any still being built. A later
+     * getConnection call starts them again.
      */
-    public static void closeAll() {
-        if (authDataSource != null && !authDataSource.isClosed()) {
-            authDataSource.close();
-            logger.info("Auth database connection pool closed");
-        }
-        if (erpDataSource != null && !erpDataSource.isClosed()) {
-            erpDataSource.close();
-            logger.info("ERP database connection pool closed");
-        }
+    public static synchronized void closeAll() {
+        AUTH_POOL.close();
+        ERP_POOL.close();
     }
 
     /**
@@ -0,0 +1,133 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.EventQueue;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catches database access on the Swing event dispatch thread, where every
+ * query freezes the window until it returns. {@link InstrumentedDataSource}
+ * calls {@link #check()} on each connection checkout.
+ *
+ * ui.watchdog.jdbcOnEdt selects the behaviour:
+ * <ul>
+ *   <li>off - no check</li>
+ *   <li>warn (default) - log the first occurrence of each call site with its stack</li>
+ *   <li>fail - also throw IllegalStateException, so the offending handler fails
+ *       visibly in development and tests</li>
+ * </ul>
+ * Every offending call site is counted either way; see {@link #getViolations()}.
+ */
+public final class EdtAccessGuard {
+    private static final Logger logger = LoggerFactory.getLogger(EdtAccessGuard.class);
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private static volatile Mode mode = parseMode(ConfigUtil.getProperty("ui.watchdog.jdbcOnEdt", "warn"));
+    private static final Map<String, LongAdder> violations = new ConcurrentHashMap<>();
+
+    private EdtAccessGuard() {
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static void setMode(Mode newMode) {
+        mode = newMode;
+    }
+
+    /**
+     * Record (and in fail mode reject) a database call made on the event thread.
+     */
+    public static void check() {
+        Mode current = mode;
+        if (current == Mode.OFF || !EventQueue.isDispatchThread()) {
+            return;
+        }
+        String site = callSite();
+        LongAdder count = violations.computeIfAbsent(site, k -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            logger.warn("Database access on the Swing event thread from {}", site, new Throwable("EDT database call"));
+        }
+        if (current == Mode.FAIL) {
+            throw new IllegalStateException("Database access on the Swing event thread from " + site
+                    + "; move it into a BackgroundTask");
+        }
+    }
+
+    /**
+     * Offending call sites ("CourseCatalogPanel.showSections:115 -> CourseService.listAll")
+     * with how often each hit the database on the event thread.
+     */
+    public static Map<String, Long> getViolations() {
+        Map<String, Long> result = new TreeMap<>();
+        violations.forEach((site, count) -> result.put(site, count.sum()));
+        return result;
+    }
+
+    public static void reset() {
+        violations.clear();
+    }
+
+    /**
+     * The UI frame that made the call and the application frame that reached
+     * the data source (usually the service or DAO method).
+     */
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> {
+            String inner = null;
+            String ui = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith("edu.univ.erp.") || isPlumbing(className)) {
+                    continue;
+                }
+                if (inner == null) {
+                    inner = shortName(className) + "." + frame.getMethodName();
+                }
+                if (className.startsWith("edu.univ.erp.ui.")) {
+                    ui = shortName(className) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                    break;
+                }
+            }
+            if (ui == null) {
+                return inner != null ? inner : "unknown";
+            }
+            return inner == null || ui.startsWith(inner + ":") ? ui : ui + " -> " + inner;
+        });
+    }
+
+    private static boolean isPlumbing(String className) {
+        for (Class<?> type : new Class<?>[]{EdtAccessGuard.class, InstrumentedDataSource.class, DatabaseConnection.class}) {
+            if (className.equals(type.getName()) || className.startsWith(type.getName() + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String shortName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        // Lambdas and anonymous listeners report their enclosing class
+        int nested = simple.indexOf('$');
+        return nested > 0 ? simple.substring(0, nested) : simple;
+    }
+
+    private static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown ui.watchdog.jdbcOnEdt value '{}', using warn", value);
+            return Mode.WARN;
+        }
+    }
+}
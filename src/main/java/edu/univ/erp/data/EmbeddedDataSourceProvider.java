@@ -0,0 +1,147 @@
+package edu.univ.erp.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process H2 databases in MySQL compatibility mode, for running without
+ * a MySQL server (tests, benchmarks, load tests, demos).
+ *
+ * On creation each database is built from the same scripts as production
+ * (database/*.sql, packaged under db/ on the classpath). The seed scripts are
+ * loaded too unless db.embedded.seed=false. Data lives as long as the JVM.
+ */
+public class EmbeddedDataSourceProvider implements DataSourceProvider {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedDataSourceProvider.class);
+
+    private static final String URL_OPTIONS = ";MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE";
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("(?i)^CREATE TABLE IF NOT EXISTS (\\w+)");
+    private static final Pattern INLINE_INDEX = Pattern.compile("(?m)^(\\s*)(UNIQUE KEY|INDEX) (\\w+)");
+
+    private final String databaseName;
+    private final boolean seed;
+
+    public EmbeddedDataSourceProvider() {
+        this(ConfigUtil.getBooleanProperty("db.embedded.seed", true));
+    }
+
+    /**
+     * @param seed whether to load the sample data scripts after the schema
+     */
+    public EmbeddedDataSourceProvider(boolean seed) {
+        this("erp", seed);
+    }
+
+    /**
+     * @param databaseName prefix for the in-memory database names
+     *                     (databaseName_auth, databaseName_main); use a
+     *                     distinct name for databases isolated from the app's
+     * @param seed         whether to load the sample data scripts after the schema
+     */
+    public EmbeddedDataSourceProvider(String databaseName, boolean seed) {
+        this.databaseName = databaseName;
+        this.seed = seed;
+    }
+
+    @Override
+    public String getName() {
+        return "embedded";
+    }
+
+    @Override
+    public DataSource createAuthDataSource() throws SQLException {
+        return create("AuthDB-Pool", "jdbc:h2:mem:" + databaseName + "_auth" + URL_OPTIONS, "db/01_auth_schema.sql", "db/03_auth_seed.sql");
+    }
+
+    @Override
+    public DataSource createErpDataSource() throws SQLException {
+        return create("ErpDB-Pool", "jdbc:h2:mem:" + databaseName + "_main" + URL_OPTIONS, "db/02_erp_schema.sql", "db/04_erp_seed.sql");
+    }
+
+    private DataSource create(String poolName, String url, String schemaScript, String seedScript) throws SQLException {
+        HikariDataSource dataSource = DatabaseConnection.newPool(poolName, url, "sa", "");
+        try (Connection conn = dataSource.getConnection()) {
+            runScript(conn, schemaScript);
+            if (seed) {
+                runScript(conn, seedScript);
+            }
+        } catch (SQLException e) {
+            dataSource.close();
+            throw e;
+        }
+        logger.info("Embedded database {} ready (seed data: {})", poolName, seed);
+        return dataSource;
+    }
+
+    /**
+     * Execute a classpath SQL script statement by statement.
+     * Statements that only make sense on a MySQL server (CREATE DATABASE, USE,
+     * SET FOREIGN_KEY_CHECKS, TRUNCATE of the fresh tables) are skipped.
+     */
+    static void runScript(Connection conn, String resource) throws SQLException {
+        String script;
+        try (InputStream in = EmbeddedDataSourceProvider.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new SQLException("SQL script not found on classpath: " + resource);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Failed to read SQL script " + resource, e);
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("--")) {
+                body.append(line).append('\n');
+            }
+        }
+
+        try (Statement st = conn.createStatement()) {
+            for (String raw : body.toString().split(";\\s*\n")) {
+                String sql = raw.trim();
+                if (sql.endsWith(";")) {
+                    sql = sql.substring(0, sql.length() - 1);
+                }
+                if (sql.isEmpty() || isServerOnly(sql.toUpperCase())) {
+                    continue;
+                }
+                try {
+                    st.execute(adaptForH2(sql));
+                } catch (SQLException e) {
+                    throw new SQLException("Failed to execute statement from " + resource + ": " + sql, e);
+                }
+            }
+        }
+    }
+
+    private static boolean isServerOnly(String upperSql) {
+        return upperSql.startsWith("CREATE DATABASE") || upperSql.startsWith("USE ")
+                || upperSql.startsWith("SET FOREIGN_KEY_CHECKS") || upperSql.startsWith("TRUNCATE");
+    }
+
+    /**
+     * H2 index names are schema-wide while MySQL's are per table, so prefix
+     * inline index names with the table name.
+     */
+    private static String adaptForH2(String sql) {
+        Matcher table = CREATE_TABLE.matcher(sql);
+        if (!table.find()) {
+            return sql;
+        }
+        return INLINE_INDEX.matcher(sql).replaceAll("$1$2 " + table.group(1) + "_$3");
+    }
+}
@@ -0,0 +1,100 @@
+package edu.univ.erp.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Enrollment counts per section, status and final grade, together with the
+ * section's course, term, instructor and capacity: the facts behind
+ * EnrollmentCube, aggregated by the database in one GROUP BY.
+ */
+public class EnrollmentCubeDAO {
+
+    private static final String SELECT =
+            "SELECT s.section_id, s.capacity, s.semester, s.year, c.code, c.department, i.first_name, i.last_name, " +
+            "e.status, e.final_grade, COUNT(e.enrollment_id) AS enrollments " +
+            "FROM sections s JOIN courses c ON c.course_id = s.course_id " +
+            "LEFT JOIN instructors i ON i.instructor_id = s.instructor_id " +
+            "LEFT JOIN enrollments e ON e.section_id = s.section_id";
+    private static final String GROUP_BY =
+            " GROUP BY s.section_id, s.capacity, s.semester, s.year, c.code, c.department, i.first_name, i.last_name, e.status, e.final_grade";
+
+    /**
+     * Facts for every section. Sections without enrollments have one fact
+     * with a null status and a count of 0.
+     */
+    public List<Fact> loadAll() throws SQLException {
+        return load(SELECT + GROUP_BY, List.of());
+    }
+
+    public List<Fact> loadSections(Collection<Long> sectionIds) throws SQLException {
+        if (sectionIds.isEmpty()) {
+            return List.of();
+        }
+        return load(SELECT + " WHERE s.section_id IN (" + placeholders(sectionIds.size()) + ")" + GROUP_BY, sectionIds);
+    }
+
+    /**
+     * Sections the given enrollments belong to.
+     */
+    public Set<Long> findSectionIds(Collection<Long> enrollmentIds) throws SQLException {
+        Set<Long> sectionIds = new HashSet<>();
+        if (enrollmentIds.isEmpty()) {
+            return sectionIds;
+        }
+        String sql = "SELECT DISTINCT section_id FROM enrollments WHERE enrollment_id IN (" + placeholders(enrollmentIds.size()) + ")";
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            bind(ps, enrollmentIds);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) sectionIds.add(rs.getLong(1));
+            }
+        }
+        return sectionIds;
+    }
+
+    private List<Fact> load(String sql, Collection<Long> ids) throws SQLException {
+        List<Fact> facts = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            bind(ps, ids);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) facts.add(map(rs));
+            }
+        }
+        return facts;
+    }
+
+    private static void bind(PreparedStatement ps, Collection<Long> ids) throws SQLException {
+        int index = 1;
+        for (Long id : ids) {
+            ps.setLong(index++, id);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Fact map(ResultSet rs) throws SQLException {
+        String firstName = rs.getString("first_name");
+        String instructor = firstName != null ? firstName + " " + rs.getString("last_name") : null;
+        return new Fact(rs.getLong("section_id"), rs.getInt("capacity"), rs.getString("semester"), rs.getInt("year"),
+                rs.getString("code"), rs.getString("department"), instructor,
+                rs.getString("status"), rs.getString("final_grade"), rs.getInt("enrollments"));
+    }
+
+    /**
+     * Number of enrollments in a section with one status and final grade.
+     * instructor, department, status and finalGrade may be null.
+     */
+    public record Fact(long sectionId, int capacity, String semester, int year, String courseCode, String department,
+                       String instructor, String status, String finalGrade, int count) {
+    }
+}
@@ -1,6 +1,9 @@
 package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EnrollmentChanged;
+import edu.univ.erp.events.SectionChanged;
 import org.slf4j.Logger;import org.slf4j.LoggerFactory;
 
 import java.sql.*;import java.util.ArrayList;import java.util.List;
@@ -25,18 +28,52 @@ public class EnrollmentDAO {
 
     public Long create(Long studentId, Long sectionId) throws SQLException {
         String sql = "INSERT INTO enrollments (student_id, section_id, status) VALUES (?, ?, 'ENROLLED')";
-        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) { ps.setLong(1, studentId); ps.setLong(2, sectionId); ps.executeUpdate(); try (ResultSet rs = ps.getGeneratedKeys()) { if (rs.next()) return rs.getLong(1);} }
-        return null;
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) { ps.setLong(1, studentId); ps.setLong(2, sectionId); return ChangeLog.insert(conn, ps, id -> new EnrollmentChanged(id, studentId, sectionId, DomainEvent.Change.CREATED)); }
+    }
+
+    /**
+     * Take a seat and create the enrollment in one transaction. The seat is
+     * claimed first with a conditional UPDATE, so concurrent enrollments in a
+     * section queue on its row lock rather than on an application lock, and
+     * the unique (student_id, section_id) key rejects a duplicate.
+     *
+     * @return the new enrollment ID, or null if the section is full
+     */
+    public Long enroll(Long studentId, Long sectionId) throws SQLException {
+        String seatSql = "UPDATE sections SET enrolled = enrolled + 1 WHERE section_id = ? AND enrolled < capacity";
+        String sql = "INSERT INTO enrollments (student_id, section_id, status) VALUES (?, ?, 'ENROLLED')";
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement seat = conn.prepareStatement(seatSql); PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) { seat.setLong(1, sectionId); ps.setLong(1, studentId); ps.setLong(2, sectionId);
+            return ChangeLog.inTransaction(conn, () -> {
+                if (ChangeLog.update(conn, seat, new SectionChanged(sectionId, DomainEvent.Change.SEATS)) != 1) return null;
+                return ChangeLog.insert(conn, ps, id -> new EnrollmentChanged(id, studentId, sectionId, DomainEvent.Change.CREATED));
+            });
+        }
     }
 
     public boolean markDropped(Long enrollmentId) throws SQLException {
         String sql = "UPDATE enrollments SET status='DROPPED', dropped_date=CURRENT_TIMESTAMP WHERE enrollment_id = ? AND status='ENROLLED'";
-        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, enrollmentId); return ps.executeUpdate() == 1; }
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, enrollmentId);
+            return ChangeLog.inTransaction(conn, () -> {
+                GradeStatsDAO.Snapshot before = GradeStatsDAO.snapshot(conn, enrollmentId);
+                boolean dropped = ChangeLog.update(conn, ps, updated(enrollmentId)) == 1;
+                if (before != null && dropped) GradeStatsDAO.apply(conn, before, before.dropped());
+                return dropped;
+            });
+        }
     }
 
     public boolean updateFinalGrade(Long enrollmentId, String finalGrade) throws SQLException {
         String sql = "UPDATE enrollments SET final_grade = ?, status = CASE WHEN status='ENROLLED' THEN 'COMPLETED' ELSE status END WHERE enrollment_id = ?";
-        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setString(1, finalGrade); ps.setLong(2, enrollmentId); return ps.executeUpdate() == 1; }
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setString(1, finalGrade); ps.setLong(2, enrollmentId);
+            return ChangeLog.inTransaction(conn, () -> {
+                GradeStatsDAO.Snapshot before = GradeStatsDAO.snapshot(conn, enrollmentId);
+                TranscriptDAO.GpaEntry gpaBefore = TranscriptDAO.gpaEntry(conn, enrollmentId, before);
+                boolean changed = ChangeLog.update(conn, ps, updated(enrollmentId)) == 1;
+                if (before != null && changed) GradeStatsDAO.apply(conn, before, before.withFinalGrade(finalGrade));
+                if (gpaBefore != null && changed) TranscriptDAO.applyFinalGrade(conn, gpaBefore, finalGrade);
+                return changed;
+            });
+        }
     }
 
     public List<Enrollment> listBySection(Long sectionId) {
@@ -56,6 +93,10 @@ public class EnrollmentDAO {
     }
 
     public Enrollment findById(Long enrollmentId) throws SQLException {
+        return EntityCaches.ENROLLMENTS.get(enrollmentId, this::loadById);
+    }
+
+    private Enrollment loadById(Long enrollmentId) throws SQLException {
         String sql = BASE_SELECT + " WHERE e.enrollment_id = ?";
         try (Connection conn = DatabaseConnection.getErpConnection(); 
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -69,6 +110,10 @@ public class EnrollmentDAO {
         return null;
     }
 
+    private static EnrollmentChanged updated(Long enrollmentId) {
+        return new EnrollmentChanged(enrollmentId, null, null, DomainEvent.Change.UPDATED);
+    }
+
     private Enrollment map(ResultSet rs) throws SQLException {
         Enrollment e = new Enrollment();
         e.setEnrollmentId(rs.getLong("enrollment_id"));
@@ -0,0 +1,360 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.metrics.CacheStatistics;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of entities by ID in front of a DAO's findById, with
+ * W-TinyLFU eviction:
+ * <ul>
+ *   <li>new entries enter a small LRU window (1% of maximumSize), so a burst
+ *       of one-off lookups cannot flush the hot set;</li>
+ *   <li>an entry leaving the window is only admitted to the main region if
+ *       a {@link FrequencySketch} says it is used more often than the main
+ *       region's eviction victim;</li>
+ *   <li>the main region is a segmented LRU: entries hit twice move from
+ *       probation to the protected segment (80%).</li>
+ * </ul>
+ * Entries expire ttl after they were loaded. Lookups read a ConcurrentHashMap
+ * and never block: recording the access in the eviction policy is skipped
+ * when another thread holds the policy lock.
+ *
+ * Entities are mutable beans, so callers always get their own copy. A load
+ * that overlaps an {@link #invalidate} of the same ID is returned but not
+ * cached, so a write cannot be undone by a slower concurrent read; loads of
+ * other IDs are unaffected.
+ *
+ * An optional group key (e.g. an enrollment's section) indexes the entries
+ * so {@link #invalidateGroup} drops one group without scanning the cache.
+ */
+public final class EntityCache<V> implements CacheStatistics {
+
+    /**
+     * The uncached lookup, e.g. the DAO's SELECT by primary key.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load(Long id) throws SQLException;
+    }
+
+    private final String name;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copier;
+    private final Function<? super V, Long> groupKey;
+
+    private final ConcurrentHashMap<Long, Node<V>> data = new ConcurrentHashMap<>();
+    // One token per ID being loaded; invalidating the ID discards it
+    private final ConcurrentHashMap<Long, Object> loading = new ConcurrentHashMap<>();
+    // Guarded by policyLock
+    private final Map<Long, Set<Long>> groups = new HashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrder<V> window = new AccessOrder<>();
+    private final AccessOrder<V> probation = new AccessOrder<>();
+    private final AccessOrder<V> protectedSegment = new AccessOrder<>();
+    private final int windowMaximum;
+    private final int protectedMaximum;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize entries kept; 0 disables caching
+     * @param ttl         how long an entry may be served after it was loaded
+     * @param copier      copy constructor of the entity
+     */
+    public EntityCache(String name, int maximumSize, Duration ttl, UnaryOperator<V> copier) {
+        this(name, maximumSize, ttl, copier, null);
+    }
+
+    /**
+     * @param groupKey the group an entity belongs to for {@link #invalidateGroup}
+     */
+    public EntityCache(String name, int maximumSize, Duration ttl, UnaryOperator<V> copier,
+                       Function<? super V, Long> groupKey) {
+        this.name = name;
+        this.maximumSize = Math.max(0, maximumSize);
+        this.ttlNanos = ttl.toNanos();
+        this.copier = copier;
+        this.groupKey = groupKey;
+        this.sketch = new FrequencySketch(this.maximumSize);
+        this.windowMaximum = Math.max(1, this.maximumSize / 100);
+        this.protectedMaximum = (int) ((this.maximumSize - windowMaximum) * 0.8);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The cached entity, or the loader's result (cached unless null).
+     */
+    public V get(Long id, Loader<V> loader) throws SQLException {
+        if (id == null) {
+            return null;
+        }
+        if (maximumSize == 0) {
+            return loader.load(id);
+        }
+        Node<V> node = data.get(id);
+        long now = System.nanoTime();
+        if (node != null && now - node.loadedAt < ttlNanos) {
+            hits.increment();
+            recordAccess(node);
+            return copier.apply(node.value);
+        }
+        misses.increment();
+        Object token = new Object();
+        loading.put(id, token);
+        try {
+            V loaded = loader.load(id);
+            if (loaded != null) {
+                install(id, copier.apply(loaded), token, now);
+            }
+            return loaded;
+        } finally {
+            loading.remove(id, token);
+        }
+    }
+
+    /**
+     * Drop one entity; the next lookup reloads it.
+     */
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        loading.remove(id);
+        policyLock.lock();
+        try {
+            remove(data.get(id));
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Drop every cached entity in a group, e.g. the rows that embed columns
+     * of another entity that just changed. Loads in flight are not cached,
+     * since their group is not known until they finish.
+     */
+    public void invalidateGroup(Long group) {
+        if (group == null) {
+            return;
+        }
+        loading.clear();
+        policyLock.lock();
+        try {
+            Set<Long> ids = groups.get(group);
+            if (ids != null) {
+                for (Long id : ids.toArray(new Long[0])) {
+                    remove(data.get(id));
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        loading.clear();
+        policyLock.lock();
+        try {
+            data.clear();
+            groups.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getSize() {
+        return data.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    private void recordAccess(Node<V> node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            if (node.queue == null) {
+                return; // evicted or invalidated meanwhile
+            }
+            sketch.increment(node.id);
+            if (node.queue == window) {
+                window.moveToHead(node);
+            } else if (node.queue == probation) {
+                probation.unlink(node);
+                protectedSegment.addHead(node);
+                while (protectedSegment.size > protectedMaximum) {
+                    probation.addHead(protectedSegment.removeTail());
+                }
+            } else {
+                protectedSegment.moveToHead(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void install(Long id, V value, Object token, long loadedAt) {
+        policyLock.lock();
+        try {
+            if (!loading.remove(id, token)) {
+                return; // invalidated while loading
+            }
+            sketch.increment(id);
+            remove(data.get(id));
+            Node<V> node = new Node<>(id, value, groupKey == null ? null : groupKey.apply(value), loadedAt);
+            data.put(id, node);
+            if (node.group != null) {
+                groups.computeIfAbsent(node.group, g -> new HashSet<>()).add(id);
+            }
+            window.addHead(node);
+            if (window.size > windowMaximum) {
+                Node<V> candidate = window.removeTail();
+                probation.addHead(candidate);
+                if (data.size() > maximumSize) {
+                    evictOne(candidate);
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * TinyLFU admission: keep whichever of the window's outgoing entry and
+     * the main region's LRU entry is used more often.
+     */
+    private void evictOne(Node<V> candidate) {
+        Node<V> victim = probation.tail != candidate ? probation.tail : protectedSegment.tail;
+        Node<V> evicted = victim != null && sketch.frequency(candidate.id) > sketch.frequency(victim.id) ? victim : candidate;
+        remove(evicted);
+        evictions.increment();
+    }
+
+    /**
+     * Unlink a node from the map, its queue and its group; holds policyLock.
+     */
+    private void remove(Node<V> node) {
+        if (node == null) {
+            return;
+        }
+        data.remove(node.id, node);
+        if (node.queue != null) {
+            node.queue.unlink(node);
+        }
+        if (node.group != null) {
+            Set<Long> ids = groups.get(node.group);
+            if (ids != null && ids.remove(node.id) && ids.isEmpty()) {
+                groups.remove(node.group);
+            }
+        }
+    }
+
+    private static final class Node<V> {
+        final Long id;
+        final V value;
+        final Long group;
+        final long loadedAt;
+        Node<V> prev;
+        Node<V> next;
+        AccessOrder<V> queue;
+
+        Node(Long id, V value, Long group, long loadedAt) {
+            this.id = id;
+            this.value = value;
+            this.group = group;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Doubly-linked LRU list; head is most recently used.
+     */
+    private static final class AccessOrder<V> {
+        Node<V> head;
+        Node<V> tail;
+        int size;
+
+        void addHead(Node<V> node) {
+            node.queue = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) head.prev = node; else tail = node;
+            head = node;
+            size++;
+        }
+
+        void moveToHead(Node<V> node) {
+            if (head != node) {
+                unlink(node);
+                addHead(node);
+            }
+        }
+
+        Node<V> removeTail() {
+            Node<V> node = tail;
+            unlink(node);
+            return node;
+        }
+
+        void unlink(Node<V> node) {
+            if (node.prev != null) node.prev.next = node.next; else head = node.next;
+            if (node.next != null) node.next.prev = node.prev; else tail = node.prev;
+            node.prev = null;
+            node.next = null;
+            node.queue = null;
+            size--;
+        }
+
+        void clear() {
+            for (Node<V> node = head; node != null; ) {
+                Node<V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.queue = null;
+                node = next;
+            }
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.domain.Student;
+import edu.univ.erp.events.CourseChanged;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EnrollmentChanged;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.SectionChanged;
+import edu.univ.erp.metrics.MetricsMBeans;
+import edu.univ.erp.util.ConfigUtil;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * The findById caches of the DAOs, one per entity, sized by
+ * cache.entity.maxSize and expiring after cache.entity.&lt;name&gt;.ttlSeconds.
+ *
+ * Writes invalidate through the {@link EventBus}: ChangeLog publishes each
+ * DAO write before the DAO method returns, and ChangeLogPoller publishes
+ * other clients' writes. Students and instructors are not written by the
+ * application. Rows embedding another entity's columns follow it: a
+ * SectionChanged other than a seat count change also drops that section's
+ * enrollments (instructor name, section number), found through the
+ * enrollment cache's section index, and a CourseChanged drops all sections
+ * and enrollments.
+ */
+public final class EntityCaches {
+
+    static final EntityCache<Section> SECTIONS = create("sections", 300, Section::new);
+    static final EntityCache<Course> COURSES = create("courses", 3600, Course::new);
+    static final EntityCache<Student> STUDENTS = create("students", 1800, Student::new);
+    static final EntityCache<Instructor> INSTRUCTORS = create("instructors", 1800, Instructor::new);
+    static final EntityCache<Enrollment> ENROLLMENTS = create("enrollments", 300, Enrollment::new, Enrollment::getSectionId);
+
+    static {
+        EventBus bus = EventBus.getInstance();
+        bus.subscribe(SectionChanged.class, e -> {
+            SECTIONS.invalidate(e.sectionId());
+            if (e.change() != DomainEvent.Change.SEATS) {
+                ENROLLMENTS.invalidateGroup(e.sectionId());
+            }
+        });
+        bus.subscribe(EnrollmentChanged.class, e -> ENROLLMENTS.invalidate(e.enrollmentId()));
+        bus.subscribe(CourseChanged.class, e -> {
+            COURSES.invalidate(e.courseId());
+            if (e.change() != DomainEvent.Change.CREATED) {
+                SECTIONS.invalidateAll();
+                ENROLLMENTS.invalidateAll();
+            }
+        });
+    }
+
+    private EntityCaches() {
+    }
+
+    public static List<EntityCache<?>> all() {
+        return List.of(SECTIONS, COURSES, STUDENTS, INSTRUCTORS, ENROLLMENTS);
+    }
+
+    /**
+     * Drop every cached entity, e.g. after a bulk load with raw SQL.
+     */
+    public static void invalidateAll() {
+        for (EntityCache<?> cache : all()) {
+            cache.invalidateAll();
+        }
+    }
+
+    private static <V> EntityCache<V> create(String name, int defaultTtlSeconds, UnaryOperator<V> copier) {
+        return create(name, defaultTtlSeconds, copier, null);
+    }
+
+    private static <V> EntityCache<V> create(String name, int defaultTtlSeconds, UnaryOperator<V> copier,
+                                             Function<? super V, Long> groupKey) {
+        int maximumSize = ConfigUtil.getBooleanProperty("cache.entity.enabled", true)
+                ? ConfigUtil.getIntProperty("cache.entity.maxSize", 10_000) : 0;
+        int ttlSeconds = ConfigUtil.getIntProperty("cache.entity." + name + ".ttlSeconds", defaultTtlSeconds);
+        EntityCache<V> cache = new EntityCache<>(name, maximumSize, Duration.ofSeconds(ttlSeconds), copier, groupKey);
+        MetricsMBeans.registerCache("entity-" + name, cache);
+        return cache;
+    }
+}
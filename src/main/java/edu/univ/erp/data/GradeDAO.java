@@ -1,9 +1,11 @@
 package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Grade;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.GradeChanged;
 import org.slf4j.Logger;import org.slf4j.LoggerFactory;
 
-import java.sql.*;import java.util.ArrayList;import java.util.List;
+import java.sql.*;import java.util.ArrayList;import java.util.HashMap;import java.util.List;import java.util.Map;
 
 public class GradeDAO {
     private static final Logger logger = LoggerFactory.getLogger(GradeDAO.class);
@@ -17,17 +19,51 @@ public class GradeDAO {
         return list;
     }
 
+    /**
+     * All grade components of a section's enrollments in one query, keyed by enrollment ID.
+     * Use instead of calling listByEnrollment for each row of a roster.
+     */
+    public Map<Long, List<Grade>> listBySection(Long sectionId) {
+        Map<Long, List<Grade>> byEnrollment = new HashMap<>();
+        String sql = "SELECT g.grade_id, g.enrollment_id, g.component, g.score, g.max_score, g.weight FROM grades g " +
+                     "JOIN enrollments e ON g.enrollment_id = e.enrollment_id WHERE e.section_id = ? ORDER BY g.enrollment_id, g.grade_id";
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, sectionId); try (ResultSet rs = ps.executeQuery()) { while (rs.next()) { Grade g = map(rs); byEnrollment.computeIfAbsent(g.getEnrollmentId(), k -> new ArrayList<>()).add(g); } } } catch (SQLException e) { logger.error("Error listing grades for section {}", sectionId, e); }
+        return byEnrollment;
+    }
+
     public Long addComponent(Long enrollmentId, String component, Double score, double maxScore, double weight) throws SQLException {
         String sql = "INSERT INTO grades (enrollment_id, component, score, max_score, weight) VALUES (?,?,?,?,?)";
         try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setLong(1, enrollmentId); ps.setString(2, component); if (score == null) ps.setNull(3, Types.DECIMAL); else ps.setDouble(3, score);
-            ps.setDouble(4, maxScore); ps.setDouble(5, weight); ps.executeUpdate(); try (ResultSet rs = ps.getGeneratedKeys()) { if (rs.next()) return rs.getLong(1);} }
-        return null;
+            ps.setDouble(4, maxScore); ps.setDouble(5, weight);
+            return ChangeLog.inTransaction(conn, () -> {
+                GradeStatsDAO.Snapshot before = GradeStatsDAO.snapshot(conn, enrollmentId);
+                Long gradeId = ChangeLog.insert(conn, ps, id -> new GradeChanged(id, enrollmentId, DomainEvent.Change.CREATED));
+                if (before != null && gradeId != null) GradeStatsDAO.apply(conn, before, before.withCell(new GradeStatsDAO.Cell(gradeId, component, score, maxScore, weight)));
+                return gradeId;
+            });
+        }
     }
 
     public boolean updateScore(Long gradeId, Double score) throws SQLException {
         String sql = "UPDATE grades SET score = ? WHERE grade_id = ?";
-        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { if (score == null) ps.setNull(1, Types.DECIMAL); else ps.setDouble(1, score); ps.setLong(2, gradeId); return ps.executeUpdate() == 1; }
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (score == null) ps.setNull(1, Types.DECIMAL); else ps.setDouble(1, score); ps.setLong(2, gradeId);
+            return ChangeLog.inTransaction(conn, () -> {
+                Long enrollmentId = GradeStatsDAO.enrollmentOf(conn, gradeId);
+                GradeStatsDAO.Snapshot before = enrollmentId != null ? GradeStatsDAO.snapshot(conn, enrollmentId) : null;
+                boolean updated = ChangeLog.update(conn, ps, new GradeChanged(gradeId, null, DomainEvent.Change.UPDATED)) == 1;
+                if (before != null && updated) GradeStatsDAO.apply(conn, before, before.withScore(gradeId, score));
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * Enrollment a grade belongs to, or null if the grade does not exist.
+     */
+    public Long findEnrollmentId(Long gradeId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection()) { return GradeStatsDAO.enrollmentOf(conn, gradeId); }
     }
 
     public double totalWeight(Long enrollmentId) {
@@ -0,0 +1,524 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.GradeStats;
+import edu.univ.erp.util.ConfigUtil;
+import edu.univ.erp.util.TDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The grade_stats table: running count, sum, sum of squares, min/max, A-F
+ * counts and a t-digest of the percentages per (section, component), plus
+ * each section's overall percentages ({@link GradeStats#OVERALL}) and final
+ * letter grades ({@link GradeStats#FINAL}). Reading a section's statistics
+ * is one small primary-key range read instead of a scan of its grades, and
+ * {@link #findMerged} combines the rows of every section in a course,
+ * department or term. A merged read builds at most db.gradestats.buildPerCall
+ * untracked sections itself and queues the rest on a background thread.
+ *
+ * GradeDAO and EnrollmentDAO keep the rows current: each write takes a
+ * {@link Snapshot} of the enrollment before it and calls {@link #apply} with
+ * the state after it, in the same transaction. apply reads the section's
+ * rows FOR UPDATE, so writes to one section are serialized. Values are added
+ * and taken back in place. Only when a regrade or drop removes the
+ * component's current min or max, or a value the digest holds merged with
+ * others, is that component recomputed from the section's grades, so the
+ * digest never drifts from the grades.
+ *
+ * A section is tracked from its first read, which builds its rows from the
+ * grades table (seeded and bulk-loaded data); until then writes skip it.
+ * Call {@link #rebuild} after changing grades with raw SQL. Dropped
+ * enrollments are left out, like EnrollmentDAO.listBySection. With
+ * db.gradestats.enabled=false nothing is stored and reads compute the
+ * statistics from the grades each time.
+ */
+public class GradeStatsDAO {
+    private static final Logger logger = LoggerFactory.getLogger(GradeStatsDAO.class);
+
+    private static final boolean enabled = ConfigUtil.getBooleanProperty("db.gradestats.enabled", true);
+    private static final int buildPerCall = ConfigUtil.getIntProperty("db.gradestats.buildPerCall", 20);
+
+    private static final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService builder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("grade-stats-builder").factory());
+
+    private static final String COLUMNS = "section_id, component, graded_count, score_sum, score_sum_squares, min_score, max_score, count_a, count_b, count_c, count_d, count_f, digest";
+
+    /**
+     * A section's statistics by component, including OVERALL and FINAL.
+     */
+    public Map<String, GradeStats> findBySection(Long sectionId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection()) {
+            if (!enabled) {
+                return compute(sectionId, loadSection(conn, sectionId));
+            }
+            Map<String, GradeStats> stats = read(conn, sectionId, false);
+            if (stats.isEmpty()) {
+                try {
+                    rebuild(conn, sectionId);
+                } catch (SQLException e) {
+                    // Most likely another client building the same section
+                    logger.warn("Could not build grade stats for section {}: {}", sectionId, e.getMessage());
+                }
+                stats = read(conn, sectionId, false);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * One component's statistics merged over every section matching the
+     * filters, and how many sections were left out; null filters match
+     * anything.
+     */
+    public record Merged(GradeStats stats, int pendingSections) {
+    }
+
+    /**
+     * Merge one component over every section matching the filters. Up to
+     * db.gradestats.buildPerCall sections not yet tracked are built first;
+     * any others are built in the background and counted as pending.
+     */
+    public Merged findMerged(String component, Long courseId, String department, String semester, Integer year) throws SQLException {
+        StringBuilder where = new StringBuilder(" WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        if (courseId != null) { where.append(" AND s.course_id = ?"); params.add(courseId); }
+        if (department != null) { where.append(" AND c.department = ?"); params.add(department); }
+        if (semester != null) { where.append(" AND s.semester = ?"); params.add(semester); }
+        if (year != null) { where.append(" AND s.year = ?"); params.add(year); }
+        String scope = " FROM sections s JOIN courses c ON c.course_id = s.course_id";
+
+        GradeStats merged = new GradeStats(null, component);
+        int pendingSections = 0;
+        try (Connection conn = DatabaseConnection.getErpConnection()) {
+            String untracked = "SELECT s.section_id" + scope +
+                               " LEFT JOIN grade_stats f ON f.section_id = s.section_id AND f.component = '" + GradeStats.FINAL + "'" +
+                               where + (enabled ? " AND f.section_id IS NULL" : "");
+            List<Long> sectionIds = new ArrayList<>();
+            try (PreparedStatement ps = conn.prepareStatement(untracked)) {
+                bindAll(ps, params);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) sectionIds.add(rs.getLong(1));
+                }
+            }
+            if (!enabled) {
+                for (Long sectionId : sectionIds) {
+                    GradeStats stats = compute(sectionId, loadSection(conn, sectionId)).get(component);
+                    if (stats != null) merged.combine(stats);
+                }
+                return new Merged(merged, 0);
+            }
+            for (Long sectionId : sectionIds.subList(0, Math.min(buildPerCall, sectionIds.size()))) {
+                try {
+                    rebuild(conn, sectionId);
+                } catch (SQLException e) {
+                    logger.warn("Could not build grade stats for section {}: {}", sectionId, e.getMessage());
+                }
+            }
+            for (Long sectionId : sectionIds.subList(Math.min(buildPerCall, sectionIds.size()), sectionIds.size())) {
+                buildLater(sectionId);
+                pendingSections++;
+            }
+            String sql = "SELECT g.section_id, g.component, g.graded_count, g.score_sum, g.score_sum_squares, g.min_score, g.max_score, " +
+                         "g.count_a, g.count_b, g.count_c, g.count_d, g.count_f, g.digest" + scope +
+                         " JOIN grade_stats g ON g.section_id = s.section_id" + where + " AND g.component = ?";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                bindAll(ps, params);
+                ps.setString(params.size() + 1, component);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) merged.combine(map(rs));
+                }
+            }
+        }
+        return new Merged(merged, pendingSections);
+    }
+
+    private static void buildLater(Long sectionId) {
+        if (!queued.add(sectionId)) {
+            return;
+        }
+        builder.execute(() -> {
+            try (Connection conn = DatabaseConnection.getErpConnection()) {
+                rebuild(conn, sectionId);
+            } catch (SQLException e) {
+                logger.warn("Could not build grade stats for section {}: {}", sectionId, e.getMessage());
+            } finally {
+                queued.remove(sectionId);
+            }
+        });
+    }
+
+    private static void bindAll(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            ps.setObject(i + 1, params.get(i));
+        }
+    }
+
+    /**
+     * Recompute a section's rows from its grades.
+     */
+    public void rebuild(Long sectionId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection()) {
+            rebuild(conn, sectionId);
+        }
+    }
+
+    private static void rebuild(Connection conn, Long sectionId) throws SQLException {
+        ChangeLog.inTransaction(conn, () -> {
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM grade_stats WHERE section_id = ?")) {
+                ps.setLong(1, sectionId);
+                ps.executeUpdate();
+            }
+            Map<String, GradeStats> stats = compute(sectionId, loadSection(conn, sectionId));
+            write(conn, stats.values(), Set.of());
+            return null;
+        });
+    }
+
+    /**
+     * Update a section's rows for a write that changed one enrollment from
+     * before to after. Call in the writer's transaction, after the write.
+     */
+    static void apply(Connection conn, Snapshot before, Snapshot after) throws SQLException {
+        if (!enabled || (!before.active() && !after.active())) {
+            return;
+        }
+        long sectionId = before.sectionId();
+        Map<String, GradeStats> rows = read(conn, sectionId, true);
+        if (rows.isEmpty()) {
+            return; // not tracked yet; the first read builds it
+        }
+        Set<String> existing = Set.copyOf(rows.keySet());
+        Set<String> changed = new HashSet<>();
+        Set<String> stale = new HashSet<>();
+
+        Map<Long, Cell> beforeCells = before.active() ? before.byGradeId() : Map.of();
+        Map<Long, Cell> afterCells = after.active() ? after.byGradeId() : Map.of();
+        Set<Long> gradeIds = new HashSet<>(beforeCells.keySet());
+        gradeIds.addAll(afterCells.keySet());
+        for (Long gradeId : gradeIds) {
+            Cell b = beforeCells.get(gradeId);
+            Cell a = afterCells.get(gradeId);
+            if (b != null && a != null && b.component().equals(a.component()) && Objects.equals(b.percent(), a.percent())) {
+                continue;
+            }
+            if (b != null && b.percent() != null) {
+                remove(rows, sectionId, b.component(), b.percent(), changed, stale);
+            }
+            if (a != null && a.percent() != null) {
+                add(rows, sectionId, a.component(), a.percent(), changed);
+            }
+        }
+
+        Double beforeOverall = before.active() ? before.overall() : null;
+        Double afterOverall = after.active() ? after.overall() : null;
+        if (!Objects.equals(beforeOverall, afterOverall)) {
+            if (beforeOverall != null) {
+                remove(rows, sectionId, GradeStats.OVERALL, beforeOverall, changed, stale);
+            }
+            if (afterOverall != null) {
+                add(rows, sectionId, GradeStats.OVERALL, afterOverall, changed);
+            }
+        }
+
+        String beforeFinal = before.active() ? before.finalGrade() : null;
+        String afterFinal = after.active() ? after.finalGrade() : null;
+        if (!Objects.equals(beforeFinal, afterFinal)) {
+            GradeStats finals = rows.get(GradeStats.FINAL);
+            if (beforeFinal != null) finals.removeLetter(beforeFinal);
+            if (afterFinal != null) finals.addLetter(afterFinal);
+            changed.add(GradeStats.FINAL);
+        }
+
+        if (!stale.isEmpty()) {
+            // The write is already visible to this transaction
+            Map<String, GradeStats> exact = compute(sectionId, loadSection(conn, sectionId));
+            for (String component : stale) {
+                GradeStats row = rows.get(component);
+                GradeStats recomputed = exact.get(component);
+                row.setMin(recomputed != null ? recomputed.getMin() : null);
+                row.setMax(recomputed != null ? recomputed.getMax() : null);
+                row.setDigest(recomputed != null ? recomputed.getDigest() : new TDigest());
+            }
+        }
+        List<GradeStats> updates = new ArrayList<>();
+        for (String component : changed) {
+            updates.add(rows.get(component));
+        }
+        write(conn, updates, existing);
+    }
+
+    private static void add(Map<String, GradeStats> rows, long sectionId, String component, double percent, Set<String> changed) {
+        rows.computeIfAbsent(component, c -> new GradeStats(sectionId, c)).add(percent);
+        changed.add(component);
+    }
+
+    private static void remove(Map<String, GradeStats> rows, long sectionId, String component, double percent,
+                               Set<String> changed, Set<String> stale) {
+        GradeStats row = rows.get(component);
+        if (row == null) {
+            logger.warn("No grade stats row for section {} component {}; rebuild the section", sectionId, component);
+            return;
+        }
+        if (row.remove(percent)) {
+            stale.add(component);
+        }
+        changed.add(component);
+    }
+
+    /**
+     * Statistics of enrollments already loaded with {@link #loadSection}.
+     */
+    private static Map<String, GradeStats> compute(Long sectionId, List<Snapshot> enrollments) {
+        Map<String, GradeStats> stats = new LinkedHashMap<>();
+        stats.put(GradeStats.OVERALL, new GradeStats(sectionId, GradeStats.OVERALL));
+        stats.put(GradeStats.FINAL, new GradeStats(sectionId, GradeStats.FINAL));
+        for (Snapshot enrollment : enrollments) {
+            for (Cell cell : enrollment.cells()) {
+                if (cell.percent() != null) {
+                    stats.computeIfAbsent(cell.component(), c -> new GradeStats(sectionId, c)).add(cell.percent());
+                }
+            }
+            Double overall = enrollment.overall();
+            if (overall != null) {
+                stats.get(GradeStats.OVERALL).add(overall);
+            }
+            if (enrollment.finalGrade() != null) {
+                stats.get(GradeStats.FINAL).addLetter(enrollment.finalGrade());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * The section's rows; with lock they are read FOR UPDATE, and an empty
+     * map means the section is not tracked.
+     */
+    private static Map<String, GradeStats> read(Connection conn, long sectionId, boolean lock) throws SQLException {
+        Map<String, GradeStats> stats = new LinkedHashMap<>();
+        String sql = "SELECT " + COLUMNS + " FROM grade_stats WHERE section_id = ? ORDER BY component" + (lock ? " FOR UPDATE" : "");
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, sectionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    GradeStats row = map(rs);
+                    stats.put(row.getComponent(), row);
+                }
+            }
+        }
+        return stats;
+    }
+
+    private static void write(Connection conn, Iterable<GradeStats> rows, Set<String> existing) throws SQLException {
+        String update = "UPDATE grade_stats SET graded_count = ?, score_sum = ?, score_sum_squares = ?, min_score = ?, max_score = ?, count_a = ?, count_b = ?, count_c = ?, count_d = ?, count_f = ?, digest = ? WHERE section_id = ? AND component = ?";
+        String insert = "INSERT INTO grade_stats (graded_count, score_sum, score_sum_squares, min_score, max_score, count_a, count_b, count_c, count_d, count_f, digest, section_id, component) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?)";
+        try (PreparedStatement updates = conn.prepareStatement(update); PreparedStatement inserts = conn.prepareStatement(insert)) {
+            boolean anyUpdate = false;
+            boolean anyInsert = false;
+            for (GradeStats row : rows) {
+                boolean exists = existing.contains(row.getComponent());
+                PreparedStatement ps = exists ? updates : inserts;
+                bind(ps, row);
+                ps.addBatch();
+                anyUpdate |= exists;
+                anyInsert |= !exists;
+            }
+            if (anyUpdate) updates.executeBatch();
+            if (anyInsert) inserts.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement ps, GradeStats row) throws SQLException {
+        ps.setInt(1, row.getCount());
+        ps.setDouble(2, row.getSum());
+        ps.setDouble(3, row.getSumOfSquares());
+        if (row.getMin() != null) ps.setDouble(4, row.getMin()); else ps.setNull(4, Types.DOUBLE);
+        if (row.getMax() != null) ps.setDouble(5, row.getMax()); else ps.setNull(5, Types.DOUBLE);
+        for (int i = 0; i < GradeStats.LETTERS.size(); i++) {
+            ps.setInt(6 + i, row.getLetterCount(GradeStats.LETTERS.get(i)));
+        }
+        if (row.getDigest().getCount() > 0) ps.setBytes(11, row.getDigest().toBytes()); else ps.setNull(11, Types.VARBINARY);
+        ps.setLong(12, row.getSectionId());
+        ps.setString(13, row.getComponent());
+    }
+
+    private static GradeStats map(ResultSet rs) throws SQLException {
+        GradeStats row = new GradeStats(rs.getLong("section_id"), rs.getString("component"));
+        row.setCount(rs.getInt("graded_count"));
+        row.setSum(rs.getDouble("score_sum"));
+        row.setSumOfSquares(rs.getDouble("score_sum_squares"));
+        double min = rs.getDouble("min_score");
+        row.setMin(rs.wasNull() ? null : min);
+        double max = rs.getDouble("max_score");
+        row.setMax(rs.wasNull() ? null : max);
+        for (String letter : GradeStats.LETTERS) {
+            row.setLetterCount(letter, rs.getInt("count_" + letter.toLowerCase()));
+        }
+        byte[] digest = rs.getBytes("digest");
+        if (digest != null) row.setDigest(TDigest.fromBytes(digest));
+        return row;
+    }
+
+    /**
+     * An enrollment's state before a write, with its row locked until the
+     * transaction ends; null if the enrollment does not exist.
+     */
+    static Snapshot snapshot(Connection conn, long enrollmentId) throws SQLException {
+        if (!enabled) {
+            return null;
+        }
+        long sectionId;
+        boolean active;
+        String finalGrade;
+        String sql = "SELECT section_id, status, final_grade FROM enrollments WHERE enrollment_id = ? FOR UPDATE";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, enrollmentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                sectionId = rs.getLong("section_id");
+                active = !"DROPPED".equals(rs.getString("status"));
+                finalGrade = rs.getString("final_grade");
+            }
+        }
+        List<Cell> cells = new ArrayList<>();
+        sql = "SELECT grade_id, component, score, max_score, weight FROM grades WHERE enrollment_id = ? ORDER BY grade_id";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, enrollmentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) cells.add(cell(rs));
+            }
+        }
+        return new Snapshot(sectionId, active, finalGrade, cells);
+    }
+
+    /**
+     * Enrollment a grade belongs to, or null.
+     */
+    static Long enrollmentOf(Connection conn, long gradeId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT enrollment_id FROM grades WHERE grade_id = ?")) {
+            ps.setLong(1, gradeId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * The section's counted enrollments with their grades, in one query.
+     */
+    private static List<Snapshot> loadSection(Connection conn, long sectionId) throws SQLException {
+        String sql = "SELECT e.enrollment_id, e.final_grade, g.grade_id, g.component, g.score, g.max_score, g.weight " +
+                     "FROM enrollments e LEFT JOIN grades g ON g.enrollment_id = e.enrollment_id " +
+                     "WHERE e.section_id = ? AND e.status <> 'DROPPED' ORDER BY e.enrollment_id, g.grade_id";
+        List<Snapshot> enrollments = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, sectionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                long current = -1;
+                String finalGrade = null;
+                List<Cell> cells = null;
+                while (rs.next()) {
+                    long enrollmentId = rs.getLong("enrollment_id");
+                    if (enrollmentId != current) {
+                        if (cells != null) enrollments.add(new Snapshot(sectionId, true, finalGrade, cells));
+                        current = enrollmentId;
+                        finalGrade = rs.getString("final_grade");
+                        cells = new ArrayList<>();
+                    }
+                    rs.getLong("grade_id");
+                    if (!rs.wasNull()) cells.add(cell(rs));
+                }
+                if (cells != null) enrollments.add(new Snapshot(sectionId, true, finalGrade, cells));
+            }
+        }
+        return enrollments;
+    }
+
+    private static Cell cell(ResultSet rs) throws SQLException {
+        double score = rs.getDouble("score");
+        Double boxed = rs.wasNull() ? null : score;
+        return new Cell(rs.getLong("grade_id"), rs.getString("component"), boxed, rs.getDouble("max_score"), rs.getDouble("weight"));
+    }
+
+    /**
+     * One grade row.
+     */
+    record Cell(long gradeId, String component, Double score, double maxScore, double weight) {
+
+        /**
+         * Score as a percentage, null if not graded.
+         */
+        Double percent() {
+            return score != null && maxScore > 0 ? score / maxScore * 100.0 : null;
+        }
+    }
+
+    /**
+     * The grade-related state of one enrollment.
+     */
+    record Snapshot(long sectionId, boolean active, String finalGrade, List<Cell> cells) {
+
+        Snapshot withCell(Cell cell) {
+            List<Cell> added = new ArrayList<>(cells);
+            added.add(cell);
+            return new Snapshot(sectionId, active, finalGrade, added);
+        }
+
+        Snapshot withScore(long gradeId, Double score) {
+            List<Cell> updated = new ArrayList<>(cells.size());
+            for (Cell cell : cells) {
+                updated.add(cell.gradeId() == gradeId ? new Cell(gradeId, cell.component(), score, cell.maxScore(), cell.weight()) : cell);
+            }
+            return new Snapshot(sectionId, active, finalGrade, updated);
+        }
+
+        Snapshot withFinalGrade(String grade) {
+            return new Snapshot(sectionId, active, grade, cells);
+        }
+
+        Snapshot dropped() {
+            return new Snapshot(sectionId, false, finalGrade, cells);
+        }
+
+        /**
+         * Weighted average over the graded components, null if none.
+         */
+        Double overall() {
+            double sum = 0.0;
+            double weightSum = 0.0;
+            for (Cell cell : cells) {
+                Double percent = cell.percent();
+                if (percent != null && cell.weight() > 0) {
+                    sum += percent * cell.weight();
+                    weightSum += cell.weight();
+                }
+            }
+            return weightSum > 0 ? sum / weightSum : null;
+        }
+
+        Map<Long, Cell> byGradeId() {
+            Map<Long, Cell> byId = new HashMap<>();
+            for (Cell cell : cells) {
+                byId.put(cell.gradeId(), cell);
+            }
+            return byId;
+        }
+    }
+}
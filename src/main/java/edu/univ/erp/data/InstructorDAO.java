@@ -21,6 +21,10 @@ public class InstructorDAO {
     }
 
     public Instructor findById(Long id) throws SQLException {
+        return EntityCaches.INSTRUCTORS.get(id, this::loadById);
+    }
+
+    private Instructor loadById(Long id) throws SQLException {
         String sql = BASE_SELECT + " WHERE instructor_id = ?";
         try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
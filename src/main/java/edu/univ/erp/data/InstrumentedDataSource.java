@@ -0,0 +1,352 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.jfr.SqlExecutionEvent;
+import edu.univ.erp.util.ConfigUtil;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * DataSource wrapper that times every statement and connection checkout and
+ * reports them to {@link QueryMetrics} (when db.metrics.enabled), to the
+ * thread's open {@link QueryScope} (when db.querydetector.enabled) and, while
+ * a flight recording is running, as {@link SqlExecutionEvent}s (unless
+ * db.jfr.enabled=false). Checkouts on the Swing event thread are reported to
+ * {@link EdtAccessGuard}. Executing statements are always tracked in
+ * {@link RunningStatements} so cancelled tasks can stop them, and an
+ * interrupted thread may not start a new one; that is why
+ * {@link DatabaseConnection} wraps its pools whatever the diagnostic flags.
+ *
+ * Connections, statements and result sets are JDK dynamic proxies over the
+ * pool's objects, so the DAOs keep using plain JDBC. Statement latency is
+ * measured around execute/executeQuery/executeUpdate; rows are counted as
+ * the DAO walks the ResultSet and added when it is closed. Bound parameters
+ * are only captured while a QueryScope is open.
+ */
+public class InstrumentedDataSource implements DataSource {
+    private static final boolean jfrEnabled = ConfigUtil.getBooleanProperty("db.jfr.enabled", true);
+
+    private final DataSource delegate;
+    private final boolean collectMetrics;
+
+    public InstrumentedDataSource(DataSource delegate) {
+        this(delegate, true);
+    }
+
+    /**
+     * @param collectMetrics false to only feed QueryScope (detector-only mode)
+     */
+    public InstrumentedDataSource(DataSource delegate, boolean collectMetrics) {
+        this.delegate = delegate;
+        this.collectMetrics = collectMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        EdtAccessGuard.check();
+        return wrap(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        EdtAccessGuard.check();
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, collectMetrics));
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final boolean collectMetrics;
+        private final long checkedOutAt = System.nanoTime();
+        private boolean closed;
+
+        ConnectionHandler(Connection connection, boolean collectMetrics) {
+            this.connection = connection;
+            this.collectMetrics = collectMetrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+            switch (name) {
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0], proxy);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, (Statement) result, (String) args[0], proxy);
+                case "createStatement":
+                    return wrapStatement(Statement.class, (Statement) result, null, proxy);
+                case "close":
+                    if (!closed && collectMetrics) {
+                        QueryMetrics.recordConnectionHold(System.nanoTime() - checkedOutAt);
+                    }
+                    closed = true;
+                    return result;
+                default:
+                    return result;
+            }
+        }
+
+        private Object wrapStatement(Class<? extends Statement> type, Statement statement, String sql, Object connection) {
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement, sql, (Connection) connection, collectMetrics));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final Connection connection;
+        private final boolean collectMetrics;
+        private Object[] parameters;
+        private int parameterCount;
+
+        StatementHandler(Statement statement, String preparedSql, Connection connection, boolean collectMetrics) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+            this.collectMetrics = collectMetrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+            if (!name.startsWith("execute")) {
+                if (preparedSql != null) {
+                    trackParameters(name, args);
+                }
+                return InstrumentedDataSource.invoke(statement, method, args);
+            }
+
+            // Statement.execute*(sql, ...) carries its own SQL; PreparedStatement.execute*() uses the prepared one
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            if (sql == null) {
+                // executeBatch on a plain Statement: the individual SQL strings aren't tracked
+                sql = "<batch>";
+            }
+            // Registered before the interrupt check, so a cancel either sees the
+            // interrupt here or finds the statement to cancel
+            RunningStatements.started(statement);
+            if (Thread.currentThread().isInterrupted()) {
+                // The task that issued it was cancelled; don't start another query
+                RunningStatements.finished(statement);
+                throw new SQLException("Statement not executed: thread interrupted", "57014");
+            }
+            SqlExecutionEvent event = jfrEnabled ? new SqlExecutionEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedDataSource.invoke(statement, method, args);
+            } catch (Throwable t) {
+                if (collectMetrics) {
+                    QueryMetrics.recordExecution(sql, System.nanoTime() - start, 0, true);
+                }
+                commit(event, sql, 0, true);
+                throw t;
+            } finally {
+                RunningStatements.finished(statement);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (collectMetrics) {
+                QueryMetrics.recordExecution(sql, elapsed, updateCount(result), false);
+            }
+            if (QueryScope.isActive()) {
+                QueryScope.recordExecution(sql, sql == preparedSql ? Arrays.asList(Arrays.copyOf(parameters(), parameterCount)) : sql);
+            }
+
+            if (result instanceof ResultSet resultSet && (collectMetrics || (event != null && event.isEnabled()))) {
+                // The event stays open until the rows have been fetched
+                return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        new ResultSetHandler(resultSet, sql, (Statement) proxy, collectMetrics, event));
+            }
+            commit(event, sql, updateCount(result), false);
+            return result;
+        }
+
+        /**
+         * Remember bound values (setInt(1, ...), setString(2, ...)) so a QueryScope
+         * can tell a statement repeated with different arguments from an identical repeat.
+         */
+        private void trackParameters(String name, Object[] args) {
+            if ("clearParameters".equals(name)) {
+                parameterCount = 0;
+                if (parameters != null) {
+                    Arrays.fill(parameters, null);
+                }
+                return;
+            }
+            if (!name.startsWith("set") || args == null || args.length < 2 || !(args[0] instanceof Integer index)
+                    || !QueryScope.isActive()) {
+                return;
+            }
+            Object[] values = parameters();
+            if (index > values.length) {
+                values = parameters = Arrays.copyOf(values, Math.max(index, values.length * 2));
+            }
+            if (index >= 1) {
+                values[index - 1] = "setNull".equals(name) ? null : args[1];
+                parameterCount = Math.max(parameterCount, index);
+            }
+        }
+
+        private Object[] parameters() {
+            if (parameters == null) {
+                parameters = new Object[8];
+            }
+            return parameters;
+        }
+
+        private static long updateCount(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(0, count);
+            }
+            if (result instanceof Long count) {
+                return Math.max(0, count);
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(0, count);
+                }
+                return total;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Finish a statement's flight-recorder event, if any. The SQL is normalized
+     * and the DAO method looked up only for events that will actually be recorded.
+     */
+    private static void commit(SqlExecutionEvent event, String sql, long rows, boolean failed) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = QueryMetrics.normalize(sql);
+            event.daoMethod = QueryMetrics.getStatement(sql)
+                    .map(QueryMetrics.StatementStats::getCaller)
+                    .orElseGet(QueryMetrics::callerOf);
+            event.rows = rows;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final String sql;
+        private final Statement statement;
+        private final boolean collectMetrics;
+        private final SqlExecutionEvent event;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet resultSet, String sql, Statement statement, boolean collectMetrics, SqlExecutionEvent event) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.statement = statement;
+            this.collectMetrics = collectMetrics;
+            this.event = event;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getStatement".equals(name)) {
+                return statement;
+            }
+            Object result = InstrumentedDataSource.invoke(resultSet, method, args);
+            if ("next".equals(name)) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    report();
+                }
+            } else if ("close".equals(name)) {
+                report();
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                if (collectMetrics) {
+                    QueryMetrics.recordRows(sql, rows);
+                }
+                commit(event, sql, rows, false);
+            }
+        }
+    }
+}
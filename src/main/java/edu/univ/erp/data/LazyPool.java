@@ -0,0 +1,87 @@
+package edu.univ.erp.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * One connection pool of {@link DatabaseConnection}, built in the background
+ * on first use. Callers take the current future without locking; only
+ * starting the pool, or starting it again after a failed build, takes the
+ * lock, so connection checkouts never contend on it.
+ */
+final class LazyPool {
+    private static final Logger logger = LoggerFactory.getLogger(LazyPool.class);
+
+    private final String name;
+    private final Supplier<CompletableFuture<DataSource>> starter;
+    private volatile CompletableFuture<DataSource> pool;
+
+    /**
+     * @param starter begins building the pool and returns its future
+     */
+    LazyPool(String name, Supplier<CompletableFuture<DataSource>> starter) {
+        this.name = name;
+        this.starter = starter;
+    }
+
+    boolean isStarted() {
+        return pool != null;
+    }
+
+    /**
+     * The pool, started if needed; a pool whose build failed is started again.
+     */
+    CompletableFuture<DataSource> get() {
+        CompletableFuture<DataSource> current = pool;
+        if (current != null && !current.isCompletedExceptionally()) {
+            return current;
+        }
+        return startOrRetry();
+    }
+
+    private synchronized CompletableFuture<DataSource> startOrRetry() {
+        if (pool == null) {
+            pool = starter.get();
+        } else if (pool.isCompletedExceptionally()) {
+            logger.info("Retrying {} pool initialization", name);
+            pool = starter.get();
+        }
+        return pool;
+    }
+
+    /**
+     * Close the pool, waiting for it if it is still being built. The next
+     * {@link #get} builds a new one.
+     */
+    synchronized void close() {
+        CompletableFuture<DataSource> current = pool;
+        pool = null;
+        if (current == null) {
+            return;
+        }
+        DataSource dataSource;
+        try {
+            dataSource = current.join();
+        } catch (CompletionException e) {
+            return; // never started, nothing to close
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                if (!hikari.isClosed()) {
+                    hikari.close();
+                    logger.info("{} database connection pool closed", name);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to close {} database connection pool", name, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.util.ConfigUtil;
+
+import javax.sql.DataSource;
+
+/**
+ * Hikari pools against the MySQL servers named in application.properties.
+ */
+public class MySqlDataSourceProvider implements DataSourceProvider {
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    @Override
+    public DataSource createAuthDataSource() {
+        return DatabaseConnection.newPool("AuthDB-Pool", ConfigUtil.getAuthDbUrl(),
+                ConfigUtil.getAuthDbUsername(), ConfigUtil.getAuthDbPassword());
+    }
+
+    @Override
+    public DataSource createErpDataSource() {
+        return DatabaseConnection.newPool("ErpDB-Pool", ConfigUtil.getErpDbUrl(),
+                ConfigUtil.getErpDbUsername(), ConfigUtil.getErpDbPassword());
+    }
+}
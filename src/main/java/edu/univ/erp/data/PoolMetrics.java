@@ -0,0 +1,112 @@
+package edu.univ.erp.data;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import edu.univ.erp.util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool statistics, fed by HikariCP's metrics tracker hook:
+ * how long callers wait for a connection, how long they hold it, and how
+ * often a checkout times out. One instance per pool, looked up by pool name.
+ */
+public final class PoolMetrics implements IMetricsTracker {
+
+    private static final Map<String, PoolMetrics> POOLS = new ConcurrentHashMap<>();
+
+    /** Installed on every pool DatabaseConnection creates. */
+    static final MetricsTrackerFactory FACTORY = (poolName, poolStats) -> {
+        PoolMetrics metrics = forPool(poolName);
+        metrics.poolStats = poolStats;
+        return metrics;
+    };
+
+    private final String poolName;
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    private PoolMetrics(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /**
+     * Metrics for a pool ("AuthDB-Pool", "ErpDB-Pool"); created empty if the
+     * pool has not started yet.
+     */
+    public static PoolMetrics forPool(String poolName) {
+        return POOLS.computeIfAbsent(poolName, PoolMetrics::new);
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Time callers spent waiting in getConnection.
+     */
+    public LatencyHistogram getAcquireTimes() {
+        return acquire;
+    }
+
+    /**
+     * Time connections were held between checkout and close (millisecond resolution).
+     */
+    public LatencyHistogram getUsageTimes() {
+        return usage;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getIdleConnections();
+    }
+
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    public int getMaxConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getMaxConnections();
+    }
+
+    /**
+     * Clear the wait/hold histograms and timeout count, e.g. between load-test phases.
+     */
+    public void reset() {
+        acquire.reset();
+        usage.reset();
+        timeouts.reset();
+    }
+}
@@ -0,0 +1,216 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.util.ConfigUtil;
+import edu.univ.erp.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement SQL statistics collected by {@link InstrumentedDataSource}.
+ *
+ * Statements are keyed by normalized SQL (literals replaced by ?, IN lists
+ * collapsed, whitespace squeezed) so every call of a DAO method lands in the
+ * same entry. Each entry has a call count, latency histogram, rows returned
+ * or updated, and error count. Statements slower than db.metrics.slowQueryMillis
+ * are written to the slow-query log (logs/slow-queries.log) with the calling
+ * DAO method.
+ *
+ * Collection is off unless db.metrics.enabled=true. Connections are still
+ * proxied by InstrumentedDataSource when it is off (for {@link RunningStatements},
+ * and for flight recording with db.jfr.enabled), but nothing here runs.
+ */
+public final class QueryMetrics {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("edu.univ.erp.data.SlowQueryLog");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_CACHED_SQL = 10_000;
+
+    private static final boolean enabled = ConfigUtil.getBooleanProperty("db.metrics.enabled", false);
+    private static volatile long slowQueryNanos = ConfigUtil.getIntProperty("db.metrics.slowQueryMillis", 200) * 1_000_000L;
+
+    private static final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private static final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private static final LatencyHistogram connectionHoldTimes = new LatencyHistogram();
+
+    private QueryMetrics() {
+    }
+
+    /**
+     * Whether DatabaseConnection should instrument its pools (db.metrics.enabled).
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static long getSlowQueryThresholdMillis() {
+        return slowQueryNanos / 1_000_000L;
+    }
+
+    public static void setSlowQueryThresholdMillis(long millis) {
+        slowQueryNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * All statements seen so far, most total time first.
+     */
+    public static List<StatementStats> getStatements() {
+        List<StatementStats> result = new ArrayList<>(statements.values());
+        result.sort(Comparator.comparingLong((StatementStats s) -> s.getLatency().getTotalNanos()).reversed());
+        return result;
+    }
+
+    /**
+     * Statistics for one statement; the SQL is normalized before lookup.
+     */
+    public static Optional<StatementStats> getStatement(String sql) {
+        return Optional.ofNullable(statements.get(normalize(sql)));
+    }
+
+    /**
+     * Time between a connection being handed out and closed, across instrumented pools.
+     */
+    public static LatencyHistogram getConnectionHoldTimes() {
+        return connectionHoldTimes;
+    }
+
+    public static void reset() {
+        statements.clear();
+        connectionHoldTimes.reset();
+    }
+
+    /**
+     * Normalize SQL so that calls differing only in literal values share one key.
+     */
+    public static String normalize(String sql) {
+        String cached = normalized.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("IN (?)");
+        result = WHITESPACE.matcher(result).replaceAll(" ").trim();
+        if (normalized.size() >= MAX_CACHED_SQL) {
+            // Unparameterized SQL with ever-changing literals; don't let the cache grow without bound
+            normalized.clear();
+        }
+        normalized.put(sql, result);
+        return result;
+    }
+
+    static void recordExecution(String sql, long elapsedNanos, long rows, boolean failed) {
+        String key = normalize(sql);
+        StatementStats stats = statements.get(key);
+        if (stats == null) {
+            // Attribute the statement to the DAO method that first ran it
+            stats = statements.computeIfAbsent(key, k -> new StatementStats(k, callerOf()));
+        }
+        stats.latency.record(elapsedNanos);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (failed) {
+            stats.errors.increment();
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            slowQueryLog.warn("{} ms{} in {}: {}", elapsedNanos / 1_000_000, failed ? " (failed)" : "", callerOf(), key);
+        }
+    }
+
+    static void recordRows(String sql, long rows) {
+        if (rows > 0) {
+            StatementStats stats = statements.get(normalize(sql));
+            if (stats != null) {
+                stats.rows.add(rows);
+            }
+        }
+    }
+
+    static void recordConnectionHold(long elapsedNanos) {
+        connectionHoldTimes.record(elapsedNanos);
+    }
+
+    /**
+     * First application frame outside the data-source plumbing, e.g. "SectionDAO.listOpen".
+     * Only computed for slow statements and for the first execution of a statement.
+     */
+    static String callerOf() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("edu.univ.erp.")
+                        && !f.getClassName().startsWith(QueryMetrics.class.getName())
+                        && !f.getClassName().startsWith(InstrumentedDataSource.class.getName())
+                        && !f.getClassName().startsWith(QueryScope.class.getName()))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse("unknown"));
+    }
+
+    /**
+     * Counters for one normalized statement.
+     */
+    public static final class StatementStats {
+        private final String sql;
+        private final String caller;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private StatementStats(String sql, String caller) {
+            this.sql = sql;
+            this.caller = caller;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * DAO method that first ran the statement, e.g. "SectionDAO.listOpen".
+         */
+        public String getCaller() {
+            return caller;
+        }
+
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        /**
+         * Execution time (executeQuery/executeUpdate/execute), not including result fetching.
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Rows read from result sets plus update counts.
+         */
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d calls, mean %.2f ms, p99 %.2f ms, %d rows, %d errors: %s",
+                    getCount(), latency.getMeanNanos() / 1e6, latency.getPercentileNanos(0.99) / 1e6,
+                    getRows(), getErrors(), caller + ": " + sql);
+        }
+    }
+}
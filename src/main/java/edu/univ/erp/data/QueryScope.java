@@ -0,0 +1,198 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the SQL statements run on the current thread while a user action is
+ * in progress, and flags N+1 patterns: the same statement executed over and
+ * over with different parameters (one query per row of a list).
+ * <pre>
+ *   try (QueryScope scope = QueryScope.open("open grade sheet")) {
+ *       ... service / DAO calls ...
+ *   }
+ * </pre>
+ * On close, statements executed at least db.querydetector.repeatThreshold
+ * times are logged as warnings with the DAO method that issued them. Tests
+ * can read the counts back to enforce query budgets.
+ *
+ * Detection is a dev/test mode (db.querydetector.enabled=true): it needs the
+ * instrumented connections from {@link InstrumentedDataSource}. When it is
+ * off, open() returns a shared no-op scope. Scopes nest; statements count
+ * toward every open scope on the thread.
+ */
+public final class QueryScope implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(QueryScope.class);
+
+    private static final boolean enabled = ConfigUtil.getBooleanProperty("db.querydetector.enabled", false);
+    private static final int repeatThreshold = ConfigUtil.getIntProperty("db.querydetector.repeatThreshold", 5);
+    private static final int MAX_TRACKED_PARAMETER_SETS = 10_000;
+
+    private static final ThreadLocal<QueryScope> current = new ThreadLocal<>();
+    private static final QueryScope DISABLED = new QueryScope("disabled", null);
+
+    private final String name;
+    private final QueryScope parent;
+    private final Map<String, StatementCounts> statements = new LinkedHashMap<>();
+    private int statementCount;
+    private boolean closed;
+
+    private QueryScope(String name, QueryScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    /**
+     * Whether detection is on (db.querydetector.enabled).
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start counting statements for a user action on this thread.
+     */
+    public static QueryScope open(String name) {
+        if (!enabled) {
+            return DISABLED;
+        }
+        QueryScope scope = new QueryScope(name, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * Whether a scope is open on this thread; the data source only captures
+     * statement parameters when one is.
+     */
+    static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Called by the instrumented statements after each execution.
+     *
+     * @param parameters identifies the bound values (or the literal SQL) so
+     *                   repeats with different arguments can be told apart
+     */
+    static void recordExecution(String sql, Object parameters) {
+        QueryScope scope = current.get();
+        if (scope == null) {
+            return;
+        }
+        String key = QueryMetrics.normalize(sql);
+        String caller = null;
+        for (; scope != null; scope = scope.parent) {
+            StatementCounts counts = scope.statements.get(key);
+            if (counts == null) {
+                if (caller == null) {
+                    caller = QueryMetrics.callerOf();
+                }
+                counts = new StatementCounts(caller);
+                scope.statements.put(key, counts);
+            }
+            counts.executions++;
+            if (counts.parameterSets.size() < MAX_TRACKED_PARAMETER_SETS) {
+                counts.parameterSets.add(parameters);
+            }
+            scope.statementCount++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Statements executed in this scope, including nested scopes.
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Executions per normalized statement, in first-seen order.
+     */
+    public Map<String, Integer> getStatementCounts() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        statements.forEach((sql, counts) -> result.put(sql, counts.executions));
+        return result;
+    }
+
+    /**
+     * Statements executed at least db.querydetector.repeatThreshold times.
+     */
+    public List<RepeatedStatement> getRepeatedStatements() {
+        return getRepeatedStatements(repeatThreshold);
+    }
+
+    public List<RepeatedStatement> getRepeatedStatements(int minExecutions) {
+        List<RepeatedStatement> result = new ArrayList<>();
+        statements.forEach((sql, counts) -> {
+            if (counts.executions >= minExecutions) {
+                result.add(new RepeatedStatement(sql, counts.executions, counts.parameterSets.size(), counts.caller));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (this == DISABLED || closed) {
+            return;
+        }
+        closed = true;
+        if (parent == null) {
+            current.remove();
+        } else {
+            current.set(parent);
+        }
+        for (RepeatedStatement repeated : getRepeatedStatements()) {
+            logger.warn("{} in '{}': {}", repeated.isNPlusOne() ? "Possible N+1" : "Repeated query", name, repeated);
+        }
+        logger.debug("'{}' ran {} statements ({} distinct)", name, statementCount, statements.size());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("'" + name + "' ran " + statementCount + " statements");
+        statements.forEach((sql, counts) -> sb.append("\n  ").append(counts.executions).append(" x ").append(sql)
+                .append(" (").append(counts.caller).append(')'));
+        return sb.toString();
+    }
+
+    /**
+     * A statement run many times within one scope.
+     *
+     * @param distinctParameters number of different argument sets seen; more than
+     *                           one means a per-row lookup that could be batched
+     */
+    public record RepeatedStatement(String sql, int executions, int distinctParameters, String caller) {
+        public boolean isNPlusOne() {
+            return distinctParameters > 1;
+        }
+
+        @Override
+        public String toString() {
+            return executions + " executions with " + distinctParameters + " different parameter sets from " + caller + ": " + sql;
+        }
+    }
+
+    private static final class StatementCounts {
+        private final String caller;
+        private final Set<Object> parameterSets = new HashSet<>();
+        private int executions;
+
+        StatementCounts(String caller) {
+            this.caller = caller;
+        }
+    }
+}
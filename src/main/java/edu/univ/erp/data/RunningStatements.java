@@ -0,0 +1,89 @@
+package edu.univ.erp.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statement each thread is currently executing, so a cancelled UI task
+ * can stop its query on the server with {@link Statement#cancel()} instead of
+ * waiting for it. {@link InstrumentedDataSource}, which wraps every pool
+ * DatabaseConnection hands out, registers statements for the duration of
+ * execute; interrupting a thread alone does not stop JDBC.
+ */
+public final class RunningStatements {
+    private static final Logger logger = LoggerFactory.getLogger(RunningStatements.class);
+
+    private static final int CANCEL_RETRIES = 20;
+    private static final long CANCEL_RETRY_MILLIS = 50;
+
+    private static final Map<Thread, Statement> running = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService RETRIES = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "statement-cancel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RunningStatements() {
+    }
+
+    static void started(Statement statement) {
+        running.put(Thread.currentThread(), statement);
+    }
+
+    static void finished(Statement statement) {
+        running.remove(Thread.currentThread(), statement);
+    }
+
+    /**
+     * Cancel the statement the given thread is executing, if any. A cancel
+     * that arrives after the statement is registered but before the driver
+     * starts it is lost (H2 resets it, MySQL's KILL QUERY finds nothing), so
+     * it is repeated every few milliseconds while the statement is still
+     * registered. The thread is expected to be interrupted first, which stops
+     * it from registering another statement.
+     *
+     * @return true if a statement was cancelled
+     */
+    public static boolean cancel(Thread thread) {
+        Statement statement = running.get(thread);
+        if (statement == null || !cancel(thread, statement)) {
+            return false;
+        }
+        retry(thread, statement, CANCEL_RETRIES);
+        return true;
+    }
+
+    private static boolean cancel(Thread thread, Statement statement) {
+        try {
+            statement.cancel();
+            logger.debug("Cancelled statement running on {}", thread);
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Failed to cancel statement running on {}", thread, e);
+            return false;
+        }
+    }
+
+    private static void retry(Thread thread, Statement statement, int remaining) {
+        RETRIES.schedule(() -> {
+            if (running.get(thread) == statement && cancel(thread, statement) && remaining > 1) {
+                retry(thread, statement, remaining - 1);
+            }
+        }, CANCEL_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Number of statements executing right now.
+     */
+    public static int count() {
+        return running.size();
+    }
+}
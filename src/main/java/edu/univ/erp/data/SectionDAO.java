@@ -1,6 +1,8 @@
 package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Section;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.SectionChanged;
 import org.slf4j.Logger;import org.slf4j.LoggerFactory;
 
 import java.sql.*;import java.util.ArrayList;import java.util.List;
@@ -11,6 +13,10 @@ public class SectionDAO {
     private static final String BASE_SELECT = "SELECT s.section_id, s.course_id, s.instructor_id, s.section_number, s.day_of_week, s.start_time, s.end_time, s.room, s.capacity, s.enrolled, s.semester, s.year, c.code AS course_code, c.title AS course_title, CONCAT(i.first_name,' ',i.last_name) AS instructor_name FROM sections s JOIN courses c ON s.course_id = c.course_id LEFT JOIN instructors i ON s.instructor_id = i.instructor_id";
 
     public Section findById(Long id) throws SQLException {
+        return EntityCaches.SECTIONS.get(id, this::loadById);
+    }
+
+    private Section loadById(Long id) throws SQLException {
         String sql = BASE_SELECT + " WHERE s.section_id = ?";
         try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id); try (ResultSet rs = ps.executeQuery()) { if (rs.next()) return map(rs);} }
@@ -49,12 +55,12 @@ public class SectionDAO {
 
     public boolean incrementEnrolled(Long sectionId) throws SQLException {
         String sql = "UPDATE sections SET enrolled = enrolled + 1 WHERE section_id = ? AND enrolled < capacity";
-        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, sectionId); return ps.executeUpdate() == 1; }
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, sectionId); return ChangeLog.update(conn, ps, new SectionChanged(sectionId, DomainEvent.Change.SEATS)) == 1; }
     }
 
     public boolean decrementEnrolled(Long sectionId) throws SQLException {
         String sql = "UPDATE sections SET enrolled = GREATEST(0, enrolled - 1) WHERE section_id = ?";
-        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, sectionId); return ps.executeUpdate() == 1; }
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) { ps.setLong(1, sectionId); return ChangeLog.update(conn, ps, new SectionChanged(sectionId, DomainEvent.Change.SEATS)) == 1; }
     }
 
     public List<Section> findAll() throws SQLException {
@@ -125,14 +131,11 @@ public class SectionDAO {
             ps.setString(10, section.getSemester());
             ps.setInt(11, section.getYear());
             
-            ps.executeUpdate();
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) {
-                    return keys.getLong(1);
-                } else {
-                    throw new SQLException("Failed to retrieve generated section ID after insert");
-                }
+            Long sectionId = ChangeLog.insert(conn, ps, id -> new SectionChanged(id, DomainEvent.Change.CREATED));
+            if (sectionId == null) {
+                throw new SQLException("Failed to retrieve generated section ID after insert");
             }
+            return sectionId;
         }
     }
 
@@ -172,7 +175,11 @@ public class SectionDAO {
             ps.setString(10, section.getSemester());
             ps.setInt(11, section.getYear());
             ps.setLong(12, section.getSectionId());
-            int result = ps.executeUpdate();
+            // The section may have moved to a course with other credits
+            int result = ChangeLog.inTransaction(conn, () -> {
+                TranscriptDAO.invalidateSection(conn, section.getSectionId());
+                return ChangeLog.update(conn, ps, new SectionChanged(section.getSectionId(), DomainEvent.Change.UPDATED));
+            });
             if (result == 0) {
                 throw new SQLException("No section exists with sectionId=" + section.getSectionId() + ". Update failed.");
             }
@@ -184,7 +191,10 @@ public class SectionDAO {
         try (Connection conn = DatabaseConnection.getErpConnection(); 
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, sectionId);
-            int result = ps.executeUpdate();
+            int result = ChangeLog.inTransaction(conn, () -> {
+                TranscriptDAO.invalidateSection(conn, sectionId);
+                return ChangeLog.update(conn, ps, new SectionChanged(sectionId, DomainEvent.Change.DELETED));
+            });
             if (result == 0) {
                 throw new SQLException("No section with id: " + sectionId);
             }
@@ -201,7 +211,7 @@ public class SectionDAO {
                 ps.setNull(1, Types.BIGINT);
             }
             ps.setLong(2, sectionId);
-            int affected = ps.executeUpdate();
+            int affected = ChangeLog.update(conn, ps, new SectionChanged(sectionId, DomainEvent.Change.UPDATED));
             if (affected == 0) {
                 throw new SQLException("No section found with id: " + sectionId);
             }
@@ -1,6 +1,7 @@
 package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Settings;
+import edu.univ.erp.events.SettingsChanged;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,7 +54,9 @@ public class SettingsDAO {
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, key);
             ps.setString(2, value);
-            return ps.executeUpdate() >= 1;
+            if (ChangeLog.update(conn, ps, new SettingsChanged(key)) >= 1) {
+                return true;
+            }
         } catch (SQLException e) {
             logger.error("Error upserting setting {}", key, e);
         }
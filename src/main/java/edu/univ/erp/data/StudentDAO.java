@@ -22,6 +22,10 @@ public class StudentDAO {
     }
 
     public Student findById(Long id) throws SQLException {
+        return EntityCaches.STUDENTS.get(id, this::loadById);
+    }
+
+    private Student loadById(Long id) throws SQLException {
         String sql = BASE_SELECT + " WHERE student_id = ?";
         try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
@@ -0,0 +1,270 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.GpaSummary;
+import edu.univ.erp.domain.TranscriptEntry;
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Transcripts and the student_gpa table.
+ *
+ * {@link #listByStudent} returns a student's courses ordered by the
+ * sections' real semester and year, with term and cumulative GPA computed
+ * by window aggregates in the same query. Grade points follow
+ * {@link GpaSummary#GRADE_POINTS}; dropped and ungraded enrollments carry
+ * no points.
+ *
+ * student_gpa keeps each student's graded credits and quality points so the
+ * cumulative GPA is one primary-key read. EnrollmentDAO.updateFinalGrade
+ * adjusts it in the same transaction ({@link #gpaEntry} before the write,
+ * {@link #applyFinalGrade} after). A student is tracked from the first read,
+ * which builds the row from the enrollments. Course and section edits that
+ * could change credits or remove enrollments delete the affected rows, and
+ * the next read rebuilds them. With db.studentgpa.enabled=false nothing is
+ * stored and reads compute the summary each time.
+ */
+public class TranscriptDAO {
+    private static final Logger logger = LoggerFactory.getLogger(TranscriptDAO.class);
+
+    private static final boolean enabled = ConfigUtil.getBooleanProperty("db.studentgpa.enabled", true);
+
+    private static final String COUNTED = "e.final_grade IS NOT NULL AND CHAR_LENGTH(e.final_grade) > 0 AND e.status <> 'DROPPED'";
+    private static final String TERM_ORDER = "s.year * 10 + CASE s.semester WHEN 'Spring' THEN 1 WHEN 'Summer' THEN 2 ELSE 3 END";
+    private static final String TRANSCRIPT_SQL =
+            "SELECT t.*, " +
+            "SUM(t.quality_points) OVER (PARTITION BY t.term_order) AS term_points, " +
+            "SUM(t.graded_credits) OVER (PARTITION BY t.term_order) AS term_credits, " +
+            "SUM(t.quality_points) OVER (ORDER BY t.term_order) AS cumulative_points, " +
+            "SUM(t.graded_credits) OVER (ORDER BY t.term_order) AS cumulative_credits " +
+            "FROM (SELECT e.enrollment_id, e.status, e.final_grade, s.semester, s.year, " + TERM_ORDER + " AS term_order, " +
+            "c.code, c.title, c.credits, " +
+            "CASE WHEN " + COUNTED + " THEN c.credits * " + gradePointsSql() + " END AS quality_points, " +
+            "CASE WHEN " + COUNTED + " THEN c.credits ELSE 0 END AS graded_credits " +
+            "FROM enrollments e JOIN sections s ON s.section_id = e.section_id JOIN courses c ON c.course_id = s.course_id " +
+            "WHERE e.student_id = ?) t " +
+            "ORDER BY t.term_order, t.code";
+
+    private static String gradePointsSql() {
+        StringBuilder sql = new StringBuilder("CASE UPPER(e.final_grade)");
+        for (Map.Entry<String, Double> entry : GpaSummary.GRADE_POINTS.entrySet()) {
+            sql.append(" WHEN '").append(entry.getKey()).append("' THEN ").append(entry.getValue());
+        }
+        return sql.append(" ELSE 0.0 END").toString();
+    }
+
+    public List<TranscriptEntry> listByStudent(Long studentId) throws SQLException {
+        List<TranscriptEntry> entries = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(TRANSCRIPT_SQL)) {
+            ps.setLong(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) entries.add(map(rs));
+            }
+        }
+        return entries;
+    }
+
+    private static TranscriptEntry map(ResultSet rs) throws SQLException {
+        TranscriptEntry entry = new TranscriptEntry();
+        entry.setEnrollmentId(rs.getLong("enrollment_id"));
+        entry.setStatus(rs.getString("status"));
+        entry.setFinalGrade(rs.getString("final_grade"));
+        entry.setSemester(rs.getString("semester"));
+        entry.setYear(rs.getInt("year"));
+        entry.setCourseCode(rs.getString("code"));
+        entry.setCourseTitle(rs.getString("title"));
+        entry.setCredits(rs.getInt("credits"));
+        double points = rs.getDouble("quality_points");
+        entry.setGradePoints(rs.wasNull() ? null : points);
+        entry.setTermGpa(ratio(rs.getDouble("term_points"), rs.getInt("term_credits")));
+        entry.setCumulativeGpa(ratio(rs.getDouble("cumulative_points"), rs.getInt("cumulative_credits")));
+        return entry;
+    }
+
+    private static Double ratio(double points, int credits) {
+        return credits > 0 ? points / credits : null;
+    }
+
+    /**
+     * The student's cumulative GPA summary.
+     */
+    public GpaSummary findGpaSummary(Long studentId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection()) {
+            if (!enabled) {
+                return compute(conn, studentId);
+            }
+            GpaSummary summary = read(conn, studentId);
+            if (summary == null) {
+                try {
+                    rebuild(conn, studentId);
+                } catch (SQLException e) {
+                    // Most likely another client building the same student
+                    logger.warn("Could not build GPA summary for student {}: {}", studentId, e.getMessage());
+                }
+                summary = read(conn, studentId);
+            }
+            return summary != null ? summary : compute(conn, studentId);
+        }
+    }
+
+    /**
+     * Recompute a student's row from the enrollments.
+     */
+    public void rebuildGpaSummary(Long studentId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection()) {
+            rebuild(conn, studentId);
+        }
+    }
+
+    private static void rebuild(Connection conn, long studentId) throws SQLException {
+        ChangeLog.inTransaction(conn, () -> {
+            // Wait for final-grade writes in flight so the aggregate sees them
+            try (PreparedStatement ps = conn.prepareStatement("SELECT enrollment_id FROM enrollments WHERE student_id = ? FOR UPDATE")) {
+                ps.setLong(1, studentId);
+                ps.executeQuery().close();
+            }
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM student_gpa WHERE student_id = ?")) {
+                ps.setLong(1, studentId);
+                ps.executeUpdate();
+            }
+            GpaSummary summary = compute(conn, studentId);
+            String sql = "INSERT INTO student_gpa (student_id, graded_credits, quality_points, graded_courses) VALUES (?, ?, ?, ?)";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setLong(1, studentId);
+                ps.setInt(2, summary.getGradedCredits());
+                ps.setDouble(3, summary.getQualityPoints());
+                ps.setInt(4, summary.getGradedCourses());
+                ps.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    private static GpaSummary compute(Connection conn, long studentId) throws SQLException {
+        GpaSummary summary = new GpaSummary(studentId);
+        String sql = "SELECT c.credits, e.final_grade FROM enrollments e JOIN sections s ON s.section_id = e.section_id " +
+                     "JOIN courses c ON c.course_id = s.course_id WHERE e.student_id = ? AND " + COUNTED;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) summary.add(rs.getInt("credits"), rs.getString("final_grade"), 1);
+            }
+        }
+        return summary;
+    }
+
+    private static GpaSummary read(Connection conn, long studentId) throws SQLException {
+        String sql = "SELECT graded_credits, quality_points, graded_courses FROM student_gpa WHERE student_id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                GpaSummary summary = new GpaSummary(studentId);
+                summary.setGradedCredits(rs.getInt("graded_credits"));
+                summary.setQualityPoints(rs.getDouble("quality_points"));
+                summary.setGradedCourses(rs.getInt("graded_courses"));
+                return summary;
+            }
+        }
+    }
+
+    /**
+     * An enrollment's GPA-related state before a write, with its row locked
+     * until the transaction ends; null if it does not exist. Pass the
+     * GradeStatsDAO snapshot taken earlier in the same transaction, if any,
+     * to reuse its row lock instead of locking the row again.
+     */
+    static GpaEntry gpaEntry(Connection conn, long enrollmentId, GradeStatsDAO.Snapshot locked) throws SQLException {
+        if (!enabled) {
+            return null;
+        }
+        if (locked == null) {
+            try (PreparedStatement lock = conn.prepareStatement("SELECT enrollment_id FROM enrollments WHERE enrollment_id = ? FOR UPDATE")) {
+                lock.setLong(1, enrollmentId);
+                lock.executeQuery().close();
+            }
+        }
+        String sql = "SELECT e.student_id, e.status, e.final_grade, c.credits FROM enrollments e " +
+                     "JOIN sections s ON s.section_id = e.section_id JOIN courses c ON c.course_id = s.course_id " +
+                     "WHERE e.enrollment_id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, enrollmentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new GpaEntry(rs.getLong("student_id"), rs.getString("status"), rs.getString("final_grade"), rs.getInt("credits")) : null;
+            }
+        }
+    }
+
+    /**
+     * Adjust the student's row for a final grade written over before. Call
+     * in the writer's transaction, after the write.
+     */
+    static void applyFinalGrade(Connection conn, GpaEntry before, String finalGrade) throws SQLException {
+        GpaEntry after = before.withFinalGrade(finalGrade);
+        if (before.counted() == after.counted() && (!after.counted() || Objects.equals(before.finalGrade(), after.finalGrade()))) {
+            return;
+        }
+        GpaSummary delta = new GpaSummary(before.studentId());
+        if (before.counted()) delta.add(before.credits(), before.finalGrade(), -1);
+        if (after.counted()) delta.add(after.credits(), after.finalGrade(), 1);
+        String sql = "UPDATE student_gpa SET graded_credits = graded_credits + ?, quality_points = quality_points + ?, " +
+                     "graded_courses = graded_courses + ? WHERE student_id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, delta.getGradedCredits());
+            ps.setDouble(2, delta.getQualityPoints());
+            ps.setInt(3, delta.getGradedCourses());
+            ps.setLong(4, before.studentId());
+            ps.executeUpdate(); // no row: not tracked yet, the first read builds it
+        }
+    }
+
+    /**
+     * Drop the rows of every student enrolled in the course, for writes that
+     * change its credits or delete its enrollments.
+     */
+    static void invalidateCourse(Connection conn, long courseId) throws SQLException {
+        invalidate(conn, "s.course_id = ?", courseId);
+    }
+
+    static void invalidateSection(Connection conn, long sectionId) throws SQLException {
+        invalidate(conn, "s.section_id = ?", sectionId);
+    }
+
+    private static void invalidate(Connection conn, String condition, long id) throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        String sql = "DELETE FROM student_gpa WHERE student_id IN (SELECT e.student_id FROM enrollments e " +
+                     "JOIN sections s ON s.section_id = e.section_id WHERE " + condition + ")";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * The GPA-related state of one enrollment.
+     */
+    record GpaEntry(long studentId, String status, String finalGrade, int credits) {
+
+        boolean counted() {
+            return finalGrade != null && !finalGrade.isEmpty() && !"DROPPED".equals(status);
+        }
+
+        /**
+         * Same status change as EnrollmentDAO.updateFinalGrade.
+         */
+        GpaEntry withFinalGrade(String grade) {
+            return new GpaEntry(studentId, "ENROLLED".equals(status) ? "COMPLETED" : status, grade, credits);
+        }
+    }
+}
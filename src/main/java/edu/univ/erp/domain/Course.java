@@ -14,6 +14,15 @@ public class Course {
     public Course() {
     }
 
+    public Course(Course other) {
+        this.courseId = other.courseId;
+        this.code = other.code;
+        this.title = other.title;
+        this.description = other.description;
+        this.credits = other.credits;
+        this.department = other.department;
+    }
+
     public Course(String code, String title, int credits) {
         this.code = code;
         this.title = title;
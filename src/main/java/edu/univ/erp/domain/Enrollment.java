@@ -23,6 +23,20 @@ public class Enrollment {
     public Enrollment() {
     }
 
+    public Enrollment(Enrollment other) {
+        this.enrollmentId = other.enrollmentId;
+        this.studentId = other.studentId;
+        this.sectionId = other.sectionId;
+        this.status = other.status;
+        this.enrolledDate = other.enrolledDate;
+        this.droppedDate = other.droppedDate;
+        this.finalGrade = other.finalGrade;
+        this.courseCode = other.courseCode;
+        this.courseTitle = other.courseTitle;
+        this.sectionNumber = other.sectionNumber;
+        this.instructorName = other.instructorName;
+    }
+
     public Enrollment(Long studentId, Long sectionId) {
         this.studentId = studentId;
         this.sectionId = sectionId;
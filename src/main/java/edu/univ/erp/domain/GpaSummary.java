@@ -0,0 +1,86 @@
+package edu.univ.erp.domain;
+
+import java.util.Map;
+
+/**
+ * A student's cumulative GPA: credit-weighted grade points over the graded,
+ * non-dropped enrollments.
+ */
+public class GpaSummary {
+    /**
+     * Grade points per letter on the 4.0 scale; any other letter counts as 0.0.
+     */
+    public static final Map<String, Double> GRADE_POINTS = Map.of(
+            "A", 4.0, "A-", 3.7, "B+", 3.3, "B", 3.0, "B-", 2.7,
+            "C+", 2.3, "C", 2.0, "C-", 1.7, "D+", 1.3, "D", 1.0);
+
+    private Long studentId;
+    private int gradedCredits;
+    private double qualityPoints;
+    private int gradedCourses;
+
+    public GpaSummary() {
+    }
+
+    public GpaSummary(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public static double gradePoints(String letterGrade) {
+        return letterGrade == null ? 0.0 : GRADE_POINTS.getOrDefault(letterGrade.toUpperCase(), 0.0);
+    }
+
+    /**
+     * Add (or with a negative sign, take back) one graded course.
+     */
+    public void add(int credits, String letterGrade, int sign) {
+        gradedCredits += sign * credits;
+        qualityPoints += sign * credits * gradePoints(letterGrade);
+        gradedCourses += sign;
+    }
+
+    /**
+     * Cumulative GPA, or null before the first graded course.
+     */
+    public Double getGpa() {
+        return gradedCredits > 0 ? qualityPoints / gradedCredits : null;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public int getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public void setGradedCredits(int gradedCredits) {
+        this.gradedCredits = gradedCredits;
+    }
+
+    public double getQualityPoints() {
+        return qualityPoints;
+    }
+
+    public void setQualityPoints(double qualityPoints) {
+        this.qualityPoints = qualityPoints;
+    }
+
+    public int getGradedCourses() {
+        return gradedCourses;
+    }
+
+    public void setGradedCourses(int gradedCourses) {
+        this.gradedCourses = gradedCourses;
+    }
+
+    @Override
+    public String toString() {
+        return "GpaSummary{studentId=" + studentId + ", gradedCredits=" + gradedCredits + ", gpa=" + getGpa() + "}";
+    }
+}
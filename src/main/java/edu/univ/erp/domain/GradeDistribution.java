@@ -0,0 +1,124 @@
+package edu.univ.erp.domain;
+
+/**
+ * Summary statistics of one grade component over a course, department or
+ * term, taken from the merged {@link GradeStats} of its sections. Plain
+ * values only, so it can be sent to remote clients. Sections whose
+ * statistics were still being built are not included; see
+ * {@link #getPendingSections()}.
+ */
+public class GradeDistribution {
+    private String component;
+    private int count;
+    private double mean;
+    private double standardDeviation;
+    private Double min;
+    private Double max;
+    private double percentile10;
+    private double median;
+    private double percentile90;
+    private int pendingSections;
+
+    public GradeDistribution() {
+    }
+
+    public static GradeDistribution of(GradeStats stats, int pendingSections) {
+        GradeDistribution distribution = new GradeDistribution();
+        distribution.component = stats.getComponent();
+        distribution.count = stats.getCount();
+        distribution.mean = stats.getMean();
+        distribution.standardDeviation = stats.getStandardDeviation();
+        distribution.min = stats.getMin();
+        distribution.max = stats.getMax();
+        distribution.percentile10 = stats.getPercentile(10);
+        distribution.median = stats.getMedian();
+        distribution.percentile90 = stats.getPercentile(90);
+        distribution.pendingSections = pendingSections;
+        return distribution;
+    }
+
+    // Getters and Setters
+    public String getComponent() {
+        return component;
+    }
+
+    public void setComponent(String component) {
+        this.component = component;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public double getPercentile10() {
+        return percentile10;
+    }
+
+    public void setPercentile10(double percentile10) {
+        this.percentile10 = percentile10;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public void setMedian(double median) {
+        this.median = median;
+    }
+
+    public double getPercentile90() {
+        return percentile90;
+    }
+
+    public void setPercentile90(double percentile90) {
+        this.percentile90 = percentile90;
+    }
+
+    /**
+     * Sections in scope whose statistics are still being built in the
+     * background and are left out of these numbers.
+     */
+    public int getPendingSections() {
+        return pendingSections;
+    }
+
+    public void setPendingSections(int pendingSections) {
+        this.pendingSections = pendingSections;
+    }
+}
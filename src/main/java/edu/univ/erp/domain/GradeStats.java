@@ -0,0 +1,234 @@
+package edu.univ.erp.domain;
+
+import edu.univ.erp.util.TDigest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running statistics of a section's grades for one component, of its
+ * students' overall percentages ({@link #OVERALL}) or of its final letter
+ * grades ({@link #FINAL}, letter counts only). Scores are percentages.
+ * Percentiles come from a t-digest of the same values, so statistics of
+ * several sections combine into course- or department-wide ones.
+ */
+public class GradeStats {
+    public static final String OVERALL = "#overall";
+    public static final String FINAL = "#final";
+    public static final List<String> LETTERS = List.of("A", "B", "C", "D", "F");
+
+    private Long sectionId;
+    private String component;
+    private int count;
+    private double sum;
+    private double sumOfSquares;
+    private Double min;
+    private Double max;
+    private final int[] letterCounts = new int[LETTERS.size()];
+    private TDigest digest = new TDigest();
+
+    public GradeStats() {
+    }
+
+    public GradeStats(Long sectionId, String component) {
+        this.sectionId = sectionId;
+        this.component = component;
+    }
+
+    /**
+     * Record a percentage.
+     */
+    public void add(double percent) {
+        count++;
+        sum += percent;
+        sumOfSquares += percent * percent;
+        min = min == null ? percent : Math.min(min, percent);
+        max = max == null ? percent : Math.max(max, percent);
+        letterCounts[letterIndex(percent)]++;
+        digest.add(percent);
+    }
+
+    /**
+     * Take back a percentage recorded earlier. Returns true if the caller
+     * must recompute min, max and the digest: the value was the min or max,
+     * or the digest could not drop it exactly (see {@link TDigest#remove}).
+     */
+    public boolean remove(double percent) {
+        count--;
+        letterCounts[letterIndex(percent)]--;
+        if (count <= 0) {
+            count = 0;
+            sum = 0.0;
+            sumOfSquares = 0.0;
+            min = null;
+            max = null;
+            digest = new TDigest();
+            return false;
+        }
+        sum -= percent;
+        sumOfSquares -= percent * percent;
+        boolean removedFromDigest = digest.remove(percent);
+        return !removedFromDigest || min == null || max == null || percent <= min || percent >= max;
+    }
+
+    /**
+     * Record a final letter grade; letters outside A-F are not counted.
+     */
+    public void addLetter(String letter) {
+        int index = LETTERS.indexOf(letter);
+        if (index >= 0) {
+            count++;
+            letterCounts[index]++;
+        }
+    }
+
+    public void removeLetter(String letter) {
+        int index = LETTERS.indexOf(letter);
+        if (index >= 0) {
+            count--;
+            letterCounts[index]--;
+        }
+    }
+
+    /**
+     * Add another section's statistics to these, e.g. for all of an instructor's sections.
+     */
+    public void combine(GradeStats other) {
+        count += other.count;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        if (other.min != null) min = min == null ? other.min : Math.min(min, other.min);
+        if (other.max != null) max = max == null ? other.max : Math.max(max, other.max);
+        for (int i = 0; i < letterCounts.length; i++) {
+            letterCounts[i] += other.letterCounts[i];
+        }
+        digest.add(other.digest);
+    }
+
+    // Same bands as GradeCalculator.letterGrade
+    private static int letterIndex(double percent) {
+        if (percent >= 90) return 0;
+        if (percent >= 80) return 1;
+        if (percent >= 70) return 2;
+        if (percent >= 60) return 3;
+        return 4;
+    }
+
+    public double getMean() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    /**
+     * Population standard deviation.
+     */
+    public double getStandardDeviation() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double mean = getMean();
+        return Math.sqrt(Math.max(0.0, sumOfSquares / count - mean * mean));
+    }
+
+    /**
+     * Estimated percentage below which the given percent (0-100) of the
+     * values fall; 0.0 if there are none.
+     */
+    public double getPercentile(double percentile) {
+        return digest.getCount() > 0 ? digest.quantile(percentile / 100.0) : 0.0;
+    }
+
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    /**
+     * Counts per letter, A to F.
+     */
+    public Map<String, Integer> getLetterCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < letterCounts.length; i++) {
+            counts.put(LETTERS.get(i), letterCounts[i]);
+        }
+        return counts;
+    }
+
+    public int getLetterCount(String letter) {
+        return letterCounts[LETTERS.indexOf(letter)];
+    }
+
+    public void setLetterCount(String letter, int letterCount) {
+        letterCounts[LETTERS.indexOf(letter)] = letterCount;
+    }
+
+    // Getters and Setters
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(Long sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    public void setComponent(String component) {
+        this.component = component;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public double getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    public void setSumOfSquares(double sumOfSquares) {
+        this.sumOfSquares = sumOfSquares;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public TDigest getDigest() {
+        return digest;
+    }
+
+    public void setDigest(TDigest digest) {
+        this.digest = digest;
+    }
+
+    @Override
+    public String toString() {
+        return "GradeStats{sectionId=" + sectionId + ", component='" + component + "', count=" + count +
+               ", mean=" + getMean() + "}";
+    }
+}
@@ -16,6 +16,17 @@ public class Instructor {
     public Instructor() {
     }
 
+    public Instructor(Instructor other) {
+        this.instructorId = other.instructorId;
+        this.userId = other.userId;
+        this.employeeId = other.employeeId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.department = other.department;
+        this.phoneNumber = other.phoneNumber;
+    }
+
     public Instructor(Long userId, String employeeId, String firstName, String lastName, String department) {
         this.userId = userId;
         this.employeeId = employeeId;
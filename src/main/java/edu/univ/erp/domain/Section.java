@@ -27,6 +27,24 @@ public class Section {
     public Section() {
     }
 
+    public Section(Section other) {
+        this.sectionId = other.sectionId;
+        this.courseId = other.courseId;
+        this.instructorId = other.instructorId;
+        this.sectionNumber = other.sectionNumber;
+        this.dayOfWeek = other.dayOfWeek;
+        this.startTime = other.startTime;
+        this.endTime = other.endTime;
+        this.room = other.room;
+        this.capacity = other.capacity;
+        this.enrolled = other.enrolled;
+        this.semester = other.semester;
+        this.year = other.year;
+        this.courseCode = other.courseCode;
+        this.courseTitle = other.courseTitle;
+        this.instructorName = other.instructorName;
+    }
+
     public Section(Long courseId, Long instructorId, String sectionNumber, String semester, int year) {
         this.courseId = courseId;
         this.instructorId = instructorId;
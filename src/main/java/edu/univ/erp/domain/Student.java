@@ -17,6 +17,18 @@ public class Student {
     public Student() {
     }
 
+    public Student(Student other) {
+        this.studentId = other.studentId;
+        this.userId = other.userId;
+        this.rollNo = other.rollNo;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.program = other.program;
+        this.year = other.year;
+        this.phoneNumber = other.phoneNumber;
+    }
+
     public Student(Long userId, String rollNo, String firstName, String lastName, String program, int year) {
         this.userId = userId;
         this.rollNo = rollNo;
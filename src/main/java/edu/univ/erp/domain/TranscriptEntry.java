@@ -0,0 +1,133 @@
+package edu.univ.erp.domain;
+
+/**
+ * One course on a student's transcript, with the GPA of its term and the
+ * cumulative GPA up to and including that term (null until a graded course).
+ */
+public class TranscriptEntry {
+    private Long enrollmentId;
+    private String semester;
+    private int year;
+    private String courseCode;
+    private String courseTitle;
+    private int credits;
+    private String status;
+    private String finalGrade;
+    private Double gradePoints;
+    private Double termGpa;
+    private Double cumulativeGpa;
+
+    public TranscriptEntry() {
+    }
+
+    /**
+     * Semester and year, e.g. "Fall 2025".
+     */
+    public String getTerm() {
+        return semester + " " + year;
+    }
+
+    /**
+     * Whether the course counts towards the GPA: graded and not dropped.
+     */
+    public boolean isGraded() {
+        return gradePoints != null;
+    }
+
+    // Getters and Setters
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(Long enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public int getCredits() {
+        return credits;
+    }
+
+    public void setCredits(int credits) {
+        this.credits = credits;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFinalGrade() {
+        return finalGrade;
+    }
+
+    public void setFinalGrade(String finalGrade) {
+        this.finalGrade = finalGrade;
+    }
+
+    /**
+     * Credits x grade points, null if the course is not graded.
+     */
+    public Double getGradePoints() {
+        return gradePoints;
+    }
+
+    public void setGradePoints(Double gradePoints) {
+        this.gradePoints = gradePoints;
+    }
+
+    public Double getTermGpa() {
+        return termGpa;
+    }
+
+    public void setTermGpa(Double termGpa) {
+        this.termGpa = termGpa;
+    }
+
+    public Double getCumulativeGpa() {
+        return cumulativeGpa;
+    }
+
+    public void setCumulativeGpa(Double cumulativeGpa) {
+        this.cumulativeGpa = cumulativeGpa;
+    }
+
+    @Override
+    public String toString() {
+        return "TranscriptEntry{term=" + getTerm() + ", courseCode='" + courseCode + "', finalGrade='" + finalGrade + "'}";
+    }
+}
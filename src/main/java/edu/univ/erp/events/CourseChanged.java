@@ -0,0 +1,7 @@
+package edu.univ.erp.events;
+
+/**
+ * A course was created, edited or deleted.
+ */
+public record CourseChanged(Long courseId, Change change) implements DomainEvent {
+}
@@ -0,0 +1,17 @@
+package edu.univ.erp.events;
+
+/**
+ * A committed change to domain data, published on the {@link EventBus}.
+ * Events carry IDs, not entities: subscribers reload or patch only the rows
+ * that changed. IDs a writer does not know (e.g. the section of an
+ * enrollment dropped by ID) are null.
+ */
+public sealed interface DomainEvent
+        permits CourseChanged, SectionChanged, EnrollmentChanged, GradeChanged, SettingsChanged {
+
+    /**
+     * What happened to the row. SEATS is an update of a section's enrolled
+     * count only, so readers of its other columns can ignore it.
+     */
+    enum Change { CREATED, UPDATED, DELETED, SEATS }
+}
@@ -0,0 +1,9 @@
+package edu.univ.erp.events;
+
+/**
+ * A student enrolled, dropped, or received a final grade. studentId and
+ * sectionId are null when the writer only had the enrollment ID.
+ */
+public record EnrollmentChanged(Long enrollmentId, Long studentId, Long sectionId, Change change)
+        implements DomainEvent {
+}
@@ -0,0 +1,112 @@
+package edu.univ.erp.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe for {@link DomainEvent}s. The DAOs publish
+ * through ChangeLog once each write has committed, and ChangeLogPoller
+ * publishes the writes of other clients, so an event always describes
+ * committed data.
+ * <pre>
+ *   subscription = EventBus.getInstance().subscribe(SectionChanged.class,
+ *           SwingUtilities::invokeLater, e -&gt; refreshRow(e.sectionId()));
+ *   ...
+ *   subscription.close();
+ * </pre>
+ * Publishing takes no locks: listeners live in copy-on-write lists, so
+ * subscribing is the (rare) expensive side. Listeners run on the publishing
+ * thread unless subscribed with an executor; Swing code must pass
+ * SwingUtilities::invokeLater. A failing listener is logged and does not
+ * affect the writer or other listeners.
+ */
+public final class EventBus {
+    private static final Logger logger = LoggerFactory.getLogger(EventBus.class);
+
+    private static final EventBus INSTANCE = new EventBus();
+
+    private final Map<Class<?>, List<Listener<?>>> listeners = new ConcurrentHashMap<>();
+
+    public EventBus() {
+    }
+
+    public static EventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Receive events of the given type on the publishing thread. Subscribe to
+     * DomainEvent.class to receive every event.
+     */
+    public <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        return subscribe(type, Runnable::run, listener);
+    }
+
+    /**
+     * Receive events of the given type through an executor.
+     */
+    public <E extends DomainEvent> Subscription subscribe(Class<E> type, Executor executor, Consumer<? super E> listener) {
+        Listener<E> entry = new Listener<>(type, executor, listener);
+        List<Listener<?>> forType = listeners.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>());
+        forType.add(entry);
+        return () -> forType.remove(entry);
+    }
+
+    /**
+     * Deliver an event to its type's subscribers and to DomainEvent subscribers.
+     */
+    public void publish(DomainEvent event) {
+        deliver(listeners.get(event.getClass()), event);
+        deliver(listeners.get(DomainEvent.class), event);
+    }
+
+    /**
+     * Number of subscriptions for exactly this event type.
+     */
+    public int getSubscriberCount(Class<? extends DomainEvent> type) {
+        List<Listener<?>> forType = listeners.get(type);
+        return forType != null ? forType.size() : 0;
+    }
+
+    private static void deliver(List<Listener<?>> forType, DomainEvent event) {
+        if (forType == null) {
+            return;
+        }
+        for (Listener<?> listener : forType) {
+            listener.deliver(event);
+        }
+    }
+
+    /**
+     * Cancels a subscription; closing twice is harmless.
+     */
+    @FunctionalInterface
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private record Listener<E extends DomainEvent>(Class<E> type, Executor executor, Consumer<? super E> consumer) {
+        void deliver(DomainEvent event) {
+            E typed = type.cast(event);
+            try {
+                executor.execute(() -> {
+                    try {
+                        consumer.accept(typed);
+                    } catch (RuntimeException e) {
+                        logger.error("Listener for {} failed on {}", type.getSimpleName(), event, e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.error("Could not dispatch {} to its listener", event, e);
+            }
+        }
+    }
+}
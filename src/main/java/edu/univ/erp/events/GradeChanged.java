@@ -0,0 +1,8 @@
+package edu.univ.erp.events;
+
+/**
+ * A grade component was added or its score changed. enrollmentId is null
+ * when the writer only had the grade ID.
+ */
+public record GradeChanged(Long gradeId, Long enrollmentId, Change change) implements DomainEvent {
+}
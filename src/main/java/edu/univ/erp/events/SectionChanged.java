@@ -0,0 +1,8 @@
+package edu.univ.erp.events;
+
+/**
+ * A section was created, edited or deleted, or its instructor changed
+ * (UPDATED), or only its enrolled count changed (SEATS).
+ */
+public record SectionChanged(Long sectionId, Change change) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package edu.univ.erp.events;
+
+/**
+ * A system setting (maintenance_mode, add_drop_deadline, ...) was written.
+ */
+public record SettingsChanged(String key) implements DomainEvent {
+}
@@ -0,0 +1,35 @@
+package edu.univ.erp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A SwingWorker's doInBackground run for a panel. The event duration is the
+ * run time; queue wait is how long the task sat behind other workers before
+ * a SwingWorker thread picked it up. Emitted by edu.univ.erp.ui.BackgroundTask.
+ */
+@Name("edu.univ.erp.BackgroundTask")
+@Label("Background Task")
+@Category({"University ERP", "UI"})
+@Description("Background work started by a panel, with time spent queued")
+@StackTrace(false)
+public final class BackgroundTaskEvent extends jdk.jfr.Event {
+
+    @Label("Panel")
+    public String panel;
+
+    @Label("Task")
+    @Description("Panel method that started the worker")
+    public String task;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+
+    @Label("Failed")
+    public boolean failed;
+}
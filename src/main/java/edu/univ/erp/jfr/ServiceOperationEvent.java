@@ -0,0 +1,65 @@
+package edu.univ.erp.jfr;
+
+import edu.univ.erp.auth.SessionManager;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A service-layer operation (enroll, drop, grade write, login) with the role
+ * of the signed-in user and the result the service returned.
+ * <pre>
+ *   ServiceOperationEvent event = ServiceOperationEvent.start("EnrollmentService.enroll");
+ *   String result = ...;
+ *   event.finish(result);
+ * </pre>
+ */
+@Name("edu.univ.erp.ServiceOperation")
+@Label("Service Operation")
+@Category({"University ERP", "Service"})
+@Description("Service call with the caller's role and its outcome")
+@StackTrace(false)
+public final class ServiceOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Role")
+    public String role;
+
+    @Label("Outcome")
+    @Description("ENROLLED, DROPPED, ADDED, OK, or the error message returned")
+    public String outcome;
+
+    /**
+     * Begin timing an operation. Cheap when no recording is running.
+     */
+    public static ServiceOperationEvent start(String operation) {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit with the service's result string.
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            String role = SessionManager.getInstance().getCurrentRole();
+            this.role = role != null ? role : "ANONYMOUS";
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    /**
+     * Stop timing and commit a boolean result as OK / FAILED.
+     */
+    public void finish(boolean success) {
+        finish(success ? "OK" : "FAILED");
+    }
+}
@@ -0,0 +1,39 @@
+package edu.univ.erp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One SQL statement, from execute until its result set is exhausted or closed,
+ * so the duration covers the socket reads of fetching rows. Emitted by
+ * InstrumentedDataSource.
+ *
+ * Statements faster than 10 ms are dropped by default; lower the threshold in
+ * the recording settings to see every statement.
+ */
+@Name("edu.univ.erp.SqlExecution")
+@Label("SQL Execution")
+@Category({"University ERP", "Database"})
+@Description("SQL statement executed by a DAO method, including fetching its rows")
+@StackTrace(false)
+@Threshold("10 ms")
+public final class SqlExecutionEvent extends jdk.jfr.Event {
+
+    @Label("SQL")
+    @Description("Statement with literals replaced by ?")
+    public String sql;
+
+    @Label("DAO Method")
+    public String daoMethod;
+
+    @Label("Rows")
+    @Description("Rows read from the result set, or the update count")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,22 @@
+package edu.univ.erp.metrics;
+
+/**
+ * Counters a cache reports so it can be watched over JMX
+ * (see {@link MetricsMBeans#registerCache}).
+ */
+public interface CacheStatistics {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    long getSize();
+
+    default double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : hits / (double) total;
+    }
+}
@@ -0,0 +1,108 @@
+package edu.univ.erp.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional embedded HTTP endpoint serving {@link PrometheusExporter} output
+ * at /metrics, for scraping lab kiosks and headless deployments. Uses the
+ * JDK's built-in HTTP server on virtual threads; no other endpoints exist.
+ *
+ * Enabled with metrics.http.enabled=true; listens on metrics.http.host
+ * (default 127.0.0.1) and metrics.http.port (default 9404).
+ */
+public final class MetricsHttpServer {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start the endpoint if metrics.http.enabled is set.
+     *
+     * @return the running server, or null when disabled or the port is unavailable
+     */
+    public static MetricsHttpServer startFromConfig() {
+        if (!ConfigUtil.getBooleanProperty("metrics.http.enabled", false)) {
+            return null;
+        }
+        String host = ConfigUtil.getProperty("metrics.http.host", "127.0.0.1");
+        int port = ConfigUtil.getIntProperty("metrics.http.port", 9404);
+        try {
+            return start(host, port);
+        } catch (IOException e) {
+            logger.error("Could not start metrics endpoint on {}:{}", host, port, e);
+            return null;
+        }
+    }
+
+    /**
+     * Start serving /metrics on the given address; port 0 picks a free port.
+     */
+    public static MetricsHttpServer start(String host, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/metrics", MetricsHttpServer::handle);
+        server.start();
+        logger.info("Prometheus metrics available at http://{}:{}/metrics", host, server.getAddress().getPort());
+        return new MetricsHttpServer(server, executor);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Caught inside the try-with-resources: the exchange must still be open to send the 500
+            try {
+                respond(exchange);
+            } catch (RuntimeException e) {
+                logger.error("Metrics scrape failed", e);
+                exchange.sendResponseHeaders(500, -1);
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+            exchange.sendResponseHeaders(405, -1);
+            return;
+        }
+        byte[] body = PrometheusExporter.scrape().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        if ("HEAD".equals(method)) {
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,200 @@
+package edu.univ.erp.metrics;
+
+import edu.univ.erp.data.PoolMetrics;
+import edu.univ.erp.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registers the application's metrics as platform MXBeans under the
+ * "edu.univ.erp" domain, for JConsole/VisualVM:
+ * <ul>
+ *   <li>type=ConnectionPool,name=AuthDB-Pool / ErpDB-Pool - active, idle, waiting, wait times</li>
+ *   <li>type=Enrollment - enrollments/drops per second, rejection reasons</li>
+ *   <li>type=Authentication - login successes, failures, lockouts, throttled attempts</li>
+ *   <li>type=Grades - grade component and final grade writes</li>
+ *   <li>type=Cache,name=... - hit ratio and size of each registered cache</li>
+ * </ul>
+ * Main calls {@link #register()} at startup unless metrics.jmx.enabled=false.
+ */
+public final class MetricsMBeans {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsMBeans.class);
+
+    public static final String DOMAIN = "edu.univ.erp";
+
+    private static final Map<String, CacheStatistics> caches = new ConcurrentHashMap<>();
+
+    private MetricsMBeans() {
+    }
+
+    /**
+     * Register the pool and service MXBeans. Safe to call more than once.
+     */
+    public static synchronized void register() {
+        register(DOMAIN + ":type=ConnectionPool,name=AuthDB-Pool", new ConnectionPool(PoolMetrics.forPool("AuthDB-Pool")));
+        register(DOMAIN + ":type=ConnectionPool,name=ErpDB-Pool", new ConnectionPool(PoolMetrics.forPool("ErpDB-Pool")));
+        register(DOMAIN + ":type=Enrollment", new Enrollment());
+        register(DOMAIN + ":type=Authentication", new Authentication());
+        register(DOMAIN + ":type=Grades", new Grades());
+    }
+
+    /**
+     * Expose a cache's hit ratio under type=Cache,name=cacheName.
+     */
+    public static void registerCache(String cacheName, CacheStatistics statistics) {
+        caches.put(cacheName, statistics);
+        register(DOMAIN + ":type=Cache,name=" + ObjectName.quote(cacheName), new Cache(statistics));
+    }
+
+    /**
+     * Caches registered so far, by name (also scraped by {@link PrometheusExporter}).
+     */
+    public static Map<String, CacheStatistics> getCaches() {
+        return new TreeMap<>(caches);
+    }
+
+    private static void register(String name, Object mxBean) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mxBean, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            logger.debug("MBean {} registered concurrently", name);
+        } catch (JMException e) {
+            logger.warn("Failed to register MBean {}", name, e);
+        }
+    }
+
+    public interface ConnectionPoolMXBean {
+        int getActiveConnections();
+
+        int getIdleConnections();
+
+        /** Threads waiting for a connection. */
+        int getPendingThreads();
+
+        int getMaxConnections();
+
+        long getCheckouts();
+
+        long getTimeouts();
+
+        double getWaitP99Millis();
+
+        double getWaitMaxMillis();
+
+        double getHoldP99Millis();
+
+        void resetStatistics();
+    }
+
+    public interface EnrollmentMXBean {
+        long getEnrollments();
+
+        double getEnrollmentsPerSecond();
+
+        long getDrops();
+
+        double getDropsPerSecond();
+
+        long getRejections();
+
+        double getRejectionsPerSecond();
+
+        /** Rejections by operation and reason, e.g. "enroll: Section is full". */
+        Map<String, Long> getRejectionReasons();
+    }
+
+    public interface AuthenticationMXBean {
+        long getLoginSuccesses();
+
+        long getLoginFailures();
+
+        double getLoginFailuresPerSecond();
+
+        long getLockouts();
+
+        long getThrottledLogins();
+    }
+
+    public interface GradesMXBean {
+        long getGradeWrites();
+
+        double getGradeWritesPerSecond();
+
+        long getFinalGradeWrites();
+    }
+
+    public interface CacheMXBean {
+        long getHitCount();
+
+        long getMissCount();
+
+        double getHitRatio();
+
+        long getEvictionCount();
+
+        long getSize();
+    }
+
+    private record ConnectionPool(PoolMetrics pool) implements ConnectionPoolMXBean {
+        public int getActiveConnections() { return pool.getActiveConnections(); }
+        public int getIdleConnections() { return pool.getIdleConnections(); }
+        public int getPendingThreads() { return pool.getPendingThreads(); }
+        public int getMaxConnections() { return pool.getMaxConnections(); }
+        public long getCheckouts() { return pool.getAcquireTimes().getCount(); }
+        public long getTimeouts() { return pool.getTimeouts(); }
+        public double getWaitP99Millis() { return millis(pool.getAcquireTimes(), 0.99); }
+        public double getWaitMaxMillis() { return pool.getAcquireTimes().getMaxNanos() / 1e6; }
+        public double getHoldP99Millis() { return millis(pool.getUsageTimes(), 0.99); }
+        public void resetStatistics() { pool.reset(); }
+
+        private static double millis(LatencyHistogram histogram, double quantile) {
+            return histogram.getPercentileNanos(quantile) / 1e6;
+        }
+    }
+
+    private static final class Enrollment implements EnrollmentMXBean {
+        public long getEnrollments() { return ServiceMetrics.ENROLLMENTS.getCount(); }
+        public double getEnrollmentsPerSecond() { return ServiceMetrics.ENROLLMENTS.getRatePerSecond(); }
+        public long getDrops() { return ServiceMetrics.DROPS.getCount(); }
+        public double getDropsPerSecond() { return ServiceMetrics.DROPS.getRatePerSecond(); }
+        public long getRejections() { return ServiceMetrics.REJECTIONS.getCount(); }
+        public double getRejectionsPerSecond() { return ServiceMetrics.REJECTIONS.getRatePerSecond(); }
+        public Map<String, Long> getRejectionReasons() { return ServiceMetrics.getRejectionReasons(); }
+    }
+
+    private static final class Authentication implements AuthenticationMXBean {
+        public long getLoginSuccesses() { return ServiceMetrics.LOGIN_SUCCESSES.getCount(); }
+        public long getLoginFailures() { return ServiceMetrics.LOGIN_FAILURES.getCount(); }
+        public double getLoginFailuresPerSecond() { return ServiceMetrics.LOGIN_FAILURES.getRatePerSecond(); }
+        public long getLockouts() { return ServiceMetrics.LOCKOUTS.getCount(); }
+        public long getThrottledLogins() { return ServiceMetrics.THROTTLED_LOGINS.getCount(); }
+    }
+
+    private static final class Grades implements GradesMXBean {
+        public long getGradeWrites() { return ServiceMetrics.GRADE_WRITES.getCount(); }
+        public double getGradeWritesPerSecond() { return ServiceMetrics.GRADE_WRITES.getRatePerSecond(); }
+        public long getFinalGradeWrites() { return ServiceMetrics.FINAL_GRADE_WRITES.getCount(); }
+    }
+
+    private record Cache(CacheStatistics statistics) implements CacheMXBean {
+        public long getHitCount() { return statistics.getHitCount(); }
+        public long getMissCount() { return statistics.getMissCount(); }
+        public double getHitRatio() { return statistics.getHitRatio(); }
+        public long getEvictionCount() { return statistics.getEvictionCount(); }
+        public long getSize() { return statistics.getSize(); }
+    }
+}
@@ -0,0 +1,217 @@
+package edu.univ.erp.metrics;
+
+import edu.univ.erp.data.PoolMetrics;
+import edu.univ.erp.data.QueryMetrics;
+import edu.univ.erp.util.LatencyHistogram;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders the application's metrics in the Prometheus text exposition format
+ * (version 0.0.4): connection pools, per-DAO SQL latency (when
+ * db.metrics.enabled), service counters, registered caches, and JVM memory, GC and threads.
+ *
+ * Latencies are exported as summaries with 0.5/0.9/0.99 quantiles taken from
+ * the in-process {@link LatencyHistogram}s, in seconds.
+ */
+public final class PrometheusExporter {
+
+    private static final String[] POOLS = {"AuthDB-Pool", "ErpDB-Pool"};
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final StringBuilder out = new StringBuilder(8192);
+
+    private PrometheusExporter() {
+    }
+
+    /**
+     * One complete scrape.
+     */
+    public static String scrape() {
+        PrometheusExporter exporter = new PrometheusExporter();
+        exporter.writePools();
+        exporter.writeSql();
+        exporter.writeServices();
+        exporter.writeCaches();
+        exporter.writeJvm();
+        return exporter.out.toString();
+    }
+
+    private void writePools() {
+        header("erp_pool_connections", "gauge", "Connections in the pool by state");
+        for (String pool : POOLS) {
+            PoolMetrics metrics = PoolMetrics.forPool(pool);
+            sample("erp_pool_connections", labels("pool", pool, "state", "active"), metrics.getActiveConnections());
+            sample("erp_pool_connections", labels("pool", pool, "state", "idle"), metrics.getIdleConnections());
+        }
+        header("erp_pool_max_connections", "gauge", "Configured maximum pool size");
+        for (String pool : POOLS) {
+            sample("erp_pool_max_connections", labels("pool", pool), PoolMetrics.forPool(pool).getMaxConnections());
+        }
+        header("erp_pool_pending_threads", "gauge", "Threads waiting for a connection");
+        for (String pool : POOLS) {
+            sample("erp_pool_pending_threads", labels("pool", pool), PoolMetrics.forPool(pool).getPendingThreads());
+        }
+        header("erp_pool_timeouts_total", "counter", "Connection requests that timed out");
+        for (String pool : POOLS) {
+            sample("erp_pool_timeouts_total", labels("pool", pool), PoolMetrics.forPool(pool).getTimeouts());
+        }
+        header("erp_pool_wait_seconds", "summary", "Time spent waiting for a connection");
+        for (String pool : POOLS) {
+            summary("erp_pool_wait_seconds", "pool=\"" + escape(pool) + "\"", PoolMetrics.forPool(pool).getAcquireTimes());
+        }
+        header("erp_pool_hold_seconds", "summary", "Time a connection was held by the application");
+        for (String pool : POOLS) {
+            summary("erp_pool_hold_seconds", "pool=\"" + escape(pool) + "\"", PoolMetrics.forPool(pool).getUsageTimes());
+        }
+    }
+
+    private void writeSql() {
+        var statements = QueryMetrics.getStatements();
+        if (statements.isEmpty()) {
+            return;
+        }
+        header("erp_sql_duration_seconds", "summary", "SQL statement execution time by DAO method and normalized SQL");
+        for (QueryMetrics.StatementStats stats : statements) {
+            summary("erp_sql_duration_seconds", sqlLabels(stats), stats.getLatency());
+        }
+        header("erp_sql_rows_total", "counter", "Rows read or updated by SQL statement");
+        for (QueryMetrics.StatementStats stats : statements) {
+            sample("erp_sql_rows_total", "{" + sqlLabels(stats) + "}", stats.getRows());
+        }
+        header("erp_sql_errors_total", "counter", "Failed SQL statement executions");
+        for (QueryMetrics.StatementStats stats : statements) {
+            sample("erp_sql_errors_total", "{" + sqlLabels(stats) + "}", stats.getErrors());
+        }
+    }
+
+    private static String sqlLabels(QueryMetrics.StatementStats stats) {
+        return "dao=\"" + escape(stats.getCaller()) + "\",sql=\"" + escape(stats.getSql()) + "\"";
+    }
+
+    private void writeServices() {
+        counter("erp_enrollments_total", "Successful enrollments", ServiceMetrics.ENROLLMENTS.getCount());
+        counter("erp_drops_total", "Successful drops", ServiceMetrics.DROPS.getCount());
+
+        header("erp_enrollment_rejections_total", "counter", "Rejected enroll/drop requests by reason");
+        for (Map.Entry<String, Long> entry : ServiceMetrics.getRejectionReasons().entrySet()) {
+            sample("erp_enrollment_rejections_total", labels("reason", entry.getKey()), entry.getValue());
+        }
+
+        header("erp_logins_total", "counter", "Login attempts by outcome");
+        sample("erp_logins_total", labels("outcome", "success"), ServiceMetrics.LOGIN_SUCCESSES.getCount());
+        sample("erp_logins_total", labels("outcome", "failure"), ServiceMetrics.LOGIN_FAILURES.getCount());
+        sample("erp_logins_total", labels("outcome", "throttled"), ServiceMetrics.THROTTLED_LOGINS.getCount());
+        counter("erp_account_lockouts_total", "Accounts locked after too many failed logins", ServiceMetrics.LOCKOUTS.getCount());
+
+        counter("erp_grade_writes_total", "Grade components added or updated", ServiceMetrics.GRADE_WRITES.getCount());
+        counter("erp_final_grade_writes_total", "Final grades stored", ServiceMetrics.FINAL_GRADE_WRITES.getCount());
+    }
+
+    private void writeCaches() {
+        Map<String, CacheStatistics> caches = MetricsMBeans.getCaches();
+        if (caches.isEmpty()) {
+            return;
+        }
+        header("erp_cache_requests_total", "counter", "Cache lookups by result");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            sample("erp_cache_requests_total", labels("cache", entry.getKey(), "result", "hit"), entry.getValue().getHitCount());
+            sample("erp_cache_requests_total", labels("cache", entry.getKey(), "result", "miss"), entry.getValue().getMissCount());
+        }
+        header("erp_cache_evictions_total", "counter", "Entries evicted from the cache");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            sample("erp_cache_evictions_total", labels("cache", entry.getKey()), entry.getValue().getEvictionCount());
+        }
+        header("erp_cache_size", "gauge", "Entries currently cached");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            sample("erp_cache_size", labels("cache", entry.getKey()), entry.getValue().getSize());
+        }
+    }
+
+    private void writeJvm() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        header("jvm_memory_used_bytes", "gauge", "Used memory by area");
+        sample("jvm_memory_used_bytes", labels("area", "heap"), heap.getUsed());
+        sample("jvm_memory_used_bytes", labels("area", "nonheap"), nonHeap.getUsed());
+        header("jvm_memory_committed_bytes", "gauge", "Committed memory by area");
+        sample("jvm_memory_committed_bytes", labels("area", "heap"), heap.getCommitted());
+        sample("jvm_memory_committed_bytes", labels("area", "nonheap"), nonHeap.getCommitted());
+        header("jvm_memory_max_bytes", "gauge", "Maximum memory by area (-1 if undefined)");
+        sample("jvm_memory_max_bytes", labels("area", "heap"), heap.getMax());
+        sample("jvm_memory_max_bytes", labels("area", "nonheap"), nonHeap.getMax());
+
+        header("jvm_memory_pool_used_bytes", "gauge", "Used memory by pool");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            sample("jvm_memory_pool_used_bytes", labels("pool", pool.getName()), pool.getUsage().getUsed());
+        }
+
+        header("jvm_gc_collections_total", "counter", "Garbage collections by collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample("jvm_gc_collections_total", labels("gc", gc.getName()), Math.max(0, gc.getCollectionCount()));
+        }
+        header("jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection by collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample("jvm_gc_collection_seconds_total", labels("gc", gc.getName()), Math.max(0, gc.getCollectionTime()) / 1000.0);
+        }
+
+        header("jvm_threads_live", "gauge", "Live platform threads");
+        sample("jvm_threads_live", "", ManagementFactory.getThreadMXBean().getThreadCount());
+        header("process_uptime_seconds", "gauge", "JVM uptime");
+        sample("process_uptime_seconds", "", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private void counter(String name, String help, long value) {
+        header(name, "counter", help);
+        sample(name, "", value);
+    }
+
+    private void summary(String name, String labels, LatencyHistogram histogram) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (double quantile : QUANTILES) {
+            sample(name, "{" + prefix + "quantile=\"" + quantile + "\"}", histogram.getPercentileNanos(quantile) / 1e9);
+        }
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        sample(name + "_sum", suffix, histogram.getTotalNanos() / 1e9);
+        sample(name + "_count", suffix, histogram.getCount());
+    }
+
+    private void header(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private void sample(String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        return String.format(Locale.ROOT, "%.9g", value);
+    }
+
+    private static String labels(String... keyValues) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < keyValues.length; i += 2) {
+            if (i > 0) sb.append(',');
+            sb.append(keyValues[i]).append("=\"").append(escape(keyValues[i + 1])).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,76 @@
+package edu.univ.erp.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Event counter with a running total and a rate over the last minute.
+ *
+ * Keeps one slot per second in a 60-slot ring; a slot is recycled the first
+ * time it is touched in a new second. Lock-free; a count racing with a slot
+ * being recycled may be lost from the rate (never from the total).
+ */
+public final class RateCounter {
+    private static final int WINDOW_SECONDS = 60;
+
+    private final LongAdder total = new LongAdder();
+    private final AtomicLongArray counts = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray seconds = new AtomicLongArray(WINDOW_SECONDS);
+    private final LongSupplier clockMillis;
+
+    public RateCounter() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor with an injectable clock for testing.
+     */
+    RateCounter(LongSupplier clockMillis) {
+        this.clockMillis = clockMillis;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public void increment() {
+        total.increment();
+        long second = clockMillis.getAsLong() / 1000;
+        int slot = (int) Math.floorMod(second, (long) WINDOW_SECONDS);
+        long slotSecond = seconds.get(slot);
+        if (slotSecond != second && seconds.compareAndSet(slot, slotSecond, second)) {
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+    }
+
+    /**
+     * Events since startup (or the last reset).
+     */
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * Average events per second over the last 60 seconds.
+     */
+    public double getRatePerSecond() {
+        long now = clockMillis.getAsLong() / 1000;
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long age = now - seconds.get(i);
+            if (age >= 0 && age < WINDOW_SECONDS) {
+                sum += counts.get(i);
+            }
+        }
+        return sum / (double) WINDOW_SECONDS;
+    }
+
+    public void reset() {
+        total.reset();
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+            counts.set(i, 0);
+        }
+    }
+}
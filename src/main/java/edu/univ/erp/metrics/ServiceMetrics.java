@@ -0,0 +1,108 @@
+package edu.univ.erp.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput counters updated by the service layer: enrollments and drops
+ * (with rejection reasons), logins, and grade writes. Exposed over JMX by
+ * {@link MetricsMBeans}.
+ */
+public final class ServiceMetrics {
+    /** Distinct rejection reasons kept; further ones are counted as "Other". */
+    private static final int MAX_REASONS = 50;
+
+    public static final RateCounter ENROLLMENTS = new RateCounter();
+    public static final RateCounter DROPS = new RateCounter();
+    public static final RateCounter REJECTIONS = new RateCounter();
+
+    public static final RateCounter LOGIN_SUCCESSES = new RateCounter();
+    public static final RateCounter LOGIN_FAILURES = new RateCounter();
+    public static final RateCounter LOCKOUTS = new RateCounter();
+    public static final RateCounter THROTTLED_LOGINS = new RateCounter();
+
+    public static final RateCounter GRADE_WRITES = new RateCounter();
+    public static final RateCounter FINAL_GRADE_WRITES = new RateCounter();
+
+    private static final Map<String, LongAdder> rejectionReasons = new ConcurrentHashMap<>();
+
+    private ServiceMetrics() {
+    }
+
+    /**
+     * Count the outcome of EnrollmentService.enroll.
+     */
+    public static void recordEnrollResult(String result) {
+        if ("ENROLLED".equals(result)) {
+            ENROLLMENTS.increment();
+        } else {
+            recordRejection("enroll", result);
+        }
+    }
+
+    /**
+     * Count the outcome of EnrollmentService.drop.
+     */
+    public static void recordDropResult(String result) {
+        if ("DROPPED".equals(result)) {
+            DROPS.increment();
+        } else {
+            recordRejection("drop", result);
+        }
+    }
+
+    private static void recordRejection(String operation, String result) {
+        REJECTIONS.increment();
+        String reason = operation + ": " + reasonOf(result);
+        LongAdder counter = rejectionReasons.get(reason);
+        if (counter == null) {
+            if (rejectionReasons.size() >= MAX_REASONS) {
+                reason = operation + ": Other";
+            }
+            counter = rejectionReasons.computeIfAbsent(reason, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Strip the variable part of a service message ("Permission denied: ...",
+     * "Cannot drop (status: COMPLETED)", trailing sentences) so reasons group
+     * into categories.
+     */
+    static String reasonOf(String result) {
+        if (result == null || result.isBlank()) {
+            return "Unknown";
+        }
+        int cut = result.length();
+        int colon = result.indexOf(':');
+        int paren = result.indexOf('(');
+        int sentence = result.indexOf(". ");
+        if (colon > 0) cut = Math.min(cut, colon);
+        if (paren > 0) cut = Math.min(cut, paren);
+        if (sentence > 0) cut = Math.min(cut, sentence);
+        String reason = result.substring(0, cut).trim();
+        return reason.endsWith(".") ? reason.substring(0, reason.length() - 1) : reason;
+    }
+
+    /**
+     * Rejections by operation and reason, e.g. "enroll: Section is full" -> 42.
+     */
+    public static Map<String, Long> getRejectionReasons() {
+        Map<String, Long> result = new TreeMap<>();
+        rejectionReasons.forEach((reason, count) -> result.put(reason, count.sum()));
+        return result;
+    }
+
+    /**
+     * Clear all counters (tests, or between load-test phases).
+     */
+    public static void reset() {
+        for (RateCounter counter : new RateCounter[]{ENROLLMENTS, DROPS, REJECTIONS, LOGIN_SUCCESSES, LOGIN_FAILURES,
+                LOCKOUTS, THROTTLED_LOGINS, GRADE_WRITES, FINAL_GRADE_WRITES}) {
+            counter.reset();
+        }
+        rejectionReasons.clear();
+    }
+}
@@ -0,0 +1,65 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.auth.AuthService;
+import edu.univ.erp.auth.UserProfile;
+import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.domain.Student;
+import edu.univ.erp.domain.User;
+import edu.univ.erp.util.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * AuthService backed by the {@link ServiceHost}. A successful login stores
+ * the host's session token in the {@link ServiceClient}; the host throttles
+ * attempts by the client's address, so the source argument is not sent.
+ */
+public class RemoteAuthService extends AuthService {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteAuthService.class);
+    private final ServiceClient client;
+
+    public RemoteAuthService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public AuthResult authenticate(String username, String password, String source) {
+        Map<String, Object> reply;
+        try {
+            reply = client.call("AuthService.authenticate", JsonUtil.mapOf(String.class, Object.class), username, password);
+        } catch (RemoteServiceException e) {
+            logger.error("Authentication request failed for user: {}", username, e);
+            return new AuthResult(false, "Cannot reach the ERP server. Please try again later.", null);
+        }
+        boolean success = Boolean.TRUE.equals(reply.get("success"));
+        String message = String.valueOf(reply.get("message"));
+        if (!success) {
+            return new AuthResult(false, message, null);
+        }
+        client.setToken((String) reply.get("token"));
+        User user = JsonUtil.convert(reply.get("user"), User.class);
+        return new AuthResult(true, message, user, profile(reply.get("profile")));
+    }
+
+    @Override
+    public boolean changePassword(Long userId, String currentPassword, String newPassword) {
+        return client.call("AuthService.changePassword", boolean.class, userId, currentPassword, newPassword);
+    }
+
+    private static UserProfile profile(Object value) {
+        if (!(value instanceof Map<?, ?> values)) {
+            return null;
+        }
+        Student student = JsonUtil.convert(values.get("student"), Student.class);
+        Instructor instructor = JsonUtil.convert(values.get("instructor"), Instructor.class);
+        if (student != null) {
+            return UserProfile.forStudent(student);
+        }
+        if (instructor != null) {
+            return UserProfile.forInstructor(instructor);
+        }
+        return UserProfile.empty();
+    }
+}
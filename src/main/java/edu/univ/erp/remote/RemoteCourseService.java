@@ -0,0 +1,28 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.service.CourseService;
+import edu.univ.erp.util.JsonUtil;
+
+import java.util.List;
+
+/**
+ * CourseService backed by the {@link ServiceHost}.
+ */
+public class RemoteCourseService extends CourseService {
+    private final ServiceClient client;
+
+    public RemoteCourseService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public List<Course> listAll() {
+        return client.call("CourseService.listAll", JsonUtil.listOf(Course.class));
+    }
+
+    @Override
+    public List<Course> search(String query) {
+        return client.call("CourseService.search", JsonUtil.listOf(Course.class), query);
+    }
+}
@@ -0,0 +1,44 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.util.JsonUtil;
+
+import java.util.List;
+
+/**
+ * EnrollmentService backed by the {@link ServiceHost}. Enrollment rules,
+ * seat checks and the transaction all run on the host.
+ */
+public class RemoteEnrollmentService extends EnrollmentService {
+    private final ServiceClient client;
+
+    public RemoteEnrollmentService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String enroll(Long studentId, Long sectionId) {
+        return client.call("EnrollmentService.enroll", String.class, studentId, sectionId);
+    }
+
+    @Override
+    public String drop(Long studentId, Long sectionId) {
+        return client.call("EnrollmentService.drop", String.class, studentId, sectionId);
+    }
+
+    @Override
+    public List<Enrollment> listByStudent(Long studentId) {
+        return client.call("EnrollmentService.listByStudent", JsonUtil.listOf(Enrollment.class), studentId);
+    }
+
+    @Override
+    public List<Enrollment> listBySection(Long sectionId) {
+        return client.call("EnrollmentService.listBySection", JsonUtil.listOf(Enrollment.class), sectionId);
+    }
+
+    @Override
+    public boolean updateFinalGrade(Long enrollmentId, String finalGrade) {
+        return client.call("EnrollmentService.updateFinalGrade", boolean.class, enrollmentId, finalGrade);
+    }
+}
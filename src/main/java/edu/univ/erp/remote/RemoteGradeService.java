@@ -0,0 +1,57 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.GradeDistribution;
+import edu.univ.erp.service.GradeService;
+import edu.univ.erp.util.JsonUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GradeService backed by the {@link ServiceHost}.
+ */
+public class RemoteGradeService extends GradeService {
+    private final ServiceClient client;
+
+    public RemoteGradeService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public List<Grade> listComponents(Long enrollmentId) {
+        return client.call("GradeService.listComponents", JsonUtil.listOf(Grade.class), enrollmentId);
+    }
+
+    @Override
+    public Map<Long, List<Grade>> listComponentsBySection(Long sectionId) {
+        return client.call("GradeService.listComponentsBySection",
+                JsonUtil.mapOf(Long.class, JsonUtil.listOf(Grade.class)), sectionId);
+    }
+
+    @Override
+    public List<String> getComponentsForSection(Long sectionId) throws SQLException {
+        if (sectionId == null) {
+            throw new IllegalArgumentException("sectionId parameter cannot be null");
+        }
+        return client.callChecked("GradeService.getComponentsForSection", JsonUtil.listOf(String.class), sectionId);
+    }
+
+    @Override
+    public GradeDistribution getGradeDistribution(String component, Long courseId, String department,
+                                                  String semester, Integer year) throws SQLException {
+        return client.callChecked("GradeService.getGradeDistribution", GradeDistribution.class,
+                component, courseId, department, semester, year);
+    }
+
+    @Override
+    public String addComponent(Long enrollmentId, String component, Double score, double maxScore, double weight) {
+        return client.call("GradeService.addComponent", String.class, enrollmentId, component, score, maxScore, weight);
+    }
+
+    @Override
+    public String updateScore(Long gradeId, Double score) {
+        return client.call("GradeService.updateScore", String.class, gradeId, score);
+    }
+}
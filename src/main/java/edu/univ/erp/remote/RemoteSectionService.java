@@ -0,0 +1,44 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.service.SectionService;
+import edu.univ.erp.util.JsonUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * SectionService backed by the {@link ServiceHost}.
+ */
+public class RemoteSectionService extends SectionService {
+    private final ServiceClient client;
+
+    public RemoteSectionService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Section get(Long id) throws SQLException {
+        return client.callChecked("SectionService.get", Section.class, id);
+    }
+
+    @Override
+    public List<Section> listByCourse(Long courseId, String semester, Integer year) {
+        return client.call("SectionService.listByCourse", JsonUtil.listOf(Section.class), courseId, semester, year);
+    }
+
+    @Override
+    public List<Section> listOpen(String semester, int year) {
+        return client.call("SectionService.listOpen", JsonUtil.listOf(Section.class), semester, year);
+    }
+
+    @Override
+    public List<Section> listByInstructor(Long instructorId) throws SQLException {
+        return client.callChecked("SectionService.listByInstructor", JsonUtil.listOf(Section.class), instructorId);
+    }
+
+    @Override
+    public List<Section> listAllSections() throws SQLException {
+        return client.callChecked("SectionService.listAllSections", JsonUtil.listOf(Section.class));
+    }
+}
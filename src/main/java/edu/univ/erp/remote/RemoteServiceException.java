@@ -0,0 +1,28 @@
+package edu.univ.erp.remote;
+
+/**
+ * A service call to the service host failed: the host was unreachable, the
+ * session expired, or the operation threw on the host. Permission and
+ * argument errors are rethrown as their original types instead.
+ */
+public class RemoteServiceException extends RuntimeException {
+    private final String type;
+
+    public RemoteServiceException(String type, String message) {
+        super(message);
+        this.type = type;
+    }
+
+    public RemoteServiceException(String message, Throwable cause) {
+        super(message, cause);
+        this.type = "Unavailable";
+    }
+
+    /**
+     * Simple name of the exception thrown on the host, or "Unavailable" /
+     * "Unauthorized" for transport and session failures.
+     */
+    public String getType() {
+        return type;
+    }
+}
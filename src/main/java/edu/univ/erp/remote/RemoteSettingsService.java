@@ -0,0 +1,68 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.domain.Settings;
+import edu.univ.erp.service.SettingsService;
+import edu.univ.erp.util.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * SettingsService backed by the {@link ServiceHost}. Like the local service,
+ * the maintenance and registration checks fall back to their defaults when
+ * the host cannot be reached.
+ */
+public class RemoteSettingsService extends SettingsService {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSettingsService.class);
+    private final ServiceClient client;
+
+    public RemoteSettingsService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Map<String, String> all() {
+        return client.call("SettingsService.all", JsonUtil.mapOf(String.class, String.class));
+    }
+
+    @Override
+    public String get(String key) {
+        return client.call("SettingsService.get", String.class, key);
+    }
+
+    @Override
+    public boolean set(String key, String value) {
+        return client.call("SettingsService.set", boolean.class, key, value);
+    }
+
+    @Override
+    public boolean isMaintenanceMode() {
+        try {
+            return client.call("SettingsService.isMaintenanceMode", boolean.class);
+        } catch (RemoteServiceException e) {
+            logger.warn("Error checking maintenance mode, defaulting to false", e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isRegistrationEnabled() {
+        try {
+            return client.call("SettingsService.isRegistrationEnabled", boolean.class);
+        } catch (RemoteServiceException e) {
+            logger.warn("Error checking registration status, defaulting to true", e);
+            return true;
+        }
+    }
+
+    @Override
+    public Settings getSettings() {
+        return client.call("SettingsService.getSettings", Settings.class);
+    }
+
+    @Override
+    public void updateSettings(Settings settings) {
+        client.call("SettingsService.updateSettings", Object.class, settings);
+    }
+}
@@ -0,0 +1,30 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.domain.GpaSummary;
+import edu.univ.erp.domain.TranscriptEntry;
+import edu.univ.erp.service.TranscriptService;
+import edu.univ.erp.util.JsonUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * TranscriptService backed by the {@link ServiceHost}.
+ */
+public class RemoteTranscriptService extends TranscriptService {
+    private final ServiceClient client;
+
+    public RemoteTranscriptService(ServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public List<TranscriptEntry> listEntries(Long studentId) throws SQLException {
+        return client.callChecked("TranscriptService.listEntries", JsonUtil.listOf(TranscriptEntry.class), studentId);
+    }
+
+    @Override
+    public GpaSummary getGpaSummary(Long studentId) throws SQLException {
+        return client.callChecked("TranscriptService.getGpaSummary", GpaSummary.class, studentId);
+    }
+}
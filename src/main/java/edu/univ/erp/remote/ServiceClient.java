@@ -0,0 +1,112 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.auth.PermissionException;
+import edu.univ.erp.util.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * HTTP/JSON connection to a {@link ServiceHost}, shared by the Remote*Service
+ * classes. Holds the session token issued at login.
+ */
+public class ServiceClient {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceClient.class);
+
+    private final URI baseUri;
+    private final Duration timeout;
+    private final HttpClient http;
+    private volatile String token;
+
+    public ServiceClient(String baseUrl, Duration timeout) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Invoke an operation ("SectionService.listOpen") and convert its result.
+     *
+     * @throws PermissionException if the host denied the call
+     * @throws IllegalArgumentException if the host rejected an argument
+     * @throws RemoteServiceException for any other failure
+     */
+    public <T> T call(String operation, Type resultType, Object... args) {
+        Map<?, ?> response = send(operation, args);
+        Object error = response.get("error");
+        if (error instanceof Map<?, ?> details) {
+            String type = String.valueOf(details.get("type"));
+            String message = String.valueOf(details.get("message"));
+            switch (type) {
+                case "PermissionException" -> throw new PermissionException(message);
+                case "IllegalArgumentException" -> throw new IllegalArgumentException(message);
+                default -> throw new RemoteServiceException(type, message);
+            }
+        }
+        return JsonUtil.convert(response.get("result"), resultType);
+    }
+
+    /**
+     * {@link #call} for operations declared to throw SQLException; any
+     * failure other than a permission or argument error becomes one.
+     */
+    public <T> T callChecked(String operation, Type resultType, Object... args) throws SQLException {
+        try {
+            return call(operation, resultType, args);
+        } catch (RemoteServiceException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Session token returned by AuthService.authenticate, sent with every call.
+     */
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean hasSession() {
+        return token != null;
+    }
+
+    private Map<?, ?> send(String operation, Object[] args) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("api/" + operation))
+                .timeout(timeout)
+                .header("Content-Type", ServiceHost.CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofString(JsonUtil.write(Arrays.asList(args)), StandardCharsets.UTF_8));
+        String current = token;
+        if (current != null) {
+            request.header("Authorization", "Bearer " + current);
+        }
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Service host {} unreachable for {}", baseUri, operation, e);
+            throw new RemoteServiceException("Service host unreachable: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteServiceException("Interrupted while calling " + operation, e);
+        }
+        try {
+            Object body = JsonUtil.parse(response.body());
+            if (body instanceof Map<?, ?> map) {
+                return map;
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unreadable response from service host for {} (HTTP {})", operation, response.statusCode(), e);
+        }
+        throw new RemoteServiceException("BadResponse", "Unexpected response from service host (HTTP " + response.statusCode() + ")");
+    }
+}
@@ -0,0 +1,348 @@
+package edu.univ.erp.remote;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.univ.erp.auth.AuthService;
+import edu.univ.erp.auth.PermissionChecker;
+import edu.univ.erp.auth.PermissionException;
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.auth.UserProfile;
+import edu.univ.erp.data.QueryScope;
+import edu.univ.erp.domain.Settings;
+import edu.univ.erp.domain.User;
+import edu.univ.erp.service.CourseService;
+import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.service.GradeService;
+import edu.univ.erp.service.SectionService;
+import edu.univ.erp.service.SettingsService;
+import edu.univ.erp.service.TranscriptService;
+import edu.univ.erp.util.ConfigUtil;
+import edu.univ.erp.util.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless server mode: hosts the service layer behind a JSON-over-HTTP API
+ * so lab machines share one connection pool and one set of caches instead of
+ * each opening its own. Started by {@code Main --server}; desktop clients
+ * switch to it with service.mode=remote (see {@link Services}).
+ *
+ * Protocol: POST /api/{Service}.{method} with the arguments as a JSON array.
+ * The reply is {"result": ...} or {"error": {"type", "message"}} with a 4xx/5xx
+ * status. AuthService.authenticate returns a session token; every other call
+ * must send it as "Authorization: Bearer &lt;token&gt;". Each request runs on
+ * its own virtual thread with the caller's {@link SessionManager} bound, so
+ * the services' permission checks apply exactly as on the desktop.
+ *
+ * Listens on service.host.address (default 127.0.0.1) and service.host.port
+ * (default 8085). Traffic is plain HTTP; put TLS in front of it before
+ * exposing it beyond a trusted network.
+ */
+public final class ServiceHost {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceHost.class);
+
+    static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String API_PREFIX = "/api/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Operation> operations = new HashMap<>();
+    private final Map<String, SessionManager> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    private final AuthService authService = new AuthService();
+    private final CourseService courseService = new CourseService();
+    private final SectionService sectionService = new SectionService();
+    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final GradeService gradeService = new GradeService();
+    private final SettingsService settingsService = new SettingsService();
+    private final TranscriptService transcriptService = new TranscriptService();
+    private final PermissionChecker permissionChecker = new PermissionChecker();
+
+    private ServiceHost(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+        registerOperations();
+    }
+
+    /**
+     * Start on service.host.address and service.host.port.
+     */
+    public static ServiceHost startFromConfig() throws IOException {
+        return start(ConfigUtil.getProperty("service.host.address", "127.0.0.1"),
+                ConfigUtil.getIntProperty("service.host.port", 8085));
+    }
+
+    /**
+     * Start serving on the given address; port 0 picks a free port.
+     */
+    public static ServiceHost start(String host, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        ServiceHost serviceHost = new ServiceHost(server, executor);
+        server.createContext(API_PREFIX, serviceHost::handle);
+        server.start();
+        logger.info("Service host listening on http://{}:{}{}", host, server.getAddress().getPort(), API_PREFIX);
+        return serviceHost;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Number of logged-in clients.
+     */
+    public int getSessionCount() {
+        sessions.values().removeIf(session -> !session.isLoggedIn());
+        return sessions.size();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void registerOperations() {
+        operations.put("AuthService.changePassword", call -> authService.changePassword(
+                // Only the caller's own password can be changed
+                SessionManager.getInstance().getCurrentUserId(), call.arg(1, String.class), call.arg(2, String.class)));
+
+        // The course catalog and section listings are open to every logged-in user, as on the desktop
+        operations.put("CourseService.listAll", call -> courseService.listAll());
+        operations.put("CourseService.search", call -> courseService.search(call.arg(0, String.class)));
+
+        operations.put("SectionService.get", call -> sectionService.get(call.arg(0, Long.class)));
+        operations.put("SectionService.listByCourse", call -> sectionService.listByCourse(
+                call.arg(0, Long.class), call.arg(1, String.class), call.arg(2, Integer.class)));
+        operations.put("SectionService.listOpen", call -> sectionService.listOpen(
+                call.arg(0, String.class), call.arg(1, int.class)));
+        operations.put("SectionService.listByInstructor", call -> sectionService.listByInstructor(call.arg(0, Long.class)));
+        operations.put("SectionService.listAllSections", call -> sectionService.listAllSections());
+
+        operations.put("EnrollmentService.enroll", call -> enrollmentService.enroll(
+                call.arg(0, Long.class), call.arg(1, Long.class)));
+        operations.put("EnrollmentService.drop", call -> enrollmentService.drop(
+                call.arg(0, Long.class), call.arg(1, Long.class)));
+        operations.put("EnrollmentService.listByStudent", call -> enrollmentService.listByStudent(call.arg(0, Long.class)));
+        operations.put("EnrollmentService.listBySection", call -> enrollmentService.listBySection(call.arg(0, Long.class)));
+        operations.put("EnrollmentService.updateFinalGrade", call -> enrollmentService.updateFinalGrade(
+                call.arg(0, Long.class), call.arg(1, String.class)));
+
+        operations.put("GradeService.listComponents", call -> gradeService.listComponents(call.arg(0, Long.class)));
+        operations.put("GradeService.listComponentsBySection", call -> gradeService.listComponentsBySection(call.arg(0, Long.class)));
+        operations.put("GradeService.getComponentsForSection", call -> gradeService.getComponentsForSection(call.arg(0, Long.class)));
+        operations.put("GradeService.getGradeDistribution", call -> gradeService.getGradeDistribution(
+                call.arg(0, String.class), call.arg(1, Long.class), call.arg(2, String.class),
+                call.arg(3, String.class), call.arg(4, Integer.class)));
+        operations.put("GradeService.addComponent", call -> gradeService.addComponent(call.arg(0, Long.class),
+                call.arg(1, String.class), call.arg(2, Double.class), call.arg(3, double.class), call.arg(4, double.class)));
+        operations.put("GradeService.updateScore", call -> gradeService.updateScore(
+                call.arg(0, Long.class), call.arg(1, Double.class)));
+
+        operations.put("TranscriptService.listEntries", call -> transcriptService.listEntries(call.arg(0, Long.class)));
+        operations.put("TranscriptService.getGpaSummary", call -> transcriptService.getGpaSummary(call.arg(0, Long.class)));
+
+        // Clients only need the typed settings; the raw key/value store is admin-only
+        operations.put("SettingsService.all", call -> {
+            permissionChecker.requireAdmin();
+            return settingsService.all();
+        });
+        operations.put("SettingsService.get", call -> {
+            permissionChecker.requireAdmin();
+            return settingsService.get(call.arg(0, String.class));
+        });
+        operations.put("SettingsService.isMaintenanceMode", call -> settingsService.isMaintenanceMode());
+        operations.put("SettingsService.isRegistrationEnabled", call -> settingsService.isRegistrationEnabled());
+        operations.put("SettingsService.getSettings", call -> settingsService.getSettings());
+        // Settings writes are admin-only in the UI; enforce it here too
+        operations.put("SettingsService.set", call -> {
+            permissionChecker.requireAdmin();
+            return settingsService.set(call.arg(0, String.class), call.arg(1, String.class));
+        });
+        operations.put("SettingsService.updateSettings", call -> {
+            permissionChecker.requireAdmin();
+            settingsService.updateSettings(call.arg(0, Settings.class));
+            return null;
+        });
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Caught inside the try-with-resources: the exchange must still be open to send the 500
+            try {
+                respond(exchange);
+            } catch (RuntimeException e) {
+                logger.error("Service host request failed", e);
+                sendError(exchange, 500, e.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            exchange.sendResponseHeaders(405, -1);
+            return;
+        }
+        String operation = exchange.getRequestURI().getPath().substring(API_PREFIX.length());
+        List<Object> args;
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            Object parsed = body.isBlank() ? List.of() : JsonUtil.parse(body);
+            if (!(parsed instanceof List<?>)) {
+                sendError(exchange, 400, "IllegalArgumentException", "Arguments must be a JSON array");
+                return;
+            }
+            args = JsonUtil.convert(parsed, JsonUtil.listOf(Object.class));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, "IllegalArgumentException", e.getMessage());
+            return;
+        }
+        String remoteAddress = exchange.getRemoteAddress().getAddress().getHostAddress();
+
+        if ("AuthService.authenticate".equals(operation)) {
+            send(exchange, 200, Map.of("result", authenticate(new Call(args), remoteAddress)));
+            return;
+        }
+        Operation handler = operations.get(operation);
+        if (handler == null) {
+            sendError(exchange, 404, "UnsupportedOperationException", "Unknown operation " + operation);
+            return;
+        }
+        SessionManager session = session(exchange);
+        if (session == null) {
+            sendError(exchange, 401, "Unauthorized", "Not logged in or session expired");
+            return;
+        }
+        invoke(exchange, operation, handler, new Call(args), session);
+    }
+
+    private void invoke(HttpExchange exchange, String operation, Operation handler, Call call, SessionManager session)
+            throws IOException {
+        session.updateActivity();
+        SessionManager.bind(session);
+        try (QueryScope scope = QueryScope.open(operation)) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("result", handler.invoke(call));
+            send(exchange, 200, response);
+        } catch (PermissionException e) {
+            sendError(exchange, 403, "PermissionException", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, "IllegalArgumentException", e.getMessage());
+        } catch (Exception e) {
+            logger.error("{} failed for {}", operation, session, e);
+            sendError(exchange, 500, e.getClass().getSimpleName(), e.getMessage());
+        } finally {
+            SessionManager.unbind();
+        }
+    }
+
+    /**
+     * Authenticate with the client's address as the throttle source, and on
+     * success open a session for it.
+     */
+    private Map<String, Object> authenticate(Call call, String remoteAddress) {
+        AuthService.AuthResult result = authService.authenticate(
+                call.arg(0, String.class), call.arg(1, String.class), remoteAddress);
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("success", result.isSuccess());
+        reply.put("message", result.getMessage());
+        if (result.isSuccess()) {
+            SessionManager session = SessionManager.newSession();
+            session.setCurrentUser(result.getUser());
+            session.setProfile(result.getProfile());
+            byte[] bytes = new byte[32];
+            random.nextBytes(bytes);
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            sessions.values().removeIf(existing -> !existing.isLoggedIn());
+            sessions.put(token, session);
+
+            reply.put("token", token);
+            reply.put("user", withoutCredentials(result.getUser()));
+            reply.put("profile", profile(result.getProfile()));
+        }
+        return reply;
+    }
+
+    private SessionManager session(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authorization.substring("Bearer ".length()).trim();
+        SessionManager session = sessions.get(token);
+        if (session != null && !session.isLoggedIn()) {
+            sessions.remove(token);
+            return null;
+        }
+        return session;
+    }
+
+    private static User withoutCredentials(User user) {
+        User copy = new User(user.getUserId(), user.getUsername(), user.getRole());
+        copy.setStatus(user.getStatus());
+        copy.setLastLogin(user.getLastLogin());
+        return copy;
+    }
+
+    private static Map<String, Object> profile(UserProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("student", profile.getStudent());
+        values.put("instructor", profile.getInstructor());
+        return values;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String type, String message) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("type", type);
+        error.put("message", message);
+        send(exchange, status, Map.of("error", error));
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, ?> body) throws IOException {
+        byte[] bytes = JsonUtil.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object invoke(Call call) throws Exception;
+    }
+
+    /**
+     * Arguments of one request, converted on access to the parameter types.
+     */
+    private record Call(List<Object> args) {
+        <T> T arg(int index, Type type) {
+            if (index >= args.size()) {
+                throw new IllegalArgumentException("Missing argument " + index);
+            }
+            return JsonUtil.convert(args.get(index), type);
+        }
+    }
+}
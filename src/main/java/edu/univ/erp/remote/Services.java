@@ -0,0 +1,67 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.auth.AuthService;
+import edu.univ.erp.service.CourseService;
+import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.service.GradeService;
+import edu.univ.erp.service.SectionService;
+import edu.univ.erp.service.SettingsService;
+import edu.univ.erp.service.TranscriptService;
+import edu.univ.erp.util.ConfigUtil;
+
+import java.time.Duration;
+
+/**
+ * Where the panels get their services. With service.mode=local (default)
+ * the services talk to the database directly; with service.mode=remote they
+ * call the {@link ServiceHost} at service.url, sharing one session.
+ *
+ * Panels that use DAOs directly (the admin management screens) still need a
+ * database connection in remote mode.
+ */
+public final class Services {
+    private static ServiceClient client;
+
+    private Services() {
+    }
+
+    public static boolean isRemote() {
+        return "remote".equalsIgnoreCase(ConfigUtil.getProperty("service.mode", "local"));
+    }
+
+    public static AuthService authService() {
+        return isRemote() ? new RemoteAuthService(client()) : new AuthService();
+    }
+
+    public static CourseService courseService() {
+        return isRemote() ? new RemoteCourseService(client()) : new CourseService();
+    }
+
+    public static SectionService sectionService() {
+        return isRemote() ? new RemoteSectionService(client()) : new SectionService();
+    }
+
+    public static EnrollmentService enrollmentService() {
+        return isRemote() ? new RemoteEnrollmentService(client()) : new EnrollmentService();
+    }
+
+    public static GradeService gradeService() {
+        return isRemote() ? new RemoteGradeService(client()) : new GradeService();
+    }
+
+    public static SettingsService settingsService() {
+        return isRemote() ? new RemoteSettingsService(client()) : new SettingsService();
+    }
+
+    public static TranscriptService transcriptService() {
+        return isRemote() ? new RemoteTranscriptService(client()) : new TranscriptService();
+    }
+
+    private static synchronized ServiceClient client() {
+        if (client == null) {
+            client = new ServiceClient(ConfigUtil.getProperty("service.url", "http://127.0.0.1:8085"),
+                    Duration.ofMillis(ConfigUtil.getIntProperty("service.timeoutMillis", 30000)));
+        }
+        return client;
+    }
+}
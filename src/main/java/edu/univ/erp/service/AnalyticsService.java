@@ -0,0 +1,60 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.auth.PermissionChecker;
+import edu.univ.erp.service.EnrollmentCube.Cell;
+import edu.univ.erp.service.EnrollmentCube.Dimension;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admin queries over the enrollment cube, e.g. fill rate by department by term:
+ * <pre>
+ *   analytics.rollup(Map.of(), Dimension.DEPARTMENT, Dimension.TERM)
+ * </pre>
+ * or the grade mix of one department's courses across years:
+ * <pre>
+ *   analytics.rollup(Map.of(Dimension.DEPARTMENT, Set.of("CSE"), Dimension.STATUS, Set.of("COMPLETED")),
+ *           Dimension.COURSE, Dimension.YEAR, Dimension.GRADE)
+ * </pre>
+ */
+public class AnalyticsService {
+    private final EnrollmentCube cube;
+    private final PermissionChecker permissionChecker = new PermissionChecker();
+
+    public AnalyticsService() {
+        this(EnrollmentCube.getInstance());
+    }
+
+    AnalyticsService(EnrollmentCube cube) {
+        this.cube = cube;
+    }
+
+    /**
+     * Cells for each combination of the groupBy dimensions over the
+     * enrollments matching the filters (slice and dice); fewer dimensions
+     * roll up.
+     */
+    public List<Cell> rollup(Map<Dimension, Set<String>> filters, Dimension... groupBy) throws SQLException {
+        permissionChecker.requireAdmin();
+        return cube.query(filters, groupBy);
+    }
+
+    /**
+     * Values a dimension can be filtered on.
+     */
+    public List<String> members(Dimension dimension) throws SQLException {
+        permissionChecker.requireAdmin();
+        return cube.members(dimension);
+    }
+
+    /**
+     * Reload the cube on the next query, e.g. after a bulk load with raw SQL.
+     */
+    public void rebuild() {
+        permissionChecker.requireAdmin();
+        cube.invalidate();
+    }
+}
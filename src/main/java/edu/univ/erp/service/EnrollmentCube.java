@@ -0,0 +1,283 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.data.EnrollmentCubeDAO;
+import edu.univ.erp.events.CourseChanged;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EnrollmentChanged;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.SectionChanged;
+import edu.univ.erp.util.ConfigUtil;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-aggregated enrollment counts by department, course, term, instructor,
+ * status and final grade, for questions like "fill rate by department by
+ * term" or "grade mix by course across years" without ad-hoc SQL.
+ *
+ * The cube holds one small record per section: its dimension values, its
+ * capacity and an enrollment count per (status, final grade) pair, with the
+ * dimension strings shared. Every other dimension is an attribute of the
+ * section, so a query is one pass over those records: filters slice and
+ * dice, and the dimensions grouped by choose the rollup level (course rolls
+ * up to department, term to year).
+ *
+ * The first query loads every section in one GROUP BY. After that the cube
+ * follows the {@link EventBus}: enrollment and section events mark their
+ * section dirty and the next query reloads just those sections; a course
+ * edit reloads everything. A full reload also happens once the cube is older
+ * than analytics.cube.maxAgeMinutes (a nightly rebuild by default), which
+ * picks up changes made outside the application.
+ */
+public final class EnrollmentCube {
+
+    /**
+     * What a query can filter or group by.
+     */
+    public enum Dimension { DEPARTMENT, COURSE, YEAR, TERM, INSTRUCTOR, STATUS, GRADE }
+
+    /** Value of INSTRUCTOR, DEPARTMENT or GRADE when the section or enrollment has none. */
+    public static final String NONE = "-";
+
+    private static final Set<Dimension> ENROLLMENT_DIMENSIONS = EnumSet.of(Dimension.STATUS, Dimension.GRADE);
+
+    private static final class Holder {
+        static final EnrollmentCube INSTANCE = new EnrollmentCube(new EnrollmentCubeDAO(), EventBus.getInstance(),
+                Duration.ofMinutes(ConfigUtil.getIntProperty("analytics.cube.maxAgeMinutes", 24 * 60)));
+    }
+
+    private final EnrollmentCubeDAO dao;
+    private final Duration maxAge;
+    private final Map<Long, SectionFacts> sections = new HashMap<>();
+    private final Map<String, String> dictionary = new HashMap<>();
+    private final Set<Long> dirtySections = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyEnrollments = ConcurrentHashMap.newKeySet();
+    private volatile boolean stale = true;
+    private long builtAtNanos;
+
+    EnrollmentCube(EnrollmentCubeDAO dao, EventBus bus, Duration maxAge) {
+        this.dao = dao;
+        this.maxAge = maxAge;
+        bus.subscribe(EnrollmentChanged.class, e -> {
+            if (e.sectionId() != null) dirtySections.add(e.sectionId());
+            else dirtyEnrollments.add(e.enrollmentId());
+        });
+        bus.subscribe(SectionChanged.class, e -> dirtySections.add(e.sectionId()));
+        bus.subscribe(CourseChanged.class, e -> {
+            if (e.change() != DomainEvent.Change.CREATED) stale = true;
+        });
+    }
+
+    public static EnrollmentCube getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Aggregates over the enrollments matching every filter (a dimension's
+     * allowed values), one cell per combination of the groupBy dimensions,
+     * sorted by key. With no groupBy the result is a single grand total.
+     */
+    public synchronized List<Cell> query(Map<Dimension, Set<String>> filters, Dimension... groupBy) throws SQLException {
+        refresh();
+        boolean perEnrollment = !Collections.disjoint(filters.keySet(), ENROLLMENT_DIMENSIONS)
+                || Arrays.stream(groupBy).anyMatch(ENROLLMENT_DIMENSIONS::contains);
+        Map<List<String>, Accumulator> cells = new HashMap<>();
+        String[] values = new String[Dimension.values().length];
+        for (SectionFacts section : sections.values()) {
+            section.copyDimensions(values);
+            if (!matches(filters, values, Dimension.DEPARTMENT, Dimension.COURSE, Dimension.YEAR, Dimension.TERM, Dimension.INSTRUCTOR)) {
+                continue;
+            }
+            if (!perEnrollment) {
+                Accumulator cell = cells.computeIfAbsent(key(values, groupBy), k -> new Accumulator());
+                cell.addSection(section.capacity);
+                for (int i = 0; i < section.counts.length; i++) {
+                    cell.addEnrollments(section.statuses[i], section.counts[i]);
+                }
+                continue;
+            }
+            Set<List<String>> seen = new HashSet<>();
+            for (int i = 0; i < section.counts.length; i++) {
+                values[Dimension.STATUS.ordinal()] = section.statuses[i];
+                values[Dimension.GRADE.ordinal()] = section.grades[i];
+                if (section.counts[i] == 0 || !matches(filters, values, Dimension.STATUS, Dimension.GRADE)) {
+                    continue;
+                }
+                List<String> key = key(values, groupBy);
+                Accumulator cell = cells.computeIfAbsent(key, k -> new Accumulator());
+                if (seen.add(key)) cell.addSection(section.capacity);
+                cell.addEnrollments(section.statuses[i], section.counts[i]);
+            }
+        }
+        List<Cell> result = new ArrayList<>(cells.size());
+        cells.forEach((key, cell) -> result.add(new Cell(key, cell.sections, cell.capacity, cell.enrollments, cell.seatsTaken)));
+        result.sort(Comparator.comparing(Cell::key, EnrollmentCube::compareKeys));
+        return result;
+    }
+
+    /**
+     * Distinct values of a dimension, sorted.
+     */
+    public synchronized List<String> members(Dimension dimension) throws SQLException {
+        List<String> members = new ArrayList<>();
+        for (Cell cell : query(Map.of(), dimension)) {
+            members.add(cell.key().get(0));
+        }
+        return members;
+    }
+
+    /**
+     * Drop everything and reload on the next query.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    private void refresh() throws SQLException {
+        if (stale || System.nanoTime() - builtAtNanos > maxAge.toNanos()) {
+            stale = false;
+            dirtySections.clear();
+            dirtyEnrollments.clear();
+            sections.clear();
+            dictionary.clear();
+            builtAtNanos = System.nanoTime();
+            try {
+                load(dao.loadAll());
+            } catch (SQLException e) {
+                stale = true;
+                throw e;
+            }
+            return;
+        }
+        Set<Long> reload = drain(dirtySections);
+        Set<Long> enrollments = drain(dirtyEnrollments);
+        try {
+            reload.addAll(dao.findSectionIds(enrollments));
+            List<EnrollmentCubeDAO.Fact> facts = dao.loadSections(reload);
+            sections.keySet().removeAll(reload);
+            load(facts);
+        } catch (SQLException e) {
+            dirtySections.addAll(reload);
+            dirtyEnrollments.addAll(enrollments);
+            throw e;
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>(dirty);
+        dirty.removeAll(drained);
+        return drained;
+    }
+
+    private void load(List<EnrollmentCubeDAO.Fact> facts) {
+        Map<Long, List<EnrollmentCubeDAO.Fact>> bySection = new LinkedHashMap<>();
+        for (EnrollmentCubeDAO.Fact fact : facts) {
+            bySection.computeIfAbsent(fact.sectionId(), id -> new ArrayList<>()).add(fact);
+        }
+        bySection.forEach((sectionId, rows) -> sections.put(sectionId, toSection(rows)));
+    }
+
+    private SectionFacts toSection(List<EnrollmentCubeDAO.Fact> rows) {
+        EnrollmentCubeDAO.Fact first = rows.get(0);
+        int cells = first.status() == null ? 0 : rows.size();
+        String[] statuses = new String[cells];
+        String[] grades = new String[cells];
+        int[] counts = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            EnrollmentCubeDAO.Fact row = rows.get(i);
+            statuses[i] = intern(row.status());
+            grades[i] = intern(orNone(row.finalGrade()));
+            counts[i] = row.count();
+        }
+        return new SectionFacts(intern(orNone(first.department())), intern(first.courseCode()),
+                intern(String.valueOf(first.year())), intern(first.semester() + " " + first.year()),
+                intern(orNone(first.instructor())), first.capacity(), statuses, grades, counts);
+    }
+
+    private String intern(String value) {
+        return dictionary.computeIfAbsent(value, v -> v);
+    }
+
+    private static String orNone(String value) {
+        return value == null || value.isBlank() ? NONE : value;
+    }
+
+    private static boolean matches(Map<Dimension, Set<String>> filters, String[] values, Dimension... dimensions) {
+        for (Dimension dimension : dimensions) {
+            Set<String> allowed = filters.get(dimension);
+            if (allowed != null && !allowed.contains(values[dimension.ordinal()])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> key(String[] values, Dimension[] groupBy) {
+        String[] key = new String[groupBy.length];
+        for (int i = 0; i < groupBy.length; i++) {
+            key[i] = values[groupBy[i].ordinal()];
+        }
+        return List.of(key);
+    }
+
+    private static int compareKeys(List<String> a, List<String> b) {
+        for (int i = 0; i < a.size(); i++) {
+            int c = a.get(i).compareTo(b.get(i));
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    /**
+     * One aggregate of a query. sections and capacity count each section
+     * once per cell; seatsTaken counts ENROLLED and COMPLETED enrollments.
+     */
+    public record Cell(List<String> key, int sections, int capacity, int enrollments, int seatsTaken) {
+
+        public double fillRate() {
+            return capacity > 0 ? (double) seatsTaken / capacity : 0.0;
+        }
+    }
+
+    private static final class Accumulator {
+        int sections;
+        int capacity;
+        int enrollments;
+        int seatsTaken;
+
+        void addSection(int sectionCapacity) {
+            sections++;
+            capacity += sectionCapacity;
+        }
+
+        void addEnrollments(String status, int count) {
+            enrollments += count;
+            if (!"DROPPED".equals(status)) seatsTaken += count;
+        }
+    }
+
+    private record SectionFacts(String department, String course, String year, String term, String instructor,
+                                int capacity, String[] statuses, String[] grades, int[] counts) {
+
+        void copyDimensions(String[] values) {
+            values[Dimension.DEPARTMENT.ordinal()] = department;
+            values[Dimension.COURSE.ordinal()] = course;
+            values[Dimension.YEAR.ordinal()] = year;
+            values[Dimension.TERM.ordinal()] = term;
+            values[Dimension.INSTRUCTOR.ordinal()] = instructor;
+        }
+    }
+}
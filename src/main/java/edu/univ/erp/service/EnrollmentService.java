@@ -8,9 +8,12 @@ import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Settings;
+import edu.univ.erp.jfr.ServiceOperationEvent;
+import edu.univ.erp.metrics.ServiceMetrics;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -30,7 +33,15 @@ public class EnrollmentService {
     /**
      * Enroll a student into a section with basic validations.
      */
-    public synchronized String enroll(Long studentId, Long sectionId) {
+    public String enroll(Long studentId, Long sectionId) {
+        ServiceOperationEvent event = ServiceOperationEvent.start("EnrollmentService.enroll");
+        String result = doEnroll(studentId, sectionId);
+        ServiceMetrics.recordEnrollResult(result);
+        event.finish(result);
+        return result;
+    }
+
+    private String doEnroll(Long studentId, Long sectionId) {
         // Check if registration is enabled
         if (!settingsService.isRegistrationEnabled()) {
             return "Registration is currently disabled";
@@ -66,24 +77,13 @@ public class EnrollmentService {
             if (section == null) return "Section not found";
             if (!section.hasAvailableSeats()) return "Section is full";
 
-            // Transaction-like sequence (same connection for atomicity)
-            try (Connection conn = DatabaseConnection.getErpConnection()) {
-                try {
-                    conn.setAutoCommit(false);
-                    Long enrollmentId = enrollmentDAO.create(studentId, sectionId);
-                    boolean incremented = sectionDAO.incrementEnrolled(sectionId);
-                    if (enrollmentId == null || !incremented) {
-                        conn.rollback();
-                        return "Failed to enroll (capacity changed)";
-                    }
-                    conn.commit();
-                    return "ENROLLED";
-                } catch (Exception ex) {
-                    conn.rollback();
-                    return "Enrollment failed: " + ex.getMessage();
-                } finally {
-                    conn.setAutoCommit(true);
-                }
+            // The seat and the row are taken in one transaction; the checks
+            // above only give friendlier messages for the common cases
+            try {
+                Long enrollmentId = enrollmentDAO.enroll(studentId, sectionId);
+                return enrollmentId == null ? "Failed to enroll (capacity changed)" : "ENROLLED";
+            } catch (SQLIntegrityConstraintViolationException e) {
+                return "Already enrolled in this section";
             }
         } catch (SQLException e) {
             return "Error: " + e.getMessage();
@@ -91,6 +91,14 @@ public class EnrollmentService {
     }
 
     public String drop(Long studentId, Long sectionId) {
+        ServiceOperationEvent event = ServiceOperationEvent.start("EnrollmentService.drop");
+        String result = doDrop(studentId, sectionId);
+        ServiceMetrics.recordDropResult(result);
+        event.finish(result);
+        return result;
+    }
+
+    private String doDrop(Long studentId, Long sectionId) {
         // Check if registration is enabled (affects drops too)
         if (!settingsService.isRegistrationEnabled()) {
             return "Registration is currently disabled";
@@ -162,14 +170,27 @@ public class EnrollmentService {
     }
 
     public boolean updateFinalGrade(Long enrollmentId, String finalGrade) {
+        ServiceOperationEvent event = ServiceOperationEvent.start("EnrollmentService.updateFinalGrade");
+        boolean updated = doUpdateFinalGrade(enrollmentId, finalGrade);
+        event.finish(updated);
+        return updated;
+    }
+
+    private boolean doUpdateFinalGrade(Long enrollmentId, String finalGrade) {
         try {
+            // Final grades are set by the section's instructor (or an admin), never by students
+            permissionChecker.requireInstructor();
             permissionChecker.requireEnrollmentOwnership(enrollmentId);
         } catch (PermissionException e) {
             return false; // Return false to indicate failure
         }
         
         try {
-            return enrollmentDAO.updateFinalGrade(enrollmentId, finalGrade);
+            boolean updated = enrollmentDAO.updateFinalGrade(enrollmentId, finalGrade);
+            if (updated) {
+                ServiceMetrics.FINAL_GRADE_WRITES.increment();
+            }
+            return updated;
         } catch (SQLException e) {
             return false;
         }
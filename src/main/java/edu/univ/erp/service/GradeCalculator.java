@@ -0,0 +1,40 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.domain.Grade;
+
+import java.util.List;
+
+/**
+ * Final-grade arithmetic shared by GradeService and the instructor panels.
+ * Pure functions with no database access.
+ */
+public final class GradeCalculator {
+
+    private GradeCalculator() {
+    }
+
+    /**
+     * Weighted course percentage from grade components. Components without a
+     * score or with a non-positive max score contribute nothing.
+     */
+    public static double finalPercent(List<Grade> grades) {
+        double totalPercent = 0.0;
+        for (Grade g : grades) {
+            if (g.getScore() != null && g.getMaxScore() != null && g.getMaxScore() > 0) {
+                totalPercent += (g.getScore() / g.getMaxScore()) * (g.getWeight() / 100.0) * 100.0;
+            }
+        }
+        return totalPercent;
+    }
+
+    /**
+     * Convert a percentage to a letter grade (A/B/C/D/F on 10-point bands).
+     */
+    public static String letterGrade(double pct) {
+        if (pct >= 90) return "A";
+        if (pct >= 80) return "B";
+        if (pct >= 70) return "C";
+        if (pct >= 60) return "D";
+        return "F";
+    }
+}
@@ -0,0 +1,76 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregation loops over primitive percentage arrays, NaN meaning "not
+ * graded". {@link GradeMatrix} runs its totals and statistics through
+ * {@link #get()}, which is a SIMD implementation on the incubating Vector
+ * API when the JVM was started with {@code --add-modules jdk.incubator.vector}
+ * (and grades.vector.enabled is not false), or plain scalar loops otherwise.
+ * Both give the same results up to floating-point summation order.
+ */
+public interface GradeKernel {
+
+    /**
+     * acc[i] += column[i] * weight, treating NaN cells as 0.
+     */
+    void addWeighted(double[] acc, double[] column, double weight);
+
+    /**
+     * For graded cells only: sums[i] += column[i] * weight and
+     * weightSums[i] += weight.
+     */
+    void addWeightedGraded(double[] sums, double[] weightSums, double[] column, double weight);
+
+    /**
+     * Count, sum, sum of squares, min and max of the graded values.
+     */
+    GradeMatrix.ComponentStats summarize(double[] values);
+
+    /**
+     * Counts of graded values per bucket, where bucket k holds values with
+     * exactly k of the ascending lowerBounds at or below them: with
+     * {60, 70, 80, 90} the buckets are F, D, C, B, A.
+     */
+    int[] histogram(double[] values, double[] lowerBounds);
+
+    /**
+     * The kernel for this JVM.
+     */
+    static GradeKernel get() {
+        return Holder.INSTANCE;
+    }
+
+    static GradeKernel scalar() {
+        return ScalarGradeKernel.INSTANCE;
+    }
+
+    /**
+     * Whether the Vector API module is available to this JVM.
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    final class Holder {
+        private static final Logger logger = LoggerFactory.getLogger(GradeKernel.class);
+        static final GradeKernel INSTANCE = select();
+
+        private Holder() {
+        }
+
+        private static GradeKernel select() {
+            if (ConfigUtil.getBooleanProperty("grades.vector.enabled", true) && isVectorAvailable()) {
+                // Only linked here, so JVMs without the module never load the Vector API
+                GradeKernel kernel = new VectorGradeKernel();
+                logger.info("Grade aggregation uses the Vector API ({})", kernel);
+                return kernel;
+            }
+            logger.debug("Grade aggregation uses scalar loops");
+            return ScalarGradeKernel.INSTANCE;
+        }
+    }
+}
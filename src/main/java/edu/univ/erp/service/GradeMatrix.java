@@ -0,0 +1,361 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.Grade;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A section's grades as a students x components matrix, stored by column:
+ * one double[] per component holding each student's percentage (score /
+ * max score x 100), NaN where the component is not graded. Each component
+ * also has a weight (percent of the course grade) and a max score, taken
+ * from its first grade row; components of one section share them.
+ * <pre>
+ *   GradeMatrix sheet = GradeMatrix.of(enrollments, gradeDAO.listBySection(sectionId));
+ *   double[] overall = sheet.normalizedTotals();
+ *   String[] letters = GradeMatrix.letterGrades(overall);
+ * </pre>
+ * The totals and statistics run through {@link GradeKernel} over the
+ * primitive columns, with no boxing or per-student collections. Rows follow
+ * the enrollment list order.
+ * Not thread-safe; build it in the background and hand it to the EDT.
+ */
+public final class GradeMatrix {
+
+    // GradeCalculator.letterGrade's bands, lowest first
+    private static final double[] LETTER_LOWER_BOUNDS = {60, 70, 80, 90};
+    private static final String[] LETTERS = {"F", "D", "C", "B", "A"};
+
+    private final long[] enrollmentIds;
+    private final String[] components;
+    private final double[][] percents;
+    private final double[] weights;
+    private final double[] maxScores;
+
+    private GradeMatrix(long[] enrollmentIds, String[] components) {
+        this.enrollmentIds = enrollmentIds;
+        this.components = components;
+        this.percents = new double[components.length][enrollmentIds.length];
+        this.weights = new double[components.length];
+        this.maxScores = new double[components.length];
+        for (double[] column : percents) {
+            Arrays.fill(column, Double.NaN);
+        }
+        Arrays.fill(weights, Double.NaN);
+        Arrays.fill(maxScores, Double.NaN);
+    }
+
+    /**
+     * Matrix with components in the order their grades appear.
+     */
+    public static GradeMatrix of(List<Enrollment> enrollments, Map<Long, List<Grade>> gradesByEnrollment) {
+        return of(enrollments, gradesByEnrollment, List.of());
+    }
+
+    /**
+     * Matrix whose first columns are the given components (e.g. the section's
+     * configured ones, possibly not graded yet); components that only appear
+     * in the grades follow.
+     */
+    public static GradeMatrix of(List<Enrollment> enrollments, Map<Long, List<Grade>> gradesByEnrollment,
+                                 List<String> components) {
+        long[] ids = new long[enrollments.size()];
+        for (int row = 0; row < ids.length; row++) {
+            ids[row] = enrollments.get(row).getEnrollmentId();
+        }
+        return build(ids, gradesByEnrollment, components);
+    }
+
+    /**
+     * One student's grades, e.g. to compute their final grade.
+     */
+    public static GradeMatrix of(Long enrollmentId, List<Grade> grades) {
+        return build(new long[]{enrollmentId}, Map.of(enrollmentId, grades), List.of());
+    }
+
+    private static GradeMatrix build(long[] ids, Map<Long, List<Grade>> gradesByEnrollment, List<String> order) {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        for (String component : order) {
+            columns.putIfAbsent(component, columns.size());
+        }
+        for (long id : ids) {
+            for (Grade grade : gradesByEnrollment.getOrDefault(id, List.of())) {
+                columns.putIfAbsent(componentName(grade), columns.size());
+            }
+        }
+        GradeMatrix matrix = new GradeMatrix(ids, columns.keySet().toArray(new String[0]));
+        for (int row = 0; row < ids.length; row++) {
+            for (Grade grade : gradesByEnrollment.getOrDefault(ids[row], List.of())) {
+                int c = columns.get(componentName(grade));
+                if (Double.isNaN(matrix.weights[c]) && grade.getWeight() != null) {
+                    matrix.weights[c] = grade.getWeight();
+                }
+                if (Double.isNaN(matrix.maxScores[c]) && grade.getMaxScore() != null) {
+                    matrix.maxScores[c] = grade.getMaxScore();
+                }
+                Double score = grade.getScore();
+                Double max = grade.getMaxScore();
+                if (score != null && max != null && max > 0) {
+                    matrix.percents[c][row] = score / max * 100.0;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private static String componentName(Grade grade) {
+        return grade.getComponent() != null ? grade.getComponent() : "Other";
+    }
+
+    public int getRowCount() {
+        return enrollmentIds.length;
+    }
+
+    public int getComponentCount() {
+        return components.length;
+    }
+
+    public long getEnrollmentId(int row) {
+        return enrollmentIds[row];
+    }
+
+    public String getComponent(int column) {
+        return components[column];
+    }
+
+    /**
+     * Column of a component, or -1.
+     */
+    public int indexOf(String component) {
+        for (int c = 0; c < components.length; c++) {
+            if (components[c].equals(component)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Percentage for a cell, NaN if not graded.
+     */
+    public double getPercent(int row, int column) {
+        return percents[column][row];
+    }
+
+    public boolean isGraded(int row, int column) {
+        return !Double.isNaN(percents[column][row]);
+    }
+
+    /**
+     * Weight in percent of the course grade, NaN if no grade row has the component.
+     */
+    public double getWeight(int column) {
+        return weights[column];
+    }
+
+    public double getMaxScore(int column) {
+        return maxScores[column];
+    }
+
+    /**
+     * Record a new raw score (null clears it). Components without a max
+     * score yet are out of 100, like the ones GradeEntryPanel adds.
+     */
+    public void setScore(int row, int column, Double score) {
+        double max = maxScores[column] > 0 ? maxScores[column] : 100.0;
+        percents[column][row] = score != null ? score / max * 100.0 : Double.NaN;
+    }
+
+    /**
+     * Record a component's weight, e.g. after adding it with a default weight.
+     */
+    public void setWeight(int column, double weight) {
+        weights[column] = weight;
+    }
+
+    /**
+     * Whether every component is graded for the row.
+     */
+    public boolean isComplete(int row) {
+        for (double[] column : percents) {
+            if (Double.isNaN(column[row])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getGradedCount(int row) {
+        int graded = 0;
+        for (double[] column : percents) {
+            if (!Double.isNaN(column[row])) {
+                graded++;
+            }
+        }
+        return graded;
+    }
+
+    /**
+     * Course percentage per row with ungraded components counting as zero,
+     * as {@link GradeCalculator#finalPercent} computes it.
+     */
+    public double[] weightedTotals() {
+        GradeKernel kernel = GradeKernel.get();
+        double[] totals = new double[enrollmentIds.length];
+        for (int c = 0; c < components.length; c++) {
+            double w = weights[c] / 100.0;
+            if (w > 0) {
+                kernel.addWeighted(totals, percents[c], w);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Weighted average over the graded components only, i.e. the grade so
+     * far; NaN for rows with nothing graded.
+     */
+    public double[] normalizedTotals() {
+        GradeKernel kernel = GradeKernel.get();
+        int rows = enrollmentIds.length;
+        double[] sums = new double[rows];
+        double[] weightSums = new double[rows];
+        for (int c = 0; c < components.length; c++) {
+            if (weights[c] > 0) {
+                kernel.addWeightedGraded(sums, weightSums, percents[c], weights[c]);
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            sums[row] = weightSums[row] > 0 ? sums[row] / weightSums[row] : Double.NaN;
+        }
+        return sums;
+    }
+
+    /**
+     * {@link #normalizedTotals} for one row, e.g. after editing a cell.
+     */
+    public double normalizedTotal(int row) {
+        double sum = 0.0;
+        double weightSum = 0.0;
+        for (int c = 0; c < components.length; c++) {
+            double p = percents[c][row];
+            if (weights[c] > 0 && p == p) {
+                sum += p * weights[c];
+                weightSum += weights[c];
+            }
+        }
+        return weightSum > 0 ? sum / weightSum : Double.NaN;
+    }
+
+    /**
+     * Count, mean, spread and range of a component's graded percentages.
+     */
+    public ComponentStats componentStats(int column) {
+        return GradeKernel.get().summarize(percents[column]);
+    }
+
+    /**
+     * Stats of every component by name, merging same-named components of
+     * several matrices (e.g. all of an instructor's sections).
+     */
+    public static Map<String, ComponentStats> componentStats(List<GradeMatrix> matrices) {
+        Map<String, ComponentStats> stats = new LinkedHashMap<>();
+        for (GradeMatrix matrix : matrices) {
+            for (int c = 0; c < matrix.components.length; c++) {
+                stats.merge(matrix.components[c], matrix.componentStats(c), ComponentStats::combine);
+            }
+        }
+        stats.values().removeIf(s -> s.count() == 0);
+        return stats;
+    }
+
+    /**
+     * Letter grade per percentage; null where the percentage is NaN.
+     */
+    public static String[] letterGrades(double[] percents) {
+        String[] letters = new String[percents.length];
+        for (int row = 0; row < percents.length; row++) {
+            letters[row] = Double.isNaN(percents[row]) ? null : GradeCalculator.letterGrade(percents[row]);
+        }
+        return letters;
+    }
+
+    /**
+     * Number of graded percentages per letter grade, A to F, all letters present.
+     */
+    public static Map<String, Integer> letterCounts(double[] percents) {
+        int[] counts = GradeKernel.get().histogram(percents, LETTER_LOWER_BOUNDS);
+        Map<String, Integer> letters = new LinkedHashMap<>();
+        for (int bucket = counts.length - 1; bucket >= 0; bucket--) {
+            letters.put(LETTERS[bucket], counts[bucket]);
+        }
+        return letters;
+    }
+
+    /**
+     * Graded percentages of all rows that have any, for distribution reports.
+     */
+    public static double[] gradedTotals(List<GradeMatrix> matrices) {
+        List<double[]> parts = new ArrayList<>(matrices.size());
+        int size = 0;
+        for (GradeMatrix matrix : matrices) {
+            double[] totals = matrix.normalizedTotals();
+            parts.add(totals);
+            for (double t : totals) {
+                if (t == t) size++;
+            }
+        }
+        double[] graded = new double[size];
+        int i = 0;
+        for (double[] totals : parts) {
+            for (double t : totals) {
+                if (t == t) graded[i++] = t;
+            }
+        }
+        return graded;
+    }
+
+    /**
+     * Row index of each enrollment ID.
+     */
+    public Map<Long, Integer> rowsByEnrollment() {
+        Map<Long, Integer> rows = new HashMap<>(enrollmentIds.length * 2);
+        for (int row = 0; row < enrollmentIds.length; row++) {
+            rows.put(enrollmentIds[row], row);
+        }
+        return rows;
+    }
+
+    /**
+     * Summary of one component's graded percentages. min/max are infinite
+     * and mean/stdDev NaN when count is 0.
+     */
+    public record ComponentStats(int count, double sum, double sumOfSquares, double min, double max) {
+
+        public double mean() {
+            return count > 0 ? sum / count : Double.NaN;
+        }
+
+        /**
+         * Population standard deviation.
+         */
+        public double stdDev() {
+            if (count == 0) {
+                return Double.NaN;
+            }
+            double mean = mean();
+            return Math.sqrt(Math.max(0.0, sumOfSquares / count - mean * mean));
+        }
+
+        public ComponentStats combine(ComponentStats other) {
+            return new ComponentStats(count + other.count, sum + other.sum, sumOfSquares + other.sumOfSquares,
+                    Math.min(min, other.min), Math.max(max, other.max));
+        }
+    }
+}
@@ -4,12 +4,17 @@ import edu.univ.erp.auth.PermissionChecker;
 import edu.univ.erp.auth.PermissionException;
 import edu.univ.erp.data.EnrollmentDAO;
 import edu.univ.erp.data.GradeDAO;
+import edu.univ.erp.data.GradeStatsDAO;
 import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.GradeDistribution;
+import edu.univ.erp.jfr.ServiceOperationEvent;
+import edu.univ.erp.metrics.ServiceMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 public class GradeService {
     private static final Logger logger = LoggerFactory.getLogger(GradeService.class);
@@ -17,6 +22,7 @@ public class GradeService {
     
     private final GradeDAO gradeDAO = new GradeDAO();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final GradeStatsDAO gradeStatsDAO = new GradeStatsDAO();
     private final PermissionChecker permissionChecker = new PermissionChecker();
 
     public List<Grade> listComponents(Long enrollmentId) { 
@@ -29,6 +35,20 @@ public class GradeService {
         return gradeDAO.listByEnrollment(enrollmentId); 
     }
 
+    /**
+     * Grade components for every enrollment in a section, keyed by enrollment ID,
+     * fetched with a single query. Enrollments without grades are absent from the map.
+     */
+    public Map<Long, List<Grade>> listComponentsBySection(Long sectionId) {
+        try {
+            permissionChecker.requireSectionOwnership(sectionId);
+        } catch (PermissionException e) {
+            logger.warn("Permission denied for listComponentsBySection: {}", e.getMessage());
+            throw e;
+        }
+        return gradeDAO.listBySection(sectionId);
+    }
+
     public List<String> getComponentsForSection(Long sectionId) throws SQLException {
         // Fail fast with null check for sectionId parameter
         if (sectionId == null) {
@@ -57,8 +77,34 @@ public class GradeService {
         }
     }
 
+    /**
+     * Distribution of one component over every section of a course,
+     * department or term; null filters match anything. Instructors compare
+     * their sections against it, so it is not limited to their own.
+     */
+    public GradeDistribution getGradeDistribution(String component, Long courseId, String department,
+                                                  String semester, Integer year) throws SQLException {
+        try {
+            permissionChecker.requireInstructor();
+        } catch (PermissionException e) {
+            logger.warn("Permission denied for getGradeDistribution: {}", e.getMessage());
+            throw new SQLException("Permission denied: " + e.getMessage());
+        }
+        GradeStatsDAO.Merged merged = gradeStatsDAO.findMerged(component, courseId, department, semester, year);
+        return GradeDistribution.of(merged.stats(), merged.pendingSections());
+    }
+
     public String addComponent(Long enrollmentId, String component, Double score, double maxScore, double weight) {
+        ServiceOperationEvent event = ServiceOperationEvent.start("GradeService.addComponent");
+        String result = doAddComponent(enrollmentId, component, score, maxScore, weight);
+        event.finish(result);
+        return result;
+    }
+
+    private String doAddComponent(Long enrollmentId, String component, Double score, double maxScore, double weight) {
         try {
+            // Components are added by the section's instructor (or an admin), never by students
+            permissionChecker.requireInstructor();
             permissionChecker.requireEnrollmentOwnership(enrollmentId);
         } catch (PermissionException e) {
             logger.warn("Permission denied for addComponent: {}", e.getMessage());
@@ -69,16 +115,32 @@ public class GradeService {
             double total = gradeDAO.totalWeight(enrollmentId) + weight;
             if (total > 100.0 + 0.0001) return "Total weight exceeds 100%";
             gradeDAO.addComponent(enrollmentId, component, score, maxScore, weight);
+            ServiceMetrics.GRADE_WRITES.increment();
             if (Math.abs(total - 100.0) < 0.0001) computeAndStoreFinal(enrollmentId);
             return "ADDED";
         } catch (SQLException e) { return "Error: " + e.getMessage(); }
     }
 
     public String updateScore(Long gradeId, Double score) {
-        // Note: We would need to check gradeId ownership, but for simplicity 
-        // we're assuming this is called from contexts that already have permission
+        ServiceOperationEvent event = ServiceOperationEvent.start("GradeService.updateScore");
+        String result = doUpdateScore(gradeId, score);
+        event.finish(result);
+        return result;
+    }
+
+    private String doUpdateScore(Long gradeId, Double score) {
         try { 
-            return gradeDAO.updateScore(gradeId, score) ? "UPDATED" : "Not found"; 
+            Long enrollmentId = gradeDAO.findEnrollmentId(gradeId);
+            if (enrollmentId == null) return "Not found";
+            // Scores are entered by the section's instructor (or an admin), never by students
+            permissionChecker.requireInstructor();
+            permissionChecker.requireEnrollmentOwnership(enrollmentId);
+            if (!gradeDAO.updateScore(gradeId, score)) return "Not found";
+            ServiceMetrics.GRADE_WRITES.increment();
+            return "UPDATED";
+        } catch (PermissionException e) {
+            logger.warn("Permission denied for updateScore: {}", e.getMessage());
+            return "Permission denied: " + e.getMessage();
         } catch (SQLException e) { 
             return "Error: " + e.getMessage(); 
         }
@@ -87,22 +149,7 @@ public class GradeService {
     private void computeAndStoreFinal(Long enrollmentId) {
         List<Grade> grades = listComponents(enrollmentId);
         if (grades.isEmpty()) return;
-        double totalPercent = 0.0;
-        for (Grade g : grades) {
-            if (g.getScore() != null && g.getMaxScore() != null && g.getMaxScore() > 0) {
-                double pct = (g.getScore() / g.getMaxScore()) * (g.getWeight() / 100.0) * 100.0;
-                totalPercent += pct;
-            }
-        }
-        String letter = letterGrade(totalPercent);
-        try { enrollmentDAO.updateFinalGrade(enrollmentId, letter); } catch (SQLException ignored) {}
-    }
-
-    private String letterGrade(double pct) {
-        if (pct >= 90) return "A";
-        if (pct >= 80) return "B";
-        if (pct >= 70) return "C";
-        if (pct >= 60) return "D";
-        return "F";
+        String letter = GradeCalculator.letterGrade(GradeMatrix.of(enrollmentId, grades).weightedTotals()[0]);
+        try { if (enrollmentDAO.updateFinalGrade(enrollmentId, letter)) ServiceMetrics.FINAL_GRADE_WRITES.increment(); } catch (SQLException ignored) {}
     }
 }
@@ -0,0 +1,70 @@
+package edu.univ.erp.service;
+
+/**
+ * Plain loops; the fallback when the Vector API is not available. The JIT
+ * may still auto-vectorize the simpler ones.
+ */
+final class ScalarGradeKernel implements GradeKernel {
+
+    static final ScalarGradeKernel INSTANCE = new ScalarGradeKernel();
+
+    private ScalarGradeKernel() {
+    }
+
+    @Override
+    public void addWeighted(double[] acc, double[] column, double weight) {
+        for (int i = 0; i < acc.length; i++) {
+            double p = column[i];
+            acc[i] += p == p ? p * weight : 0.0;
+        }
+    }
+
+    @Override
+    public void addWeightedGraded(double[] sums, double[] weightSums, double[] column, double weight) {
+        for (int i = 0; i < sums.length; i++) {
+            double p = column[i];
+            boolean graded = p == p;
+            sums[i] += graded ? p * weight : 0.0;
+            weightSums[i] += graded ? weight : 0.0;
+        }
+    }
+
+    @Override
+    public GradeMatrix.ComponentStats summarize(double[] values) {
+        int count = 0;
+        double sum = 0.0;
+        double sumOfSquares = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double p : values) {
+            if (p == p) {
+                count++;
+                sum += p;
+                sumOfSquares += p * p;
+                min = Math.min(min, p);
+                max = Math.max(max, p);
+            }
+        }
+        return new GradeMatrix.ComponentStats(count, sum, sumOfSquares, min, max);
+    }
+
+    @Override
+    public int[] histogram(double[] values, double[] lowerBounds) {
+        int[] counts = new int[lowerBounds.length + 1];
+        for (double p : values) {
+            if (p == p) {
+                int bucket = 0;
+                while (bucket < lowerBounds.length && p >= lowerBounds[bucket]) {
+                    bucket++;
+                }
+                counts[bucket]++;
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -19,7 +19,7 @@ public class SectionService {
 
     public List<Section> listByInstructor(Long instructorId) throws SQLException { 
         // Instructors can only see their own sections, admins can see any instructor's sections
-        permissionChecker.requireInstructor();
+        permissionChecker.requireInstructorAccess(instructorId);
         return sectionDAO.listByInstructor(instructorId); 
     }
 
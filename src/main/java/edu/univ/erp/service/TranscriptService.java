@@ -0,0 +1,32 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.auth.PermissionChecker;
+import edu.univ.erp.data.TranscriptDAO;
+import edu.univ.erp.domain.GpaSummary;
+import edu.univ.erp.domain.TranscriptEntry;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Transcripts built from the sections' semester and year, with
+ * credit-weighted term and cumulative GPA. Students see only their own.
+ */
+public class TranscriptService {
+    private final TranscriptDAO transcriptDAO = new TranscriptDAO();
+    private final PermissionChecker permissionChecker = new PermissionChecker();
+
+    /**
+     * The student's courses in term order, each with its term GPA and the
+     * cumulative GPA up to that term.
+     */
+    public List<TranscriptEntry> listEntries(Long studentId) throws SQLException {
+        permissionChecker.requireStudentDataAccess(studentId);
+        return transcriptDAO.listByStudent(studentId);
+    }
+
+    public GpaSummary getGpaSummary(Long studentId) throws SQLException {
+        permissionChecker.requireStudentDataAccess(studentId);
+        return transcriptDAO.findGpaSummary(studentId);
+    }
+}
@@ -0,0 +1,143 @@
+package edu.univ.erp.ui;
+
+import edu.univ.erp.data.RunningStatements;
+import edu.univ.erp.jfr.BackgroundTaskEvent;
+
+import javax.swing.SwingWorker;
+import java.lang.reflect.Method;
+
+/**
+ * SwingWorker for panel data loading, run on the shared {@link TaskExecutor}
+ * with a {@link TaskPriority} and, optionally, a {@link TaskGroup} that
+ * cancels it when its panel or dialog closes. Panels implement
+ * {@link #runInBackground()} and {@link #finished()} instead of
+ * doInBackground()/done(), and call {@link #start()} instead of execute().
+ * finished() is skipped for cancelled tasks, so a closed dialog never gets
+ * a late error popup.
+ *
+ * Each run is reported as a {@link BackgroundTaskEvent}. The panel and task
+ * are taken from where the worker is declared: an anonymous worker in
+ * GradeEntryPanel.loadSections() is reported as panel "GradeEntryPanel",
+ * task "loadSections".
+ */
+public abstract class BackgroundTask<T, V> extends SwingWorker<T, V> {
+    private final TaskGroup group;
+    private final TaskPriority priority;
+    private volatile long queuedAt = System.nanoTime();
+    private volatile Thread runner;
+
+    protected BackgroundTask() {
+        this(null, TaskPriority.INTERACTIVE);
+    }
+
+    protected BackgroundTask(TaskPriority priority) {
+        this(null, priority);
+    }
+
+    protected BackgroundTask(TaskGroup group) {
+        this(group, TaskPriority.INTERACTIVE);
+    }
+
+    protected BackgroundTask(TaskGroup group, TaskPriority priority) {
+        this.group = group;
+        this.priority = priority;
+    }
+
+    /**
+     * Queue this task on the shared executor.
+     */
+    public final void start() {
+        queuedAt = System.nanoTime();
+        if (group != null) {
+            group.add(this);
+        }
+        TaskExecutor.shared().submit(this, priority);
+    }
+
+    /**
+     * Cancel the task, interrupting it and cancelling the SQL statement it is
+     * running, if any.
+     *
+     * @return false if the task had already finished
+     */
+    public final boolean abort() {
+        boolean cancelled = cancel(true);
+        Thread thread = runner;
+        if (cancelled && thread != null) {
+            RunningStatements.cancel(thread);
+        }
+        return cancelled;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    @Override
+    protected final T doInBackground() throws Exception {
+        long queueWait = System.nanoTime() - queuedAt;
+        runner = Thread.currentThread();
+        BackgroundTaskEvent event = new BackgroundTaskEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            T result = runInBackground();
+            failed = false;
+            return result;
+        } finally {
+            runner = null;
+            event.end();
+            if (event.shouldCommit()) {
+                event.panel = panelName(getClass());
+                event.task = taskName(getClass());
+                event.queueWait = queueWait;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    protected final void done() {
+        if (group != null) {
+            group.remove(this);
+        }
+        if (!isCancelled()) {
+            finished();
+        }
+    }
+
+    /**
+     * The background work; runs on a task thread.
+     */
+    protected abstract T runInBackground() throws Exception;
+
+    /**
+     * Called on the EDT when the task completes or fails (get() rethrows the
+     * failure); not called if it was cancelled.
+     */
+    protected void finished() {
+    }
+
+    static String panelName(Class<?> type) {
+        Class<?> outer = type;
+        while (outer.getEnclosingClass() != null) {
+            outer = outer.getEnclosingClass();
+        }
+        return outer.getSimpleName();
+    }
+
+    static String taskName(Class<?> type) {
+        Method method = type.getEnclosingMethod();
+        if (method == null) {
+            return type.isAnonymousClass() ? "<init>" : type.getSimpleName();
+        }
+        // Workers declared inside a lambda report the method containing the lambda
+        String name = method.getName();
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', "lambda$".length());
+            return end > 0 ? name.substring("lambda$".length(), end) : name;
+        }
+        return name;
+    }
+}
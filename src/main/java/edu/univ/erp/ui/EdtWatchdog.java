@@ -0,0 +1,257 @@
+package edu.univ.erp.ui;
+
+import edu.univ.erp.data.EdtAccessGuard;
+import edu.univ.erp.util.ConfigUtil;
+import edu.univ.erp.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the Swing event dispatch thread for stalls.
+ * <ul>
+ *   <li>Dispatch latency: a probe is posted to the event queue every 250 ms
+ *       and the time until it runs is recorded - what a click would wait.</li>
+ *   <li>Event durations: every dispatched event is timed (except ones that
+ *       opened a modal dialog, which only wait on the user).</li>
+ *   <li>Stalls: when one event runs longer than ui.watchdog.stallMillis
+ *       (default 500), the EDT's stack is captured while it is still blocked
+ *       and logged, so the report shows what the window was doing.</li>
+ * </ul>
+ * Database calls on the EDT are caught separately by {@link EdtAccessGuard};
+ * {@link #report()} includes both. Main installs the watchdog at startup
+ * unless ui.watchdog.enabled=false and logs the report on exit.
+ */
+public final class EdtWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(EdtWatchdog.class);
+
+    private static final long PROBE_INTERVAL_MILLIS = 250;
+    private static final int MAX_STALLS = 20;
+
+    private static EdtWatchdog installed;
+
+    private final long stallNanos;
+    private final MonitoringQueue queue = new MonitoringQueue();
+    private final LatencyHistogram dispatchLatency = new LatencyHistogram();
+    private final LatencyHistogram eventDurations = new LatencyHistogram();
+    private final Deque<Stall> stalls = new ArrayDeque<>();
+    private final Thread monitor;
+
+    private volatile Thread dispatchThread;
+    private volatile long eventStart;
+    private volatile long eventSequence;
+    private volatile AWTEvent currentEvent;
+    private volatile long probePostedAt;
+
+    private EdtWatchdog(long stallMillis) {
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        this.monitor = Thread.ofPlatform().daemon().name("edt-watchdog").unstarted(this::monitorLoop);
+    }
+
+    /**
+     * Install the watchdog if ui.watchdog.enabled (default true).
+     *
+     * @return the watchdog, or null when disabled
+     */
+    public static EdtWatchdog installFromConfig() {
+        if (!ConfigUtil.getBooleanProperty("ui.watchdog.enabled", true)) {
+            return null;
+        }
+        return install(ConfigUtil.getIntProperty("ui.watchdog.stallMillis", 500));
+    }
+
+    /**
+     * Replace the system event queue with a timed one. Installing again
+     * returns the existing watchdog.
+     */
+    public static synchronized EdtWatchdog install(long stallMillis) {
+        if (installed == null) {
+            EdtWatchdog watchdog = new EdtWatchdog(stallMillis);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog.queue);
+            watchdog.monitor.start();
+            installed = watchdog;
+            logger.info("EDT watchdog installed (stall threshold {} ms, JDBC on EDT: {})",
+                    stallMillis, EdtAccessGuard.getMode().name().toLowerCase());
+        }
+        return installed;
+    }
+
+    /**
+     * Remove the timed queue and stop monitoring.
+     */
+    public static synchronized void uninstall() {
+        if (installed != null) {
+            installed.monitor.interrupt();
+            installed.queue.pop();
+            installed = null;
+        }
+    }
+
+    /**
+     * Time from posting an event until the EDT ran it.
+     */
+    public LatencyHistogram getDispatchLatency() {
+        return dispatchLatency;
+    }
+
+    /**
+     * How long each dispatched event ran.
+     */
+    public LatencyHistogram getEventDurations() {
+        return eventDurations;
+    }
+
+    /**
+     * The most recent stalls, oldest first.
+     */
+    public List<Stall> getStalls() {
+        synchronized (stalls) {
+            return new ArrayList<>(stalls);
+        }
+    }
+
+    /**
+     * Human-readable summary: dispatch latency, stalls with the EDT stack at
+     * the time, and database call sites on the EDT.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder("EDT watchdog report\n");
+        sb.append(String.format("  dispatch latency: p50=%.1f ms p99=%.1f ms max=%.1f ms (%d probes)%n",
+                dispatchLatency.getPercentileNanos(0.50) / 1e6, dispatchLatency.getPercentileNanos(0.99) / 1e6,
+                dispatchLatency.getMaxNanos() / 1e6, dispatchLatency.getCount()));
+        sb.append(String.format("  events: %d, p99=%.1f ms, longest=%.1f ms%n", eventDurations.getCount(),
+                eventDurations.getPercentileNanos(0.99) / 1e6, eventDurations.getMaxNanos() / 1e6));
+        List<Stall> recent = getStalls();
+        sb.append("  stalls over ").append(TimeUnit.NANOSECONDS.toMillis(stallNanos)).append(" ms: ")
+                .append(recent.size()).append('\n');
+        for (Stall stall : recent) {
+            sb.append("    ").append(stall.event()).append(" blocked ").append(stall.blockedMillis()).append(" ms\n");
+            for (StackTraceElement frame : stall.stack()) {
+                sb.append("        at ").append(frame).append('\n');
+            }
+        }
+        Map<String, Long> violations = EdtAccessGuard.getViolations();
+        sb.append("  database calls on the EDT: ").append(violations.isEmpty() ? "none" : "").append('\n');
+        violations.forEach((site, count) -> sb.append("    ").append(count).append("x ").append(site).append('\n'));
+        return sb.toString();
+    }
+
+    private void monitorLoop() {
+        long reportedSequence = -1;
+        long nextProbe = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(Math.max(10, Math.min(PROBE_INTERVAL_MILLIS, TimeUnit.NANOSECONDS.toMillis(stallNanos) / 4)));
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (probePostedAt == 0 && now >= nextProbe) {
+                long posted = System.nanoTime();
+                probePostedAt = posted;
+                EventQueue.invokeLater(() -> {
+                    dispatchLatency.record(System.nanoTime() - posted);
+                    probePostedAt = 0;
+                });
+                nextProbe = now + TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS);
+            }
+
+            long started = eventStart;
+            long sequence = eventSequence;
+            Thread edt = dispatchThread;
+            if (started != 0 && sequence != reportedSequence && edt != null && now - started >= stallNanos) {
+                reportedSequence = sequence;
+                captureStall(edt, currentEvent, now - started);
+            }
+        }
+    }
+
+    private void captureStall(Thread edt, AWTEvent event, long blockedNanos) {
+        StackTraceElement[] stack = edt.getStackTrace();
+        Stall stall = new Stall(describe(event), TimeUnit.NANOSECONDS.toMillis(blockedNanos), stack);
+        synchronized (stalls) {
+            if (stalls.size() == MAX_STALLS) {
+                stalls.removeFirst();
+            }
+            stalls.addLast(stall);
+        }
+        Throwable trace = new Throwable("EDT stack while blocked");
+        trace.setStackTrace(stack);
+        logger.warn("Event thread blocked for {} ms by {}", stall.blockedMillis(), stall.event(), trace);
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event == null) {
+            return "unknown event";
+        }
+        if (event instanceof InvocationEvent) {
+            // invokeLater/SwingWorker.done; the stack shows which runnable
+            return "InvocationEvent";
+        }
+        String name = event.paramString();
+        int comma = name.indexOf(',');
+        return event.getClass().getSimpleName() + "[" + (comma > 0 ? name.substring(0, comma) : name) + "]";
+    }
+
+    /**
+     * Event queue that times each dispatch; installed on top of the system queue.
+     */
+    private final class MonitoringQueue extends EventQueue {
+        /** Nesting of dispatchEvent; modal dialogs pump events from inside another event. EDT only. */
+        private int depth;
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            dispatchThread = Thread.currentThread();
+            AWTEvent outer = currentEvent;
+            depth++;
+            currentEvent = event;
+            long sequence = ++eventSequence;
+            long start = System.nanoTime();
+            eventStart = start;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                boolean pumpedModalLoop = eventSequence != sequence;
+                depth--;
+                if (depth > 0) {
+                    // Back in a modal loop: the outer event was waiting on the
+                    // dialog, not blocking, so its clock restarts now
+                    currentEvent = outer;
+                    eventSequence++;
+                    eventStart = end;
+                } else {
+                    eventStart = 0;
+                    currentEvent = null;
+                }
+                if (!pumpedModalLoop) {
+                    eventDurations.record(end - start);
+                }
+            }
+        }
+
+        @Override
+        protected void pop() {
+            // Visible to uninstall()
+            super.pop();
+        }
+    }
+
+    /**
+     * An event that held the EDT past the stall threshold, with the EDT's stack
+     * captured while it was blocked.
+     */
+    public record Stall(String event, long blockedMillis, StackTraceElement[] stack) {
+    }
+}
@@ -0,0 +1,121 @@
+package edu.univ.erp.ui;
+
+import edu.univ.erp.util.ConfigUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Application-wide executor for {@link BackgroundTask}s, replacing Swing's
+ * fixed 10-thread SwingWorker pool. Each task runs on its own virtual
+ * thread, at most ui.tasks.maxConcurrent (default 8) at a time. Queued tasks
+ * start in {@link TaskPriority} order, and lower classes are capped so they
+ * never take every slot:
+ * <ul>
+ *   <li>INTERACTIVE - up to the full limit</li>
+ *   <li>PREFETCH - up to the limit minus a quarter reserved for interactive work</li>
+ *   <li>REPORT - at most ui.tasks.maxReports (default 2)</li>
+ * </ul>
+ * so a slow report never delays opening a grade sheet. The limit should not
+ * exceed the connection pool size, or tasks just queue inside Hikari instead.
+ */
+public final class TaskExecutor {
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private static final TaskExecutor SHARED = new TaskExecutor(
+            ConfigUtil.getIntProperty("ui.tasks.maxConcurrent", 8),
+            ConfigUtil.getIntProperty("ui.tasks.maxReports", 2));
+
+    private final int maxConcurrent;
+    private final int[] limits = new int[PRIORITIES.length];
+    private final int[] running = new int[PRIORITIES.length];
+    private final List<ArrayDeque<Runnable>> queues = new ArrayList<>();
+    private final ThreadFactory threads = Thread.ofVirtual().name("ui-task-", 0).factory();
+    private int runningTotal;
+
+    TaskExecutor(int maxConcurrent, int maxReports) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        int reserved = Math.max(1, this.maxConcurrent / 4);
+        limits[TaskPriority.INTERACTIVE.ordinal()] = this.maxConcurrent;
+        limits[TaskPriority.PREFETCH.ordinal()] = Math.max(1, this.maxConcurrent - reserved);
+        limits[TaskPriority.REPORT.ordinal()] = Math.max(1, Math.min(maxReports, this.maxConcurrent - reserved));
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    public static TaskExecutor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Queue a task; it starts as soon as a slot for its priority is free.
+     * Tasks that are cancelled while queued (a cancelled Future) are skipped.
+     */
+    public void submit(Runnable task, TaskPriority priority) {
+        synchronized (this) {
+            queues.get(priority.ordinal()).addLast(task);
+        }
+        drain();
+    }
+
+    public synchronized int getQueued(TaskPriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    public synchronized int getRunning(TaskPriority priority) {
+        return running[priority.ordinal()];
+    }
+
+    private void drain() {
+        List<Runnable> toStart = new ArrayList<>();
+        synchronized (this) {
+            while (runningTotal < maxConcurrent) {
+                int priority = nextRunnablePriority();
+                if (priority < 0) {
+                    break;
+                }
+                Runnable task = queues.get(priority).pollFirst();
+                running[priority]++;
+                runningTotal++;
+                toStart.add(() -> run(task, priority));
+            }
+        }
+        for (Runnable start : toStart) {
+            threads.newThread(start).start();
+        }
+    }
+
+    /**
+     * Highest priority with a queued task and a free slot, dropping tasks
+     * cancelled while they waited; -1 if nothing can start.
+     */
+    private int nextRunnablePriority() {
+        for (int priority = 0; priority < PRIORITIES.length; priority++) {
+            ArrayDeque<Runnable> queue = queues.get(priority);
+            while (!queue.isEmpty() && queue.peekFirst() instanceof Future<?> future && future.isDone()) {
+                queue.pollFirst();
+            }
+            if (!queue.isEmpty() && running[priority] < limits[priority]) {
+                return priority;
+            }
+        }
+        return -1;
+    }
+
+    private void run(Runnable task, int priority) {
+        try {
+            task.run();
+        } finally {
+            synchronized (this) {
+                running[priority]--;
+                runningTotal--;
+            }
+            drain();
+        }
+    }
+}
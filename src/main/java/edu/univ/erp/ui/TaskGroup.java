@@ -0,0 +1,89 @@
+package edu.univ.erp.ui;
+
+import java.awt.Component;
+import java.awt.Window;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The background loads started by one panel or dialog, cancelled together
+ * when it goes away so a closed window doesn't keep its queries running.
+ * <pre>
+ *   private final TaskGroup tasks = TaskGroup.of(this);
+ *   ...
+ *   new BackgroundTask&lt;List&lt;Section&gt;, Void&gt;(tasks) { ... }.start();
+ * </pre>
+ * Only reads belong in a group; saves and other writes are started without
+ * one so navigating away never aborts them.
+ */
+public final class TaskGroup {
+    private final String name;
+    private final Set<BackgroundTask<?, ?>> tasks = ConcurrentHashMap.newKeySet();
+
+    public TaskGroup(String name) {
+        this.name = name;
+    }
+
+    /**
+     * A group cancelled when the component is closed: a window when it is
+     * disposed, any other component when it stops being displayable (its
+     * window is disposed or it is removed from the screen).
+     */
+    public static TaskGroup of(Component owner) {
+        TaskGroup group = new TaskGroup(owner.getClass().getSimpleName());
+        if (owner instanceof Window window) {
+            window.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    group.cancelAll();
+                }
+            });
+        } else {
+            owner.addHierarchyListener(e -> {
+                if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !owner.isDisplayable()) {
+                    group.cancelAll();
+                }
+            });
+        }
+        return group;
+    }
+
+    void add(BackgroundTask<?, ?> task) {
+        tasks.add(task);
+    }
+
+    void remove(BackgroundTask<?, ?> task) {
+        tasks.remove(task);
+    }
+
+    /**
+     * Abort every task still queued or running, including its SQL statement.
+     * The group stays usable for new tasks.
+     *
+     * @return the number of tasks cancelled
+     */
+    public int cancelAll() {
+        int cancelled = 0;
+        for (BackgroundTask<?, ?> task : tasks) {
+            if (task.abort()) {
+                cancelled++;
+            }
+            tasks.remove(task);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Tasks started and not yet finished.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
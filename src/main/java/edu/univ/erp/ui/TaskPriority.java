@@ -0,0 +1,14 @@
+package edu.univ.erp.ui;
+
+/**
+ * Scheduling class of a {@link BackgroundTask} on the {@link TaskExecutor}.
+ * Queued tasks start in this order.
+ */
+public enum TaskPriority {
+    /** Something the user just asked for and is waiting on (opening a grade sheet, saving). */
+    INTERACTIVE,
+    /** Data loaded ahead of need, such as filling a section picker. */
+    PREFETCH,
+    /** Long-running reports, exports and backups; limited so they never hold every slot. */
+    REPORT
+}
@@ -1,6 +1,8 @@
 package edu.univ.erp.ui.admin;
 
 import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskPriority;
 import edu.univ.erp.ui.auth.LoginFrame;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
@@ -33,7 +35,7 @@ public class AdminDashboard extends JFrame {
     
     // Track active database operations to prevent premature dialog closure
     // Volatile for memory visibility across threads
-    private volatile SwingWorker<Boolean, String> currentDatabaseWorker = null;
+    private volatile BackgroundTask<Boolean, String> currentDatabaseWorker = null;
 
     public AdminDashboard() {
         initComponents();
@@ -56,7 +58,7 @@ public class AdminDashboard extends JFrame {
      */
     private synchronized boolean cancelCurrentDatabaseWorker() {
         if (currentDatabaseWorker != null && !currentDatabaseWorker.isDone()) {
-            currentDatabaseWorker.cancel(true);
+            currentDatabaseWorker.abort();
             currentDatabaseWorker = null;
             return true;
         }
@@ -65,10 +67,10 @@ public class AdminDashboard extends JFrame {
     
     /**
      * Atomically sets and starts a new database worker
-     * @param worker the SwingWorker to set and execute
+     * @param worker the task to set and start
      * @return true if the worker was set and started, false if refused due to active worker
      */
-    private synchronized boolean setAndExecuteDatabaseWorker(SwingWorker<Boolean, String> worker) {
+    private synchronized boolean setAndExecuteDatabaseWorker(BackgroundTask<Boolean, String> worker) {
         // Check if there's already an active worker running
         if (currentDatabaseWorker != null && !currentDatabaseWorker.isDone()) {
             logger.warn("Refused to start new database worker - another worker is already active");
@@ -77,7 +79,7 @@ public class AdminDashboard extends JFrame {
         
         // Safe to set and execute the new worker
         currentDatabaseWorker = worker;
-        currentDatabaseWorker.execute();
+        currentDatabaseWorker.start();
         return true;
     }
     
@@ -377,9 +379,9 @@ public class AdminDashboard extends JFrame {
     
     private void performBackupOperation(JDialog dialog, JButton backupBtn, JButton restoreBtn, 
                                       JProgressBar progressBar, JTextArea logArea) {
-        SwingWorker<Boolean, String> worker = new SwingWorker<Boolean, String>() {
+        BackgroundTask<Boolean, String> worker = new BackgroundTask<Boolean, String>(TaskPriority.REPORT) {
             @Override
-            protected Boolean doInBackground() throws Exception {
+            protected Boolean runInBackground() throws Exception {
                 publish("Starting database backup...");
                 if (isCancelled()) return false;
                 Thread.sleep(500); // Simulate initialization
@@ -413,20 +415,13 @@ public class AdminDashboard extends JFrame {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 progressBar.setVisible(false);
                 backupBtn.setEnabled(true);
                 restoreBtn.setEnabled(true);
                 clearDatabaseWorker(); // Thread-safe clear worker reference
                 
                 try {
-                    if (isCancelled()) {
-                        progressBar.setString("Backup cancelled");
-                        logArea.append(java.time.LocalTime.now().toString() + " - Backup operation was cancelled\n");
-                        logArea.setCaretPosition(logArea.getDocument().getLength());
-                        return;
-                    }
-                    
                     Boolean result = get();
                     if (result) {
                         SwingUtilities.invokeLater(() -> {
@@ -487,9 +482,9 @@ public class AdminDashboard extends JFrame {
             return; // User cancelled
         }
         
-        SwingWorker<Boolean, String> worker = new SwingWorker<Boolean, String>() {
+        BackgroundTask<Boolean, String> worker = new BackgroundTask<Boolean, String>(TaskPriority.REPORT) {
             @Override
-            protected Boolean doInBackground() throws Exception {
+            protected Boolean runInBackground() throws Exception {
                 publish("Starting database restore...");
                 if (isCancelled()) return false;
                 Thread.sleep(500); // Simulate initialization
@@ -531,20 +526,13 @@ public class AdminDashboard extends JFrame {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 progressBar.setVisible(false);
                 backupBtn.setEnabled(true);
                 restoreBtn.setEnabled(true);
                 clearDatabaseWorker(); // Thread-safe clear worker reference
                 
                 try {
-                    if (isCancelled()) {
-                        progressBar.setString("Restore cancelled");
-                        logArea.append(java.time.LocalTime.now().toString() + " - Restore operation was cancelled\n");
-                        logArea.setCaretPosition(logArea.getDocument().getLength());
-                        return;
-                    }
-                    
                     Boolean success = get();
                     if (success) {
                         SwingUtilities.invokeLater(() -> {
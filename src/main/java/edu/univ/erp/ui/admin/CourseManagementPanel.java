@@ -24,7 +24,6 @@ import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.table.DefaultTableModel;
 
 import org.slf4j.Logger;
@@ -33,6 +32,8 @@ import org.slf4j.LoggerFactory;
 import edu.univ.erp.data.CourseDAO;
 import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.domain.Course;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -41,6 +42,7 @@ import net.miginfocom.swing.MigLayout;
  */
 public class CourseManagementPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(CourseManagementPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final CourseDAO courseDAO;
     private final SectionDAO sectionDAO;
@@ -176,14 +178,14 @@ public class CourseManagementPanel extends JPanel {
     }
     
     private void loadCourses() {
-        SwingWorker<List<Course>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Course>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Course> doInBackground() throws Exception {
+            protected List<Course> runInBackground() throws Exception {
                 return courseDAO.findAll();
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Course> courses = get();
                     displayCourses(courses);
@@ -196,7 +198,7 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void displayCourses(List<Course> courses) {
@@ -217,9 +219,9 @@ public class CourseManagementPanel extends JPanel {
         String searchText = searchField.getText().trim();
         String departmentFilter = (String) departmentFilterCombo.getSelectedItem();
         
-        SwingWorker<List<Course>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Course>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Course> doInBackground() throws Exception {
+            protected List<Course> runInBackground() throws Exception {
                 List<Course> allCourses = searchText.isEmpty() ? 
                     courseDAO.findAll() : courseDAO.search(searchText);
                 
@@ -233,7 +235,7 @@ public class CourseManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     displayCourses(get());
                 } catch (Exception e) {
@@ -241,7 +243,7 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showAddCourseDialog() {
@@ -325,9 +327,9 @@ public class CourseManagementPanel extends JPanel {
     }
     
     private void createCourse(String code, String title, int credits, String department, String description) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 Course course = new Course();
                 course.setCode(code);
                 course.setTitle(title);
@@ -340,7 +342,7 @@ public class CourseManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(CourseManagementPanel.this,
@@ -365,7 +367,7 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showEditCourseDialog() {
@@ -377,13 +379,35 @@ public class CourseManagementPanel extends JPanel {
         
         Long courseId = (Long) tableModel.getValueAt(selectedRow, 0);
         
-        // Load course details
-        Course course = courseDAO.findById(courseId);
-        if (course == null) {
-            JOptionPane.showMessageDialog(this, "Course not found");
-            return;
-        }
-        
+        // Load course details off the EDT, then open the dialog
+        BackgroundTask<Course, Void> worker = new BackgroundTask<>(tasks) {
+            @Override
+            protected Course runInBackground() {
+                return courseDAO.findById(courseId);
+            }
+
+            @Override
+            protected void finished() {
+                try {
+                    Course course = get();
+                    if (course == null) {
+                        JOptionPane.showMessageDialog(CourseManagementPanel.this, "Course not found");
+                        return;
+                    }
+                    openEditCourseDialog(course);
+                } catch (Exception e) {
+                    logger.error("Error loading course", e);
+                    JOptionPane.showMessageDialog(CourseManagementPanel.this,
+                        "Error loading course: " + e.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.start();
+    }
+
+    private void openEditCourseDialog(Course course) {
         Window parentWindow = SwingUtilities.getWindowAncestor(this);
         JDialog dialog = new JDialog(parentWindow, "Edit Course", Dialog.ModalityType.APPLICATION_MODAL);
         dialog.setLayout(new MigLayout("fillx", "[right]rel[grow,fill]", ""));
@@ -460,15 +484,15 @@ public class CourseManagementPanel extends JPanel {
     }
     
     private void updateCourse(Course course) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 courseDAO.update(course);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(CourseManagementPanel.this,
@@ -485,7 +509,7 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void deleteCourse() {
@@ -499,8 +523,30 @@ public class CourseManagementPanel extends JPanel {
         String courseCode = (String) tableModel.getValueAt(selectedRow, 1);
         String courseTitle = (String) tableModel.getValueAt(selectedRow, 2);
         
-        // Check if course has sections
-        int sectionCount = sectionDAO.listByCourse(courseId, null, null).size();
+        // Check if course has sections (off the EDT), then confirm
+        BackgroundTask<Integer, Void> worker = new BackgroundTask<>() {
+            @Override
+            protected Integer runInBackground() {
+                return sectionDAO.listByCourse(courseId, null, null).size();
+            }
+
+            @Override
+            protected void finished() {
+                try {
+                    confirmAndDeleteCourse(courseId, courseCode, courseTitle, get());
+                } catch (Exception e) {
+                    logger.error("Error checking course sections", e);
+                    JOptionPane.showMessageDialog(CourseManagementPanel.this,
+                        "Error checking course sections: " + e.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.start();
+    }
+
+    private void confirmAndDeleteCourse(Long courseId, String courseCode, String courseTitle, int sectionCount) {
         if (sectionCount > 0) {
             JOptionPane.showMessageDialog(this,
                 "Cannot delete course with existing sections.\n" +
@@ -520,15 +566,15 @@ public class CourseManagementPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Void doInBackground() throws Exception {
+                protected Void runInBackground() throws Exception {
                     courseDAO.delete(courseId);
                     return null;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         JOptionPane.showMessageDialog(CourseManagementPanel.this,
@@ -545,7 +591,7 @@ public class CourseManagementPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         }
     }
     
@@ -558,9 +604,9 @@ public class CourseManagementPanel extends JPanel {
         
         Long courseId = (Long) tableModel.getValueAt(selectedRow, 0);
         
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected String doInBackground() throws Exception {
+            protected String runInBackground() throws Exception {
                 Course course = courseDAO.findById(courseId);
                 int sectionCount = sectionDAO.listByCourse(courseId, null, null).size();
                 
@@ -585,7 +631,7 @@ public class CourseManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String details = get();
                     JTextArea textArea = new JTextArea(details, 20, 50);
@@ -606,7 +652,7 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void viewCourseSections() {
@@ -620,9 +666,9 @@ public class CourseManagementPanel extends JPanel {
         String courseCode = (String) tableModel.getValueAt(selectedRow, 1);
         String courseTitle = (String) tableModel.getValueAt(selectedRow, 2);
         
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected String doInBackground() throws Exception {
+            protected String runInBackground() throws Exception {
                 var sections = sectionDAO.listByCourse(courseId, null, null);
                 
                 if (sections.isEmpty()) {
@@ -648,7 +694,7 @@ public class CourseManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String info = get();
                     JTextArea textArea = new JTextArea(info, 20, 60);
@@ -669,6 +715,6 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 }
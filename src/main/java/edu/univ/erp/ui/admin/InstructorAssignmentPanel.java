@@ -25,7 +25,6 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.table.DefaultTableModel;
 
 import org.slf4j.Logger;
@@ -37,6 +36,8 @@ import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -45,6 +46,7 @@ import net.miginfocom.swing.MigLayout;
  */
 public class InstructorAssignmentPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(InstructorAssignmentPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final SectionDAO sectionDAO;
     private final CourseDAO courseDAO;
@@ -217,9 +219,9 @@ public class InstructorAssignmentPanel extends JPanel {
     }
     
     private void loadData() {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 // Load all courses
                 List<Course> courses = courseDAO.findAll();
                 courseCache.clear();
@@ -238,7 +240,7 @@ public class InstructorAssignmentPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     loadSections();
@@ -250,18 +252,18 @@ public class InstructorAssignmentPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void loadSections() {
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() throws Exception {
+            protected List<Section> runInBackground() throws Exception {
                 return sectionDAO.findAll();
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Section> sections = get();
                     displaySections(sections);
@@ -270,7 +272,7 @@ public class InstructorAssignmentPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void displaySections(List<Section> sections) {
@@ -321,9 +323,9 @@ public class InstructorAssignmentPanel extends JPanel {
         String semesterFilter = (String) semesterFilterCombo.getSelectedItem();
         String assignmentFilter = (String) assignmentFilterCombo.getSelectedItem();
         
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() throws Exception {
+            protected List<Section> runInBackground() throws Exception {
                 List<Section> allSections = sectionDAO.findAll();
                 
                 return allSections.stream()
@@ -359,7 +361,7 @@ public class InstructorAssignmentPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     displaySections(get());
                 } catch (Exception e) {
@@ -367,7 +369,7 @@ public class InstructorAssignmentPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showAssignDialog() {
@@ -448,15 +450,15 @@ public class InstructorAssignmentPanel extends JPanel {
     
     private void assignInstructor(Long sectionId, Long instructorId, String instructorName, 
                                   String courseCode, String sectionNum) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 sectionDAO.assignInstructor(sectionId, instructorId);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(InstructorAssignmentPanel.this,
@@ -472,7 +474,7 @@ public class InstructorAssignmentPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void removeAssignment() {
@@ -504,15 +506,15 @@ public class InstructorAssignmentPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Void doInBackground() throws Exception {
+                protected Void runInBackground() throws Exception {
                     sectionDAO.assignInstructor(sectionId, null);
                     return null;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         JOptionPane.showMessageDialog(InstructorAssignmentPanel.this,
@@ -527,7 +529,7 @@ public class InstructorAssignmentPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         }
     }
     
@@ -540,9 +542,9 @@ public class InstructorAssignmentPanel extends JPanel {
         
         Long sectionId = (Long) tableModel.getValueAt(selectedRow, 0);
         
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected String doInBackground() throws Exception {
+            protected String runInBackground() throws Exception {
                 Section section = sectionDAO.findById(sectionId);
                 Course course = courseCache.get(section.getCourseId());
                 Instructor instructor = section.getInstructorId() != null ? 
@@ -577,7 +579,7 @@ public class InstructorAssignmentPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String details = get();
                     JTextArea textArea = new JTextArea(details, 18, 45);
@@ -591,7 +593,7 @@ public class InstructorAssignmentPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void viewInstructorInfo() {
@@ -611,9 +613,9 @@ public class InstructorAssignmentPanel extends JPanel {
         
         Long sectionId = (Long) tableModel.getValueAt(selectedRow, 0);
         
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected String doInBackground() throws Exception {
+            protected String runInBackground() throws Exception {
                 Section section = sectionDAO.findById(sectionId);
                 if (section.getInstructorId() == null) {
                     return null;
@@ -647,7 +649,7 @@ public class InstructorAssignmentPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String info = get();
                     if (info == null) {
@@ -667,6 +669,6 @@ public class InstructorAssignmentPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 }
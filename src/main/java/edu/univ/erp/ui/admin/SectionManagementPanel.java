@@ -25,7 +25,6 @@ import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.table.DefaultTableModel;
 
 import org.slf4j.Logger;
@@ -37,7 +36,10 @@ import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -80,6 +82,7 @@ import net.miginfocom.swing.MigLayout;
  */
 public class SectionManagementPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(SectionManagementPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final SectionDAO sectionDAO;
     private final CourseDAO courseDAO;
@@ -117,7 +120,7 @@ public class SectionManagementPanel extends JPanel {
      */
     @Deprecated
     public SectionManagementPanel() {
-        this(new SectionDAO(), new CourseDAO(), new InstructorDAO(), new SectionService());
+        this(new SectionDAO(), new CourseDAO(), new InstructorDAO(), Services.sectionService());
     }
     
     /**
@@ -252,9 +255,9 @@ public class SectionManagementPanel extends JPanel {
     }
     
     private void loadSections() {
-        SwingWorker<List<SectionViewData>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<SectionViewData>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<SectionViewData> doInBackground() throws Exception {
+            protected List<SectionViewData> runInBackground() throws Exception {
                 // Fetch sections
                 List<Section> sections = sectionService.listAllSections();
                 
@@ -310,7 +313,7 @@ public class SectionManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<SectionViewData> viewData = get();
                     displaySections(viewData);
@@ -323,7 +326,7 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void displaySections(List<SectionViewData> viewDataList) {
@@ -394,9 +397,9 @@ public class SectionManagementPanel extends JPanel {
         String searchText = searchField.getText().trim().toLowerCase();
         String semesterFilter = (String) semesterFilterCombo.getSelectedItem();
         
-        SwingWorker<List<SectionViewData>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<SectionViewData>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<SectionViewData> doInBackground() throws Exception {
+            protected List<SectionViewData> runInBackground() throws Exception {
                 // Preload all courses and instructors into maps
                 Map<Long, Course> courseMap = new java.util.HashMap<>();
                 List<Course> courses = courseDAO.findAll();
@@ -479,7 +482,7 @@ public class SectionManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     displaySections(get());
                 } catch (Exception e) {
@@ -487,7 +490,7 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showAddSectionDialog() {
@@ -604,9 +607,9 @@ public class SectionManagementPanel extends JPanel {
     private void createSection(Long courseId, String sectionNumber, String semester, int year,
                                String dayOfWeek, int startHour, int startMinute, int endHour, int endMinute,
                                String room, int capacity) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 Section section = new Section();
                 section.setCourseId(courseId);
                 section.setSectionNumber(sectionNumber);
@@ -624,7 +627,7 @@ public class SectionManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(SectionManagementPanel.this,
@@ -641,7 +644,7 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showEditSectionDialog() {
@@ -657,14 +660,14 @@ public class SectionManagementPanel extends JPanel {
         sectionTable.setEnabled(false);
         
         // Load section details in background thread
-        SwingWorker<Section, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Section, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Section doInBackground() throws Exception {
+            protected Section runInBackground() throws Exception {
                 return sectionDAO.findById(sectionId);
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 // Re-enable table
                 sectionTable.setEnabled(true);
                 
@@ -690,7 +693,7 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showEditDialogWithSection(Section section) {
@@ -803,15 +806,15 @@ public class SectionManagementPanel extends JPanel {
     }
     
     private void updateSection(Section section) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 sectionDAO.update(section);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(SectionManagementPanel.this,
@@ -828,7 +831,7 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void deleteSection() {
@@ -860,15 +863,15 @@ public class SectionManagementPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Void doInBackground() throws Exception {
+                protected Void runInBackground() throws Exception {
                     sectionDAO.delete(sectionId);
                     return null;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         JOptionPane.showMessageDialog(SectionManagementPanel.this,
@@ -885,7 +888,7 @@ public class SectionManagementPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         }
     }
     
@@ -948,15 +951,15 @@ public class SectionManagementPanel extends JPanel {
     }
     
     private void assignInstructor(Long sectionId, Long instructorId) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 sectionDAO.assignInstructor(sectionId, instructorId);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     String message = instructorId != null ? 
@@ -976,7 +979,7 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showSectionDetails() {
@@ -988,9 +991,9 @@ public class SectionManagementPanel extends JPanel {
         
         Long sectionId = (Long) tableModel.getValueAt(selectedRow, 0);
         
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected String doInBackground() throws Exception {
+            protected String runInBackground() throws Exception {
                 Section section = sectionDAO.findById(sectionId);
                 Course course = courseDAO.findById(section.getCourseId());
                 Instructor instructor = section.getInstructorId() != null ? 
@@ -1026,7 +1029,7 @@ public class SectionManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String details = get();
                     JTextArea textArea = new JTextArea(details, 20, 50);
@@ -1047,6 +1050,6 @@ public class SectionManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 }
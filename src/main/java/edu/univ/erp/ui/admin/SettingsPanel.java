@@ -2,6 +2,8 @@ package edu.univ.erp.ui.admin;
 
 import edu.univ.erp.data.SettingsDAO;
 import edu.univ.erp.domain.Settings;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +20,7 @@ import java.time.format.DateTimeFormatter;
  */
 public class SettingsPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(SettingsPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final SettingsDAO settingsDAO;
     
@@ -215,14 +218,14 @@ public class SettingsPanel extends JPanel {
     }
     
     private void loadSettings() {
-        SwingWorker<Settings, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Settings, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Settings doInBackground() throws Exception {
+            protected Settings runInBackground() throws Exception {
                 return settingsDAO.getSettings();
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     currentSettings = get();
                     if (currentSettings != null) {
@@ -255,7 +258,7 @@ public class SettingsPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void displaySettings(Settings settings) {
@@ -348,15 +351,15 @@ public class SettingsPanel extends JPanel {
         settings.setAnnouncement(announcement.isEmpty() ? null : announcement);
         
         // Save to database
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 settingsDAO.updateSettings(settings);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     currentSettings = settings;
@@ -373,7 +376,7 @@ public class SettingsPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void resetToDefaults() {
@@ -402,15 +405,15 @@ public class SettingsPanel extends JPanel {
             displaySettings(defaults);
             
             // Save defaults
-            SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Void doInBackground() throws Exception {
+                protected Void runInBackground() throws Exception {
                     settingsDAO.updateSettings(defaults);
                     return null;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         currentSettings = defaults;
@@ -427,7 +430,7 @@ public class SettingsPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         }
     }
     
@@ -21,7 +21,6 @@ import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.table.DefaultTableModel;
 
 import org.slf4j.Logger;
@@ -31,6 +30,8 @@ import edu.univ.erp.auth.AuthDAO;
 import edu.univ.erp.auth.PasswordUtil;
 import edu.univ.erp.auth.UserRole;
 import edu.univ.erp.domain.User;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -39,6 +40,7 @@ import net.miginfocom.swing.MigLayout;
  */
 public class UserManagementPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(UserManagementPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final AuthDAO authDAO;
     private JTable userTable;
@@ -167,14 +169,14 @@ public class UserManagementPanel extends JPanel {
     }
     
     private void loadUsers() {
-        SwingWorker<List<User>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<User>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<User> doInBackground() throws Exception {
+            protected List<User> runInBackground() throws Exception {
                 return authDAO.getAllUsers();
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<User> users = get();
                     displayUsers(users);
@@ -187,7 +189,7 @@ public class UserManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void displayUsers(List<User> users) {
@@ -208,9 +210,9 @@ public class UserManagementPanel extends JPanel {
         String searchText = searchField.getText().trim().toLowerCase();
         String roleFilter = (String) roleFilterCombo.getSelectedItem();
         
-        SwingWorker<List<User>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<User>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<User> doInBackground() throws Exception {
+            protected List<User> runInBackground() throws Exception {
                 List<User> allUsers = authDAO.getAllUsers();
                 return allUsers.stream()
                     .filter(u -> {
@@ -224,7 +226,7 @@ public class UserManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     displayUsers(get());
                 } catch (Exception e) {
@@ -232,7 +234,7 @@ public class UserManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showAddUserDialog() {
@@ -313,9 +315,9 @@ public class UserManagementPanel extends JPanel {
     }
     
     private void createUser(String username, String password, String role) {
-        SwingWorker<Long, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Long, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Long doInBackground() throws Exception {
+            protected Long runInBackground() throws Exception {
                 String hashedPassword = PasswordUtil.hashPassword(password);
                 Long userId = authDAO.createUser(username, role, hashedPassword);
                 logger.info("User created with ID: {}", userId);
@@ -325,7 +327,7 @@ public class UserManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     Long userId = get();
                     if (userId != null) {
@@ -353,7 +355,7 @@ public class UserManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void showEditUserDialog() {
@@ -419,9 +421,9 @@ public class UserManagementPanel extends JPanel {
     }
     
     private void updateUser(Long userId, String username, String role) {
-        SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Boolean, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Boolean doInBackground() throws Exception {
+            protected Boolean runInBackground() throws Exception {
                 authDAO.updateUser(userId, username, role);
                 logger.info("User updated - ID: {}, Username: {}, Role: {}", userId, username, role);
                 // Give database a moment to commit
@@ -430,7 +432,7 @@ public class UserManagementPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     Boolean success = get();
                     if (success) {
@@ -458,7 +460,7 @@ public class UserManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void deleteUser() {
@@ -482,15 +484,15 @@ public class UserManagementPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Void doInBackground() throws Exception {
+                protected Void runInBackground() throws Exception {
                     authDAO.deleteUser(userId);
                     return null;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         JOptionPane.showMessageDialog(UserManagementPanel.this,
@@ -507,7 +509,7 @@ public class UserManagementPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         }
     }
     
@@ -585,16 +587,16 @@ public class UserManagementPanel extends JPanel {
     }
     
     private void resetPassword(Long userId, String username, String newPassword) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 String hashedPassword = PasswordUtil.hashPassword(newPassword);
                 authDAO.resetPassword(userId, hashedPassword);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(UserManagementPanel.this,
@@ -610,7 +612,7 @@ public class UserManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void unlockAccount() {
@@ -626,15 +628,15 @@ public class UserManagementPanel extends JPanel {
         Long userId = (Long) tableModel.getValueAt(selectedRow, 0);
         String username = (String) tableModel.getValueAt(selectedRow, 1);
         
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Void doInBackground() throws Exception {
+            protected Void runInBackground() throws Exception {
                 authDAO.unlockAccount(userId);
                 return null;
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     get();
                     JOptionPane.showMessageDialog(UserManagementPanel.this,
@@ -651,6 +653,6 @@ public class UserManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 }
@@ -4,6 +4,8 @@ import edu.univ.erp.auth.AuthService;
 import edu.univ.erp.auth.PasswordUtil;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.domain.User;
+import edu.univ.erp.remote.Services;
+import edu.univ.erp.ui.BackgroundTask;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,7 +31,7 @@ public class ChangePasswordDialog extends JDialog {
     
     public ChangePasswordDialog(Frame parent) {
         super(parent, "Change Password", true);
-        this.authService = new AuthService();
+        this.authService = Services.authService();
         this.currentUser = SessionManager.getInstance().getCurrentUser();
         initComponents();
     }
@@ -216,15 +218,15 @@ public class ChangePasswordDialog extends JDialog {
         }
         
         // Change password in background
-        SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Boolean, Void> worker = new BackgroundTask<>() {
             @Override
-            protected Boolean doInBackground() throws Exception {
+            protected Boolean runInBackground() throws Exception {
                 // Change password (AuthService will verify current password internally)
                 return authService.changePassword(currentUser.getUserId(), currentPassword, newPassword);
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     Boolean success = get();
                     if (success) {
@@ -252,6 +254,6 @@ public class ChangePasswordDialog extends JDialog {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 }
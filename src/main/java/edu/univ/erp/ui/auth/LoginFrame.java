@@ -5,9 +5,9 @@ import edu.univ.erp.auth.AuthService;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.auth.UserRole;
 import edu.univ.erp.data.DatabaseConnection;
-import edu.univ.erp.data.SettingsDAO;
-import edu.univ.erp.domain.Settings;
 import edu.univ.erp.domain.User;
+import edu.univ.erp.remote.Services;
+import edu.univ.erp.ui.BackgroundTask;
 import edu.univ.erp.ui.admin.AdminDashboard;
 import edu.univ.erp.ui.instructor.InstructorDashboard;
 import edu.univ.erp.ui.student.StudentDashboard;
@@ -31,7 +31,7 @@ public class LoginFrame extends JFrame {
     private AuthService authService;
 
     public LoginFrame() {
-        this.authService = new AuthService();
+        this.authService = Services.authService();
         initComponents();
         setupFrame();
     }
@@ -111,13 +111,6 @@ public class LoginFrame extends JFrame {
             return;
         }
 
-        // Test database connection first
-        if (!DatabaseConnection.testConnections()) {
-            showError("Cannot connect to database. Please check configuration.");
-            logger.error("Database connection test failed");
-            return;
-        }
-
         // Disable button and show loading
         loginButton.setEnabled(false);
         loginButton.setText("Logging in...");
@@ -125,14 +118,20 @@ public class LoginFrame extends JFrame {
         statusLabel.setForeground(Color.BLUE);
 
         // Perform authentication in background
-        SwingWorker<AuthService.AuthResult, Void> worker = new SwingWorker<>() {
+        BackgroundTask<AuthService.AuthResult, Void> worker = new BackgroundTask<>() {
             @Override
-            protected AuthService.AuthResult doInBackground() {
+            protected AuthService.AuthResult runInBackground() {
+                // Pools may still be starting up; wait for them here rather than on the EDT.
+                // Remote clients have no pools of their own.
+                if (!Services.isRemote() && !DatabaseConnection.testConnections()) {
+                    logger.error("Database connection test failed");
+                    return new AuthService.AuthResult(false, "Cannot connect to database. Please check configuration.", null);
+                }
                 return authService.authenticate(username, password);
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     AuthService.AuthResult result = get();
                     loginButton.setEnabled(true);
@@ -141,6 +140,7 @@ public class LoginFrame extends JFrame {
                     if (result.isSuccess()) {
                         User user = result.getUser();
                         SessionManager.getInstance().setCurrentUser(user);
+                        SessionManager.getInstance().setProfile(result.getProfile());
                         logger.info("Login successful for user: {} (role: {})", user.getUsername(), user.getRole());
                         
                         // Check maintenance mode before opening dashboard
@@ -172,7 +172,7 @@ public class LoginFrame extends JFrame {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     /**
@@ -188,10 +188,7 @@ public class LoginFrame extends JFrame {
         }
         
         try {
-            SettingsDAO settingsDAO = new SettingsDAO();
-            Settings settings = settingsDAO.getSettings();
-            
-            if (settings.isMaintenanceMode()) {
+            if (Services.settingsService().isMaintenanceMode()) {
                 logger.warn("Maintenance mode blocked login for user: {} (role: {})", 
                         user.getUsername(), user.getRole());
                 
@@ -2,13 +2,17 @@ package edu.univ.erp.ui.instructor;
 
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.InstructorDAO;
+import edu.univ.erp.data.QueryScope;
 import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,13 +25,16 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for tracking student attendance.
  */
 public class AttendancePanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(AttendancePanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final SectionService sectionService;
     private final EnrollmentService enrollmentService;
@@ -64,7 +71,7 @@ public class AttendancePanel extends JPanel {
      * Creates instances of dependencies directly.
      */
     public AttendancePanel() {
-        this(new SectionService(), new EnrollmentService(), new StudentDAO(), new InstructorDAO());
+        this(Services.sectionService(), Services.enrollmentService(), new StudentDAO(), new InstructorDAO());
     }
 
     private void initComponents() {
@@ -182,9 +189,9 @@ public class AttendancePanel extends JPanel {
     }
     
     private void loadSections() {
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() throws Exception {
+            protected List<Section> runInBackground() throws Exception {
                 Long instructorId = getCurrentInstructorId();
                 if (instructorId == null) {
                     throw new IllegalStateException("No instructor ID available");
@@ -193,7 +200,7 @@ public class AttendancePanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Section> sections = get();
                     sectionCombo.removeAllItems();
@@ -211,7 +218,7 @@ public class AttendancePanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void onSectionChanged(ActionEvent e) {
@@ -237,17 +244,23 @@ public class AttendancePanel extends JPanel {
         Section selectedSection = (Section) sectionCombo.getSelectedItem();
         if (selectedSection == null) return;
         
-        SwingWorker<List<Object[]>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Object[]>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Object[]> doInBackground() throws Exception {
+            protected List<Object[]> runInBackground() throws Exception {
                 List<Object[]> studentRows = new java.util.ArrayList<>();
                 
-                // Background database operations
-                List<Enrollment> enrollments = enrollmentService.listBySection(selectedSection.getSectionId());
-                
-                for (Enrollment enrollment : enrollments) {
-                    try {
-                        Student student = studentDAO.findById(enrollment.getStudentId());
+                try (QueryScope scope = QueryScope.open("load attendance roster")) {
+                    List<Enrollment> enrollments = enrollmentService.listBySection(selectedSection.getSectionId());
+                    
+                    // One query for the whole roster instead of one per student
+                    List<Long> studentIds = enrollments.stream().map(Enrollment::getStudentId).distinct().toList();
+                    Map<Long, Student> studentsById = new HashMap<>();
+                    for (Student student : studentDAO.findByIds(studentIds)) {
+                        studentsById.put(student.getStudentId(), student);
+                    }
+                    
+                    for (Enrollment enrollment : enrollments) {
+                        Student student = studentsById.get(enrollment.getStudentId());
                         if (student != null) {
                             Object[] row = {
                                 student.getStudentId(),
@@ -260,8 +273,6 @@ public class AttendancePanel extends JPanel {
                             };
                             studentRows.add(row);
                         }
-                    } catch (Exception e) {
-                        logger.error("Error loading student data for enrollment {}", enrollment.getEnrollmentId(), e);
                     }
                 }
                 
@@ -269,7 +280,7 @@ public class AttendancePanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Object[]> studentRows = get();
                     tableModel.setRowCount(0);
@@ -285,7 +296,7 @@ public class AttendancePanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     private void markAllPresent(ActionEvent e) {
@@ -444,7 +455,10 @@ public class AttendancePanel extends JPanel {
             // Get instructor record from user ID
             Instructor instructor;
             try {
-                instructor = instructorDAO.findByUserId(userId);
+                instructor = SessionManager.getInstance().getInstructor();
+                if (instructor == null) {
+                    instructor = instructorDAO.findByUserId(userId);
+                }
             } catch (Exception dbException) {
                 logger.error("Database error while retrieving instructor for user ID: {}", userId, dbException);
                 throw new RuntimeException("Database error while retrieving instructor information", dbException);
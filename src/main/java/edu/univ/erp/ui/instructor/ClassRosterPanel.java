@@ -26,7 +26,6 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 
@@ -40,8 +39,11 @@ import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -49,9 +51,10 @@ import net.miginfocom.swing.MigLayout;
  */
 public class ClassRosterPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(ClassRosterPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final SectionService sectionService = new SectionService();
-    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final SectionService sectionService = Services.sectionService();
+    private final EnrollmentService enrollmentService = Services.enrollmentService();
     private final InstructorDAO instructorDAO = new InstructorDAO();
     private final StudentDAO studentDAO = new StudentDAO();
     
@@ -79,7 +82,10 @@ public class ClassRosterPanel extends JPanel {
                 logger.warn("User ID is null, cannot load instructor data");
                 return;
             }
-            currentInstructor = instructorDAO.findByUserId(userId);
+            currentInstructor = SessionManager.getInstance().getInstructor();
+            if (currentInstructor == null) {
+                currentInstructor = instructorDAO.findByUserId(userId);
+            }
             if (currentInstructor == null) {
                 logger.warn("No instructor found for user ID: {}", userId);
             }
@@ -159,9 +165,9 @@ public class ClassRosterPanel extends JPanel {
             return;
         }
 
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() {
+            protected List<Section> runInBackground() {
                 try {
                     return sectionService.listByInstructor(currentInstructor.getInstructorId());
                 } catch (Exception e) {
@@ -171,7 +177,7 @@ public class ClassRosterPanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Section> sections = get();
                     sectionCombo.removeAllItems();
@@ -194,7 +200,7 @@ public class ClassRosterPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void loadRoster() {
@@ -207,9 +213,9 @@ public class ClassRosterPanel extends JPanel {
 
         Section section = selectedItem.section;
         
-        SwingWorker<RosterData, Void> worker = new SwingWorker<>() {
+        BackgroundTask<RosterData, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected RosterData doInBackground() {
+            protected RosterData runInBackground() {
                 try {
                     // Fetch enrollments first
                     List<Enrollment> enrollments = enrollmentService.listBySection(section.getSectionId());
@@ -245,7 +251,7 @@ public class ClassRosterPanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     RosterData rosterData = get();
                     List<Enrollment> enrollments = rosterData.enrollments;
@@ -289,7 +295,7 @@ public class ClassRosterPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void emailStudents() {
@@ -30,7 +30,6 @@ import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 
@@ -42,7 +41,10 @@ import edu.univ.erp.data.InstructorDAO;
 import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -50,8 +52,9 @@ import net.miginfocom.swing.MigLayout;
  */
 public class CourseManagementPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(CourseManagementPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final SectionService sectionService = new SectionService();
+    private final SectionService sectionService = Services.sectionService();
     private final SectionDAO sectionDAO = new SectionDAO();
     private final InstructorDAO instructorDAO = new InstructorDAO();
     
@@ -81,7 +84,10 @@ public class CourseManagementPanel extends JPanel {
                 logger.warn("User ID is null, cannot load instructor data");
                 return;
             }
-            currentInstructor = instructorDAO.findByUserId(userId);
+            currentInstructor = SessionManager.getInstance().getInstructor();
+            if (currentInstructor == null) {
+                currentInstructor = instructorDAO.findByUserId(userId);
+            }
             if (currentInstructor == null) {
                 logger.warn("No instructor found for user ID: {}", userId);
             }
@@ -152,9 +158,9 @@ public class CourseManagementPanel extends JPanel {
             return;
         }
 
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() {
+            protected List<Section> runInBackground() {
                 try {
                     return sectionService.listByInstructor(currentInstructor.getInstructorId());
                 } catch (Exception e) {
@@ -164,7 +170,7 @@ public class CourseManagementPanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Section> sections = get();
                     loadedSections.clear();
@@ -199,7 +205,7 @@ public class CourseManagementPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void editSelectedSection() {
@@ -323,15 +329,15 @@ public class CourseManagementPanel extends JPanel {
             section.setEndTime(endTime);
             section.setRoom(room);
             
-            SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Boolean, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Boolean doInBackground() throws Exception {
+                protected Boolean runInBackground() throws Exception {
                     sectionDAO.update(section);
                     return true;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         JOptionPane.showMessageDialog(dialog, "Section updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -343,7 +349,7 @@ public class CourseManagementPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         });
         
         cancelBtn.addActionListener(e -> dialog.dispose());
@@ -465,15 +471,15 @@ public class CourseManagementPanel extends JPanel {
             
             section.setCapacity(newCapacity);
             
-            SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Boolean, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Boolean doInBackground() throws Exception {
+                protected Boolean runInBackground() throws Exception {
                     sectionDAO.update(section);
                     return true;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         get();
                         JOptionPane.showMessageDialog(dialog, "Capacity updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -485,7 +491,7 @@ public class CourseManagementPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         });
         
         closeBtn.addActionListener(e -> dialog.dispose());
@@ -2,15 +2,22 @@ package edu.univ.erp.ui.instructor;
 
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.InstructorDAO;
+import edu.univ.erp.data.QueryScope;
 import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Grade;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.service.GradeCalculator;
+import edu.univ.erp.service.GradeMatrix;
 import edu.univ.erp.service.GradeService;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
+import edu.univ.erp.util.CsvUtil;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,10 +44,11 @@ import java.util.stream.Collectors;
  */
 public class GradeEntryPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(GradeEntryPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final SectionService sectionService = new SectionService();
-    private final EnrollmentService enrollmentService = new EnrollmentService();
-    private final GradeService gradeService = new GradeService();
+    private final SectionService sectionService = Services.sectionService();
+    private final EnrollmentService enrollmentService = Services.enrollmentService();
+    private final GradeService gradeService = Services.gradeService();
     private final InstructorDAO instructorDAO = new InstructorDAO();
     private final StudentDAO studentDAO = new StudentDAO();
     
@@ -53,6 +61,8 @@ public class GradeEntryPanel extends JPanel {
     
     // Dynamic column management
     private List<String> gradeComponents = new ArrayList<>();
+    // Scores behind the table rows, kept to recompute a row after an edit
+    private GradeMatrix gradeMatrix;
     private static final String[] FIXED_COLUMNS = {"Student ID", "Student Name"};
     private static final String[] CALCULATED_COLUMNS = {"Overall", "Letter Grade"};
 
@@ -67,9 +77,9 @@ public class GradeEntryPanel extends JPanel {
             sectionCombo.setEnabled(false);
         }
         
-        SwingWorker<Instructor, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Instructor, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Instructor doInBackground() throws Exception {
+            protected Instructor runInBackground() throws Exception {
                 try {
                     // Safely get current user and handle null case
                     var currentUser = SessionManager.getInstance().getCurrentUser();
@@ -84,7 +94,10 @@ public class GradeEntryPanel extends JPanel {
                         return null;
                     }
                     
-                    Instructor instructor = instructorDAO.findByUserId(userId);
+                    Instructor instructor = SessionManager.getInstance().getInstructor();
+                    if (instructor == null) {
+                        instructor = instructorDAO.findByUserId(userId);
+                    }
                     if (instructor == null) {
                         logger.warn("No instructor found for user ID: {}", userId);
                     }
@@ -96,7 +109,7 @@ public class GradeEntryPanel extends JPanel {
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     currentInstructor = get();
                     
@@ -158,7 +171,7 @@ public class GradeEntryPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void initComponents() {
@@ -343,9 +356,9 @@ public class GradeEntryPanel extends JPanel {
             return;
         }
 
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() {
+            protected List<Section> runInBackground() {
                 try {
                     return sectionService.listByInstructor(currentInstructor.getInstructorId());
                 } catch (Exception e) {
@@ -355,7 +368,7 @@ public class GradeEntryPanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Section> sections = get();
                     sectionCombo.removeAllItems();
@@ -379,7 +392,7 @@ public class GradeEntryPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void loadGrades() {
@@ -392,25 +405,33 @@ public class GradeEntryPanel extends JPanel {
 
         Section section = selectedItem.section;
         
-        SwingWorker<List<Enrollment>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Enrollment>, Void> worker = new BackgroundTask<>(tasks) {
+            private List<String> sectionComponents = List.of();
+            private Map<Long, String> studentNames = Map.of();
+            private GradeMatrix matrix;
+
             @Override
-            protected List<Enrollment> doInBackground() {
-                try {
-                    return enrollmentService.listBySection(section.getSectionId());
+            protected List<Enrollment> runInBackground() {
+                try (QueryScope scope = QueryScope.open("open grade sheet")) {
+                    List<Enrollment> enrollments = enrollmentService.listBySection(section.getSectionId());
+                    sectionComponents = getGradeComponentsForSection(section.getSectionId());
+                    // One query for the whole sheet instead of one per student
+                    matrix = GradeMatrix.of(enrollments, gradeService.listComponentsBySection(section.getSectionId()), sectionComponents);
+                    // Batch-fetch student names to avoid per-row DB calls
+                    studentNames = getStudentNamesMap(enrollments);
+                    return enrollments;
                 } catch (Exception e) {
                     logger.error("Error loading enrollments for grading", e);
+                    matrix = GradeMatrix.of(List.of(), Map.of());
                     return List.of();
                 }
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Enrollment> enrollments = get();
                     
-                    // Get actual grade components for this section
-                    List<String> sectionComponents = getGradeComponentsForSection(section.getSectionId());
-                    
                     // Rebuild table structure if components have changed
                     if (!sectionComponents.equals(gradeComponents)) {
                         rebuildTableStructure(sectionComponents);
@@ -418,13 +439,12 @@ public class GradeEntryPanel extends JPanel {
                     
                     // Clear existing data
                     gradesModel.setRowCount(0);
+                    gradeMatrix = matrix;
+                    double[] overall = matrix.normalizedTotals();
+                    String[] letters = GradeMatrix.letterGrades(overall);
                     
-                    // Batch-fetch student names to avoid per-row DB calls
-                    Map<Long, String> studentNames = getStudentNamesMap(enrollments);
-                    
-                    for (Enrollment enrollment : enrollments) {
-                        // Load existing grades for this enrollment
-                        List<Grade> grades = gradeService.listComponents(enrollment.getEnrollmentId());
+                    for (int row = 0; row < enrollments.size(); row++) {
+                        Enrollment enrollment = enrollments.get(row);
                         
                         // Create row data based on current table structure
                         Object[] rowData = new Object[gradesModel.getColumnCount()];
@@ -440,62 +460,25 @@ public class GradeEntryPanel extends JPanel {
                         }
                         rowData[1] = studentName;
                         
-                        // Grade component columns
-                        double totalScore = 0.0;
-                        double totalWeight = 0.0;
-                        
+                        // Grade component columns, as percentages
                         for (int i = 0; i < gradeComponents.size(); i++) {
-                            String component = gradeComponents.get(i);
-                            double score = getGradeComponent(grades, component);
-                            int columnIndex = FIXED_COLUMNS.length + i;
-                            
-                            if (score > 0) {
-                                rowData[columnIndex] = df.format(score);
-                                
-                                // Calculate weighted contribution using actual Grade weight
-                                Grade gradeObj = getGradeByComponent(grades, component);
-                                if (gradeObj != null && gradeObj.getWeight() != null && gradeObj.getWeight() > 0) {
-                                    double weight = gradeObj.getWeight() / 100.0; // Convert percentage to decimal
-                                    totalScore += score * weight;
-                                    totalWeight += weight;
-                                }
-                                // If weight is null, missing, or zero, skip contributing to totals (avoid division by zero)
-                            } else {
-                                rowData[columnIndex] = "";
-                            }
+                            int c = matrix.indexOf(gradeComponents.get(i));
+                            rowData[FIXED_COLUMNS.length + i] = c >= 0 && matrix.isGraded(row, c)
+                                ? df.format(matrix.getPercent(row, c)) : "";
                         }
                         
-                        // Add row first with empty calculated columns
+                        // Normalized overall grade over the graded components
                         int overallIndex = FIXED_COLUMNS.length + gradeComponents.size();
                         int letterIndex = overallIndex + 1;
                         
                         if (overallIndex < rowData.length) {
-                            rowData[overallIndex] = "";
+                            rowData[overallIndex] = Double.isNaN(overall[row]) ? "" : df.format(overall[row]);
                         }
                         if (letterIndex < rowData.length) {
-                            rowData[letterIndex] = "";
+                            rowData[letterIndex] = letters[row] != null ? letters[row] : "";
                         }
                         
                         gradesModel.addRow(rowData);
-                        
-                        // Calculate and set normalized overall grade using dynamic column lookup
-                        if (totalWeight > 0) {
-                            double overall = totalScore / totalWeight;
-                            String letterGrade = convertToLetterGrade(overall);
-                            
-                            // Use dynamic column lookup and only set when column exists (same as updateRowCalculations)
-                            int overallCol = gradesModel.findColumn("Overall");
-                            if (overallCol != -1) {
-                                int currentRow = gradesModel.getRowCount() - 1;
-                                gradesModel.setValueAt(df.format(overall), currentRow, overallCol);
-                            }
-                            
-                            int letterCol = gradesModel.findColumn("Letter Grade");
-                            if (letterCol != -1) {
-                                int currentRow = gradesModel.getRowCount() - 1;
-                                gradesModel.setValueAt(letterGrade, currentRow, letterCol);
-                            }
-                        }
                     }
                     
                     String courseInfo = section.getCourseCode() + " - " + section.getSectionNumber();
@@ -506,7 +489,7 @@ public class GradeEntryPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
     
     /**
@@ -602,39 +585,6 @@ public class GradeEntryPanel extends JPanel {
         return name.toString();
     }
 
-    private double getGradeComponent(List<Grade> grades, String component) {
-        return grades.stream()
-            .filter(g -> component.equals(g.getComponent()) && g.getScore() != null && g.getMaxScore() != null)
-            .filter(g -> g.getMaxScore() > 0) // Guard against division by zero
-            .mapToDouble(g -> {
-                if (g.getMaxScore() <= 0) {
-                    logger.warn("Invalid maxScore {} for grade component {}, using 0.0", g.getMaxScore(), component);
-                    return 0.0;
-                }
-                return (g.getScore() / g.getMaxScore()) * 100;
-            })
-            .findFirst()
-            .orElse(0.0);
-    }
-
-    /**
-     * Get the Grade object for a specific component from a list of grades
-     */
-    private Grade getGradeByComponent(List<Grade> grades, String component) {
-        return grades.stream()
-            .filter(g -> component.equals(g.getComponent()))
-            .findFirst()
-            .orElse(null);
-    }
-
-    private String convertToLetterGrade(double percentage) {
-        if (percentage >= 90) return "A";
-        if (percentage >= 80) return "B";
-        if (percentage >= 70) return "C";
-        if (percentage >= 60) return "D";
-        return "F";
-    }
-
     private void addGradeComponent() {
         SectionItem selectedItem = (SectionItem) sectionCombo.getSelectedItem();
         if (selectedItem == null || selectedItem.section == null) {
@@ -742,9 +692,9 @@ public class GradeEntryPanel extends JPanel {
                 final double finalWeight = weight;
                 
                 // Add component to all enrollments in this section
-                SwingWorker<Integer, Void> worker = new SwingWorker<>() {
+                BackgroundTask<Integer, Void> worker = new BackgroundTask<>() {
                     @Override
-                    protected Integer doInBackground() throws Exception {
+                    protected Integer runInBackground() throws Exception {
                         List<Enrollment> enrollments = enrollmentService.listBySection(selectedItem.section.getSectionId());
                         int successCount = 0;
                         for (Enrollment enrollment : enrollments) {
@@ -759,7 +709,7 @@ public class GradeEntryPanel extends JPanel {
                     }
                     
                     @Override
-                    protected void done() {
+                    protected void finished() {
                         try {
                             int count = get();
                             JOptionPane.showMessageDialog(dialog, 
@@ -777,7 +727,7 @@ public class GradeEntryPanel extends JPanel {
                         }
                     }
                 };
-                worker.execute();
+                worker.start();
                 
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -896,45 +846,24 @@ public class GradeEntryPanel extends JPanel {
             cancelBtn.setEnabled(false);
             calculateBtn.setText("Calculating...");
             
-            SwingWorker<Integer, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Integer, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Integer doInBackground() throws Exception {
-                    List<Enrollment> enrollments = enrollmentService.listBySection(selectedItem.section.getSectionId());
+                protected Integer runInBackground() throws Exception {
+                    Long sectionId = selectedItem.section.getSectionId();
+                    List<Enrollment> enrollments = enrollmentService.listBySection(sectionId);
+                    GradeMatrix matrix = GradeMatrix.of(enrollments, gradeService.listComponentsBySection(sectionId));
+                    // Weights not adding up to exactly 100% are normalized
+                    double[] finals = matrix.normalizedTotals();
                     int calculatedCount = 0;
                     
-                    for (Enrollment enrollment : enrollments) {
-                        List<Grade> grades = gradeService.listComponents(enrollment.getEnrollmentId());
-                        
-                        // Check if all components have grades
-                        boolean allGraded = grades.stream().allMatch(g -> g.getScore() != null);
-                        
-                        if (allGraded && !grades.isEmpty()) {
-                            // Validate maxScore values
-                            boolean hasValidMaxScores = grades.stream()
-                                .allMatch(g -> g.getMaxScore() != null && g.getMaxScore() > 0);
-                            
-                            if (!hasValidMaxScores) {
-                                continue;
-                            }
-                            
-                            // Calculate weighted final grade
-                            double totalWeight = grades.stream().mapToDouble(Grade::getWeight).sum();
-                            
-                            // Allow some tolerance for weights not exactly 100%
-                            if (totalWeight > 0) {
-                                double finalGrade = grades.stream()
-                                    .mapToDouble(g -> {
-                                        double normalized = (g.getScore() / g.getMaxScore()) * 100;
-                                        return normalized * (g.getWeight() / totalWeight);
-                                    })
-                                    .sum();
-                                
-                                String letterGrade = convertToLetterGrade(finalGrade);
-                                boolean updated = enrollmentService.updateFinalGrade(enrollment.getEnrollmentId(), letterGrade);
-                                if (updated) {
-                                    calculatedCount++;
-                                }
-                            }
+                    for (int row = 0; row < matrix.getRowCount(); row++) {
+                        // Only students graded on every component (a missing or invalid max score counts as ungraded)
+                        if (matrix.getComponentCount() == 0 || !matrix.isComplete(row) || Double.isNaN(finals[row])) {
+                            continue;
+                        }
+                        String letterGrade = GradeCalculator.letterGrade(finals[row]);
+                        if (enrollmentService.updateFinalGrade(matrix.getEnrollmentId(row), letterGrade)) {
+                            calculatedCount++;
                         }
                     }
                     
@@ -942,7 +871,7 @@ public class GradeEntryPanel extends JPanel {
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         Integer count = get();
                         dialog.dispose();
@@ -961,7 +890,7 @@ public class GradeEntryPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
         });
         
         cancelBtn.addActionListener(e -> dialog.dispose());
@@ -1037,7 +966,7 @@ public class GradeEntryPanel extends JPanel {
             StringBuilder header = new StringBuilder();
             for (int i = 0; i < gradesModel.getColumnCount(); i++) {
                 if (i > 0) header.append(",");
-                header.append(escapeCSV(gradesModel.getColumnName(i)));
+                header.append(CsvUtil.escape(gradesModel.getColumnName(i)));
             }
             writer.println(header);
             
@@ -1049,7 +978,7 @@ public class GradeEntryPanel extends JPanel {
                 for (int col = 0; col < gradesModel.getColumnCount(); col++) {
                     if (col > 0) line.append(",");
                     Object value = gradesModel.getValueAt(row, col);
-                    line.append(escapeCSV(value != null ? value.toString() : ""));
+                    line.append(CsvUtil.escape(value != null ? value.toString() : ""));
                 }
                 writer.println(line);
                 
@@ -1097,17 +1026,6 @@ public class GradeEntryPanel extends JPanel {
         }
     }
     
-    /**
-     * Escape a string for CSV format
-     */
-    private String escapeCSV(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
-    }
-
     /**
      * Saves grade edits to the database when table cells are modified.
      * @param row The row index in the table model
@@ -1174,9 +1092,9 @@ public class GradeEntryPanel extends JPanel {
             }
             
             // Perform database update in background thread
-            SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Boolean, Void> worker = new BackgroundTask<>() {
                 @Override
-                protected Boolean doInBackground() throws Exception {
+                protected Boolean runInBackground() throws Exception {
                     try {
                         // Find the enrollment for this student and section
                         List<Enrollment> enrollments = enrollmentService.listBySection(selectedItem.section.getSectionId());
@@ -1234,7 +1152,7 @@ public class GradeEntryPanel extends JPanel {
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     try {
                         boolean success = get();
                         if (success) {
@@ -1242,6 +1160,14 @@ public class GradeEntryPanel extends JPanel {
                                 componentType, studentId, studentName);
                             
                             // Recalculate overall and letter grades for this row
+                            int c = gradeMatrix != null ? gradeMatrix.indexOf(componentType) : -1;
+                            if (c >= 0 && row < gradeMatrix.getRowCount()) {
+                                if (Double.isNaN(gradeMatrix.getWeight(c))) {
+                                    // First grade of the component, added with the default weight
+                                    gradeMatrix.setWeight(c, getDefaultWeight(componentType) * 100.0);
+                                }
+                                gradeMatrix.setScore(row, c, gradeValue);
+                            }
                             updateRowCalculations(row);
                             
                             // Show brief success indicator
@@ -1270,7 +1196,7 @@ public class GradeEntryPanel extends JPanel {
                     }
                 }
             };
-            worker.execute();
+            worker.start();
             
         } catch (Exception e) {
             logger.error("Error processing grade edit", e);
@@ -1297,57 +1223,23 @@ public class GradeEntryPanel extends JPanel {
      * Recalculate overall and letter grades for a specific row.
      */
     private void updateRowCalculations(int row) {
+        if (gradeMatrix == null || row >= gradeMatrix.getRowCount()) {
+            return;
+        }
         try {
-            // Get grade values from dynamic grade component columns
-            double totalPoints = 0.0;
-            double totalWeight = 0.0;
+            // Weighted with the components' stored weights, like the initial load
+            double overallGrade = gradeMatrix.normalizedTotal(row);
+            boolean graded = !Double.isNaN(overallGrade);
             
-            for (int i = 0; i < gradeComponents.size(); i++) {
-                int col = FIXED_COLUMNS.length + i;
-                Object value = gradesModel.getValueAt(row, col);
-                if (value != null && !value.toString().trim().isEmpty()) {
-                    try {
-                        double grade = Double.parseDouble(value.toString());
-                        String componentType = gradeComponents.get(i);
-                        double weight = getDefaultWeight(componentType) * 100.0; // Convert to percentage
-                        
-                        // Use percentage weight for consistency with stored weights
-                        double weightDecimal = weight / 100.0; // Convert back to decimal for calculation
-                        totalPoints += grade * weightDecimal;
-                        totalWeight += weightDecimal;
-                    } catch (NumberFormatException e) {
-                        // Skip invalid values
-                    }
-                }
+            // Use dynamic column lookup instead of hard-coded indices
+            int overallCol = gradesModel.findColumn("Overall");
+            if (overallCol != -1) {
+                gradesModel.setValueAt(graded ? df.format(overallGrade) : "", row, overallCol);
             }
             
-            // Calculate overall grade
-            if (totalWeight > 0) {
-                double overallGrade = totalPoints / totalWeight;
-                
-                // Use dynamic column lookup instead of hard-coded indices
-                int overallCol = gradesModel.findColumn("Overall");
-                if (overallCol != -1) {
-                    gradesModel.setValueAt(df.format(overallGrade), row, overallCol);
-                }
-                
-                // Calculate letter grade
-                String letterGrade = convertToLetterGrade(overallGrade);
-                int letterCol = gradesModel.findColumn("Letter Grade");
-                if (letterCol != -1) {
-                    gradesModel.setValueAt(letterGrade, row, letterCol);
-                }
-            } else {
-                // Clear values when no weight
-                int overallCol = gradesModel.findColumn("Overall");
-                if (overallCol != -1) {
-                    gradesModel.setValueAt("", row, overallCol);
-                }
-                
-                int letterCol = gradesModel.findColumn("Letter Grade");
-                if (letterCol != -1) {
-                    gradesModel.setValueAt("", row, letterCol);
-                }
+            int letterCol = gradesModel.findColumn("Letter Grade");
+            if (letterCol != -1) {
+                gradesModel.setValueAt(graded ? GradeCalculator.letterGrade(overallGrade) : "", row, letterCol);
             }
         } catch (Exception e) {
             logger.error("Error updating row calculations", e);
@@ -26,6 +26,7 @@ import edu.univ.erp.data.GradeDAO;
 import edu.univ.erp.data.InstructorDAO;
 import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.SectionService;
 import edu.univ.erp.ui.auth.LoginFrame;
 import net.miginfocom.swing.MigLayout;
@@ -41,7 +42,7 @@ public class InstructorDashboard extends JFrame {
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
     private final GradeDAO gradeDAO = new GradeDAO();
     private final SectionDAO sectionDAO = new SectionDAO();
-    private final SectionService sectionService = new SectionService();
+    private final SectionService sectionService = Services.sectionService();
     private Instructor currentInstructor;
     private boolean isAdminUser = false;
 
@@ -106,7 +107,10 @@ public class InstructorDashboard extends JFrame {
             
             // Load instructor profile for INSTRUCTOR role users - use null-safe comparison
             if (userRole != null && userRole.equals(UserRole.INSTRUCTOR)) {
-                currentInstructor = instructorDAO.findByUserId(userId);
+                currentInstructor = SessionManager.getInstance().getInstructor();
+                if (currentInstructor == null) {
+                    currentInstructor = instructorDAO.findByUserId(userId);
+                }
                 if (currentInstructor == null) {
                     logger.warn("No instructor found for user ID: {}", userId);
                     return false;
@@ -4,7 +4,11 @@ import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.InstructorDAO;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
+import edu.univ.erp.util.ScheduleUtil;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +22,6 @@ import java.io.PrintWriter;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +31,7 @@ import java.util.List;
  */
 public class InstructorSchedulePanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(InstructorSchedulePanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final SectionService sectionService;
     private final InstructorDAO instructorDAO;
@@ -61,7 +65,7 @@ public class InstructorSchedulePanel extends JPanel {
      * Convenience no-arg constructor for production use and backward compatibility.
      */
     public InstructorSchedulePanel() {
-        this(new SectionService(), new InstructorDAO());
+        this(Services.sectionService(), new InstructorDAO());
     }
 
     private void initComponents() {
@@ -313,63 +317,19 @@ public class InstructorSchedulePanel extends JPanel {
      * Check if a section matches the given day and time
      */
     private boolean matchesDayAndTime(Section section, String day, String time) {
-        if (section == null || section.getDayOfWeek() == null) {
-            return false;
-        }
-        
-        boolean dayMatches = section.getDayOfWeek().contains(day);
-        
-        if (!dayMatches || section.getStartTime() == null) {
+        if (section == null) {
             return false;
         }
         
         try {
-            LocalTime slotTime = parseTimeSlot(time);
-            LocalTime sectionStart = section.getStartTime();
-            LocalTime sectionEnd = section.getEndTime();
-            
-            if (sectionEnd != null) {
-                return !slotTime.isBefore(sectionStart) && slotTime.isBefore(sectionEnd);
-            } else {
-                return !slotTime.isBefore(sectionStart) && slotTime.isBefore(sectionStart.plusHours(1));
-            }
+            return ScheduleUtil.occupiesSlot(section.getDayOfWeek(), section.getStartTime(), section.getEndTime(),
+                    day, ScheduleUtil.parseTimeSlot(time));
         } catch (Exception e) {
             logger.warn("Error parsing time slot '{}': {}", time, e.getMessage());
             return false;
         }
     }
     
-    /**
-     * Parse time slot string to LocalTime
-     */
-    private LocalTime parseTimeSlot(String timeSlot) {
-        String cleanTime = timeSlot.trim().toUpperCase();
-        boolean isPM = cleanTime.endsWith("PM");
-        boolean isAM = cleanTime.endsWith("AM");
-        
-        if (!isPM && !isAM) {
-            throw new IllegalArgumentException("Invalid time format: " + timeSlot);
-        }
-        
-        String timeOnly = cleanTime.substring(0, cleanTime.length() - 2).trim();
-        String[] parts = timeOnly.split(":");
-        
-        if (parts.length != 2) {
-            throw new IllegalArgumentException("Invalid time format: " + timeSlot);
-        }
-        
-        int hour = Integer.parseInt(parts[0]);
-        int minute = Integer.parseInt(parts[1]);
-        
-        if (isPM && hour != 12) {
-            hour += 12;
-        } else if (isAM && hour == 12) {
-            hour = 0;
-        }
-        
-        return LocalTime.of(hour, minute);
-    }
-    
     private String getScheduleContent(String day, String time) {
         // Simulate a realistic teaching schedule
         switch (day) {
@@ -401,14 +361,14 @@ public class InstructorSchedulePanel extends JPanel {
     }
     
     private void loadSchedule() {
-        new SwingWorker<List<Section>, Void>() {
+        new BackgroundTask<List<Section>, Void>() {
             @Override
-            protected List<Section> doInBackground() throws Exception {
+            protected List<Section> runInBackground() throws Exception {
                 return sectionService.listByInstructor(getCurrentInstructorId());
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     loadedSections = get();
                     logger.info("Loaded {} sections for instructor schedule", loadedSections.size());
@@ -424,7 +384,7 @@ public class InstructorSchedulePanel extends JPanel {
                         JOptionPane.ERROR_MESSAGE);
                 }
             }
-        }.execute();
+        }.start();
     }
     
     private void updateWeekLabel() {
@@ -515,7 +475,10 @@ public class InstructorSchedulePanel extends JPanel {
                     "Instructor ID retrieval not available: User ID is null.");
             }
             
-            Instructor instructor = instructorDAO.findByUserId(userId);
+            Instructor instructor = SessionManager.getInstance().getInstructor();
+            if (instructor == null) {
+                instructor = instructorDAO.findByUserId(userId);
+            }
             
             if (instructor == null) {
                 logger.warn("No instructor record found for user ID: {}", userId);
@@ -3,15 +3,27 @@ package edu.univ.erp.ui.instructor;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.EnrollmentDAO;
 import edu.univ.erp.data.GradeDAO;
+import edu.univ.erp.data.GradeStatsDAO;
 import edu.univ.erp.data.InstructorDAO;
+import edu.univ.erp.data.QueryScope;
 import edu.univ.erp.data.SectionDAO;
 import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Enrollment;
-import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.GradeDistribution;
+import edu.univ.erp.domain.GradeStats;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
+import edu.univ.erp.service.GradeCalculator;
+import edu.univ.erp.service.GradeKernel;
+import edu.univ.erp.service.GradeMatrix;
+import edu.univ.erp.service.GradeService;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskPriority;
+import edu.univ.erp.ui.TaskGroup;
+import edu.univ.erp.util.CsvUtil;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +40,7 @@ import java.awt.*;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.List;
@@ -38,11 +51,14 @@ import java.time.format.DateTimeFormatter;
  */
 public class ReportsPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(ReportsPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final SectionService sectionService;
     private final InstructorDAO instructorDAO;
     private final EnrollmentDAO enrollmentDAO;
     private final GradeDAO gradeDAO;
+    private final GradeStatsDAO gradeStatsDAO = new GradeStatsDAO();
+    private final GradeService gradeService = Services.gradeService();
     private final SectionDAO sectionDAO;
     private final StudentDAO studentDAO;
     private JComboBox<Section> sectionCombo;
@@ -82,7 +98,7 @@ public class ReportsPanel extends JPanel {
      * Creates a new SectionService and DAO instances internally.
      */
     public ReportsPanel() {
-        this(new SectionService());
+        this(Services.sectionService());
     }
 
     private void initComponents() {
@@ -166,20 +182,29 @@ public class ReportsPanel extends JPanel {
     }
     
     private void loadSections() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                List<Section> sections = sectionService.listByInstructor(getCurrentInstructorId());
-                sectionCombo.removeAllItems();
-                sectionCombo.addItem(null); // Add "All Sections" option
-                for (Section section : sections) {
-                    sectionCombo.addItem(section);
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks, TaskPriority.PREFETCH) {
+            @Override
+            protected List<Section> runInBackground() throws Exception {
+                return sectionService.listByInstructor(getCurrentInstructorId());
+            }
+
+            @Override
+            protected void finished() {
+                try {
+                    List<Section> sections = get();
+                    sectionCombo.removeAllItems();
+                    sectionCombo.addItem(null); // Add "All Sections" option
+                    for (Section section : sections) {
+                        sectionCombo.addItem(section);
+                    }
+                } catch (Exception e) {
+                    logger.error("Error loading sections", e);
+                    JOptionPane.showMessageDialog(ReportsPanel.this, "Error loading sections: " + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
                 }
-            } catch (Exception e) {
-                logger.error("Error loading sections", e);
-                JOptionPane.showMessageDialog(this, "Error loading sections: " + e.getMessage(), 
-                    "Error", JOptionPane.ERROR_MESSAGE);
             }
-        });
+        };
+        worker.start();
     }
     
     private void generateGradeDistributionReport() {
@@ -220,17 +245,19 @@ public class ReportsPanel extends JPanel {
         reportDialog.add(buttonPanel, "center");
         reportDialog.setSize(700, 600);
         reportDialog.setLocationRelativeTo(this);
-        reportDialog.setVisible(true);
         
-        // Load data and generate report in background
-        SwingWorker<GradeReportData, Void> worker = new SwingWorker<GradeReportData, Void>() {
+        // Load data and generate report in background; closing the dialog cancels it
+        TaskGroup reportTasks = TaskGroup.of(reportDialog);
+        BackgroundTask<GradeReportData, Void> worker = new BackgroundTask<GradeReportData, Void>(reportTasks, TaskPriority.REPORT) {
             @Override
-            protected GradeReportData doInBackground() throws Exception {
-                return computeGradeDistributionData(selectedSection);
+            protected GradeReportData runInBackground() throws Exception {
+                try (QueryScope scope = QueryScope.open("grade distribution report")) {
+                    return computeGradeDistributionData(selectedSection);
+                }
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     GradeReportData reportData = get();
                     String reportContent = buildGradeDistributionReport(reportData, sectionInfo);
@@ -260,7 +287,10 @@ public class ReportsPanel extends JPanel {
             }
         };
         
-        worker.execute();
+        worker.start();
+
+        // Modal: blocks until closed, so the worker must already be running
+        reportDialog.setVisible(true);
     }
     
     /**
@@ -272,19 +302,25 @@ public class ReportsPanel extends JPanel {
         final Map<String, Integer> gradeDistribution; // A, B, C, D, F counts
         final double average;
         final double median;
+        final double percentile10;
+        final double percentile90;
         final double standardDeviation;
         final double highestScore;
         final double lowestScore;
         final Map<String, ComponentStats> componentStats; // Stats by assignment type
+        GradeDistribution courseWide; // every section of the course this term, when one section is selected
         
         GradeReportData(String sectionInfo, int totalStudents, Map<String, Integer> gradeDistribution,
-                       double average, double median, double standardDeviation, double highestScore, 
+                       double average, double median, double percentile10, double percentile90,
+                       double standardDeviation, double highestScore, 
                        double lowestScore, Map<String, ComponentStats> componentStats) {
             this.sectionInfo = sectionInfo;
             this.totalStudents = totalStudents;
             this.gradeDistribution = gradeDistribution;
             this.average = average;
             this.median = median;
+            this.percentile10 = percentile10;
+            this.percentile90 = percentile90;
             this.standardDeviation = standardDeviation;
             this.highestScore = highestScore;
             this.lowestScore = lowestScore;
@@ -310,7 +346,6 @@ public class ReportsPanel extends JPanel {
      * Compute grade distribution data for the selected section(s)
      */
     private GradeReportData computeGradeDistributionData(Section selectedSection) throws Exception {
-        List<Enrollment> enrollments;
         String sectionInfo;
         
         Long instructorId = getCurrentInstructorId();
@@ -318,125 +353,61 @@ public class ReportsPanel extends JPanel {
             throw new IllegalStateException("Cannot determine current instructor");
         }
         
+        List<Section> sections;
         if (selectedSection != null) {
-            enrollments = enrollmentDAO.listBySection(selectedSection.getSectionId());
+            sections = List.of(selectedSection);
             sectionInfo = selectedSection.getCourseCode() + " Section " + selectedSection.getSectionNumber();
         } else {
             // Get all sections for this instructor
-            List<Section> sections = sectionDAO.listByInstructor(instructorId);
-            enrollments = new ArrayList<>();
-            for (Section section : sections) {
-                enrollments.addAll(enrollmentDAO.listBySection(section.getSectionId()));
-            }
+            sections = sectionDAO.listByInstructor(instructorId);
             sectionInfo = "All Sections";
         }
         
-        if (enrollments.isEmpty()) {
-            return new GradeReportData(sectionInfo, 0, new HashMap<>(), 0.0, 0.0, 0.0, 0.0, 0.0, new HashMap<>());
-        }
-        
-        // Collect all grades and compute final scores for each student
-        List<Double> finalScores = new ArrayList<>();
-        Map<String, List<Double>> componentScores = new HashMap<>(); // Component type -> list of scores
-        
-        for (Enrollment enrollment : enrollments) {
-            List<Grade> grades = gradeDAO.listByEnrollment(enrollment.getEnrollmentId());
-            
-            if (!grades.isEmpty()) {
-                double totalScore = 0.0;
-                double totalWeight = 0.0;
-                
-                for (Grade grade : grades) {
-                    // Skip grades with null or invalid values to prevent NPE and ArithmeticException
-                    if (grade.getScore() == null || grade.getMaxScore() == null || grade.getMaxScore() <= 0.0) {
-                        continue; // Skip grades that can't be computed safely
-                    }
-                    
-                    // Treat null weight as 0 (skip contribution to totals)
-                    Double weight = grade.getWeight();
-                    if (weight == null) {
-                        continue; // Skip grades with no weight assigned
-                    }
-                    
-                    double percentage = (grade.getScore().doubleValue() / grade.getMaxScore().doubleValue()) * 100.0;
-                    totalScore += percentage * (weight.doubleValue() / 100.0);
-                    totalWeight += weight.doubleValue() / 100.0;
-                    
-                    // Collect component scores
-                    componentScores.computeIfAbsent(grade.getComponent(), k -> new ArrayList<>()).add(percentage);
-                }
-                
-                if (totalWeight > 0) {
-                    finalScores.add(totalScore / totalWeight);
+        // Running statistics kept in grade_stats, merged across sections
+        GradeStats overall = new GradeStats();
+        Map<String, GradeStats> byComponent = new LinkedHashMap<>();
+        for (Section section : sections) {
+            for (GradeStats stats : gradeStatsDAO.findBySection(section.getSectionId()).values()) {
+                if (GradeStats.OVERALL.equals(stats.getComponent())) {
+                    overall.combine(stats);
+                } else if (!GradeStats.FINAL.equals(stats.getComponent()) && stats.getCount() > 0) {
+                    byComponent.computeIfAbsent(stats.getComponent(), c -> new GradeStats()).combine(stats);
                 }
             }
         }
         
-        if (finalScores.isEmpty()) {
-            return new GradeReportData(sectionInfo, enrollments.size(), new HashMap<>(), 0.0, 0.0, 0.0, 0.0, 0.0, new HashMap<>());
-        }
-        
-        // Compute statistics
-        Collections.sort(finalScores);
-        double average = finalScores.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        
-        // Correctly compute median for both odd and even-sized lists
-        double median;
-        if (finalScores.isEmpty()) {
-            median = 0.0; // Default for empty list
-        } else {
-            int size = finalScores.size();
-            int index = size / 2;
-            if (size % 2 == 1) {
-                // Odd size: use middle element
-                median = finalScores.get(index);
-            } else {
-                // Even size: average of two middle elements
-                median = (finalScores.get(index - 1) + finalScores.get(index)) / 2.0;
-            }
-        }
-        
-        double highestScore = finalScores.get(finalScores.size() - 1);
-        double lowestScore = finalScores.get(0);
-        
-        // Standard deviation
-        double variance = finalScores.stream()
-            .mapToDouble(score -> Math.pow(score - average, 2))
-            .average().orElse(0.0);
-        double standardDeviation = Math.sqrt(variance);
-        
-        // Grade distribution
-        Map<String, Integer> gradeDistribution = new HashMap<>();
-        gradeDistribution.put("A", 0);
-        gradeDistribution.put("B", 0);
-        gradeDistribution.put("C", 0);
-        gradeDistribution.put("D", 0);
-        gradeDistribution.put("F", 0);
-        
-        for (double score : finalScores) {
-            if (score >= 90) gradeDistribution.put("A", gradeDistribution.get("A") + 1);
-            else if (score >= 80) gradeDistribution.put("B", gradeDistribution.get("B") + 1);
-            else if (score >= 70) gradeDistribution.put("C", gradeDistribution.get("C") + 1);
-            else if (score >= 60) gradeDistribution.put("D", gradeDistribution.get("D") + 1);
-            else gradeDistribution.put("F", gradeDistribution.get("F") + 1);
+        if (overall.getCount() == 0) {
+            return new GradeReportData(sectionInfo, 0, new HashMap<>(), 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, new HashMap<>());
         }
         
         // Component statistics
         Map<String, ComponentStats> componentStats = new HashMap<>();
-        for (Map.Entry<String, List<Double>> entry : componentScores.entrySet()) {
-            List<Double> scores = entry.getValue();
-            if (!scores.isEmpty()) {
-                double compAverage = scores.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-                double compMin = scores.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-                double compMax = scores.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-                componentStats.put(entry.getKey(), new ComponentStats(entry.getKey(), compAverage, compMin, compMax));
-            }
-        }
+        byComponent.forEach((component, stats) ->
+            componentStats.put(component, new ComponentStats(component, stats.getMean(), stats.getMin(), stats.getMax())));
         
-        return new GradeReportData(sectionInfo, finalScores.size(), gradeDistribution, 
-                                  average, median, standardDeviation, highestScore, lowestScore, componentStats);
+        GradeReportData data = new GradeReportData(sectionInfo, overall.getCount(), overall.getLetterCounts(), 
+                                  overall.getMean(), overall.getMedian(), overall.getPercentile(10),
+                                  overall.getPercentile(90), overall.getStandardDeviation(),
+                                  overall.getMax(), overall.getMin(), componentStats);
+        if (selectedSection != null) {
+            data.courseWide = gradeService.getGradeDistribution(GradeStats.OVERALL, selectedSection.getCourseId(),
+                                                                null, selectedSection.getSemester(), selectedSection.getYear());
+        }
+        return data;
     }
     
+    /**
+     * Students on a roster in one query, keyed by student ID.
+     */
+    private Map<Long, Student> findStudents(List<Enrollment> enrollments) throws SQLException {
+        List<Long> studentIds = enrollments.stream().map(Enrollment::getStudentId).distinct().toList();
+        Map<Long, Student> studentsById = new HashMap<>();
+        for (Student student : studentDAO.findByIds(studentIds)) {
+            studentsById.put(student.getStudentId(), student);
+        }
+        return studentsById;
+    }
+
     /**
      * Build the text report from computed data
      */
@@ -472,11 +443,27 @@ public class ReportsPanel extends JPanel {
         report.append(String.format("Total Students: %d\n", data.totalStudents));
         report.append(String.format("Class Average: %.1f%%\n", data.average));
         report.append(String.format("Median Grade: %.1f%%\n", data.median));
+        report.append(String.format("10th / 90th Percentile: %.1f%% / %.1f%%\n", data.percentile10, data.percentile90));
         report.append(String.format("Standard Deviation: %.1f\n", data.standardDeviation));
         report.append(String.format("Highest Score: %.1f%%\n", data.highestScore));
         report.append(String.format("Lowest Score: %.1f%%\n", data.lowestScore));
         report.append("\n");
         
+        // The same figures over every section of the course
+        if (data.courseWide != null && data.courseWide.getCount() > 0) {
+            report.append("COURSE-WIDE (ALL SECTIONS):\n");
+            report.append("-".repeat(30)).append("\n");
+            report.append(String.format("Students: %d\n", data.courseWide.getCount()));
+            report.append(String.format("Average: %.1f%%\n", data.courseWide.getMean()));
+            report.append(String.format("Median Grade: %.1f%%\n", data.courseWide.getMedian()));
+            report.append(String.format("10th / 90th Percentile: %.1f%% / %.1f%%\n",
+                data.courseWide.getPercentile10(), data.courseWide.getPercentile90()));
+            if (data.courseWide.getPendingSections() > 0) {
+                report.append(String.format("(%d section(s) still being tallied)\n", data.courseWide.getPendingSections()));
+            }
+            report.append("\n");
+        }
+        
         // Performance by component type
         if (!data.componentStats.isEmpty()) {
             report.append("PERFORMANCE BY ASSIGNMENT TYPE:\n");
@@ -602,6 +589,7 @@ public class ReportsPanel extends JPanel {
                 document.add(new Paragraph(String.format("Total Students: %d", data.totalStudents), normalFont));
                 document.add(new Paragraph(String.format("Class Average: %.1f%%", data.average), normalFont));
                 document.add(new Paragraph(String.format("Median Grade: %.1f%%", data.median), normalFont));
+                document.add(new Paragraph(String.format("10th / 90th Percentile: %.1f%% / %.1f%%", data.percentile10, data.percentile90), normalFont));
                 document.add(new Paragraph(String.format("Standard Deviation: %.1f", data.standardDeviation), normalFont));
                 document.add(new Paragraph(String.format("Highest Score: %.1f%%", data.highestScore), normalFont));
                 document.add(new Paragraph(String.format("Lowest Score: %.1f%%", data.lowestScore), normalFont));
@@ -669,17 +657,19 @@ public class ReportsPanel extends JPanel {
         
         reportDialog.setSize(750, 650);
         reportDialog.setLocationRelativeTo(this);
-        reportDialog.setVisible(true);
         
-        // Load data in background
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        // Load data in background; closing the dialog cancels it
+        TaskGroup reportTasks = TaskGroup.of(reportDialog);
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(reportTasks, TaskPriority.REPORT) {
             @Override
-            protected String doInBackground() throws Exception {
-                return computeClassPerformanceReport(selectedSection, sectionInfo);
+            protected String runInBackground() throws Exception {
+                try (QueryScope scope = QueryScope.open("class performance report")) {
+                    return computeClassPerformanceReport(selectedSection, sectionInfo);
+                }
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String reportContent = get();
                     reportDialog.remove(loadingPanel);
@@ -702,7 +692,10 @@ public class ReportsPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
+
+        // Modal: blocks until closed, so the worker must already be running
+        reportDialog.setVisible(true);
     }
     
     private String computeClassPerformanceReport(Section selectedSection, String sectionInfo) throws Exception {
@@ -733,8 +726,11 @@ public class ReportsPanel extends JPanel {
         
         for (Section section : sections) {
             List<Enrollment> enrollments = enrollmentDAO.listBySection(section.getSectionId());
+            double[] averages = GradeMatrix.of(enrollments, gradeDAO.listBySection(section.getSectionId())).normalizedTotals();
+            Map<Long, Student> studentsById = findStudents(enrollments);
             
-            for (Enrollment enrollment : enrollments) {
+            for (int row = 0; row < enrollments.size(); row++) {
+                Enrollment enrollment = enrollments.get(row);
                 totalEnrolled++;
                 if ("ENROLLED".equals(enrollment.getStatus())) {
                     totalActive++;
@@ -744,28 +740,12 @@ public class ReportsPanel extends JPanel {
                     totalCompleted++;
                 }
                 
-                // Get grades for this enrollment
-                List<Grade> grades = gradeDAO.listByEnrollment(enrollment.getEnrollmentId());
-                if (!grades.isEmpty()) {
-                    double totalScore = 0.0;
-                    double totalWeight = 0.0;
-                    
-                    for (Grade grade : grades) {
-                        if (grade.getScore() != null && grade.getMaxScore() != null && 
-                            grade.getMaxScore() > 0 && grade.getWeight() != null) {
-                            double percentage = (grade.getScore() / grade.getMaxScore()) * 100.0;
-                            totalScore += percentage * (grade.getWeight() / 100.0);
-                            totalWeight += grade.getWeight() / 100.0;
-                        }
-                    }
-                    
-                    if (totalWeight > 0) {
-                        double avgScore = totalScore / totalWeight;
-                        Student student = studentDAO.findById(enrollment.getStudentId());
-                        String studentName = student != null ? 
-                            student.getFirstName() + " " + student.getLastName() : "Unknown";
-                        studentPerformances.add(new StudentPerformance(studentName, avgScore));
-                    }
+                // Weighted average of the graded components, NaN if none
+                if (!Double.isNaN(averages[row])) {
+                    Student student = studentsById.get(enrollment.getStudentId());
+                    String studentName = student != null ? 
+                        student.getFirstName() + " " + student.getLastName() : "Unknown";
+                    studentPerformances.add(new StudentPerformance(studentName, averages[row]));
                 }
             }
         }
@@ -883,17 +863,19 @@ public class ReportsPanel extends JPanel {
         
         reportDialog.setSize(750, 650);
         reportDialog.setLocationRelativeTo(this);
-        reportDialog.setVisible(true);
         
-        // Load data in background
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        // Load data in background; closing the dialog cancels it
+        TaskGroup reportTasks = TaskGroup.of(reportDialog);
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(reportTasks, TaskPriority.REPORT) {
             @Override
-            protected String doInBackground() throws Exception {
-                return computeAttendanceReport(selectedSection, sectionInfo);
+            protected String runInBackground() throws Exception {
+                try (QueryScope scope = QueryScope.open("attendance report")) {
+                    return computeAttendanceReport(selectedSection, sectionInfo);
+                }
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String reportContent = get();
                     reportDialog.remove(loadingPanel);
@@ -916,7 +898,10 @@ public class ReportsPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
+
+        // Modal: blocks until closed, so the worker must already be running
+        reportDialog.setVisible(true);
     }
     
     private String computeAttendanceReport(Section selectedSection, String sectionInfo) throws Exception {
@@ -1023,17 +1008,19 @@ public class ReportsPanel extends JPanel {
         
         reportDialog.setSize(750, 650);
         reportDialog.setLocationRelativeTo(this);
-        reportDialog.setVisible(true);
         
-        // Load data in background
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        // Load data in background; closing the dialog cancels it
+        TaskGroup reportTasks = TaskGroup.of(reportDialog);
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(reportTasks, TaskPriority.REPORT) {
             @Override
-            protected String doInBackground() throws Exception {
-                return computeStudentProgressReport(selectedSection, sectionInfo);
+            protected String runInBackground() throws Exception {
+                try (QueryScope scope = QueryScope.open("student progress report")) {
+                    return computeStudentProgressReport(selectedSection, sectionInfo);
+                }
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String reportContent = get();
                     reportDialog.remove(loadingPanel);
@@ -1056,7 +1043,10 @@ public class ReportsPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
+
+        // Modal: blocks until closed, so the worker must already be running
+        reportDialog.setVisible(true);
     }
     
     private String computeStudentProgressReport(Section selectedSection, String sectionInfo) throws Exception {
@@ -1080,45 +1070,24 @@ public class ReportsPanel extends JPanel {
         }
         
         List<StudentProgressData> progressList = new ArrayList<>();
-        Map<String, Integer> componentCounts = new HashMap<>();
-        Map<String, Double> componentTotals = new HashMap<>();
+        List<GradeMatrix> matrices = new ArrayList<>();
         
         for (Section section : sections) {
-            List<Enrollment> enrollments = enrollmentDAO.listBySection(section.getSectionId());
+            List<Enrollment> enrollments = enrollmentDAO.listBySection(section.getSectionId()).stream()
+                .filter(e -> "ENROLLED".equals(e.getStatus()))
+                .toList();
+            GradeMatrix matrix = GradeMatrix.of(enrollments, gradeDAO.listBySection(section.getSectionId()));
+            matrices.add(matrix);
+            double[] averages = matrix.normalizedTotals();
+            Map<Long, Student> studentsById = findStudents(enrollments);
             
-            for (Enrollment enrollment : enrollments) {
-                if (!"ENROLLED".equals(enrollment.getStatus())) continue;
-                
-                List<Grade> grades = gradeDAO.listByEnrollment(enrollment.getEnrollmentId());
-                if (grades.isEmpty()) continue;
+            for (int row = 0; row < enrollments.size(); row++) {
+                if (Double.isNaN(averages[row])) continue;
                 
-                Student student = studentDAO.findById(enrollment.getStudentId());
+                Student student = studentsById.get(enrollments.get(row).getStudentId());
                 String studentName = student != null ? 
                     student.getFirstName() + " " + student.getLastName() : "Unknown";
-                
-                double totalScore = 0.0;
-                double totalWeight = 0.0;
-                int gradedItems = 0;
-                
-                for (Grade grade : grades) {
-                    if (grade.getScore() != null && grade.getMaxScore() != null && 
-                        grade.getMaxScore() > 0 && grade.getWeight() != null) {
-                        double percentage = (grade.getScore() / grade.getMaxScore()) * 100.0;
-                        totalScore += percentage * (grade.getWeight() / 100.0);
-                        totalWeight += grade.getWeight() / 100.0;
-                        gradedItems++;
-                        
-                        // Track component averages
-                        String component = grade.getComponent() != null ? grade.getComponent() : "Other";
-                        componentCounts.merge(component, 1, Integer::sum);
-                        componentTotals.merge(component, percentage, Double::sum);
-                    }
-                }
-                
-                if (totalWeight > 0) {
-                    double average = totalScore / totalWeight;
-                    progressList.add(new StudentProgressData(studentName, average, gradedItems));
-                }
+                progressList.add(new StudentProgressData(studentName, averages[row], matrix.getGradedCount(row)));
             }
         }
         
@@ -1174,13 +1143,13 @@ public class ReportsPanel extends JPanel {
         }
         
         // Assignment type performance
-        if (!componentCounts.isEmpty()) {
+        Map<String, GradeMatrix.ComponentStats> componentStats = GradeMatrix.componentStats(matrices);
+        if (!componentStats.isEmpty()) {
             report.append("PERFORMANCE BY ASSIGNMENT TYPE:\n");
             report.append("-".repeat(32)).append("\n");
-            for (Map.Entry<String, Integer> entry : componentCounts.entrySet()) {
-                double avg = componentTotals.get(entry.getKey()) / entry.getValue();
+            for (Map.Entry<String, GradeMatrix.ComponentStats> entry : componentStats.entrySet()) {
                 report.append(String.format("%-12s: %.1f%% average (%d submissions)\n", 
-                    entry.getKey(), avg, entry.getValue()));
+                    entry.getKey(), entry.getValue().mean(), entry.getValue().count()));
             }
             report.append("\n");
         }
@@ -1246,17 +1215,19 @@ public class ReportsPanel extends JPanel {
         
         reportDialog.setSize(800, 700);
         reportDialog.setLocationRelativeTo(this);
-        reportDialog.setVisible(true);
         
-        // Load data in background
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        // Load data in background; closing the dialog cancels it
+        TaskGroup reportTasks = TaskGroup.of(reportDialog);
+        BackgroundTask<String, Void> worker = new BackgroundTask<>(reportTasks, TaskPriority.REPORT) {
             @Override
-            protected String doInBackground() throws Exception {
-                return computeComprehensiveReport(selectedSection, sectionInfo);
+            protected String runInBackground() throws Exception {
+                try (QueryScope scope = QueryScope.open("comprehensive report")) {
+                    return computeComprehensiveReport(selectedSection, sectionInfo);
+                }
             }
             
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String reportContent = get();
                     reportDialog.remove(loadingPanel);
@@ -1279,7 +1250,10 @@ public class ReportsPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
+
+        // Modal: blocks until closed, so the worker must already be running
+        reportDialog.setVisible(true);
     }
     
     private String computeComprehensiveReport(Section selectedSection, String sectionInfo) throws Exception {
@@ -1316,16 +1290,11 @@ public class ReportsPanel extends JPanel {
         int totalEnrolled = 0;
         int totalActive = 0;
         int totalDropped = 0;
-        List<Double> allScores = new ArrayList<>();
-        Map<String, Integer> gradeDistribution = new HashMap<>();
-        gradeDistribution.put("A", 0);
-        gradeDistribution.put("B", 0);
-        gradeDistribution.put("C", 0);
-        gradeDistribution.put("D", 0);
-        gradeDistribution.put("F", 0);
+        List<GradeMatrix> matrices = new ArrayList<>();
         
         for (Section section : sections) {
             List<Enrollment> enrollments = enrollmentDAO.listBySection(section.getSectionId());
+            matrices.add(GradeMatrix.of(enrollments, gradeDAO.listBySection(section.getSectionId())));
             
             for (Enrollment enrollment : enrollments) {
                 totalEnrolled++;
@@ -1334,38 +1303,15 @@ public class ReportsPanel extends JPanel {
                 } else if ("DROPPED".equals(enrollment.getStatus())) {
                     totalDropped++;
                 }
-                
-                List<Grade> grades = gradeDAO.listByEnrollment(enrollment.getEnrollmentId());
-                double totalScore = 0.0;
-                double totalWeight = 0.0;
-                
-                for (Grade grade : grades) {
-                    if (grade.getScore() != null && grade.getMaxScore() != null && 
-                        grade.getMaxScore() > 0 && grade.getWeight() != null) {
-                        double percentage = (grade.getScore() / grade.getMaxScore()) * 100.0;
-                        totalScore += percentage * (grade.getWeight() / 100.0);
-                        totalWeight += grade.getWeight() / 100.0;
-                    }
-                }
-                
-                if (totalWeight > 0) {
-                    double avg = totalScore / totalWeight;
-                    allScores.add(avg);
-                    
-                    // Update grade distribution
-                    if (avg >= 90) gradeDistribution.merge("A", 1, Integer::sum);
-                    else if (avg >= 80) gradeDistribution.merge("B", 1, Integer::sum);
-                    else if (avg >= 70) gradeDistribution.merge("C", 1, Integer::sum);
-                    else if (avg >= 60) gradeDistribution.merge("D", 1, Integer::sum);
-                    else gradeDistribution.merge("F", 1, Integer::sum);
-                }
             }
         }
         
-        double classAverage = allScores.isEmpty() ? 0.0 :
-            allScores.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        long passCount = allScores.stream().filter(s -> s >= 60).count();
-        double passRate = allScores.isEmpty() ? 0.0 : (passCount * 100.0 / allScores.size());
+        // Weighted averages of students with any graded component
+        double[] allScores = GradeMatrix.gradedTotals(matrices);
+        Map<String, Integer> gradeDistribution = GradeMatrix.letterCounts(allScores);
+        double classAverage = allScores.length == 0 ? 0.0 : GradeKernel.get().summarize(allScores).mean();
+        long passCount = allScores.length - gradeDistribution.get("F");
+        double passRate = allScores.length == 0 ? 0.0 : (passCount * 100.0 / allScores.length);
         
         // Key Metrics
         report.append("KEY METRICS:\n");
@@ -1380,13 +1326,13 @@ public class ReportsPanel extends JPanel {
             totalEnrolled > 0 ? (totalDropped * 100.0 / totalEnrolled) : 0));
         
         // Grade Distribution
-        if (!allScores.isEmpty()) {
+        if (allScores.length > 0) {
             report.append("ACADEMIC PERFORMANCE:\n");
             report.append("-".repeat(21)).append("\n");
             report.append("Grade Distribution:\n");
             for (String grade : Arrays.asList("A", "B", "C", "D", "F")) {
                 int count = gradeDistribution.get(grade);
-                double pct = (count * 100.0) / allScores.size();
+                double pct = (count * 100.0) / allScores.length;
                 report.append(String.format("  %s grades: %.1f%% (%d students)\n", grade, pct, count));
             }
             report.append("\n");
@@ -1455,15 +1401,17 @@ public class ReportsPanel extends JPanel {
             progressDialog.setSize(300, 100);
             progressDialog.setLocationRelativeTo(this);
             
-            SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            BackgroundTask<Void, Void> worker = new BackgroundTask<>(TaskPriority.REPORT) {
                 @Override
-                protected Void doInBackground() throws Exception {
-                    exportClassDataToCSV(selectedSection, outputFile);
+                protected Void runInBackground() throws Exception {
+                    try (QueryScope scope = QueryScope.open("export class data")) {
+                        exportClassDataToCSV(selectedSection, outputFile);
+                    }
                     return null;
                 }
                 
                 @Override
-                protected void done() {
+                protected void finished() {
                     progressDialog.dispose();
                     try {
                         get();
@@ -1479,7 +1427,7 @@ public class ReportsPanel extends JPanel {
                 }
             };
             
-            worker.execute();
+            worker.start();
             progressDialog.setVisible(true);
         }
     }
@@ -1500,37 +1448,27 @@ public class ReportsPanel extends JPanel {
             for (Section section : sections) {
                 String sectionName = section.getCourseCode() + " - " + section.getSectionNumber();
                 List<Enrollment> enrollments = enrollmentDAO.listBySection(section.getSectionId());
+                double[] averages = GradeMatrix.of(enrollments, gradeDAO.listBySection(section.getSectionId())).normalizedTotals();
+                Map<Long, Student> studentsById = findStudents(enrollments);
                 
-                for (Enrollment enrollment : enrollments) {
-                    Student student = studentDAO.findById(enrollment.getStudentId());
+                for (int row = 0; row < enrollments.size(); row++) {
+                    Enrollment enrollment = enrollments.get(row);
+                    Student student = studentsById.get(enrollment.getStudentId());
                     String studentName = student != null ? 
                         student.getFirstName() + " " + student.getLastName() : "Unknown";
                     String email = student != null && student.getEmail() != null ? student.getEmail() : "";
                     String rollNo = student != null && student.getRollNo() != null ? student.getRollNo() : "";
                     
-                    // Calculate average
-                    List<Grade> grades = gradeDAO.listByEnrollment(enrollment.getEnrollmentId());
-                    double totalScore = 0.0;
-                    double totalWeight = 0.0;
-                    
-                    for (Grade grade : grades) {
-                        if (grade.getScore() != null && grade.getMaxScore() != null && 
-                            grade.getMaxScore() > 0 && grade.getWeight() != null) {
-                            double percentage = (grade.getScore() / grade.getMaxScore()) * 100.0;
-                            totalScore += percentage * (grade.getWeight() / 100.0);
-                            totalWeight += grade.getWeight() / 100.0;
-                        }
-                    }
-                    
-                    double average = totalWeight > 0 ? totalScore / totalWeight : 0.0;
-                    String letterGrade = getLetterGrade(average);
+                    // Students with nothing graded export as 0
+                    double average = Double.isNaN(averages[row]) ? 0.0 : averages[row];
+                    String letterGrade = GradeCalculator.letterGrade(average);
                     
                     // Escape CSV fields
                     writer.printf("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%.1f,\"%s\"%n",
-                        escapeCSV(sectionName),
-                        escapeCSV(rollNo),
-                        escapeCSV(studentName),
-                        escapeCSV(email),
+                        CsvUtil.escapeQuoted(sectionName),
+                        CsvUtil.escapeQuoted(rollNo),
+                        CsvUtil.escapeQuoted(studentName),
+                        CsvUtil.escapeQuoted(email),
                         enrollment.getStatus(),
                         average,
                         letterGrade);
@@ -1539,19 +1477,6 @@ public class ReportsPanel extends JPanel {
         }
     }
     
-    private String getLetterGrade(double score) {
-        if (score >= 90) return "A";
-        else if (score >= 80) return "B";
-        else if (score >= 70) return "C";
-        else if (score >= 60) return "D";
-        else return "F";
-    }
-    
-    private String escapeCSV(String value) {
-        if (value == null) return "";
-        return value.replace("\"", "\"\"");
-    }
-    
     private void exportReportToPDF(String content, String defaultFileName, JDialog parentDialog) {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Save Report as PDF");
@@ -1617,7 +1542,10 @@ public class ReportsPanel extends JPanel {
             // Get instructor record from user ID
             Instructor instructor;
             try {
-                instructor = instructorDAO.findByUserId(userId);
+                instructor = SessionManager.getInstance().getInstructor();
+                if (instructor == null) {
+                    instructor = instructorDAO.findByUserId(userId);
+                }
             } catch (Exception dbException) {
                 logger.error("Database error while retrieving instructor for user ID: {}", userId, dbException);
                 throw new RuntimeException("Database error while retrieving instructor information", dbException);
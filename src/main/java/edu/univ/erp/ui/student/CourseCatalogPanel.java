@@ -1,25 +1,33 @@
 package edu.univ.erp.ui.student;
 
 import edu.univ.erp.domain.Course;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.CourseService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel to display the course catalog with simple search.
  */
 public class CourseCatalogPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(CourseCatalogPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final CourseService courseService = new CourseService();
+    private final CourseService courseService = Services.courseService();
     private JTable table;
     private JTextField searchField;
     private DefaultTableModel model;
+    /** Courses shown in the table, by code, so selecting one needs no query. */
+    private final Map<String, Course> coursesByCode = new HashMap<>();
 
     public CourseCatalogPanel() {
         initComponents();
@@ -73,9 +81,9 @@ public class CourseCatalogPanel extends JPanel {
     }
 
     private void loadCourses(String query) {
-        SwingWorker<List<Course>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Course>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Course> doInBackground() {
+            protected List<Course> runInBackground() {
                 if (query == null || query.isBlank()) {
                     return courseService.listAll();
                 }
@@ -83,11 +91,13 @@ public class CourseCatalogPanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Course> courses = get();
                     model.setRowCount(0);
+                    coursesByCode.clear();
                     for (Course c : courses) {
+                        coursesByCode.put(c.getCode(), c);
                         model.addRow(new Object[]{c.getCode(), c.getTitle(), c.getCredits(), c.getDepartment()});
                     }
                 } catch (Exception e) {
@@ -98,7 +108,7 @@ public class CourseCatalogPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void showSections() {
@@ -110,13 +120,10 @@ public class CourseCatalogPanel extends JPanel {
         
         String courseCode = (String) model.getValueAt(selectedRow, 0);
         
-        // Find course by code
-        for (Course course : courseService.listAll()) {
-            if (course.getCode().equals(courseCode)) {
-                SectionSelectionDialog dialog = new SectionSelectionDialog(SwingUtilities.getWindowAncestor(this), course);
-                dialog.setVisible(true);
-                break;
-            }
+        Course course = coursesByCode.get(courseCode);
+        if (course != null) {
+            SectionSelectionDialog dialog = new SectionSelectionDialog(SwingUtilities.getWindowAncestor(this), course);
+            dialog.setVisible(true);
         }
     }
 }
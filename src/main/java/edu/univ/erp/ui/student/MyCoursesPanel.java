@@ -4,7 +4,10 @@ import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +23,9 @@ import java.util.List;
  */
 public class MyCoursesPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(MyCoursesPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final EnrollmentService enrollmentService = Services.enrollmentService();
     private final StudentDAO studentDAO = new StudentDAO();
     private JTable table;
     private DefaultTableModel model;
@@ -41,7 +45,10 @@ public class MyCoursesPanel extends JPanel {
                 logger.warn("User ID is null, cannot load student data");
                 return;
             }
-            currentStudent = studentDAO.findByUserId(userId);
+            currentStudent = SessionManager.getInstance().getStudent();
+            if (currentStudent == null) {
+                currentStudent = studentDAO.findByUserId(userId);
+            }
             if (currentStudent == null) {
                 logger.warn("No student found for user ID: {}", userId);
             }
@@ -88,14 +95,14 @@ public class MyCoursesPanel extends JPanel {
             return;
         }
 
-        SwingWorker<List<Enrollment>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Enrollment>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Enrollment> doInBackground() {
+            protected List<Enrollment> runInBackground() {
                 return enrollmentService.listByStudent(currentStudent.getStudentId());
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Enrollment> enrollments = get();
                     model.setRowCount(0);
@@ -129,7 +136,7 @@ public class MyCoursesPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void dropCourse(int row) {
@@ -141,9 +148,9 @@ public class MyCoursesPanel extends JPanel {
             
         if (result != JOptionPane.YES_OPTION) return;
 
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>() {
             @Override
-            protected String doInBackground() {
+            protected String runInBackground() {
                 try {
                     List<Enrollment> enrollments = enrollmentService.listByStudent(currentStudent.getStudentId());
                     if (row < enrollments.size()) {
@@ -157,7 +164,7 @@ public class MyCoursesPanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String result = get();
                     if ("DROPPED".equals(result)) {
@@ -174,7 +181,7 @@ public class MyCoursesPanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     // Button renderer
@@ -1,12 +1,16 @@
 package edu.univ.erp.ui.student;
 
 import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.QueryScope;
 import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Grade;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
 import edu.univ.erp.service.GradeService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +28,7 @@ import java.text.DecimalFormat;
  */
 public class MyGradesPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(MyGradesPanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     // Grade thresholds
     private static final double GRADE_A_THRESHOLD = 90.0;
@@ -34,8 +39,8 @@ public class MyGradesPanel extends JPanel {
     // Default credits per course
     private static final int DEFAULT_CREDITS = 3;
 
-    private final EnrollmentService enrollmentService = new EnrollmentService();
-    private final GradeService gradeService = new GradeService();
+    private final EnrollmentService enrollmentService = Services.enrollmentService();
+    private final GradeService gradeService = Services.gradeService();
     private final StudentDAO studentDAO = new StudentDAO();
     
     private JTable coursesTable;
@@ -61,7 +66,10 @@ public class MyGradesPanel extends JPanel {
                 logger.warn("User ID is null, cannot load student data");
                 return;
             }
-            currentStudent = studentDAO.findByUserId(userId);
+            currentStudent = SessionManager.getInstance().getStudent();
+            if (currentStudent == null) {
+                currentStudent = studentDAO.findByUserId(userId);
+            }
             if (currentStudent == null) {
                 logger.warn("No student found for user ID: {}", userId);
             }
@@ -152,9 +160,9 @@ public class MyGradesPanel extends JPanel {
             return;
         }
 
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Void doInBackground() {
+            protected Void runInBackground() {
                 try {
                     List<Enrollment> enrollments = enrollmentService.listByStudent(currentStudent.getStudentId());
                     
@@ -207,7 +215,7 @@ public class MyGradesPanel extends JPanel {
                 return null;
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void loadGradesForSelectedCourse() {
@@ -220,10 +228,10 @@ public class MyGradesPanel extends JPanel {
         final String courseCode = (String) coursesModel.getValueAt(selectedRow, 0);
         final String sectionNumber = (String) coursesModel.getValueAt(selectedRow, 1);
         
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Void doInBackground() {
-                try {
+            protected Void runInBackground() {
+                try (QueryScope scope = QueryScope.open("view my grades")) {
                     // Find the enrollment
                     List<Enrollment> enrollments = enrollmentService.listByStudent(currentStudent.getStudentId());
                     Enrollment targetEnrollment = null;
@@ -286,7 +294,7 @@ public class MyGradesPanel extends JPanel {
                 return null;
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private double convertLetterToGPA(String letterGrade) {
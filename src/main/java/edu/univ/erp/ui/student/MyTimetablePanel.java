@@ -4,9 +4,13 @@ import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
 import edu.univ.erp.service.SectionService;
 import edu.univ.erp.domain.Section;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
+import edu.univ.erp.util.ScheduleUtil;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,9 +28,10 @@ import java.util.ArrayList;
  */
 public class MyTimetablePanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(MyTimetablePanel.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final EnrollmentService enrollmentService = new EnrollmentService();
-    private final SectionService sectionService = new SectionService();
+    private final EnrollmentService enrollmentService = Services.enrollmentService();
+    private final SectionService sectionService = Services.sectionService();
     private final StudentDAO studentDAO = new StudentDAO();
     
     private JPanel schedulePanel;
@@ -49,7 +54,10 @@ public class MyTimetablePanel extends JPanel {
                 logger.warn("User ID is null, cannot load student data");
                 return;
             }
-            currentStudent = studentDAO.findByUserId(userId);
+            currentStudent = SessionManager.getInstance().getStudent();
+            if (currentStudent == null) {
+                currentStudent = studentDAO.findByUserId(userId);
+            }
             if (currentStudent == null) {
                 logger.warn("No student found for user ID: {}", userId);
             }
@@ -120,9 +128,9 @@ public class MyTimetablePanel extends JPanel {
             return;
         }
 
-        SwingWorker<List<TimetableEntry>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<TimetableEntry>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<TimetableEntry> doInBackground() {
+            protected List<TimetableEntry> runInBackground() {
                 List<TimetableEntry> entries = new ArrayList<>();
                 try {
                     List<Enrollment> enrollments = enrollmentService.listByStudent(currentStudent.getStudentId());
@@ -153,7 +161,7 @@ public class MyTimetablePanel extends JPanel {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<TimetableEntry> entries = get();
                     buildScheduleGrid(); // Clear previous data
@@ -172,15 +180,13 @@ public class MyTimetablePanel extends JPanel {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     private void placeEntryOnGrid(TimetableEntry entry) {
-        String[] days = entry.dayOfWeek.split(",");
-        for (String day : days) {
-            day = day.trim();
+        for (String day : ScheduleUtil.splitDays(entry.dayOfWeek)) {
             if (isDayValid(day)) {
-                String timeSlot = findTimeSlot(entry.startTime);
+                String timeSlot = ScheduleUtil.findHourSlot(entry.startTime, TIME_SLOTS);
                 if (timeSlot != null) {
                     JPanel cell = findCellPanel(day + "_" + timeSlot);
                     if (cell != null) {
@@ -220,15 +226,6 @@ public class MyTimetablePanel extends JPanel {
         return false;
     }
 
-    private String findTimeSlot(LocalTime startTime) {
-        int hour = startTime.getHour();
-        for (String slot : TIME_SLOTS) {
-            int slotHour = Integer.parseInt(slot.split(":")[0]);
-            if (slotHour == hour) return slot;
-        }
-        return null;
-    }
-
     private JPanel findCellPanel(String name) {
         for (Component comp : schedulePanel.getComponents()) {
             if (comp instanceof JPanel && name.equals(comp.getName())) {
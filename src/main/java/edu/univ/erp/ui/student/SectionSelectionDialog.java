@@ -5,8 +5,14 @@ import edu.univ.erp.data.StudentDAO;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.SectionChanged;
+import edu.univ.erp.remote.Services;
 import edu.univ.erp.service.EnrollmentService;
 import edu.univ.erp.service.SectionService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,23 +21,29 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Dialog to show available sections for a course and allow enrollment.
+ * Dialog to show available sections for a course and allow enrollment. Seat
+ * counts follow SectionChanged events, including other clients' enrollments
+ * picked up from the change log.
  */
 public class SectionSelectionDialog extends JDialog {
     private static final Logger logger = LoggerFactory.getLogger(SectionSelectionDialog.class);
+    private final TaskGroup tasks = TaskGroup.of(this);
     
     private final Course course;
-    private final SectionService sectionService = new SectionService();
-    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final SectionService sectionService = Services.sectionService();
+    private final EnrollmentService enrollmentService = Services.enrollmentService();
     private final StudentDAO studentDAO = new StudentDAO();
     
     private JTable table;
     private DefaultTableModel model;
     private JLabel statusLabel;
     private Student currentStudent;
+    private final List<Long> shownSectionIds = new ArrayList<>();
+    private final EventBus.Subscription sectionChanges;
 
     public SectionSelectionDialog(Window parent, Course course) {
         super(parent, "Available Sections - " + course.getCode(), ModalityType.APPLICATION_MODAL);
@@ -39,6 +51,13 @@ public class SectionSelectionDialog extends JDialog {
         loadCurrentStudent();
         initComponents();
         loadSections();
+        sectionChanges = EventBus.getInstance().subscribe(SectionChanged.class, SwingUtilities::invokeLater, this::sectionChanged);
+    }
+
+    @Override
+    public void dispose() {
+        sectionChanges.close();
+        super.dispose();
     }
 
     private void loadCurrentStudent() {
@@ -48,7 +67,10 @@ public class SectionSelectionDialog extends JDialog {
                 logger.warn("User ID is null, cannot load student data");
                 return;
             }
-            currentStudent = studentDAO.findByUserId(userId);
+            currentStudent = SessionManager.getInstance().getStudent();
+            if (currentStudent == null) {
+                currentStudent = studentDAO.findByUserId(userId);
+            }
             if (currentStudent == null) {
                 logger.warn("No student found for user ID: {}", userId);
             }
@@ -101,35 +123,21 @@ public class SectionSelectionDialog extends JDialog {
     }
 
     private void loadSections() {
-        SwingWorker<List<Section>, Void> worker = new SwingWorker<>() {
+        BackgroundTask<List<Section>, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected List<Section> doInBackground() {
+            protected List<Section> runInBackground() {
                 return sectionService.listByCourse(course.getCourseId(), "Fall", 2025); // Current semester
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     List<Section> sections = get();
                     model.setRowCount(0);
+                    shownSectionIds.clear();
                     for (Section s : sections) {
-                        String schedule = "";
-                        if (s.getDayOfWeek() != null && s.getStartTime() != null && s.getEndTime() != null) {
-                            schedule = s.getDayOfWeek() + " " + s.getStartTime() + "-" + s.getEndTime();
-                        }
-                        
-                        String instructor = s.getInstructorName() != null ? s.getInstructorName() : "TBA";
-                        String room = s.getRoom() != null ? s.getRoom() : "TBA";
-                        
-                        model.addRow(new Object[]{
-                            s.getSectionNumber(),
-                            instructor,
-                            schedule,
-                            room,
-                            s.getEnrolled() + "/" + s.getCapacity(),
-                            s.getAvailableSeats(),
-                            s.hasAvailableSeats() ? "Enroll" : "Full"
-                        });
+                        model.addRow(toRow(s));
+                        shownSectionIds.add(s.getSectionId());
                     }
                     statusLabel.setText("Found " + sections.size() + " section(s)");
                 } catch (Exception e) {
@@ -138,7 +146,63 @@ public class SectionSelectionDialog extends JDialog {
                 }
             }
         };
-        worker.execute();
+        worker.start();
+    }
+
+    private static Object[] toRow(Section s) {
+        String schedule = "";
+        if (s.getDayOfWeek() != null && s.getStartTime() != null && s.getEndTime() != null) {
+            schedule = s.getDayOfWeek() + " " + s.getStartTime() + "-" + s.getEndTime();
+        }
+
+        String instructor = s.getInstructorName() != null ? s.getInstructorName() : "TBA";
+        String room = s.getRoom() != null ? s.getRoom() : "TBA";
+
+        return new Object[]{
+            s.getSectionNumber(),
+            instructor,
+            schedule,
+            room,
+            s.getEnrolled() + "/" + s.getCapacity(),
+            s.getAvailableSeats(),
+            s.hasAvailableSeats() ? "Enroll" : "Full"
+        };
+    }
+
+    /**
+     * Reload just the changed section's row; a deleted section reloads the list.
+     */
+    private void sectionChanged(SectionChanged event) {
+        if (!shownSectionIds.contains(event.sectionId())) {
+            return;
+        }
+        if (event.change() == DomainEvent.Change.DELETED) {
+            loadSections();
+            return;
+        }
+        new BackgroundTask<Section, Void>(tasks) {
+            @Override
+            protected Section runInBackground() throws Exception {
+                return sectionService.get(event.sectionId());
+            }
+
+            @Override
+            protected void finished() {
+                try {
+                    Section section = get();
+                    int row = shownSectionIds.indexOf(event.sectionId());
+                    if (section == null || row < 0) {
+                        return;
+                    }
+                    Object[] values = toRow(section);
+                    for (int column = 0; column < values.length; column++) {
+                        model.setValueAt(values[column], row, column);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to refresh section {}", event.sectionId(), e);
+                }
+            }
+        }.start();
     }
 
     private void enrollInSection(int row) {
@@ -152,9 +216,9 @@ public class SectionSelectionDialog extends JDialog {
             return;
         }
 
-        SwingWorker<String, Void> worker = new SwingWorker<>() {
+        BackgroundTask<String, Void> worker = new BackgroundTask<>() {
             @Override
-            protected String doInBackground() {
+            protected String runInBackground() {
                 try {
                     List<Section> sections = sectionService.listByCourse(course.getCourseId(), "Fall", 2025);
                     if (row < sections.size()) {
@@ -173,7 +237,7 @@ public class SectionSelectionDialog extends JDialog {
             }
 
             @Override
-            protected void done() {
+            protected void finished() {
                 try {
                     String result = get();
                     if ("ENROLLED".equals(result)) {
@@ -193,7 +257,7 @@ public class SectionSelectionDialog extends JDialog {
                 }
             }
         };
-        worker.execute();
+        worker.start();
     }
 
     // Button renderer for table
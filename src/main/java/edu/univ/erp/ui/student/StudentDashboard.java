@@ -41,7 +41,10 @@ public class StudentDashboard extends JFrame {
         try {
             Long userId = SessionManager.getInstance().getCurrentUser().getUserId();
             if (userId != null) {
-                Student student = studentDAO.findByUserId(userId);
+                Student student = SessionManager.getInstance().getStudent();
+                if (student == null) {
+                    student = studentDAO.findByUserId(userId);
+                }
                 if (student != null) {
                     SessionManager.getInstance().setStudentId(student.getStudentId());
                     logger.info("Loaded student ID {} for user ID {}", student.getStudentId(), userId);
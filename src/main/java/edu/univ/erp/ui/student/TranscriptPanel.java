@@ -19,7 +19,6 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
 import javax.swing.table.DefaultTableModel;
 
 import org.slf4j.Logger;
@@ -27,10 +26,13 @@ import org.slf4j.LoggerFactory;
 
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.data.StudentDAO;
-import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Student;
+import edu.univ.erp.domain.TranscriptEntry;
 import edu.univ.erp.domain.User;
-import edu.univ.erp.service.EnrollmentService;
+import edu.univ.erp.remote.Services;
+import edu.univ.erp.service.TranscriptService;
+import edu.univ.erp.ui.BackgroundTask;
+import edu.univ.erp.ui.TaskGroup;
 import net.miginfocom.swing.MigLayout;
 
 /**
@@ -38,11 +40,9 @@ import net.miginfocom.swing.MigLayout;
  */
 public class TranscriptPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(TranscriptPanel.class);
-    
-    // Default credits per course
-    private static final int DEFAULT_CREDITS = 3;
+    private final TaskGroup tasks = TaskGroup.of(this);
 
-    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final TranscriptService transcriptService = Services.transcriptService();
     private final StudentDAO studentDAO = new StudentDAO();
     
     private JTable transcriptTable;
@@ -68,7 +68,10 @@ public class TranscriptPanel extends JPanel {
                 logger.warn("Current user or user ID is null, cannot load student data");
                 return;
             }
-            currentStudent = studentDAO.findByUserId(currentUser.getUserId());
+            currentStudent = SessionManager.getInstance().getStudent();
+            if (currentStudent == null) {
+                currentStudent = studentDAO.findByUserId(currentUser.getUserId());
+            }
             if (currentStudent == null) {
                 logger.warn("No student found for user ID: {}", currentUser.getUserId());
             }
@@ -121,7 +124,7 @@ public class TranscriptPanel extends JPanel {
         JPanel tablePanel = new JPanel(new MigLayout("fill, insets 0", "[grow]", "[][grow]"));
         tablePanel.setBorder(BorderFactory.createTitledBorder("Course History"));
         
-        String[] columns = {"Term", "Course Code", "Course Title", "Credits", "Grade", "Grade Points"};
+        String[] columns = {"Term", "Course Code", "Course Title", "Credits", "Grade", "Grade Points", "Term GPA"};
         transcriptModel = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -138,6 +141,7 @@ public class TranscriptPanel extends JPanel {
         transcriptTable.getColumnModel().getColumn(3).setPreferredWidth(60);
         transcriptTable.getColumnModel().getColumn(4).setPreferredWidth(60);
         transcriptTable.getColumnModel().getColumn(5).setPreferredWidth(80);
+        transcriptTable.getColumnModel().getColumn(6).setPreferredWidth(70);
         
         tablePanel.add(new JScrollPane(transcriptTable), "grow");
         add(tablePanel, "grow, wrap");
@@ -165,58 +169,44 @@ public class TranscriptPanel extends JPanel {
             return;
         }
 
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        BackgroundTask<Void, Void> worker = new BackgroundTask<>(tasks) {
             @Override
-            protected Void doInBackground() {
+            protected Void runInBackground() {
                 try {
-                    List<Enrollment> enrollments = enrollmentService.listByStudent(currentStudent.getStudentId());
+                    List<TranscriptEntry> entries = transcriptService.listEntries(currentStudent.getStudentId());
                     
                     SwingUtilities.invokeLater(() -> {
                         transcriptModel.setRowCount(0);
+                        int gradedCredits = 0;
+                        int gradedCourses = 0;
                         
-                        double totalGradePoints = 0.0;
-                        int totalCredits = 0;
-                        int completedCourses = 0;
-                        
-                        for (Enrollment enrollment : enrollments) {
-                            String term = determineTerm(enrollment.getEnrolledDate());
-                            String grade = enrollment.getFinalGrade();
-                            int credits = DEFAULT_CREDITS;
-                            
-                            double gradePoints = 0.0;
-                            if (grade != null && !grade.isEmpty()) {
-                                gradePoints = convertLetterToGPA(grade) * credits;
-                                totalGradePoints += gradePoints;
-                                totalCredits += credits;
-                                completedCourses++;
-                            } else if ("COMPLETED".equals(enrollment.getStatus())) {
-                                grade = "IP"; // In Progress
-                            } else {
-                                grade = ""; // Not completed
+                        for (TranscriptEntry entry : entries) {
+                            if (entry.isGraded()) {
+                                gradedCredits += entry.getCredits();
+                                gradedCourses++;
+                            }
+                            String grade = entry.getFinalGrade();
+                            if (grade == null || grade.isEmpty()) {
+                                grade = "COMPLETED".equals(entry.getStatus()) ? "IP" : ""; // In Progress / not completed
                             }
                             
                             transcriptModel.addRow(new Object[]{
-                                term,
-                                enrollment.getCourseCode(),
-                                enrollment.getCourseTitle(),
-                                credits,
+                                entry.getTerm(),
+                                entry.getCourseCode(),
+                                entry.getCourseTitle(),
+                                entry.getCredits(),
                                 grade,
-                                grade != null && !grade.isEmpty() && !"IP".equals(grade) ? 
-                                    df.format(gradePoints) : ""
+                                entry.isGraded() ? df.format(entry.getGradePoints()) : "",
+                                entry.getTermGpa() != null ? df.format(entry.getTermGpa()) : ""
                             });
                         }
                         
-                        // Update summary
-                        if (totalCredits > 0) {
-                            double gpa = totalGradePoints / totalCredits;
-                            gpaLabel.setText(df.format(gpa) + " / 4.0");
-                        } else {
-                            gpaLabel.setText("N/A");
-                        }
-                        
-                        creditsLabel.setText(String.valueOf(totalCredits));
-                        statusLabel.setText("Showing " + enrollments.size() + " enrollments (" + 
-                                          completedCourses + " completed)");
+                        // Update summary; the last row carries the cumulative GPA over all terms
+                        Double gpa = entries.isEmpty() ? null : entries.get(entries.size() - 1).getCumulativeGpa();
+                        gpaLabel.setText(gpa != null ? df.format(gpa) + " / 4.0" : "N/A");
+                        creditsLabel.setText(String.valueOf(gradedCredits));
+                        statusLabel.setText("Showing " + entries.size() + " enrollments (" + 
+                                          gradedCourses + " completed)");
                     });
                     
                 } catch (Exception e) {
@@ -227,39 +217,7 @@ public class TranscriptPanel extends JPanel {
                 return null;
             }
         };
-        worker.execute();
-    }
-
-    private String determineTerm(java.time.LocalDateTime enrolledDate) {
-        if (enrolledDate == null) return "Unknown";
-        
-        int year = enrolledDate.getYear();
-        int month = enrolledDate.getMonthValue();
-        
-        if (month >= 1 && month <= 5) {
-            return "Spring " + year;
-        } else if (month >= 6 && month <= 8) {
-            return "Summer " + year;
-        } else {
-            return "Fall " + year;
-        }
-    }
-
-    private double convertLetterToGPA(String letterGrade) {
-        if (letterGrade == null) return 0.0;
-        switch (letterGrade.toUpperCase()) {
-            case "A": return 4.0;
-            case "A-": return 3.7;
-            case "B+": return 3.3;
-            case "B": return 3.0;
-            case "B-": return 2.7;
-            case "C+": return 2.3;
-            case "C": return 2.0;
-            case "C-": return 1.7;
-            case "D+": return 1.3;
-            case "D": return 1.0;
-            default: return 0.0;
-        }
+        worker.start();
     }
 
     private void exportToCSV() {
@@ -9,6 +9,8 @@ import java.util.Properties;
 
 /**
  * Configuration utility to load application properties.
+ * A JVM system property with the same key (-Dkey=value) overrides the file,
+ * which lets tools such as the benchmarks point the DAOs at another database.
  */
 public class ConfigUtil {
     private static final Logger logger = LoggerFactory.getLogger(ConfigUtil.class);
@@ -33,15 +35,16 @@ public class ConfigUtil {
     }
 
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
     }
 
     public static int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
+        String value = getProperty(key);
         if (value != null) {
             try {
                 return Integer.parseInt(value);
@@ -53,7 +56,7 @@ public class ConfigUtil {
     }
 
     public static boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.getProperty(key);
+        String value = getProperty(key);
         if (value != null) {
             return Boolean.parseBoolean(value);
         }
@@ -0,0 +1,31 @@
+package edu.univ.erp.util;
+
+/**
+ * Helpers for writing CSV exports.
+ */
+public final class CsvUtil {
+
+    private CsvUtil() {
+    }
+
+    /**
+     * Escape a field per RFC 4180: quote it only when it contains a comma,
+     * quote or line break, doubling any embedded quotes.
+     */
+    public static String escape(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Double embedded quotes for a field the caller always wraps in quotes.
+     */
+    public static String escapeQuoted(String value) {
+        if (value == null) return "";
+        return value.replace("\"", "\"\"");
+    }
+}
@@ -0,0 +1,629 @@
+package edu.univ.erp.util;
+
+import edu.univ.erp.auth.PasswordUtil;
+import edu.univ.erp.data.DatabaseConnection;
+import edu.univ.erp.service.GradeCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+
+/**
+ * Generates a synthetic university for scale testing: login accounts in
+ * erp_auth and matching students, instructors, courses, sections,
+ * enrollments and graded components in erp_main.
+ *
+ * Output is reproducible for a given seed. Rows are appended after the
+ * current maximum IDs, so the generator can run on a seeded database and
+ * every generated key, username and code stays unique. Enrollments respect
+ * section capacity. Past terms are COMPLETED with all components graded and
+ * a final letter grade; the current term is ENROLLED with only the early
+ * components graded. All generated accounts share the password
+ * {@value #DEFAULT_PASSWORD} (hashing one BCrypt per user would dominate the run).
+ *
+ * Usable as a library ({@link #generate(Connection, Connection)}) or from the
+ * command line, which writes to the databases selected by db.provider:
+ * <pre>
+ *   java -cp university-erp.jar edu.univ.erp.util.DatasetGenerator --students 100000 --seed 42
+ * </pre>
+ */
+public class DatasetGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    public static final String DEFAULT_PASSWORD = "password123";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int STUDENTS_PER_COMMIT = 5000;
+
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Physics", "Electronics", "Mechanical", "Humanities"};
+    private static final String[] DEPT_CODES = {"CSE", "MAT", "PHY", "ECE", "MEC", "HSS"};
+    private static final String[] PROGRAMS = {"B.Tech Computer Science", "B.Sc Mathematics", "B.Sc Physics",
+            "B.Tech Electronics", "B.Tech Mechanical", "B.A. Humanities"};
+    private static final String[] TOPICS = {"Introduction to", "Foundations of", "Advanced", "Applied", "Topics in", "Principles of"};
+    private static final String[] SUBJECTS = {
+        "Programming", "Algorithms", "Calculus", "Linear Algebra", "Mechanics", "Circuits",
+        "Thermodynamics", "Databases", "Statistics", "Signals", "Optics", "Ethics"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aditi", "Alice", "Arjun", "Bob", "Chen", "Diya", "Elena", "Farhan", "Grace",
+        "Ishaan", "Kavya", "Liam", "Meera", "Noah", "Priya", "Rohan", "Sara", "Tanvi", "Zoe"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Johnson", "Gupta", "Smith", "Khan", "Iyer", "Garcia", "Mehta", "Nguyen", "Patel",
+        "Rao", "Singh", "Brown", "Das", "Kumar", "Lee", "Mishra", "Verma", "Wilson", "Reddy"
+    };
+    private static final String[] DAY_PATTERNS = {
+        "Monday,Wednesday", "Tuesday,Thursday", "Monday,Wednesday,Friday", "Friday", "Wednesday"
+    };
+
+    /** Components every enrollment gets, with max score and weight (weights total 100). */
+    private static final String[] COMPONENTS = {"Assignment", "Quiz", "Midterm", "End-Sem"};
+    private static final double[] COMPONENT_MAX = {100, 20, 50, 100};
+    private static final double[] COMPONENT_WEIGHT = {20, 10, 30, 40};
+    /** How much harder each component is than the student's ability suggests. */
+    private static final double[] COMPONENT_DIFFICULTY = {-0.05, 0.0, 0.04, 0.07};
+    /** Components already graded in the current (in-progress) term. */
+    private static final int CURRENT_TERM_GRADED = 2;
+
+    /**
+     * Size and shape of the generated dataset.
+     *
+     * @param students              number of students
+     * @param instructors           number of instructors (at least one per department)
+     * @param courses               number of courses
+     * @param sectionsPerCourse     sections of each course offered per term
+     * @param enrollmentsPerStudent enrollments per student, spread across the terms
+     * @param terms                 number of terms, the last being the current one
+     * @param currentSemester       current semester (Fall or Spring)
+     * @param currentYear           current year
+     * @param seed                  random seed
+     */
+    public record Spec(int students, int instructors, int courses, int sectionsPerCourse,
+                       int enrollmentsPerStudent, int terms, String currentSemester, int currentYear, long seed) {
+
+        /**
+         * Proportionate defaults for a given student count: one course per 50
+         * students, one instructor per 3 courses, two sections per course,
+         * five enrollments per student over two terms (Fall 2025 current).
+         */
+        public static Spec forStudents(int students, long seed) {
+            int courses = Math.max(DEPARTMENTS.length * 2, students / 50);
+            int instructors = Math.max(DEPARTMENTS.length, courses / 3);
+            return new Spec(students, instructors, courses, 2, 5, 2, "Fall", 2025, seed);
+        }
+    }
+
+    /**
+     * Counts of generated rows.
+     */
+    public record Summary(int students, int instructors, int courses, int sections,
+                          long enrollments, long grades, long elapsedMillis) {
+    }
+
+    private final Spec spec;
+    private final Random random;
+
+    public DatasetGenerator(Spec spec) {
+        if (spec.instructors() < DEPARTMENTS.length) {
+            throw new IllegalArgumentException("Need at least " + DEPARTMENTS.length + " instructors (one per department)");
+        }
+        if (spec.terms() < 1 || spec.sectionsPerCourse() < 1 || spec.courses() < 1) {
+            throw new IllegalArgumentException("terms, courses and sectionsPerCourse must be positive");
+        }
+        this.spec = spec;
+        this.random = new Random(spec.seed());
+    }
+
+    /**
+     * Generate into the databases behind DatabaseConnection (db.provider).
+     */
+    public Summary generate() throws SQLException {
+        try (Connection auth = DatabaseConnection.getAuthConnection();
+             Connection erp = DatabaseConnection.getErpConnection()) {
+            return generate(auth, erp);
+        }
+    }
+
+    /**
+     * Generate into the given erp_auth and erp_main connections.
+     * Each connection is left in auto-commit mode on return.
+     */
+    public Summary generate(Connection auth, Connection erp) throws SQLException {
+        long start = System.nanoTime();
+        auth.setAutoCommit(false);
+        erp.setAutoCommit(false);
+        try {
+            Ids ids = new Ids(auth, erp, spec.instructors());
+            String passwordHash = PasswordUtil.hashPassword(DEFAULT_PASSWORD);
+
+            insertUsers(auth, ids, passwordHash);
+            auth.commit();
+
+            insertInstructors(erp, ids);
+            insertCourses(erp, ids);
+            Sections sections = insertSections(erp, ids);
+            erp.commit();
+
+            long[] counts = insertStudentsAndEnrollments(erp, ids, sections);
+            updateEnrolledCounts(erp, ids, sections);
+            erp.commit();
+
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            Summary summary = new Summary(spec.students(), spec.instructors(), spec.courses(),
+                    sections.capacity.length, counts[0], counts[1], elapsed);
+            logger.info("Generated {}", summary);
+            return summary;
+        } catch (SQLException e) {
+            auth.rollback();
+            erp.rollback();
+            throw e;
+        } finally {
+            auth.setAutoCommit(true);
+            erp.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * First free ID of each table, so generated rows never collide with existing ones.
+     * Instructor accounts come first in users_auth, followed by student accounts.
+     */
+    private static final class Ids {
+        final long user;
+        final long student;
+        final long instructor;
+        final long course;
+        final long section;
+        final long enrollment;
+        final int instructorCount;
+
+        Ids(Connection auth, Connection erp, int instructorCount) throws SQLException {
+            this.instructorCount = instructorCount;
+            user = nextId(auth, "users_auth", "user_id");
+            student = nextId(erp, "students", "student_id");
+            instructor = nextId(erp, "instructors", "instructor_id");
+            course = nextId(erp, "courses", "course_id");
+            section = nextId(erp, "sections", "section_id");
+            enrollment = nextId(erp, "enrollments", "enrollment_id");
+        }
+
+        private static long nextId(Connection conn, String table, String column) throws SQLException {
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + table)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        long instructorUser(int i) {
+            return user + i;
+        }
+
+        long studentUser(int s) {
+            return user + instructorCount + s;
+        }
+    }
+
+    private void insertUsers(Connection auth, Ids ids, String passwordHash) throws SQLException {
+        String sql = "INSERT INTO users_auth (user_id, username, role, password_hash, status, failed_login_attempts) VALUES (?, ?, ?, ?, 'ACTIVE', 0)";
+        try (PreparedStatement ps = auth.prepareStatement(sql)) {
+            int pending = 0;
+            for (int i = 0; i < spec.instructors(); i++) {
+                long userId = ids.instructorUser(i);
+                ps.setLong(1, userId);
+                ps.setString(2, "inst" + userId);
+                ps.setString(3, "INSTRUCTOR");
+                ps.setString(4, passwordHash);
+                ps.addBatch();
+                pending = flushIfFull(ps, pending + 1);
+            }
+            for (int s = 0; s < spec.students(); s++) {
+                long userId = ids.studentUser(s);
+                ps.setLong(1, userId);
+                ps.setString(2, "stu" + userId);
+                ps.setString(3, "STUDENT");
+                ps.setString(4, passwordHash);
+                ps.addBatch();
+                pending = flushIfFull(ps, pending + 1);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertInstructors(Connection erp, Ids ids) throws SQLException {
+        String sql = "INSERT INTO instructors (instructor_id, user_id, employee_id, first_name, last_name, email, department, phone_number) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = erp.prepareStatement(sql)) {
+            int pending = 0;
+            for (int i = 0; i < spec.instructors(); i++) {
+                long instructorId = ids.instructor + i;
+                ps.setLong(1, instructorId);
+                ps.setLong(2, ids.instructorUser(i));
+                ps.setString(3, "EMP" + instructorId);
+                ps.setString(4, "Dr. " + pick(FIRST_NAMES));
+                ps.setString(5, pick(LAST_NAMES));
+                ps.setString(6, "inst" + instructorId + "@faculty.university.edu");
+                ps.setString(7, DEPARTMENTS[i % DEPARTMENTS.length]);
+                ps.setString(8, phoneNumber());
+                ps.addBatch();
+                pending = flushIfFull(ps, pending + 1);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertCourses(Connection erp, Ids ids) throws SQLException {
+        String sql = "INSERT INTO courses (course_id, code, title, description, credits, department) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = erp.prepareStatement(sql)) {
+            int pending = 0;
+            for (int c = 0; c < spec.courses(); c++) {
+                long courseId = ids.course + c;
+                int dept = c % DEPARTMENTS.length;
+                String title = pick(TOPICS) + " " + pick(SUBJECTS) + " " + (c / DEPARTMENTS.length + 1);
+                ps.setLong(1, courseId);
+                ps.setString(2, DEPT_CODES[dept] + courseId);
+                ps.setString(3, title);
+                ps.setString(4, title + " for " + DEPARTMENTS[dept] + " students");
+                // Mostly 3-4 credit courses with some 2-credit electives
+                int roll = random.nextInt(10);
+                ps.setInt(5, roll < 2 ? 2 : roll < 6 ? 3 : 4);
+                ps.setString(6, DEPARTMENTS[dept]);
+                ps.addBatch();
+                pending = flushIfFull(ps, pending + 1);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Capacity and running enrollment count per generated section, indexed by
+     * (term * courses + course) * sectionsPerCourse + section.
+     */
+    private static final class Sections {
+        final int[] capacity;
+        final int[] enrolled;
+
+        Sections(int count) {
+            capacity = new int[count];
+            enrolled = new int[count];
+        }
+    }
+
+    private int sectionIndex(int term, int course, int section) {
+        return (term * spec.courses() + course) * spec.sectionsPerCourse() + section;
+    }
+
+    private Sections insertSections(Connection erp, Ids ids) throws SQLException {
+        Sections sections = new Sections(spec.terms() * spec.courses() * spec.sectionsPerCourse());
+        int perDepartment = spec.instructors() / DEPARTMENTS.length;
+        String sql = "INSERT INTO sections (section_id, course_id, instructor_id, section_number, day_of_week, start_time, end_time, "
+                + "room, capacity, enrolled, semester, year) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+        try (PreparedStatement ps = erp.prepareStatement(sql)) {
+            int pending = 0;
+            for (int term = 0; term < spec.terms(); term++) {
+                String semester = termSemester(term);
+                int year = termYear(term);
+                for (int c = 0; c < spec.courses(); c++) {
+                    int dept = c % DEPARTMENTS.length;
+                    for (int s = 0; s < spec.sectionsPerCourse(); s++) {
+                        int index = sectionIndex(term, c, s);
+                        // Instructors teach within their own department
+                        int instructor = dept + DEPARTMENTS.length * ((c / DEPARTMENTS.length + s + term) % perDepartment);
+                        LocalTime startTime = LocalTime.of(8 + random.nextInt(9), random.nextBoolean() ? 0 : 30);
+                        int capacity = 30 + 10 * random.nextInt(10);
+                        sections.capacity[index] = capacity;
+
+                        ps.setLong(1, ids.section + index);
+                        ps.setLong(2, ids.course + c);
+                        ps.setLong(3, ids.instructor + instructor);
+                        ps.setString(4, String.valueOf((char) ('A' + s % 26)) + (s >= 26 ? s / 26 : ""));
+                        ps.setString(5, pick(DAY_PATTERNS));
+                        ps.setTime(6, Time.valueOf(startTime));
+                        ps.setTime(7, Time.valueOf(startTime.plusMinutes(random.nextBoolean() ? 60 : 90)));
+                        ps.setString(8, "Room " + (100 + random.nextInt(400)));
+                        ps.setInt(9, capacity);
+                        ps.setString(10, semester);
+                        ps.setInt(11, year);
+                        ps.addBatch();
+                        pending = flushIfFull(ps, pending + 1);
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+        return sections;
+    }
+
+    /**
+     * Insert students with their enrollments and grade components, committing
+     * every few thousand students so memory and undo logs stay bounded.
+     *
+     * @return {enrollments, grades}
+     */
+    private long[] insertStudentsAndEnrollments(Connection erp, Ids ids, Sections sections) throws SQLException {
+        String studentSql = "INSERT INTO students (student_id, user_id, roll_no, first_name, last_name, email, program, year, phone_number) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String enrollmentSql = "INSERT INTO enrollments (enrollment_id, student_id, section_id, status, enrolled_date, dropped_date, final_grade) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String gradeSql = "INSERT INTO grades (enrollment_id, component, score, max_score, weight) VALUES (?, ?, ?, ?, ?)";
+
+        long enrollments = 0;
+        long grades = 0;
+        int[] takenCourses = new int[spec.enrollmentsPerStudent()];
+        double[] scores = new double[COMPONENTS.length];
+
+        try (PreparedStatement studentPs = erp.prepareStatement(studentSql);
+             PreparedStatement enrollmentPs = erp.prepareStatement(enrollmentSql);
+             PreparedStatement gradePs = erp.prepareStatement(gradeSql)) {
+            int pendingStudents = 0;
+            int pendingEnrollments = 0;
+            int pendingGrades = 0;
+
+            for (int s = 0; s < spec.students(); s++) {
+                long studentId = ids.student + s;
+                int dept = random.nextInt(DEPARTMENTS.length);
+                int yearOfStudy = 1 + random.nextInt(4);
+                studentPs.setLong(1, studentId);
+                studentPs.setLong(2, ids.studentUser(s));
+                studentPs.setString(3, String.valueOf(spec.currentYear() - yearOfStudy + 1) + studentId);
+                studentPs.setString(4, pick(FIRST_NAMES));
+                studentPs.setString(5, pick(LAST_NAMES));
+                studentPs.setString(6, "stu" + studentId + "@university.edu");
+                studentPs.setString(7, PROGRAMS[dept]);
+                studentPs.setInt(8, yearOfStudy);
+                studentPs.setString(9, phoneNumber());
+                studentPs.addBatch();
+                pendingStudents++;
+
+                // Ability drives all of this student's scores, so grades correlate across courses
+                double ability = clamp(0.72 + random.nextGaussian() * 0.12, 0.30, 0.98);
+                int taken = 0;
+                for (int e = 0; e < spec.enrollmentsPerStudent(); e++) {
+                    int term = e % spec.terms();
+                    int section = chooseSection(term, dept, takenCourses, taken, sections);
+                    if (section < 0) {
+                        continue;
+                    }
+                    takenCourses[taken++] = section;
+                    boolean current = term == spec.terms() - 1;
+                    boolean dropped = random.nextInt(100) < 3;
+                    // A dropped enrollment gives its seat back
+                    if (!dropped) {
+                        sections.enrolled[section]++;
+                    }
+
+                    long enrollmentId = ids.enrollment + enrollments++;
+                    LocalDateTime enrolledAt = termStart(term).plusDays(random.nextInt(14)).plusMinutes(random.nextInt(1440));
+
+                    int graded = dropped ? 0 : current ? CURRENT_TERM_GRADED : COMPONENTS.length;
+                    for (int g = 0; g < COMPONENTS.length; g++) {
+                        double percent = clamp(ability - COMPONENT_DIFFICULTY[g] + random.nextGaussian() * 0.08, 0.0, 1.0);
+                        // Half-point granularity, as instructors enter it
+                        scores[g] = Math.round(percent * COMPONENT_MAX[g] * 2) / 2.0;
+                    }
+
+                    enrollmentPs.setLong(1, enrollmentId);
+                    enrollmentPs.setLong(2, studentId);
+                    enrollmentPs.setLong(3, ids.section + section);
+                    enrollmentPs.setString(4, dropped ? "DROPPED" : current ? "ENROLLED" : "COMPLETED");
+                    enrollmentPs.setTimestamp(5, Timestamp.valueOf(enrolledAt));
+                    enrollmentPs.setTimestamp(6, dropped ? Timestamp.valueOf(enrolledAt.plusDays(3)) : null);
+                    enrollmentPs.setString(7, !dropped && !current ? GradeCalculator.letterGrade(finalPercent(scores)) : null);
+                    enrollmentPs.addBatch();
+                    pendingEnrollments++;
+
+                    if (dropped) {
+                        continue;
+                    }
+                    for (int g = 0; g < COMPONENTS.length; g++) {
+                        gradePs.setLong(1, enrollmentId);
+                        gradePs.setString(2, COMPONENTS[g]);
+                        if (g < graded) {
+                            gradePs.setDouble(3, scores[g]);
+                        } else {
+                            gradePs.setNull(3, Types.DECIMAL);
+                        }
+                        gradePs.setDouble(4, COMPONENT_MAX[g]);
+                        gradePs.setDouble(5, COMPONENT_WEIGHT[g]);
+                        gradePs.addBatch();
+                        pendingGrades++;
+                        grades++;
+                    }
+                }
+
+                // Parents before children: students, then enrollments, then grades
+                if (pendingStudents >= BATCH_SIZE || pendingEnrollments >= BATCH_SIZE || pendingGrades >= BATCH_SIZE) {
+                    studentPs.executeBatch();
+                    enrollmentPs.executeBatch();
+                    gradePs.executeBatch();
+                    pendingStudents = pendingEnrollments = pendingGrades = 0;
+                }
+                if ((s + 1) % STUDENTS_PER_COMMIT == 0) {
+                    studentPs.executeBatch();
+                    enrollmentPs.executeBatch();
+                    gradePs.executeBatch();
+                    pendingStudents = pendingEnrollments = pendingGrades = 0;
+                    erp.commit();
+                    logger.info("Generated {} of {} students", s + 1, spec.students());
+                }
+            }
+            studentPs.executeBatch();
+            enrollmentPs.executeBatch();
+            gradePs.executeBatch();
+        }
+        return new long[] {enrollments, grades};
+    }
+
+    /**
+     * Pick a section with a free seat in the given term, preferring courses
+     * of the student's own department and never repeating a course.
+     *
+     * @return section index, or -1 if no seat was found after a few tries
+     */
+    private int chooseSection(int term, int dept, int[] takenSections, int taken, Sections sections) {
+        int departmentCourses = (spec.courses() - dept + DEPARTMENTS.length - 1) / DEPARTMENTS.length;
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int course;
+            if (random.nextInt(10) < 7 && departmentCourses > 0) {
+                course = dept + DEPARTMENTS.length * random.nextInt(departmentCourses);
+            } else {
+                course = random.nextInt(spec.courses());
+            }
+            int index = sectionIndex(term, course, random.nextInt(spec.sectionsPerCourse()));
+            if (sections.enrolled[index] >= sections.capacity[index] || alreadyTakingCourse(course, takenSections, taken)) {
+                continue;
+            }
+            return index;
+        }
+        return -1;
+    }
+
+    private boolean alreadyTakingCourse(int course, int[] takenSections, int taken) {
+        for (int i = 0; i < taken; i++) {
+            if ((takenSections[i] / spec.sectionsPerCourse()) % spec.courses() == course) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateEnrolledCounts(Connection erp, Ids ids, Sections sections) throws SQLException {
+        try (PreparedStatement ps = erp.prepareStatement("UPDATE sections SET enrolled = ? WHERE section_id = ?")) {
+            int pending = 0;
+            for (int i = 0; i < sections.enrolled.length; i++) {
+                if (sections.enrolled[i] == 0) {
+                    continue;
+                }
+                ps.setInt(1, sections.enrolled[i]);
+                ps.setLong(2, ids.section + i);
+                ps.addBatch();
+                pending = flushIfFull(ps, pending + 1);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static double finalPercent(double[] scores) {
+        double total = 0.0;
+        for (int g = 0; g < scores.length; g++) {
+            total += (scores[g] / COMPONENT_MAX[g]) * COMPONENT_WEIGHT[g];
+        }
+        return total;
+    }
+
+    /**
+     * Terms run backwards from the current one, alternating Fall and Spring.
+     */
+    private String termSemester(int term) {
+        int back = spec.terms() - 1 - term;
+        boolean currentIsFall = "Fall".equalsIgnoreCase(spec.currentSemester());
+        boolean fall = (back % 2 == 0) == currentIsFall;
+        return fall ? "Fall" : "Spring";
+    }
+
+    private int termYear(int term) {
+        int back = spec.terms() - 1 - term;
+        boolean currentIsFall = "Fall".equalsIgnoreCase(spec.currentSemester());
+        // Going back from Fall, the previous Spring is in the same year
+        int yearsBack = currentIsFall ? back / 2 : (back + 1) / 2;
+        return spec.currentYear() - yearsBack;
+    }
+
+    private LocalDateTime termStart(int term) {
+        int month = "Fall".equals(termSemester(term)) ? 8 : 1;
+        return LocalDateTime.of(termYear(term), month, 1, 9, 0);
+    }
+
+    private static int flushIfFull(PreparedStatement ps, int pending) throws SQLException {
+        if (pending >= BATCH_SIZE) {
+            ps.executeBatch();
+            return 0;
+        }
+        return pending;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String phoneNumber() {
+        return "9" + (100_000_000 + random.nextInt(900_000_000));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public static void main(String[] args) throws SQLException {
+        int students = 1000;
+        long seed = 42L;
+        Integer instructors = null;
+        Integer courses = null;
+        Integer sectionsPerCourse = null;
+        Integer enrollmentsPerStudent = null;
+        Integer terms = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--help".equals(arg) || "-h".equals(arg)) {
+                printUsage();
+                return;
+            }
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value for " + arg);
+                printUsage();
+                System.exit(2);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--students" -> students = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--instructors" -> instructors = Integer.parseInt(value);
+                case "--courses" -> courses = Integer.parseInt(value);
+                case "--sections-per-course" -> sectionsPerCourse = Integer.parseInt(value);
+                case "--enrollments-per-student" -> enrollmentsPerStudent = Integer.parseInt(value);
+                case "--terms" -> terms = Integer.parseInt(value);
+                default -> {
+                    System.err.println("Unknown option: " + arg);
+                    printUsage();
+                    System.exit(2);
+                }
+            }
+        }
+
+        Spec defaults = Spec.forStudents(students, seed);
+        Spec spec = new Spec(students,
+                instructors != null ? instructors : defaults.instructors(),
+                courses != null ? courses : defaults.courses(),
+                sectionsPerCourse != null ? sectionsPerCourse : defaults.sectionsPerCourse(),
+                enrollmentsPerStudent != null ? enrollmentsPerStudent : defaults.enrollmentsPerStudent(),
+                terms != null ? terms : defaults.terms(),
+                defaults.currentSemester(), defaults.currentYear(), seed);
+
+        try {
+            Summary summary = new DatasetGenerator(spec).generate();
+            System.out.printf("Generated %d students, %d instructors, %d courses, %d sections, %d enrollments, %d grades in %.1f s%n",
+                    summary.students(), summary.instructors(), summary.courses(), summary.sections(),
+                    summary.enrollments(), summary.grades(), summary.elapsedMillis() / 1000.0);
+            System.out.println("All generated accounts use the password: " + DEFAULT_PASSWORD);
+        } finally {
+            DatabaseConnection.closeAll();
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: DatasetGenerator [--students N] [--seed N] [--instructors N] [--courses N]");
+        System.out.println("                        [--sections-per-course N] [--enrollments-per-student N] [--terms N]");
+        System.out.println("Writes to the databases selected by db.provider (-Ddb.provider=mysql|embedded).");
+        System.out.println("For MySQL, add rewriteBatchedStatements=true to the JDBC URLs for faster loading.");
+    }
+}
@@ -0,0 +1,421 @@
+package edu.univ.erp.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the service host protocol, so the client needs
+ * no extra libraries.
+ * <ul>
+ *   <li>{@link #write(Object)} handles null, strings, numbers, booleans,
+ *       java.time values (ISO-8601 strings), collections, maps and domain
+ *       beans (their non-static fields)</li>
+ *   <li>{@link #parse(String)} returns Map, List, String, Long, Double,
+ *       Boolean or null</li>
+ *   <li>{@link #convert(Object, Type)} turns a parsed value into the declared
+ *       type, e.g. List&lt;Section&gt; or Map&lt;Long, List&lt;Grade&gt;&gt;</li>
+ * </ul>
+ */
+public final class JsonUtil {
+
+    private JsonUtil() {
+    }
+
+    public static String write(Object value) {
+        StringBuilder sb = new StringBuilder();
+        write(value, sb);
+        return sb.toString();
+    }
+
+    public static Object parse(String json) {
+        Parser parser = new Parser(json);
+        Object value = parser.value();
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("Trailing characters");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T convert(Object value, Type type) {
+        return (T) convertValue(value, type);
+    }
+
+    /**
+     * The type List&lt;element&gt;, for {@link #convert(Object, Type)}.
+     */
+    public static Type listOf(Type element) {
+        return new Generic(List.class, new Type[]{element});
+    }
+
+    /**
+     * The type Map&lt;key, value&gt;, for {@link #convert(Object, Type)}.
+     */
+    public static Type mapOf(Type key, Type value) {
+        return new Generic(Map.class, new Type[]{key, value});
+    }
+
+    private static void write(Object value, StringBuilder sb) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String || value instanceof Character || value instanceof Enum<?>
+                || value instanceof LocalDate || value instanceof LocalTime || value instanceof LocalDateTime) {
+            writeString(value.toString(), sb);
+        } else if (value instanceof Double d && (d.isNaN() || d.isInfinite())) {
+            sb.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                writeString(String.valueOf(entry.getKey()), sb);
+                sb.append(':');
+                write(entry.getValue(), sb);
+            }
+            sb.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            sb.append('[');
+            boolean first = true;
+            for (Object item : collection) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                write(item, sb);
+            }
+            sb.append(']');
+        } else if (value instanceof Object[] array) {
+            write(List.of(array), sb);
+        } else {
+            writeBean(value, sb);
+        }
+    }
+
+    private static void writeBean(Object bean, StringBuilder sb) {
+        sb.append('{');
+        boolean first = true;
+        for (Field field : beanFields(bean.getClass())) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            writeString(field.getName(), sb);
+            sb.append(':');
+            try {
+                write(field.get(bean), sb);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+        }
+        sb.append('}');
+    }
+
+    private static void writeString(String s, StringBuilder sb) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static List<Field> beanFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static Object convertValue(Object value, Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] args = parameterized.getActualTypeArguments();
+            if (value == null) {
+                return null;
+            }
+            if (Collection.class.isAssignableFrom(raw)) {
+                List<Object> list = new ArrayList<>();
+                for (Object item : (List<?>) value) {
+                    list.add(convertValue(item, args[0]));
+                }
+                return list;
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    map.put(convertValue(entry.getKey(), args[0]), convertValue(entry.getValue(), args[1]));
+                }
+                return map;
+            }
+            return convertValue(value, raw);
+        }
+        Class<?> target = (Class<?>) type;
+        if (value == null) {
+            if (target.isPrimitive()) {
+                return target == boolean.class ? Boolean.FALSE : convertValue(0L, target);
+            }
+            return null;
+        }
+        if (target == Object.class || target.isInstance(value)) {
+            return value;
+        }
+        if (target == String.class) {
+            return value.toString();
+        }
+        if (target == Long.class || target == long.class) {
+            return value instanceof Number n ? n.longValue() : Long.parseLong(value.toString());
+        }
+        if (target == Integer.class || target == int.class) {
+            return value instanceof Number n ? n.intValue() : Integer.parseInt(value.toString());
+        }
+        if (target == Double.class || target == double.class) {
+            return value instanceof Number n ? n.doubleValue() : Double.parseDouble(value.toString());
+        }
+        if (target == Boolean.class || target == boolean.class) {
+            return value instanceof Boolean b ? b : Boolean.parseBoolean(value.toString());
+        }
+        if (target == LocalDateTime.class) {
+            return LocalDateTime.parse(value.toString());
+        }
+        if (target == LocalTime.class) {
+            return LocalTime.parse(value.toString());
+        }
+        if (target == LocalDate.class) {
+            return LocalDate.parse(value.toString());
+        }
+        if (target.isEnum()) {
+            return enumValue(target, value.toString());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return convertBean(map, target);
+        }
+        throw new IllegalArgumentException("Cannot convert " + value.getClass().getSimpleName() + " to " + target.getName());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(Class<?> type, String name) {
+        return Enum.valueOf((Class<? extends Enum>) type, name);
+    }
+
+    private static Object convertBean(Map<?, ?> values, Class<?> type) {
+        try {
+            Object bean = type.getDeclaredConstructor().newInstance();
+            for (Field field : beanFields(type)) {
+                if (values.containsKey(field.getName())) {
+                    field.set(bean, convertValue(values.get(field.getName()), field.getGenericType()));
+                }
+            }
+            return bean;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create " + type.getName() + " from JSON", e);
+        }
+    }
+
+    private record Generic(Class<?> raw, Type[] args) implements ParameterizedType {
+        @Override
+        public Type[] getActualTypeArguments() {
+            return args.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    }
+
+    private static final class Parser {
+        private final String json;
+        private int pos;
+
+        Parser(String json) {
+            this.json = json;
+        }
+
+        Object value() {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = json.charAt(pos);
+            return switch (c) {
+                case '{' -> object();
+                case '[' -> array();
+                case '"' -> string();
+                case 't' -> literal("true", Boolean.TRUE);
+                case 'f' -> literal("false", Boolean.FALSE);
+                case 'n' -> literal("null", null);
+                default -> number();
+            };
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("Expected a field name");
+                }
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String string() {
+            pos++;
+            StringBuilder sb = new StringBuilder();
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > json.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object number() {
+            int start = pos;
+            boolean decimal = false;
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c == '.' || c == 'e' || c == 'E') {
+                    decimal = true;
+                } else if (!(c == '-' || c == '+' || Character.isDigit(c))) {
+                    break;
+                }
+                pos++;
+            }
+            String text = json.substring(start, pos);
+            try {
+                return decimal ? (Object) Double.parseDouble(text) : (Object) Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                throw error("Bad number '" + text + "'");
+            }
+        }
+
+        private Object literal(String word, Object value) {
+            if (!json.startsWith(word, pos)) {
+                throw error("Unexpected token");
+            }
+            pos += word.length();
+            return value;
+        }
+
+        private char peek() {
+            return pos < json.length() ? json.charAt(pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " of JSON input");
+        }
+    }
+}
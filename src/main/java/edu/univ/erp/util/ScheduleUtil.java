@@ -0,0 +1,89 @@
+package edu.univ.erp.util;
+
+import java.time.LocalTime;
+
+/**
+ * Parsing helpers for section schedules as stored in the sections table
+ * (comma-separated day lists such as "Mon,Wed" plus start/end times) and
+ * for the timetable grid slot labels used by the schedule panels.
+ */
+public final class ScheduleUtil {
+
+    private ScheduleUtil() {
+    }
+
+    /**
+     * Split a day list like "Mon, Wed,Fri" into trimmed day names.
+     */
+    public static String[] splitDays(String dayOfWeek) {
+        if (dayOfWeek == null || dayOfWeek.isBlank()) {
+            return new String[0];
+        }
+        String[] days = dayOfWeek.split(",");
+        for (int i = 0; i < days.length; i++) {
+            days[i] = days[i].trim();
+        }
+        return days;
+    }
+
+    /**
+     * Find the 24-hour grid slot ("09:00", "14:00", ...) whose hour matches the start time.
+     *
+     * @return the matching slot label, or null if the time is outside the grid
+     */
+    public static String findHourSlot(LocalTime startTime, String[] slots) {
+        int hour = startTime.getHour();
+        for (String slot : slots) {
+            int colon = slot.indexOf(':');
+            int slotHour = Integer.parseInt(colon < 0 ? slot : slot.substring(0, colon));
+            if (slotHour == hour) return slot;
+        }
+        return null;
+    }
+
+    /**
+     * Parse a 12-hour slot label such as "08:00 AM" or "12:30 PM".
+     *
+     * @throws IllegalArgumentException if the label is not in hh:mm AM/PM form
+     */
+    public static LocalTime parseTimeSlot(String timeSlot) {
+        String cleanTime = timeSlot.trim().toUpperCase();
+        boolean isPM = cleanTime.endsWith("PM");
+        boolean isAM = cleanTime.endsWith("AM");
+
+        if (!isPM && !isAM) {
+            throw new IllegalArgumentException("Invalid time format: " + timeSlot);
+        }
+
+        String timeOnly = cleanTime.substring(0, cleanTime.length() - 2).trim();
+        String[] parts = timeOnly.split(":");
+
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid time format: " + timeSlot);
+        }
+
+        int hour = Integer.parseInt(parts[0]);
+        int minute = Integer.parseInt(parts[1]);
+
+        if (isPM && hour != 12) {
+            hour += 12;
+        } else if (isAM && hour == 12) {
+            hour = 0;
+        }
+
+        return LocalTime.of(hour, minute);
+    }
+
+    /**
+     * Whether a class meeting on dayOfWeek from start to end occupies the given
+     * day and slot time. A missing end time is treated as a one-hour class.
+     */
+    public static boolean occupiesSlot(String dayOfWeek, LocalTime start, LocalTime end,
+                                       String day, LocalTime slotTime) {
+        if (dayOfWeek == null || start == null || !dayOfWeek.contains(day)) {
+            return false;
+        }
+        LocalTime effectiveEnd = end != null ? end : start.plusHours(1);
+        return !slotTime.isBefore(start) && slotTime.isBefore(effectiveEnd);
+    }
+}
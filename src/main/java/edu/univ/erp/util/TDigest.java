@@ -0,0 +1,275 @@
+package edu.univ.erp.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch (merging t-digest, Dunning and Ertl).
+ *
+ * Values are kept as weighted centroids sorted by mean. Centroids near the
+ * tails hold few values and those near the median many (the arcsine scale
+ * function), so the error is smallest at p1/p99. With compression 100 a
+ * section-sized digest (up to about 60 values) keeps every value and is
+ * exact, and a digest of 100k values stays within a few tenths of a
+ * percentage point of the true percentiles. Digests of different sections
+ * can be merged into one for a course, department or term, and serialize to
+ * a few kilobytes at most. A value can only be taken back out while it is
+ * a centroid of its own ({@link #remove}). Not thread-safe.
+ */
+public final class TDigest {
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private double[] bufferMeans;
+    private double[] bufferWeights;
+    private int buffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(2 * compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[5 * capacity];
+        this.bufferWeights = new double[5 * capacity];
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN");
+        }
+        buffer(value, 1);
+        totalWeight++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all of another digest's values to this one.
+     */
+    public void add(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            buffer(other.means[i], other.weights[i]);
+        }
+        if (other.totalWeight > 0) {
+            totalWeight += other.totalWeight;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Take back one value added earlier, if it is still a centroid of its
+     * own (weight 1, as in section-sized digests); removing it then leaves
+     * exactly the digest of the remaining values. Otherwise nothing changes
+     * and false is returned, and the caller rebuilds the digest from the
+     * values it keeps, so the error bound above still holds.
+     */
+    public boolean remove(double value) {
+        compress();
+        if (centroids == 0) {
+            return false;
+        }
+        int nearest = 0;
+        for (int i = 1; i < centroids; i++) {
+            if (Math.abs(means[i] - value) < Math.abs(means[nearest] - value)) {
+                nearest = i;
+            }
+        }
+        if (weights[nearest] != 1 || means[nearest] != value) {
+            return false;
+        }
+        System.arraycopy(means, nearest + 1, means, nearest, centroids - nearest - 1);
+        System.arraycopy(weights, nearest + 1, weights, nearest, centroids - nearest - 1);
+        centroids--;
+        totalWeight--;
+        if (centroids == 0) {
+            totalWeight = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+        }
+        return true;
+    }
+
+    private void buffer(double mean, double weight) {
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+    }
+
+    /**
+     * Estimated value at the quantile (0.0-1.0), interpolating between
+     * centroid centres and out to the exact min and max. NaN when empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1: " + q);
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return weights[0] == 1 ? means[0] : interpolateSingle(q);
+        }
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return min + index / (weights[0] / 2) * (means[0] - min);
+        }
+        double centre = weights[0] / 2;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (centre + step > index) {
+                return means[i] + (index - centre) / step * (means[i + 1] - means[i]);
+            }
+            centre += step;
+        }
+        double last = weights[centroids - 1] / 2;
+        return means[centroids - 1] + Math.min(1.0, (index - centre) / last) * (max - means[centroids - 1]);
+    }
+
+    private double interpolateSingle(double q) {
+        // One centroid of identical or close values: spread it between min and max
+        return q < 0.5 ? min + 2 * q * (means[0] - min) : means[0] + (2 * q - 1) * (max - means[0]);
+    }
+
+    public long getCount() {
+        return (long) totalWeight;
+    }
+
+    public double getMin() {
+        return totalWeight > 0 ? min : Double.NaN;
+    }
+
+    public double getMax() {
+        return totalWeight > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * Number of centroids after merging the buffered values.
+     */
+    public int centroidCount() {
+        compress();
+        return centroids;
+    }
+
+    /**
+     * Merge the buffered values into the centroids in one sorted pass.
+     */
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferMeans, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, centroids, buffered);
+        buffered = 0;
+        sortByMean(allMeans, allWeights, n);
+
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += allWeights[i];
+        }
+        int out = 0;
+        double mean = allMeans[0];
+        double weight = allWeights[0];
+        double before = 0;
+        double kLeft = k(0);
+        for (int i = 1; i < n; i++) {
+            double proposed = weight + allWeights[i];
+            if (k((before + proposed) / total) - kLeft <= 1) {
+                mean += (allMeans[i] - mean) * allWeights[i] / proposed;
+                weight = proposed;
+            } else {
+                out = emit(out, mean, weight);
+                before += weight;
+                kLeft = k(before / total);
+                mean = allMeans[i];
+                weight = allWeights[i];
+            }
+        }
+        centroids = emit(out, mean, weight);
+    }
+
+    private int emit(int index, double mean, double weight) {
+        if (index == means.length) {
+            means = Arrays.copyOf(means, index * 2);
+            weights = Arrays.copyOf(weights, index * 2);
+        }
+        means[index] = mean;
+        weights[index] = weight;
+        return index + 1;
+    }
+
+    // Arcsine scale: small centroids at the tails, large ones at the median
+    private double k(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1.0, q) - 1);
+    }
+
+    private static void sortByMean(double[] means, double[] weights, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+        double[] sortedMeans = new double[n];
+        double[] sortedWeights = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedMeans[i] = means[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedMeans, 0, means, 0, n);
+        System.arraycopy(sortedWeights, 0, weights, 0, n);
+    }
+
+    /**
+     * Compact form for storage: compression, min, max, then (mean, weight)
+     * per centroid.
+     */
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 3 + 4 + centroids * 12);
+        buffer.putDouble(compression);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]);
+            buffer.putInt((int) Math.round(weights[i]));
+        }
+        return buffer.array();
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        TDigest digest = new TDigest(buffer.getDouble());
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        int n = buffer.getInt();
+        for (int i = 0; i < n; i++) {
+            double mean = buffer.getDouble();
+            int weight = buffer.getInt();
+            digest.centroids = digest.emit(i, mean, weight);
+            digest.totalWeight += weight;
+        }
+        return digest;
+    }
+}
@@ -2,6 +2,7 @@ package edu.univ.erp.auth;
 
 import edu.univ.erp.domain.User;
 import edu.univ.erp.test.BaseDAOTest;
+import edu.univ.erp.test.QueryBudget;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,8 +23,9 @@ class AuthServiceTest extends BaseDAOTest {
 
     @BeforeEach
     void setupTestData() throws SQLException {
-        authService = new AuthService();
         authDAO = new AuthDAO();
+        // Fresh throttle per test so failures from other tests don't carry over
+        authService = new AuthService(authDAO, new LoginThrottle(10, 50, 60));
         
         // Create test user with known password
         String passwordHash = PasswordUtil.hashPassword(TEST_PASSWORD);
@@ -56,6 +58,27 @@ class AuthServiceTest extends BaseDAOTest {
         assertEquals(0, user.getFailedLoginAttempts());
     }
 
+    @Test
+    @DisplayName("Successful authentication returns the profile")
+    void testAuthenticateReturnsProfile() {
+        AuthService.AuthResult result = authService.authenticate(TEST_USERNAME, TEST_PASSWORD);
+
+        assertTrue(result.isSuccess());
+        // The test user has no students row, so the profile is present but empty
+        assertNotNull(result.getProfile());
+        assertFalse(result.getProfile().isStudent());
+        assertFalse(result.getProfile().isInstructor());
+    }
+
+    @Test
+    @DisplayName("Failed authentication does not return a profile")
+    void testFailedAuthenticationHasNoProfile() {
+        AuthService.AuthResult result = authService.authenticate(TEST_USERNAME, "WrongPassword");
+
+        assertFalse(result.isSuccess());
+        assertNull(result.getProfile());
+    }
+
     @Test
     @DisplayName("Failed authentication with wrong password")
     void testAuthenticateWrongPassword() throws SQLException {
@@ -70,6 +93,13 @@ class AuthServiceTest extends BaseDAOTest {
         assertEquals(1, user.getFailedLoginAttempts());
     }
 
+    @Test
+    @DisplayName("A failed login costs the lookup and one update")
+    void testFailedLoginQueryBudget() {
+        QueryBudget.assertMaxQueries(2, "failed login",
+                () -> assertFalse(authService.authenticate(TEST_USERNAME, "WrongPassword").isSuccess()));
+    }
+
     @Test
     @DisplayName("Failed authentication with non-existent username")
     void testAuthenticateNonExistentUser() {
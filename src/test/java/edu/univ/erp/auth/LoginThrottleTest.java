@@ -0,0 +1,141 @@
+package edu.univ.erp.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginThrottle Tests")
+class LoginThrottleTest {
+    private AtomicLong clock;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+        throttle = new LoginThrottle(3, 5, 60, clock::get);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    @DisplayName("Rejects a username after too many failures")
+    void testRejectsAfterUsernameLimit() {
+        // Admitted attempts count as failures until recordSuccess
+        for (int i = 0; i < 3; i++) {
+            assertTrue(throttle.tryAcquire("stu1", null));
+        }
+
+        assertFalse(throttle.tryAcquire("stu1", null));
+        assertFalse(throttle.tryAcquire("STU1", null), "Username matching should ignore case");
+        assertTrue(throttle.tryAcquire("stu2", null), "Other usernames are unaffected");
+        assertEquals(2, throttle.getRejectedByUsername());
+    }
+
+    @Test
+    @DisplayName("Failures decay as the window slides")
+    void testWindowDecays() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("stu1", null);
+        }
+        assertFalse(throttle.tryAcquire("stu1", null));
+
+        // Halfway through the next window only half of the old failures still count
+        advanceSeconds(90);
+        assertTrue(throttle.tryAcquire("stu1", null));
+
+        advanceSeconds(60);
+        assertTrue(throttle.tryAcquire("stu1", null));
+    }
+
+    @Test
+    @DisplayName("Successful login clears the username window")
+    void testSuccessClearsUsername() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("stu1", null);
+        }
+        throttle.recordSuccess("stu1", null);
+
+        assertTrue(throttle.tryAcquire("stu1", null));
+    }
+
+    @Test
+    @DisplayName("Successful logins do not count against the source")
+    void testSuccessReleasesSource() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(throttle.tryAcquire("user" + i, "10.0.0.7"));
+            throttle.recordSuccess("user" + i, "10.0.0.7");
+        }
+
+        assertTrue(throttle.tryAcquire("fresh_user", "10.0.0.7"));
+    }
+
+    @Test
+    @DisplayName("A concurrent burst admits no more attempts than the limit")
+    void testConcurrentBurst() throws Exception {
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String username = "user" + (i % 2);
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    // Every attempt passes the check before any password check finishes
+                    if (throttle.tryAcquire(username, "10.0.0.7")) {
+                        admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5, admitted.get(), "Source limit");
+        assertEquals(threads - 5, throttle.getRejectedAttempts());
+    }
+
+    @Test
+    @DisplayName("Rejects a source spraying many usernames")
+    void testRejectsAfterSourceLimit() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.7");
+        }
+
+        assertFalse(throttle.tryAcquire("fresh_user", "10.0.0.7"));
+        assertTrue(throttle.tryAcquire("fresh_user", "10.0.0.8"));
+        assertEquals(1, throttle.getRejectedBySource());
+    }
+
+    @Test
+    @DisplayName("Idle windows are swept")
+    void testSweepRemovesIdleKeys() {
+        throttle.recordFailure("stu1", "10.0.0.7");
+        assertEquals(2, throttle.getTrackedKeys());
+
+        advanceSeconds(121);
+        throttle.sweep(clock.get());
+
+        assertEquals(0, throttle.getTrackedKeys());
+    }
+}
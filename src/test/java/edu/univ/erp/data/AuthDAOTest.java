@@ -413,4 +413,37 @@ class AuthDAOTest extends BaseDAOTest {
         
         logger.info("Username length handling works correctly");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(20)
+    @DisplayName("Record failed login - increments and locks at threshold")
+    void testRecordFailedLogin_LocksAtThreshold() throws SQLException {
+        Long userId = authDAO.createUser(testUsername, "STUDENT", testHashedPassword);
+
+        assertEquals(1, authDAO.recordFailedLogin(userId, 0, 3));
+        // A stale count (another login failed meanwhile) still yields the stored count
+        assertEquals(2, authDAO.recordFailedLogin(userId, 0, 3), "Should return the count after the update");
+        User user = authDAO.findById(userId);
+        assertEquals(2, user.getFailedLoginAttempts(), "Counter should be incremented in SQL");
+        assertEquals("ACTIVE", user.getStatus(), "Account should stay active below the threshold");
+
+        assertEquals(3, authDAO.recordFailedLogin(userId, 2, 3));
+        user = authDAO.findById(userId);
+        assertEquals(3, user.getFailedLoginAttempts());
+        assertEquals("LOCKED", user.getStatus(), "Account should lock when the threshold is reached");
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Record successful login - stamps last login and resets counter")
+    void testRecordSuccessfulLogin_ResetsCounter() throws SQLException {
+        Long userId = authDAO.createUser(testUsername, "STUDENT", testHashedPassword);
+        authDAO.recordFailedLogin(userId, 0, 5);
+
+        authDAO.recordSuccessfulLogin(userId);
+
+        User user = authDAO.findById(userId);
+        assertEquals(0, user.getFailedLoginAttempts(), "Counter should reset on success");
+        assertNotNull(user.getLastLogin(), "Last login should be stamped");
+    }
+}
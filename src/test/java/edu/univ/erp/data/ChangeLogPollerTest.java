@@ -0,0 +1,79 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.SectionChanged;
+import edu.univ.erp.events.SettingsChanged;
+import edu.univ.erp.test.BaseDAOTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChangeLogPoller Tests")
+class ChangeLogPollerTest extends BaseDAOTest {
+    private static final String TEST_KEY = "change_log_test";
+
+    private final EventBus bus = new EventBus();
+    private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        executeCleanupSQL("DELETE FROM settings WHERE setting_key = '" + TEST_KEY + "'");
+        executeCleanupSQL("DELETE FROM change_log WHERE entity = 'SECTION' AND entity_id < 0");
+    }
+
+    @Test
+    @DisplayName("Other clients' writes are republished, this client's are skipped")
+    void publishesForeignWritesOnly() throws SQLException {
+        bus.subscribe(DomainEvent.class, received::add);
+        ChangeLogPoller otherClient = new ChangeLogPoller(ChangeLog.ORIGIN + 1, bus, Duration.ofSeconds(10), Duration.ofDays(1));
+        ChangeLogPoller sameClient = new ChangeLogPoller(ChangeLog.ORIGIN, bus, Duration.ofSeconds(10), Duration.ofDays(1));
+        assertEquals(0, otherClient.poll(), "first poll starts at the current end of the log");
+        sameClient.poll();
+
+        assertTrue(new SettingsDAO().upsert(TEST_KEY, "1"));
+
+        assertEquals(0, sameClient.poll());
+        assertTrue(otherClient.poll() >= 1);
+        assertTrue(received.contains(new SettingsChanged(TEST_KEY)));
+        assertEquals(0, otherClient.poll(), "rows are delivered once");
+    }
+
+    @Test
+    @DisplayName("A sequence number that commits late is still delivered")
+    void lateCommitsFillGaps() throws SQLException {
+        bus.subscribe(SectionChanged.class, received::add);
+        ChangeLogPoller poller = new ChangeLogPoller(ChangeLog.ORIGIN + 1, bus, Duration.ofSeconds(10), Duration.ofDays(1));
+        poller.poll();
+        long start = poller.getLastSeq();
+
+        insertRow(start + 2, -2L);
+        assertEquals(1, poller.poll());
+        assertEquals(1, poller.getGapCount());
+
+        insertRow(start + 1, -1L);
+        assertEquals(1, poller.poll());
+        assertEquals(0, poller.getGapCount());
+        assertEquals(List.of(new SectionChanged(-2L, DomainEvent.Change.UPDATED),
+                new SectionChanged(-1L, DomainEvent.Change.UPDATED)), received);
+    }
+
+    private static void insertRow(long seq, long sectionId) throws SQLException {
+        String sql = "INSERT INTO change_log (seq, origin, entity, change_type, entity_id) VALUES (?, ?, 'SECTION', 'UPDATED', ?)";
+        try (Connection conn = DatabaseConnection.getErpConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, seq);
+            ps.setLong(2, ChangeLog.ORIGIN);
+            ps.setLong(3, sectionId);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.univ.erp.data;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtAccessGuardTest {
+
+    private DataSource dataSource;
+    private EdtAccessGuard.Mode originalMode;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:edt_guard_test;DB_CLOSE_DELAY=-1");
+        dataSource = new InstrumentedDataSource(h2, false);
+        originalMode = EdtAccessGuard.getMode();
+        EdtAccessGuard.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        EdtAccessGuard.setMode(originalMode);
+        EdtAccessGuard.reset();
+    }
+
+    @Test
+    void failModeRejectsConnectionsOnTheEventThread() throws Exception {
+        EdtAccessGuard.setMode(EdtAccessGuard.Mode.FAIL);
+
+        InvocationTargetException thrown = assertThrows(InvocationTargetException.class,
+                () -> EventQueue.invokeAndWait(this::query));
+
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertTrue(thrown.getCause().getMessage().contains("EdtAccessGuardTest"), thrown.getCause().getMessage());
+        assertEquals(1, EdtAccessGuard.getViolations().size());
+    }
+
+    @Test
+    void warnModeCountsEachCallSite() throws Exception {
+        EdtAccessGuard.setMode(EdtAccessGuard.Mode.WARN);
+
+        EventQueue.invokeAndWait(this::query);
+        EventQueue.invokeAndWait(this::query);
+
+        assertEquals(1, EdtAccessGuard.getViolations().size());
+        assertEquals(2L, EdtAccessGuard.getViolations().values().iterator().next());
+    }
+
+    @Test
+    void backgroundThreadsAreNotChecked() {
+        EdtAccessGuard.setMode(EdtAccessGuard.Mode.FAIL);
+
+        query();
+
+        assertTrue(EdtAccessGuard.getViolations().isEmpty());
+    }
+
+    private void query() {
+        try (Connection conn = dataSource.getConnection()) {
+            assertTrue(conn.isValid(1));
+        } catch (java.sql.SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
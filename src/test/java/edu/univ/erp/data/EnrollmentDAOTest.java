@@ -12,6 +12,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -197,4 +198,24 @@ class EnrollmentDAOTest extends BaseDAOTest {
         assertTrue(dao.markDropped(enrollmentId));
         assertFalse(dao.markDropped(enrollmentId)); // second call should fail
     }
+
+    @Test
+    @DisplayName("Enroll takes a seat with the row and stops at capacity")
+    void testEnrollTakesSeat() throws SQLException {
+        EnrollmentDAO dao = new EnrollmentDAO();
+        SectionDAO sectionDAO = new SectionDAO();
+        Long enrollmentId = dao.enroll(testStudentId, testSectionId);
+        assertNotNull(enrollmentId);
+        createdEnrollments.add(enrollmentId);
+        assertEquals(1, sectionDAO.findById(testSectionId).getEnrolled());
+
+        // A duplicate is rejected by the unique key and gives the seat back
+        assertThrows(SQLIntegrityConstraintViolationException.class, () -> dao.enroll(testStudentId, testSectionId));
+        assertEquals(1, sectionDAO.findById(testSectionId).getEnrolled());
+
+        executeCleanupSQL("DELETE FROM enrollments WHERE enrollment_id = " + enrollmentId);
+        executeCleanupSQL("UPDATE sections SET enrolled = capacity WHERE section_id = " + testSectionId);
+        assertNull(dao.enroll(testStudentId, testSectionId), "A full section takes no enrollment");
+        assertNull(dao.find(testStudentId, testSectionId));
+    }
 }
@@ -0,0 +1,119 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.Course;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EntityCache Tests")
+class EntityCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Course load(Long id) {
+        loads.incrementAndGet();
+        Course course = new Course("C" + id, "Course " + id, 3);
+        course.setCourseId(id);
+        return course;
+    }
+
+    @Test
+    @DisplayName("A scan of one-off lookups does not evict the hot set")
+    void hotEntriesSurviveAScan() throws SQLException {
+        EntityCache<Course> cache = new EntityCache<>("test", 100, Duration.ofHours(1), Course::new);
+        for (int round = 0; round < 5; round++) {
+            for (long id = 0; id < 50; id++) {
+                cache.get(id, this::load);
+            }
+        }
+        for (long id = 1_000; id < 11_000; id++) {
+            cache.get(id, this::load);
+        }
+        assertTrue(cache.getSize() <= 100);
+
+        loads.set(0);
+        for (long id = 0; id < 50; id++) {
+            cache.get(id, this::load);
+        }
+        assertTrue(loads.get() <= 2, "hot entries reloaded after scan: " + loads.get());
+    }
+
+    @Test
+    @DisplayName("Callers get copies; editing one does not change the cache")
+    void returnsCopies() throws SQLException {
+        EntityCache<Course> cache = new EntityCache<>("test", 10, Duration.ofHours(1), Course::new);
+        cache.get(1L, this::load).setTitle("edited");
+
+        Course cached = cache.get(1L, this::load);
+        assertEquals("Course 1", cached.getTitle());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("A load that overlaps an invalidation is not cached")
+    void invalidationDuringLoadWins() throws SQLException {
+        EntityCache<Course> cache = new EntityCache<>("test", 10, Duration.ofHours(1), Course::new);
+        cache.get(1L, id -> {
+            Course stale = load(id);
+            cache.invalidate(id); // the write commits while the read is in flight
+            return stale;
+        });
+
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Entries expire after their TTL; size 0 disables caching")
+    void ttlAndDisabled() throws SQLException {
+        EntityCache<Course> expiring = new EntityCache<>("test", 10, Duration.ZERO, Course::new);
+        expiring.get(1L, this::load);
+        expiring.get(1L, this::load);
+        assertEquals(2, loads.get());
+
+        EntityCache<Course> disabled = new EntityCache<>("test", 0, Duration.ofHours(1), Course::new);
+        disabled.get(1L, this::load);
+        disabled.get(1L, this::load);
+        assertEquals(4, loads.get());
+        assertEquals(0, disabled.getSize());
+    }
+
+    @Test
+    @DisplayName("invalidateGroup drops only that group's entries")
+    void invalidateGroupDropsItsEntries() throws SQLException {
+        EntityCache<Course> cache = new EntityCache<>("test", 10, Duration.ofHours(1), Course::new,
+                course -> course.getCourseId() % 2);
+        for (long id = 1; id <= 4; id++) {
+            cache.get(id, this::load);
+        }
+
+        cache.invalidateGroup(0L);
+
+        assertEquals(2, cache.getSize());
+        loads.set(0);
+        for (long id = 1; id <= 4; id++) {
+            cache.get(id, this::load);
+        }
+        assertEquals(2, loads.get(), "only the invalidated group should reload");
+    }
+
+    @Test
+    @DisplayName("Invalidating one ID does not discard a concurrent load of another")
+    void invalidationIsPerKey() throws SQLException {
+        EntityCache<Course> cache = new EntityCache<>("test", 10, Duration.ofHours(1), Course::new);
+        cache.get(1L, id -> {
+            Course loaded = load(id);
+            cache.invalidate(2L);
+            return loaded;
+        });
+
+        cache.get(1L, this::load);
+        assertEquals(1, loads.get());
+    }
+}
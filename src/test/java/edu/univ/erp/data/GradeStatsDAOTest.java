@@ -0,0 +1,196 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.domain.GradeStats;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.GradeChanged;
+import edu.univ.erp.test.BaseDAOTest;
+import edu.univ.erp.test.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GradeStatsDAO Tests")
+class GradeStatsDAOTest extends BaseDAOTest {
+    private static final long FIRST_USER_ID = 960_000L;
+
+    private final GradeDAO gradeDAO = new GradeDAO();
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final GradeStatsDAO gradeStatsDAO = new GradeStatsDAO();
+    private Long courseId;
+    private Long sectionId;
+    private final List<Long> enrollmentIds = new ArrayList<>();
+
+    @BeforeEach
+    void createSection() throws SQLException {
+        Course course = new Course();
+        course.setCode("GST100");
+        course.setTitle("Grade Stats Course");
+        course.setCredits(3);
+        course.setDepartment("TEST");
+        courseId = new CourseDAO().save(course);
+
+        Section section = new Section();
+        section.setCourseId(courseId);
+        section.setSectionNumber("GS1");
+        section.setDayOfWeek("Friday");
+        section.setStartTime(LocalTime.of(11, 0));
+        section.setEndTime(LocalTime.of(12, 0));
+        section.setRoom("S101");
+        section.setCapacity(10);
+        section.setEnrolled(0);
+        section.setSemester("Fall");
+        section.setYear(2025);
+        sectionId = new SectionDAO().save(section);
+
+        for (int i = 0; i < 3; i++) {
+            executeCleanupSQL("INSERT INTO students (user_id, roll_no, first_name, last_name, email, program, year) VALUES (" +
+                    (FIRST_USER_ID + i) + ", 'GST" + i + "', 'Stats', 'Student" + i + "', 'gst" + i + "@test.com', 'B.Tech', 1)");
+            enrollmentIds.add(enrollmentDAO.create(studentId(FIRST_USER_ID + i), sectionId));
+        }
+    }
+
+    @AfterEach
+    void deleteSection() {
+        // Enrollments, grades and grade_stats cascade
+        executeCleanupSQL("DELETE FROM courses WHERE course_id = " + courseId);
+        executeCleanupSQL("DELETE FROM students WHERE user_id >= " + FIRST_USER_ID + " AND user_id < " + (FIRST_USER_ID + 3));
+    }
+
+    @Test
+    @DisplayName("Grade writes keep the stats equal to a rebuild from the grades")
+    void writesMatchRebuild() throws SQLException {
+        // Written before the section is tracked; the first read picks it up
+        executeCleanupSQL("INSERT INTO grades (enrollment_id, component, score, max_score, weight) VALUES (" +
+                enrollmentIds.get(0) + ", 'Midterm', 30, 50, 40)");
+        Map<String, GradeStats> stats = gradeStatsDAO.findBySection(sectionId);
+        assertEquals(1, stats.get("Midterm").getCount());
+        assertEquals(60.0, stats.get(GradeStats.OVERALL).getMean(), 1e-9);
+
+        Long midterm1 = gradeDAO.addComponent(enrollmentIds.get(1), "Midterm", 45.0, 50.0, 40.0);
+        Long midterm2 = gradeDAO.addComponent(enrollmentIds.get(2), "Midterm", 40.0, 50.0, 40.0);
+        gradeDAO.addComponent(enrollmentIds.get(1), "Final", 70.0, 100.0, 60.0);
+        stats = gradeStatsDAO.findBySection(sectionId);
+        GradeStats midterm = stats.get("Midterm");
+        assertEquals(3, midterm.getCount());
+        assertEquals(60.0, midterm.getMin());
+        assertEquals(90.0, midterm.getMax());
+        assertEquals(1, midterm.getLetterCount("A"));
+        assertEquals(3, stats.get(GradeStats.OVERALL).getCount());
+        assertEquals(60.0 + 78.0 + 80.0, stats.get(GradeStats.OVERALL).getSum(), 1e-9); // 90 x 0.4 + 70 x 0.6 = 78
+
+        // Raising the minimum and clearing the maximum both recompute the range
+        Long midterm0 = gradeId(enrollmentIds.get(0), "Midterm");
+        assertTrue(gradeDAO.updateScore(midterm0, 50.0));
+        assertTrue(gradeDAO.updateScore(midterm1, null));
+        assertTrue(enrollmentDAO.updateFinalGrade(enrollmentIds.get(1), "C"));
+        assertTrue(enrollmentDAO.markDropped(enrollmentIds.get(2)));
+        assertTrue(enrollmentDAO.updateFinalGrade(enrollmentIds.get(2), "B")); // dropped, not counted
+        assertTrue(gradeDAO.updateScore(midterm2, 10.0));
+
+        Map<String, GradeStats> maintained = gradeStatsDAO.findBySection(sectionId);
+        assertEquals(1, maintained.get("Midterm").getCount());
+        assertEquals(100.0, maintained.get("Midterm").getMin());
+        assertEquals(Map.of("A", 0, "B", 0, "C", 1, "D", 0, "F", 0), maintained.get(GradeStats.FINAL).getLetterCounts());
+
+        gradeStatsDAO.rebuild(sectionId);
+        Map<String, GradeStats> rebuilt = gradeStatsDAO.findBySection(sectionId);
+        assertEquals(rebuilt.keySet(), maintained.keySet());
+        for (String component : rebuilt.keySet()) {
+            GradeStats expected = rebuilt.get(component);
+            GradeStats actual = maintained.get(component);
+            assertEquals(expected.getCount(), actual.getCount(), component);
+            assertEquals(expected.getSum(), actual.getSum(), 1e-6, component);
+            assertEquals(expected.getSumOfSquares(), actual.getSumOfSquares(), 1e-6, component);
+            assertEquals(expected.getMin(), actual.getMin(), component);
+            assertEquals(expected.getMax(), actual.getMax(), component);
+            assertEquals(expected.getLetterCounts(), actual.getLetterCounts(), component);
+            assertEquals(expected.getMedian(), actual.getMedian(), 1e-9, component);
+        }
+    }
+
+    @Test
+    @DisplayName("A mid-range regrade updates the stats in place without rescanning the section")
+    void midRangeRegradeIsIncremental() throws SQLException {
+        gradeStatsDAO.findBySection(sectionId);
+        gradeDAO.addComponent(enrollmentIds.get(0), "Midterm", 30.0, 50.0, 40.0);
+        gradeDAO.addComponent(enrollmentIds.get(1), "Midterm", 45.0, 50.0, 40.0);
+        Long midterm = gradeDAO.addComponent(enrollmentIds.get(2), "Midterm", 40.0, 50.0, 40.0);
+
+        // 80% -> 75%, inside the 60-90% range for both the component and OVERALL
+        QueryScope scope = QueryBudget.assertMaxQueries(7, "mid-range regrade",
+                () -> assertTrue(gradeDAO.updateScore(midterm, 37.5)));
+        assertTrue(scope.getStatementCounts().keySet().stream().noneMatch(sql -> sql.toUpperCase().contains("LEFT JOIN GRADES")),
+                "Section rescanned: " + scope);
+
+        GradeStats stats = gradeStatsDAO.findBySection(sectionId).get("Midterm");
+        assertEquals(60.0, stats.getMin());
+        assertEquals(90.0, stats.getMax());
+        assertEquals(75.0, stats.getMedian(), 1e-9);
+        assertEquals((60.0 + 90.0 + 75.0) / 3, stats.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Percentiles merge across the sections of a course")
+    void mergedPercentiles() throws SQLException {
+        gradeStatsDAO.findBySection(sectionId);
+        double[] midterms = {35.0, 42.0, 48.0};
+        for (int i = 0; i < midterms.length; i++) {
+            gradeDAO.addComponent(enrollmentIds.get(i), "Midterm", midterms[i], 50.0, 40.0);
+        }
+        assertEquals(84.0, gradeStatsDAO.findBySection(sectionId).get("Midterm").getMedian(), 1e-9);
+
+        GradeStatsDAO.Merged merged = gradeStatsDAO.findMerged("Midterm", courseId, null, "Fall", 2025);
+        assertEquals(0, merged.pendingSections());
+        GradeStats course = merged.stats();
+        assertEquals(3, course.getCount());
+        assertEquals(70.0, course.getPercentile(0), 1e-9);
+        assertEquals(84.0, course.getMedian(), 1e-9);
+        assertEquals(96.0, course.getPercentile(100), 1e-9);
+        assertEquals(0, gradeStatsDAO.findMerged("Midterm", courseId, null, "Spring", null).stats().getCount());
+    }
+
+    @Test
+    @DisplayName("Writes wrapped in a transaction still publish their events after the commit")
+    void eventsPublishedAfterCommit() throws SQLException {
+        gradeStatsDAO.findBySection(sectionId);
+        List<GradeChanged> received = new CopyOnWriteArrayList<>();
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(GradeChanged.class, received::add)) {
+            Long gradeId = gradeDAO.addComponent(enrollmentIds.get(0), "Quiz", 8.0, 10.0, 10.0);
+            assertTrue(gradeDAO.updateScore(gradeId, 9.0));
+            assertEquals(2, received.size());
+            assertEquals(gradeId, received.get(0).gradeId());
+        }
+        assertEquals(90.0, gradeStatsDAO.findBySection(sectionId).get("Quiz").getMean(), 1e-9);
+    }
+
+    private Long studentId(long userId) throws SQLException {
+        return queryForId("SELECT student_id FROM students WHERE user_id = " + userId);
+    }
+
+    private Long gradeId(Long enrollmentId, String component) throws SQLException {
+        return queryForId("SELECT grade_id FROM grades WHERE enrollment_id = " + enrollmentId + " AND component = '" + component + "'");
+    }
+
+    private Long queryForId(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+}
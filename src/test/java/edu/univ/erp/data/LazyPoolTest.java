@@ -0,0 +1,91 @@
+package edu.univ.erp.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LazyPool Tests")
+class LazyPoolTest {
+
+    private final AtomicInteger starts = new AtomicInteger();
+
+    private static HikariDataSource unstartedPool() {
+        // Hikari only connects on the first getConnection, so this never touches a database
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:lazy_pool_test");
+        return dataSource;
+    }
+
+    @Test
+    @DisplayName("The pool is built on first use and only once")
+    void startsLazilyOnce() {
+        CompletableFuture<DataSource> built = CompletableFuture.completedFuture(unstartedPool());
+        LazyPool pool = new LazyPool("test", () -> {
+            starts.incrementAndGet();
+            return built;
+        });
+        assertFalse(pool.isStarted());
+        assertEquals(0, starts.get());
+
+        assertSame(built, pool.get());
+        assertSame(built, pool.get());
+        assertTrue(pool.isStarted());
+        assertEquals(1, starts.get());
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("A failed build is started again by the next caller")
+    void retriesAfterFailure() {
+        HikariDataSource dataSource = unstartedPool();
+        LazyPool pool = new LazyPool("test", () -> starts.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new SQLException("database down"))
+                : CompletableFuture.completedFuture(dataSource));
+
+        assertTrue(pool.get().isCompletedExceptionally());
+        assertSame(dataSource, pool.get().join());
+        assertSame(dataSource, pool.get().join());
+        assertEquals(2, starts.get());
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Closing waits for a pool still being built, then closes it")
+    void closeWaitsForBuild() throws InterruptedException {
+        CompletableFuture<DataSource> building = new CompletableFuture<>();
+        LazyPool pool = new LazyPool("test", () -> {
+            starts.incrementAndGet();
+            return building;
+        });
+        pool.get();
+
+        Thread closer = new Thread(pool::close);
+        closer.start();
+        closer.join(200);
+        assertTrue(closer.isAlive(), "close should wait for the build");
+
+        HikariDataSource dataSource = unstartedPool();
+        building.complete(dataSource);
+        closer.join(5_000);
+        assertFalse(closer.isAlive());
+        assertTrue(dataSource.isClosed());
+        assertFalse(pool.isStarted(), "the next get builds a new pool");
+    }
+
+    @Test
+    @DisplayName("Closing skips a pool that failed to build")
+    void closeSkipsFailedBuild() {
+        LazyPool pool = new LazyPool("test", () -> CompletableFuture.failedFuture(new SQLException("database down")));
+        pool.get();
+
+        assertDoesNotThrow(pool::close);
+        assertFalse(pool.isStarted());
+    }
+}
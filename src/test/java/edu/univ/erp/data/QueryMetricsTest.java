@@ -0,0 +1,85 @@
+package edu.univ.erp.data;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query_metrics_test;DB_CLOSE_DELAY=-1");
+        dataSource = new InstrumentedDataSource(h2);
+        try (Connection conn = h2.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS items");
+            st.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(20))");
+            st.execute("INSERT INTO items VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+        QueryMetrics.reset();
+    }
+
+    @Test
+    void normalizesLiteralsAndInLists() {
+        assertEquals("SELECT * FROM items WHERE id = ? AND name = ?",
+                QueryMetrics.normalize("SELECT *\n  FROM items WHERE id = 42 AND name = 'O''Brien'"));
+        assertEquals("SELECT * FROM items WHERE id IN (?)",
+                QueryMetrics.normalize("SELECT * FROM items WHERE id IN (?, ?, ?)"));
+        assertEquals("SELECT * FROM items WHERE id IN (?)",
+                QueryMetrics.normalize("SELECT * FROM items WHERE id IN (1, 2)"));
+        assertEquals("SELECT col1 FROM t2", QueryMetrics.normalize("SELECT col1 FROM t2"));
+    }
+
+    @Test
+    void recordsCallsRowsAndHoldTimes() throws SQLException {
+        String sql = "SELECT id, name FROM items WHERE id <= ?";
+        for (int i = 1; i <= 3; i++) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, i);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        assertNotNull(rs.getString("name"));
+                    }
+                }
+            }
+        }
+
+        QueryMetrics.StatementStats stats = QueryMetrics.getStatement(sql).orElseThrow();
+        assertEquals(3, stats.getCount());
+        assertEquals(1 + 2 + 3, stats.getRows());
+        assertEquals(0, stats.getErrors());
+        assertEquals(3, QueryMetrics.getConnectionHoldTimes().getCount());
+    }
+
+    @Test
+    void countsUpdatesAndFailures() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            assertEquals(2, st.executeUpdate("UPDATE items SET name = 'x' WHERE id > 1"));
+            assertThrows(SQLException.class, () -> st.executeQuery("SELECT missing FROM items"));
+            assertSame(conn, st.getConnection());
+        }
+
+        QueryMetrics.StatementStats update = QueryMetrics.getStatement("UPDATE items SET name = 'y' WHERE id > 7").orElseThrow();
+        assertEquals(1, update.getCount());
+        assertEquals(2, update.getRows());
+        assertEquals(1, QueryMetrics.getStatement("SELECT missing FROM items").orElseThrow().getErrors());
+    }
+
+    @Test
+    void unwrapsToPool() throws SQLException {
+        assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+        assertNotNull(dataSource.unwrap(JdbcDataSource.class));
+    }
+}
@@ -2,6 +2,10 @@ package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.domain.Course;
+import edu.univ.erp.events.CourseChanged;
+import edu.univ.erp.events.DomainEvent;
+import edu.univ.erp.events.EventBus;
+import edu.univ.erp.events.SectionChanged;
 import edu.univ.erp.test.BaseDAOTest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Order;
@@ -10,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import java.sql.SQLException;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -91,4 +96,48 @@ class SectionDAOTest extends BaseDAOTest {
         executeCleanupSQL("DELETE FROM sections WHERE section_id = " + sectionId);
         executeCleanupSQL("DELETE FROM courses WHERE course_id = " + courseId);
     }
+
+    @Test
+    @DisplayName("Writes publish change events; failed writes do not")
+    void testWritesPublishEvents() throws SQLException {
+        List<DomainEvent> events = new CopyOnWriteArrayList<>();
+        CourseDAO courseDAO = new CourseDAO();
+        SectionDAO dao = new SectionDAO();
+        Long courseId = null;
+        Long sectionId = null;
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(DomainEvent.class, events::add)) {
+            Course c = new Course("TST101", "Event Test Course", 3);
+            c.setDepartment("TEST");
+            courseId = courseDAO.save(c);
+
+            Section s = new Section(courseId, null, "E", "Fall", 2025);
+            s.setDayOfWeek("Friday");
+            s.setRoom("R201");
+            s.setCapacity(1);
+            sectionId = dao.save(s);
+
+            assertTrue(dao.incrementEnrolled(sectionId));
+            assertFalse(dao.incrementEnrolled(sectionId)); // full: nothing changed
+            dao.assignInstructor(sectionId, null);
+            dao.delete(sectionId);
+            courseDAO.delete(courseId);
+        } finally {
+            executeCleanupSQL("DELETE FROM sections WHERE section_id = " + sectionId);
+            executeCleanupSQL("DELETE FROM courses WHERE course_id = " + courseId);
+        }
+
+        Long section = sectionId;
+        Long course = courseId;
+        List<DomainEvent> ours = events.stream()
+                .filter(e -> e instanceof SectionChanged sc && section.equals(sc.sectionId())
+                        || e instanceof CourseChanged cc && course.equals(cc.courseId()))
+                .toList();
+        assertEquals(List.of(
+                new CourseChanged(courseId, DomainEvent.Change.CREATED),
+                new SectionChanged(sectionId, DomainEvent.Change.CREATED),
+                new SectionChanged(sectionId, DomainEvent.Change.SEATS),
+                new SectionChanged(sectionId, DomainEvent.Change.UPDATED),
+                new SectionChanged(sectionId, DomainEvent.Change.DELETED),
+                new CourseChanged(courseId, DomainEvent.Change.DELETED)), ours);
+    }
 }
@@ -0,0 +1,139 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.domain.GpaSummary;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.domain.TranscriptEntry;
+import edu.univ.erp.test.BaseDAOTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TranscriptDAO Tests")
+class TranscriptDAOTest extends BaseDAOTest {
+    private static final long USER_ID = 980_000L;
+
+    private final TranscriptDAO transcriptDAO = new TranscriptDAO();
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final CourseDAO courseDAO = new CourseDAO();
+    private final List<Long> courseIds = new ArrayList<>();
+    private Long studentId;
+
+    @BeforeEach
+    void createStudent() throws SQLException {
+        executeCleanupSQL("INSERT INTO students (user_id, roll_no, first_name, last_name, email, program, year) VALUES (" +
+                USER_ID + ", 'TRN0', 'Transcript', 'Student', 'trn0@test.com', 'B.Tech', 2)");
+        studentId = queryForId("SELECT student_id FROM students WHERE user_id = " + USER_ID);
+    }
+
+    @AfterEach
+    void deleteStudent() {
+        for (Long courseId : courseIds) {
+            executeCleanupSQL("DELETE FROM courses WHERE course_id = " + courseId);
+        }
+        executeCleanupSQL("DELETE FROM students WHERE user_id = " + USER_ID);
+    }
+
+    @Test
+    @DisplayName("Transcript follows the sections' terms with credit-weighted term and cumulative GPA")
+    void transcriptByTerm() throws SQLException {
+        Long spring = enrollmentDAO.create(studentId, section(course("TRN201", 4), "Spring", 2025));
+        Long fallA = enrollmentDAO.create(studentId, section(course("TRN101", 3), "Fall", 2024));
+        Long fallB = enrollmentDAO.create(studentId, section(course("TRN102", 1), "Fall", 2024));
+        enrollmentDAO.create(studentId, section(course("TRN301", 3), "Fall", 2025));
+        enrollmentDAO.updateFinalGrade(spring, "C");
+        enrollmentDAO.updateFinalGrade(fallA, "A");
+        enrollmentDAO.updateFinalGrade(fallB, "B");
+
+        List<TranscriptEntry> entries = transcriptDAO.listByStudent(studentId);
+        assertEquals(List.of("Fall 2024", "Fall 2024", "Spring 2025", "Fall 2025"),
+                entries.stream().map(TranscriptEntry::getTerm).toList());
+        assertEquals("TRN101", entries.get(0).getCourseCode());
+        assertEquals(12.0, entries.get(0).getGradePoints(), 1e-9);
+        assertEquals((12.0 + 3.0) / 4, entries.get(0).getTermGpa(), 1e-9);
+        assertEquals(2.0, entries.get(2).getTermGpa(), 1e-9);
+        assertEquals((12.0 + 3.0 + 8.0) / 8, entries.get(2).getCumulativeGpa(), 1e-9);
+        assertFalse(entries.get(3).isGraded());
+        assertNull(entries.get(3).getTermGpa());
+        assertEquals(entries.get(2).getCumulativeGpa(), entries.get(3).getCumulativeGpa());
+    }
+
+    @Test
+    @DisplayName("Final grades keep the GPA summary equal to a rebuild")
+    void summaryFollowsFinalGrades() throws SQLException {
+        Long databasesId = course("TRN110", 4);
+        Long databases = enrollmentDAO.create(studentId, section(databasesId, "Fall", 2024));
+        Long networks = enrollmentDAO.create(studentId, section(course("TRN120", 3), "Fall", 2024));
+        Long dropped = enrollmentDAO.create(studentId, section(course("TRN130", 3), "Fall", 2024));
+        enrollmentDAO.updateFinalGrade(databases, "B");
+
+        // Built on first read, then maintained by each final grade
+        assertEquals(3.0, transcriptDAO.findGpaSummary(studentId).getGpa(), 1e-9);
+        enrollmentDAO.updateFinalGrade(networks, "A");
+        enrollmentDAO.updateFinalGrade(databases, "A-");
+        assertTrue(enrollmentDAO.markDropped(dropped));
+        enrollmentDAO.updateFinalGrade(dropped, "F"); // dropped, not counted
+
+        GpaSummary maintained = transcriptDAO.findGpaSummary(studentId);
+        assertEquals(7, maintained.getGradedCredits());
+        assertEquals(2, maintained.getGradedCourses());
+        assertEquals((4 * 3.7 + 3 * 4.0) / 7, maintained.getGpa(), 1e-9);
+
+        // A credit change drops the row; the next read rebuilds it
+        Course course = courseDAO.findById(databasesId);
+        course.setCredits(2);
+        courseDAO.update(course);
+        assertEquals((2 * 3.7 + 3 * 4.0) / 5, transcriptDAO.findGpaSummary(studentId).getGpa(), 1e-9);
+
+        transcriptDAO.rebuildGpaSummary(studentId);
+        GpaSummary rebuilt = transcriptDAO.findGpaSummary(studentId);
+        assertEquals(5, rebuilt.getGradedCredits());
+        List<TranscriptEntry> entries = transcriptDAO.listByStudent(studentId);
+        assertEquals(rebuilt.getGpa(), entries.get(entries.size() - 1).getCumulativeGpa(), 1e-9);
+    }
+
+    private Long course(String code, int credits) throws SQLException {
+        Course course = new Course();
+        course.setCode(code);
+        course.setTitle("Transcript Course " + code);
+        course.setCredits(credits);
+        course.setDepartment("TEST");
+        Long courseId = courseDAO.save(course);
+        courseIds.add(courseId);
+        return courseId;
+    }
+
+    private Long section(Long courseId, String semester, int year) throws SQLException {
+        Section section = new Section();
+        section.setCourseId(courseId);
+        section.setSectionNumber("T1");
+        section.setDayOfWeek("Wednesday");
+        section.setStartTime(LocalTime.of(10, 0));
+        section.setEndTime(LocalTime.of(11, 0));
+        section.setRoom("T101");
+        section.setCapacity(10);
+        section.setEnrolled(0);
+        section.setSemester(semester);
+        section.setYear(year);
+        return new SectionDAO().save(section);
+    }
+
+    private Long queryForId(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.univ.erp.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+    private final EventBus bus = new EventBus();
+
+    @Test
+    void deliversOnlyTheSubscribedType() {
+        List<SectionChanged> sections = new ArrayList<>();
+        List<DomainEvent> all = new ArrayList<>();
+        bus.subscribe(SectionChanged.class, sections::add);
+        bus.subscribe(DomainEvent.class, all::add);
+
+        SectionChanged section = new SectionChanged(7L, DomainEvent.Change.UPDATED);
+        SettingsChanged settings = new SettingsChanged("maintenance_mode");
+        bus.publish(section);
+        bus.publish(settings);
+
+        assertEquals(List.of(section), sections);
+        assertEquals(List.of(section, settings), all);
+    }
+
+    @Test
+    void closedSubscriptionsStopReceiving() {
+        List<GradeChanged> received = new ArrayList<>();
+        EventBus.Subscription subscription = bus.subscribe(GradeChanged.class, received::add);
+        bus.publish(new GradeChanged(1L, 2L, DomainEvent.Change.CREATED));
+
+        subscription.close();
+        subscription.close();
+        bus.publish(new GradeChanged(1L, null, DomainEvent.Change.UPDATED));
+
+        assertEquals(1, received.size());
+        assertEquals(0, bus.getSubscriberCount(GradeChanged.class));
+    }
+
+    @Test
+    void failingListenerDoesNotAffectOthers() {
+        List<CourseChanged> received = new ArrayList<>();
+        bus.subscribe(CourseChanged.class, e -> { throw new IllegalStateException("boom"); });
+        bus.subscribe(CourseChanged.class, received::add);
+
+        assertDoesNotThrow(() -> bus.publish(new CourseChanged(3L, DomainEvent.Change.DELETED)));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void executorSubscriptionsAreDispatchedThroughTheExecutor() {
+        List<Runnable> queued = new ArrayList<>();
+        Executor deferred = queued::add;
+        List<EnrollmentChanged> received = new ArrayList<>();
+        bus.subscribe(EnrollmentChanged.class, deferred, received::add);
+
+        bus.publish(new EnrollmentChanged(5L, 1L, 2L, DomainEvent.Change.CREATED));
+        assertTrue(received.isEmpty());
+
+        queued.forEach(Runnable::run);
+        assertEquals(1, received.size());
+    }
+}
@@ -0,0 +1,121 @@
+package edu.univ.erp.jfr;
+
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.InstrumentedDataSource;
+import edu.univ.erp.domain.User;
+import edu.univ.erp.ui.BackgroundTask;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private Recording recording;
+    private Path dump;
+
+    @BeforeEach
+    void startRecording() throws Exception {
+        dump = Files.createTempFile("erp-events", ".jfr");
+        recording = new Recording();
+        recording.enable(SqlExecutionEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(ServiceOperationEvent.class);
+        recording.enable(BackgroundTaskEvent.class);
+        recording.start();
+    }
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        recording.close();
+        Files.deleteIfExists(dump);
+        SessionManager.getInstance().logout();
+    }
+
+    @Test
+    void sqlEventCoversFetchAndNamesTheCaller() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:jfr_events_test;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = new InstrumentedDataSource(h2, false);
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY)");
+            st.executeUpdate("MERGE INTO items VALUES (1), (2), (3)");
+        }
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT id FROM items WHERE id <= ?")) {
+            ps.setInt(1, 2);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rs.getInt(1);
+                }
+            }
+        }
+
+        RecordedEvent select = events("edu.univ.erp.SqlExecution").stream()
+                .filter(e -> e.getString("sql").startsWith("SELECT"))
+                .findFirst().orElseThrow();
+        assertEquals("SELECT id FROM items WHERE id <= ?", select.getString("sql"));
+        assertEquals(2, select.getLong("rows"));
+        assertFalse(select.getBoolean("failed"));
+        assertEquals("FlightRecorderEventsTest.sqlEventCoversFetchAndNamesTheCaller", select.getString("daoMethod"));
+    }
+
+    @Test
+    void serviceEventRecordsRoleAndOutcome() throws Exception {
+        SessionManager.getInstance().setCurrentUser(new User(1L, "student1", "STUDENT"));
+
+        ServiceOperationEvent.start("EnrollmentService.enroll").finish("Section is full");
+
+        RecordedEvent event = single("edu.univ.erp.ServiceOperation");
+        assertEquals("EnrollmentService.enroll", event.getString("operation"));
+        assertEquals("STUDENT", event.getString("role"));
+        assertEquals("Section is full", event.getString("outcome"));
+    }
+
+    @Test
+    void backgroundTaskEventNamesPanelAndTask() throws Exception {
+        BackgroundTask<Integer, Void> worker = new BackgroundTask<>() {
+            @Override
+            protected Integer runInBackground() {
+                return 42;
+            }
+        };
+        worker.execute();
+        assertEquals(42, worker.get());
+
+        RecordedEvent event = single("edu.univ.erp.BackgroundTask");
+        assertEquals("FlightRecorderEventsTest", event.getString("panel"));
+        assertEquals("backgroundTaskEventNamesPanelAndTask", event.getString("task"));
+        assertTrue(event.getDuration("queueWait").toNanos() >= 0);
+        assertFalse(event.getBoolean("failed"));
+    }
+
+    private RecordedEvent single(String name) throws Exception {
+        List<RecordedEvent> events = events(name);
+        assertEquals(1, events.size(), name);
+        return events.get(0);
+    }
+
+    private List<RecordedEvent> events(String name) throws Exception {
+        recording.stop();
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .toList();
+    }
+}
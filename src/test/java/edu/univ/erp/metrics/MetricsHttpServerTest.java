@@ -0,0 +1,78 @@
+package edu.univ.erp.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsHttpServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MetricsHttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        ServiceMetrics.reset();
+        server = MetricsHttpServer.start("127.0.0.1", 0);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+        ServiceMetrics.reset();
+    }
+
+    @Test
+    void scrapeReturnsPrometheusTextFormat() throws Exception {
+        ServiceMetrics.recordEnrollResult("ENROLLED");
+        ServiceMetrics.recordEnrollResult("Section is full");
+        ServiceMetrics.LOGIN_SUCCESSES.increment();
+
+        HttpResponse<String> response = get("GET");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+        String body = response.body();
+        assertTrue(body.contains("# TYPE erp_enrollments_total counter\nerp_enrollments_total 1\n"), body);
+        assertTrue(body.contains("erp_enrollment_rejections_total{reason=\"enroll: Section is full\"} 1\n"), body);
+        assertTrue(body.contains("erp_logins_total{outcome=\"success\"} 1\n"), body);
+        assertTrue(body.contains("erp_pool_connections{pool=\"ErpDB-Pool\",state=\"active\"}"), body);
+        assertTrue(body.contains("erp_pool_wait_seconds{pool=\"ErpDB-Pool\",quantile=\"0.99\"}"), body);
+        assertTrue(body.contains("jvm_memory_used_bytes{area=\"heap\"}"), body);
+        assertTrue(body.contains("jvm_gc_collections_total{gc="), body);
+    }
+
+    @Test
+    void everySampleLineIsWellFormed() throws Exception {
+        for (String line : get("GET").body().split("\n")) {
+            if (line.startsWith("#")) {
+                assertTrue(line.startsWith("# HELP ") || line.startsWith("# TYPE "), line);
+                continue;
+            }
+            assertTrue(line.matches("[a-zA-Z_:][a-zA-Z0-9_:]*(\\{.*})? (-?[0-9.eE+-]+|NaN|[+-]Inf)"), line);
+        }
+    }
+
+    @Test
+    void onlyGetAndHeadAreAllowed() throws Exception {
+        assertEquals(200, get("HEAD").statusCode());
+        assertEquals(405, get("POST").statusCode());
+    }
+
+    @Test
+    void labelValuesAreEscaped() {
+        assertEquals("a\\\"b\\\\c\\nd", PrometheusExporter.escape("a\"b\\c\nd"));
+    }
+
+    private HttpResponse<String> get(String method) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics"))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
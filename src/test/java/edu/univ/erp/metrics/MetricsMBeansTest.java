@@ -0,0 +1,67 @@
+package edu.univ.erp.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsMBeansTest {
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @AfterEach
+    void resetCounters() {
+        ServiceMetrics.reset();
+    }
+
+    @Test
+    void rejectionReasonsGroupByCategory() {
+        assertEquals("Permission denied", ServiceMetrics.reasonOf("Permission denied: not your enrollment"));
+        assertEquals("Cannot drop", ServiceMetrics.reasonOf("Cannot drop (status: COMPLETED)"));
+        assertEquals("Add/drop deadline has passed", ServiceMetrics.reasonOf("Add/drop deadline has passed. Registration is closed."));
+        assertEquals("Section is full", ServiceMetrics.reasonOf("Section is full"));
+    }
+
+    @Test
+    void serviceCountersAreVisibleOverJmx() throws Exception {
+        MetricsMBeans.register();
+        ServiceMetrics.reset();
+        ServiceMetrics.recordEnrollResult("ENROLLED");
+        ServiceMetrics.recordEnrollResult("ENROLLED");
+        ServiceMetrics.recordEnrollResult("Section is full");
+        ServiceMetrics.recordDropResult("DROPPED");
+        ServiceMetrics.LOGIN_FAILURES.increment();
+        ServiceMetrics.GRADE_WRITES.increment();
+
+        ObjectName enrollment = new ObjectName("edu.univ.erp:type=Enrollment");
+        assertEquals(2L, server.getAttribute(enrollment, "Enrollments"));
+        assertEquals(1L, server.getAttribute(enrollment, "Drops"));
+        assertEquals(1L, server.getAttribute(enrollment, "Rejections"));
+        TabularData reasons = (TabularData) server.getAttribute(enrollment, "RejectionReasons");
+        CompositeData row = reasons.get(new Object[]{"enroll: Section is full"});
+        assertEquals(1L, row.get("value"));
+
+        assertEquals(1L, server.getAttribute(new ObjectName("edu.univ.erp:type=Authentication"), "LoginFailures"));
+        assertEquals(1L, server.getAttribute(new ObjectName("edu.univ.erp:type=Grades"), "GradeWrites"));
+        assertTrue(server.isRegistered(new ObjectName("edu.univ.erp:type=ConnectionPool,name=ErpDB-Pool")));
+        assertNotNull(server.getAttribute(new ObjectName("edu.univ.erp:type=ConnectionPool,name=ErpDB-Pool"), "WaitP99Millis"));
+    }
+
+    @Test
+    void cachesRegisterTheirHitRatio() throws Exception {
+        MetricsMBeans.registerCache("test cache", new CacheStatistics() {
+            public long getHitCount() { return 95; }
+            public long getMissCount() { return 5; }
+            public long getEvictionCount() { return 0; }
+            public long getSize() { return 10; }
+        });
+        ObjectName name = new ObjectName("edu.univ.erp:type=Cache,name=" + ObjectName.quote("test cache"));
+        assertEquals(0.95, (Double) server.getAttribute(name, "HitRatio"), 1e-9);
+        server.unregisterMBean(name);
+    }
+}
@@ -0,0 +1,43 @@
+package edu.univ.erp.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateCounterTest {
+
+    @Test
+    void rateCoversTheLastMinute() {
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        RateCounter counter = new RateCounter(clock::get);
+
+        for (int second = 0; second < 30; second++) {
+            for (int i = 0; i < 4; i++) {
+                counter.increment();
+            }
+            clock.addAndGet(1000);
+        }
+        assertEquals(120, counter.getCount());
+        assertEquals(120 / 60.0, counter.getRatePerSecond(), 1e-9);
+
+        // Two minutes later the window is empty but the total remains
+        clock.addAndGet(120_000);
+        assertEquals(0.0, counter.getRatePerSecond());
+        assertEquals(120, counter.getCount());
+
+        // Recycled slots start from zero
+        counter.increment();
+        assertEquals(1 / 60.0, counter.getRatePerSecond(), 1e-9);
+    }
+
+    @Test
+    void resetClearsTotalAndWindow() {
+        RateCounter counter = new RateCounter();
+        counter.increment();
+        counter.reset();
+        assertEquals(0, counter.getCount());
+        assertEquals(0.0, counter.getRatePerSecond());
+    }
+}
@@ -0,0 +1,167 @@
+package edu.univ.erp.remote;
+
+import edu.univ.erp.auth.AuthDAO;
+import edu.univ.erp.auth.AuthService;
+import edu.univ.erp.auth.PasswordUtil;
+import edu.univ.erp.auth.PermissionException;
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.EnrollmentDAO;
+import edu.univ.erp.data.GradeDAO;
+import edu.univ.erp.data.StudentDAO;
+import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.service.SectionService;
+import edu.univ.erp.test.BaseDAOTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ServiceHost Tests")
+class ServiceHostTest extends BaseDAOTest {
+    private static final String TEST_USERNAME = "service_host_test";
+    private static final String TEST_PASSWORD = "TestPassword123!";
+    private static final String OTHER_INSTRUCTOR = "service_host_instructor";
+
+    private ServiceHost host;
+    private ServiceClient client;
+    private Long testUserId;
+
+    @BeforeEach
+    void startHost() throws Exception {
+        testUserId = new AuthDAO().createUser(TEST_USERNAME, "STUDENT", PasswordUtil.hashPassword(TEST_PASSWORD));
+        host = ServiceHost.start("127.0.0.1", 0);
+        client = new ServiceClient("http://127.0.0.1:" + host.getPort(), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void stopHost() {
+        host.stop();
+        if (testUserId != null) {
+            executeAuthCleanupSQL("DELETE FROM users_auth WHERE user_id = " + testUserId);
+        }
+    }
+
+    @Test
+    @DisplayName("Calls without a session are rejected")
+    void callsRequireASession() {
+        RemoteServiceException e = assertThrows(RemoteServiceException.class,
+                () -> new RemoteCourseService(client).listAll());
+        assertEquals("Unauthorized", e.getType());
+    }
+
+    @Test
+    @DisplayName("Remote services return the same data as local ones")
+    void remoteResultsMatchLocal() throws Exception {
+        AuthService.AuthResult login = new RemoteAuthService(client).authenticate(TEST_USERNAME, TEST_PASSWORD);
+        assertTrue(login.isSuccess(), login.getMessage());
+        assertEquals(TEST_USERNAME, login.getUser().getUsername());
+        assertNull(login.getUser().getPasswordHash(), "Password hash must not leave the host");
+        assertTrue(client.hasSession());
+        assertEquals(1, host.getSessionCount());
+
+        List<Section> local = new SectionService().listOpen("Fall", 2025);
+        List<Section> remote = new RemoteSectionService(client).listOpen("Fall", 2025);
+
+        assertFalse(remote.isEmpty());
+        assertEquals(local.size(), remote.size());
+        Section expected = local.get(0);
+        Section actual = remote.get(0);
+        assertEquals(expected.getSectionId(), actual.getSectionId());
+        assertEquals(expected.getCourseCode(), actual.getCourseCode());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getCapacity(), actual.getCapacity());
+        assertEquals(expected.getSectionId(), new RemoteSectionService(client).get(expected.getSectionId()).getSectionId());
+
+        // The host's session is bound to its request threads only
+        assertNull(SessionManager.getInstance().getCurrentUser());
+    }
+
+    @Test
+    @DisplayName("Permission checks run on the host as the logged-in user")
+    void permissionErrorsKeepTheirType() {
+        assertTrue(new RemoteAuthService(client).authenticate(TEST_USERNAME, TEST_PASSWORD).isSuccess());
+
+        assertThrows(PermissionException.class, () -> new RemoteSectionService(client).listAllSections());
+        assertThrows(PermissionException.class, () -> new RemoteSettingsService(client).set("maintenance_mode", "true"));
+        assertThrows(PermissionException.class, () -> new RemoteSettingsService(client).all());
+    }
+
+    @Test
+    @DisplayName("Instructors cannot write grades or list sections of another instructor's section")
+    void otherInstructorIsRejected() throws Exception {
+        Long userId = new AuthDAO().createUser(OTHER_INSTRUCTOR, "INSTRUCTOR", PasswordUtil.hashPassword(TEST_PASSWORD));
+        try {
+            executeCleanupSQL("INSERT INTO instructors (user_id, employee_id, first_name, last_name, email, department) VALUES (" +
+                    userId + ", 'EMPSH1', 'Other', 'Instructor', 'sh1@test.com', 'Test')");
+            assertTrue(new RemoteAuthService(client).authenticate(OTHER_INSTRUCTOR, TEST_PASSWORD).isSuccess());
+
+            // Grade 1 belongs to section 1, taught by instructor 1
+            Grade before = new GradeDAO().listByEnrollment(1L).get(0);
+            String result = new RemoteGradeService(client).updateScore(before.getGradeId(), 1.0);
+            assertTrue(result.startsWith("Permission denied"), result);
+            assertEquals(before.getScore(), new GradeDAO().listByEnrollment(1L).get(0).getScore());
+
+            assertThrows(PermissionException.class, () -> new RemoteSectionService(client).listByInstructor(1L));
+        } finally {
+            executeCleanupSQL("DELETE FROM instructors WHERE user_id = " + userId);
+            executeAuthCleanupSQL("DELETE FROM users_auth WHERE user_id = " + userId);
+        }
+    }
+
+    @Test
+    @DisplayName("Students cannot set final grades or add components on their own enrollment")
+    void studentCannotWriteOwnGrades() throws Exception {
+        executeCleanupSQL("INSERT INTO students (user_id, roll_no, first_name, last_name, email, program, year) VALUES (" +
+                testUserId + ", 'SHT1', 'Host', 'Student', 'sht1@test.com', 'B.Tech', 1)");
+        Long enrollmentId = null;
+        try {
+            enrollmentId = new EnrollmentDAO().create(new StudentDAO().findByUserId(testUserId).getStudentId(), 1L);
+            assertTrue(new RemoteAuthService(client).authenticate(TEST_USERNAME, TEST_PASSWORD).isSuccess());
+
+            assertFalse(new RemoteEnrollmentService(client).updateFinalGrade(enrollmentId, "A"));
+            assertNull(new EnrollmentDAO().findById(enrollmentId).getFinalGrade());
+
+            String result = new RemoteGradeService(client).addComponent(enrollmentId, "Final", 100.0, 100.0, 100.0);
+            assertTrue(result.startsWith("Permission denied"), result);
+            assertTrue(new GradeDAO().listByEnrollment(enrollmentId).isEmpty());
+        } finally {
+            if (enrollmentId != null) {
+                executeCleanupSQL("DELETE FROM enrollments WHERE enrollment_id = " + enrollmentId);
+            }
+            executeCleanupSQL("DELETE FROM students WHERE user_id = " + testUserId);
+        }
+    }
+
+    @Test
+    @DisplayName("A request that fails outside a service call still gets a 500 reply")
+    void unexpectedFailureIsReported() throws Exception {
+        // authenticate converts its arguments before any service runs
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + host.getPort() + "/api/AuthService.authenticate"))
+                .POST(HttpRequest.BodyPublishers.ofString("[]"))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(500, response.statusCode());
+        assertTrue(response.body().contains("Missing argument"), response.body());
+    }
+
+    @Test
+    @DisplayName("Wrong password returns the service's message and no session")
+    void failedLogin() {
+        AuthService.AuthResult login = new RemoteAuthService(client).authenticate(TEST_USERNAME, "WrongPassword");
+
+        assertFalse(login.isSuccess());
+        assertEquals("Incorrect username or password", login.getMessage());
+        assertFalse(client.hasSession());
+    }
+}
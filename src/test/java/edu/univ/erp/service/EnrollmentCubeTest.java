@@ -0,0 +1,148 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.auth.PermissionException;
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.CourseDAO;
+import edu.univ.erp.data.DatabaseConnection;
+import edu.univ.erp.data.EnrollmentDAO;
+import edu.univ.erp.data.SectionDAO;
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.service.EnrollmentCube.Cell;
+import edu.univ.erp.service.EnrollmentCube.Dimension;
+import edu.univ.erp.test.BaseDAOTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnrollmentCube Tests")
+class EnrollmentCubeTest extends BaseDAOTest {
+    private static final long FIRST_USER_ID = 970_000L;
+    private static final int STUDENTS = 4;
+    private static final Map<Dimension, Set<String>> CUBE_DEPARTMENT = Map.of(Dimension.DEPARTMENT, Set.of("CUBE"));
+
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final EnrollmentCube cube = EnrollmentCube.getInstance();
+    private final List<Long> courseIds = new ArrayList<>();
+    private final List<Long> studentIds = new ArrayList<>();
+    private Long fallSection;
+    private Long springSection;
+
+    @BeforeEach
+    void createSections() throws SQLException {
+        Long databases = course("CUB101");
+        Long networks = course("CUB201");
+        fallSection = section(databases, "Fall", 2024, 10);
+        springSection = section(networks, "Spring", 2025, 5);
+        for (int i = 0; i < STUDENTS; i++) {
+            executeCleanupSQL("INSERT INTO students (user_id, roll_no, first_name, last_name, email, program, year) VALUES (" +
+                    (FIRST_USER_ID + i) + ", 'CUB" + i + "', 'Cube', 'Student" + i + "', 'cub" + i + "@test.com', 'B.Tech', 1)");
+            studentIds.add(queryForId("SELECT student_id FROM students WHERE user_id = " + (FIRST_USER_ID + i)));
+        }
+    }
+
+    @AfterEach
+    void deleteSections() {
+        for (Long courseId : courseIds) {
+            executeCleanupSQL("DELETE FROM courses WHERE course_id = " + courseId);
+        }
+        executeCleanupSQL("DELETE FROM students WHERE user_id >= " + FIRST_USER_ID + " AND user_id < " + (FIRST_USER_ID + STUDENTS));
+        // Raw SQL publishes no events
+        cube.invalidate();
+        SessionManager.getInstance().logout();
+    }
+
+    @Test
+    @DisplayName("Rollups, slices and fill rates follow enrollment writes")
+    void rollupsFollowWrites() throws SQLException {
+        // Empty sections still count towards capacity
+        List<Cell> byTerm = cube.query(CUBE_DEPARTMENT, Dimension.TERM);
+        assertEquals(List.of(List.of("Fall 2024"), List.of("Spring 2025")), byTerm.stream().map(Cell::key).toList());
+        assertEquals(0.0, byTerm.get(0).fillRate());
+
+        List<Long> fall = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            fall.add(enrollmentDAO.create(studentId, fallSection));
+        }
+        enrollmentDAO.create(studentIds.get(0), springSection);
+        enrollmentDAO.updateFinalGrade(fall.get(0), "A");
+        enrollmentDAO.updateFinalGrade(fall.get(1), "A");
+        enrollmentDAO.updateFinalGrade(fall.get(2), "B");
+        enrollmentDAO.markDropped(fall.get(3));
+
+        Cell department = cube.query(CUBE_DEPARTMENT, Dimension.DEPARTMENT).get(0);
+        assertEquals(2, department.sections());
+        assertEquals(15, department.capacity());
+        assertEquals(5, department.enrollments());
+        assertEquals(4, department.seatsTaken());
+
+        byTerm = cube.query(CUBE_DEPARTMENT, Dimension.YEAR, Dimension.TERM);
+        assertEquals(List.of("2024", "Fall 2024"), byTerm.get(0).key());
+        assertEquals(0.3, byTerm.get(0).fillRate(), 1e-9);
+        assertEquals(0.2, byTerm.get(1).fillRate(), 1e-9);
+
+        // Grade mix of one course's completed enrollments
+        List<Cell> grades = cube.query(Map.of(Dimension.COURSE, Set.of("CUB101"), Dimension.STATUS, Set.of("COMPLETED")),
+                Dimension.GRADE);
+        assertEquals(List.of(List.of("A"), List.of("B")), grades.stream().map(Cell::key).toList());
+        assertEquals(2, grades.get(0).enrollments());
+        assertEquals(1, grades.get(0).sections());
+        assertTrue(cube.members(Dimension.DEPARTMENT).contains("CUBE"));
+    }
+
+    @Test
+    @DisplayName("Only admins can query the cube through the service")
+    void serviceRequiresAdmin() {
+        SessionManager.getInstance().logout();
+        AnalyticsService analytics = new AnalyticsService(cube);
+        assertThrows(PermissionException.class, () -> analytics.rollup(CUBE_DEPARTMENT, Dimension.TERM));
+    }
+
+    private Long course(String code) throws SQLException {
+        Course course = new Course();
+        course.setCode(code);
+        course.setTitle("Cube Course " + code);
+        course.setCredits(3);
+        course.setDepartment("CUBE");
+        Long courseId = new CourseDAO().save(course);
+        courseIds.add(courseId);
+        return courseId;
+    }
+
+    private Long section(Long courseId, String semester, int year, int capacity) throws SQLException {
+        Section section = new Section();
+        section.setCourseId(courseId);
+        section.setInstructorId(1L);
+        section.setSectionNumber("C1");
+        section.setDayOfWeek("Tuesday");
+        section.setStartTime(LocalTime.of(14, 0));
+        section.setEndTime(LocalTime.of(15, 0));
+        section.setRoom("C101");
+        section.setCapacity(capacity);
+        section.setEnrolled(0);
+        section.setSemester(semester);
+        section.setYear(year);
+        return new SectionDAO().save(section);
+    }
+
+    private Long queryForId(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+}
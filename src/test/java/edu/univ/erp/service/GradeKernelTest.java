@@ -0,0 +1,72 @@
+package edu.univ.erp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GradeKernel Tests")
+class GradeKernelTest {
+
+    private static final double[] LETTER_BOUNDS = {60, 70, 80, 90};
+
+    // Odd length so the vector kernel also runs its scalar tail
+    private static double[] column(long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[1_003];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(8) == 0 ? Double.NaN : random.nextInt(101);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("The Vector API kernel matches the scalar kernel")
+    void vectorMatchesScalar() {
+        assertTrue(GradeKernel.isVectorAvailable(), "surefire runs with --add-modules jdk.incubator.vector");
+        GradeKernel scalar = GradeKernel.scalar();
+        GradeKernel vector = new VectorGradeKernel();
+        double[] quiz = column(1);
+        double[] midterm = column(2);
+
+        double[] scalarTotals = new double[quiz.length];
+        double[] vectorTotals = new double[quiz.length];
+        scalar.addWeighted(scalarTotals, quiz, 0.2);
+        scalar.addWeighted(scalarTotals, midterm, 0.3);
+        vector.addWeighted(vectorTotals, quiz, 0.2);
+        vector.addWeighted(vectorTotals, midterm, 0.3);
+        assertArrayEquals(scalarTotals, vectorTotals);
+
+        double[][] scalarSums = {new double[quiz.length], new double[quiz.length]};
+        double[][] vectorSums = {new double[quiz.length], new double[quiz.length]};
+        scalar.addWeightedGraded(scalarSums[0], scalarSums[1], quiz, 20);
+        vector.addWeightedGraded(vectorSums[0], vectorSums[1], quiz, 20);
+        assertArrayEquals(scalarSums[0], vectorSums[0]);
+        assertArrayEquals(scalarSums[1], vectorSums[1]);
+
+        GradeMatrix.ComponentStats expected = scalar.summarize(quiz);
+        GradeMatrix.ComponentStats actual = vector.summarize(quiz);
+        assertEquals(expected.count(), actual.count());
+        assertEquals(expected.sum(), actual.sum(), 1e-6);
+        assertEquals(expected.sumOfSquares(), actual.sumOfSquares(), 1e-4);
+        assertEquals(expected.min(), actual.min());
+        assertEquals(expected.max(), actual.max());
+
+        assertArrayEquals(scalar.histogram(quiz, LETTER_BOUNDS), vector.histogram(quiz, LETTER_BOUNDS));
+    }
+
+    @Test
+    @DisplayName("Histogram buckets follow the letter-grade bands and skip NaN")
+    void histogramBuckets() {
+        double[] values = {59.9, 60, 69.99, 75, 80, 89, 90, 100, Double.NaN};
+        assertArrayEquals(new int[]{1, 2, 1, 2, 2}, GradeKernel.get().histogram(values, LETTER_BOUNDS));
+        assertEquals(Map.of("A", 2, "B", 2, "C", 1, "D", 2, "F", 1), GradeMatrix.letterCounts(values));
+
+        GradeMatrix.ComponentStats empty = GradeKernel.get().summarize(new double[]{Double.NaN, Double.NaN});
+        assertEquals(0, empty.count());
+        assertTrue(Double.isNaN(empty.mean()));
+    }
+}
@@ -0,0 +1,89 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.Grade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GradeMatrix Tests")
+class GradeMatrixTest {
+
+    private static Grade grade(long enrollmentId, String component, Double score, double max, double weight) {
+        Grade grade = new Grade(enrollmentId, component, max, weight);
+        grade.setScore(score);
+        return grade;
+    }
+
+    private static Enrollment enrollment(long id) {
+        Enrollment enrollment = new Enrollment(id * 10, 1L);
+        enrollment.setEnrollmentId(id);
+        return enrollment;
+    }
+
+    private static final Map<Long, List<Grade>> SHEET = Map.of(
+            1L, List.of(grade(1, "Quiz", 18.0, 20, 20), grade(1, "Midterm", 40.0, 50, 30), grade(1, "Final", 90.0, 100, 50)),
+            2L, List.of(grade(2, "Quiz", 10.0, 20, 20), grade(2, "Midterm", null, 50, 30)),
+            3L, List.of());
+
+    @Test
+    @DisplayName("Weighted totals match GradeCalculator.finalPercent")
+    void weightedTotalsMatchCalculator() {
+        GradeMatrix matrix = GradeMatrix.of(List.of(enrollment(1), enrollment(2), enrollment(3)), SHEET);
+
+        double[] totals = matrix.weightedTotals();
+        assertEquals(GradeCalculator.finalPercent(SHEET.get(1L)), totals[0], 1e-9);
+        assertEquals(GradeCalculator.finalPercent(SHEET.get(2L)), totals[1], 1e-9);
+        assertEquals(0.0, totals[2]);
+        assertEquals(87.0, GradeMatrix.of(1L, SHEET.get(1L)).weightedTotals()[0], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Normalized totals only weigh graded components; NaN means nothing graded")
+    void normalizedTotalsSkipMissing() {
+        GradeMatrix matrix = GradeMatrix.of(List.of(enrollment(1), enrollment(2), enrollment(3)), SHEET,
+                List.of("Assignment", "Quiz"));
+
+        assertEquals(List.of("Assignment", "Quiz", "Midterm", "Final"),
+                List.of(matrix.getComponent(0), matrix.getComponent(1), matrix.getComponent(2), matrix.getComponent(3)));
+        assertFalse(matrix.isGraded(1, matrix.indexOf("Midterm")));
+        assertEquals(1, matrix.getGradedCount(1));
+        assertFalse(matrix.isComplete(0)); // Assignment has no grades at all
+
+        double[] totals = matrix.normalizedTotals();
+        assertEquals(87.0, totals[0], 1e-9);
+        assertEquals(50.0, totals[1], 1e-9);
+        assertTrue(Double.isNaN(totals[2]));
+        assertArrayEquals(new String[]{"B", "F", null}, GradeMatrix.letterGrades(totals));
+
+        matrix.setScore(1, matrix.indexOf("Midterm"), 50.0);
+        assertEquals((50.0 * 20 + 100.0 * 30) / 50, matrix.normalizedTotal(1), 1e-9);
+        assertEquals(matrix.normalizedTotals()[1], matrix.normalizedTotal(1));
+    }
+
+    @Test
+    @DisplayName("Component stats merge across matrices by name")
+    void componentStatsCombine() {
+        GradeMatrix first = GradeMatrix.of(List.of(enrollment(1), enrollment(2)), SHEET);
+        GradeMatrix second = GradeMatrix.of(List.of(enrollment(4)),
+                Map.of(4L, List.of(grade(4, "Quiz", 20.0, 20, 25))));
+
+        GradeMatrix.ComponentStats quiz = first.componentStats(first.indexOf("Quiz"));
+        assertEquals(2, quiz.count());
+        assertEquals(70.0, quiz.mean(), 1e-9);
+        assertEquals(20.0, quiz.stdDev(), 1e-9);
+
+        Map<String, GradeMatrix.ComponentStats> merged = GradeMatrix.componentStats(List.of(first, second));
+        assertEquals(List.of("Quiz", "Midterm", "Final"), List.copyOf(merged.keySet()));
+        assertEquals(3, merged.get("Quiz").count());
+        assertEquals(50.0, merged.get("Quiz").min());
+        assertEquals(100.0, merged.get("Quiz").max());
+        assertEquals(1, merged.get("Midterm").count());
+
+        assertArrayEquals(new double[]{87.0, 50.0, 100.0}, GradeMatrix.gradedTotals(List.of(first, second)), 1e-9);
+    }
+}
@@ -2,6 +2,8 @@ package edu.univ.erp.service;
 
 import edu.univ.erp.auth.PermissionException;
 import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.domain.GradeDistribution;
+import edu.univ.erp.domain.GradeStats;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.test.BaseDAOTest;
 import org.junit.jupiter.api.AfterEach;
@@ -134,4 +136,35 @@ class GradeServiceTest extends BaseDAOTest {
         // Assert
         assertNotNull(result, "Should handle null score");
     }
+
+    @Test
+    @DisplayName("Should give instructors the distribution over all sections of a term")
+    void testGetGradeDistribution() throws SQLException {
+        // Arrange: Login as instructor
+        User instructor = new User();
+        instructor.setUserId(2L);
+        instructor.setRole("INSTRUCTOR");
+        sessionManager.setCurrentUser(instructor);
+        sessionManager.setInstructorId(1L);
+
+        // Act
+        GradeDistribution distribution = gradeService.getGradeDistribution(GradeStats.OVERALL, null, null, "Fall", 2025);
+
+        // Assert
+        assertEquals(GradeStats.OVERALL, distribution.getComponent());
+        assertEquals(0, distribution.getPendingSections(), "A handful of sections is built inline");
+    }
+
+    @Test
+    @DisplayName("Should not show grade distributions to students")
+    void testGetGradeDistributionRequiresInstructor() {
+        // Arrange: Login as student
+        User student = new User();
+        student.setUserId(3L);
+        student.setRole("STUDENT");
+        sessionManager.setCurrentUser(student);
+
+        // Act & Assert
+        assertThrows(SQLException.class, () -> gradeService.getGradeDistribution(GradeStats.OVERALL, null, null, null, null));
+    }
 }
@@ -0,0 +1,175 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.CourseDAO;
+import edu.univ.erp.data.DatabaseConnection;
+import edu.univ.erp.data.QueryScope;
+import edu.univ.erp.data.SectionDAO;
+import edu.univ.erp.data.StudentDAO;
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.domain.User;
+import edu.univ.erp.test.BaseDAOTest;
+import edu.univ.erp.test.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query budgets for loading a section's grade sheet, so per-student lookups
+ * don't creep back into the roster paths.
+ */
+@DisplayName("Grade sheet query budget Tests")
+class GradeSheetQueryBudgetTest extends BaseDAOTest {
+    private static final int ROSTER_SIZE = 200;
+    private static final long FIRST_USER_ID = 900_000L;
+
+    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final GradeService gradeService = new GradeService();
+    private final StudentDAO studentDAO = new StudentDAO();
+    private Long courseId;
+    private Long sectionId;
+
+    @BeforeEach
+    void createRoster() throws SQLException {
+        Course course = new Course();
+        course.setCode("QB200");
+        course.setTitle("Query Budget Course");
+        course.setCredits(3);
+        course.setDepartment("TEST");
+        courseId = new CourseDAO().save(course);
+
+        Section section = new Section();
+        section.setCourseId(courseId);
+        section.setInstructorId(1L);
+        section.setSectionNumber("QB1");
+        section.setDayOfWeek("Monday");
+        section.setStartTime(LocalTime.of(9, 0));
+        section.setEndTime(LocalTime.of(10, 0));
+        section.setRoom("Q101");
+        section.setCapacity(ROSTER_SIZE);
+        section.setEnrolled(0);
+        section.setSemester("Fall");
+        section.setYear(2025);
+        sectionId = new SectionDAO().save(section);
+
+        try (Connection conn = DatabaseConnection.getErpConnection();
+             PreparedStatement student = conn.prepareStatement("INSERT INTO students (user_id, roll_no, first_name, last_name, email, program, year) VALUES (?, ?, 'Budget', ?, ?, 'B.Tech', 1)");
+             PreparedStatement enrollment = conn.prepareStatement("INSERT INTO enrollments (student_id, section_id, status) SELECT student_id, ?, 'ENROLLED' FROM students WHERE user_id >= ?");
+             PreparedStatement grade = conn.prepareStatement("INSERT INTO grades (enrollment_id, component, score, max_score, weight) SELECT enrollment_id, ?, 80, 100, 50 FROM enrollments WHERE section_id = ?")) {
+            for (int i = 0; i < ROSTER_SIZE; i++) {
+                student.setLong(1, FIRST_USER_ID + i);
+                student.setString(2, "QB" + i);
+                student.setString(3, "Student" + i);
+                student.setString(4, "qb" + i + "@test.com");
+                student.addBatch();
+            }
+            student.executeBatch();
+            enrollment.setLong(1, sectionId);
+            enrollment.setLong(2, FIRST_USER_ID);
+            enrollment.executeUpdate();
+            for (String component : List.of("Midterm", "Final")) {
+                grade.setString(1, component);
+                grade.setLong(2, sectionId);
+                grade.executeUpdate();
+            }
+        }
+
+        User instructor = new User(2L, "inst1", "INSTRUCTOR");
+        SessionManager.getInstance().setCurrentUser(instructor);
+        SessionManager.getInstance().setInstructorId(1L);
+    }
+
+    @AfterEach
+    void deleteRoster() {
+        SessionManager.getInstance().logout();
+        // Enrollments and grades cascade
+        executeCleanupSQL("DELETE FROM sections WHERE section_id = " + sectionId);
+        executeCleanupSQL("DELETE FROM students WHERE user_id >= " + FIRST_USER_ID);
+        executeCleanupSQL("DELETE FROM courses WHERE course_id = " + courseId);
+    }
+
+    @Test
+    @DisplayName("Loading a 200-student grade sheet stays within a fixed query budget")
+    void testGradeSheetQueryBudget() {
+        // Roster + grades + names, each behind one section ownership check
+        QueryScope scope = QueryBudget.assertMaxQueries(5, "open grade sheet", () -> {
+            List<Enrollment> enrollments = enrollmentService.listBySection(sectionId);
+            Map<Long, List<Grade>> grades = gradeService.listComponentsBySection(sectionId);
+            List<Long> studentIds = enrollments.stream().map(Enrollment::getStudentId).toList();
+
+            assertEquals(ROSTER_SIZE, enrollments.size());
+            assertEquals(ROSTER_SIZE, grades.size());
+            assertEquals(ROSTER_SIZE, studentDAO.findByIds(studentIds).size());
+            enrollments.forEach(e -> assertEquals(2, grades.get(e.getEnrollmentId()).size()));
+        });
+        assertTrue(scope.getRepeatedStatements().stream().noneMatch(QueryScope.RepeatedStatement::isNPlusOne),
+                "Grade sheet should not issue per-student queries: " + scope);
+    }
+
+    @Test
+    @DisplayName("Per-enrollment grade lookups are flagged as N+1")
+    void testPerEnrollmentLookupsAreFlagged() {
+        QueryScope scope = QueryBudget.measure("grade sheet, one query per student", () -> {
+            for (Enrollment enrollment : enrollmentService.listBySection(sectionId)) {
+                gradeService.listComponents(enrollment.getEnrollmentId());
+            }
+        });
+
+        QueryScope.RepeatedStatement repeated = scope.getRepeatedStatements().stream()
+                .filter(r -> r.sql().contains("FROM grades WHERE enrollment_id = ?"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Expected grades lookup to repeat: " + scope));
+        assertEquals(ROSTER_SIZE, repeated.executions());
+        assertEquals(ROSTER_SIZE, repeated.distinctParameters());
+        assertTrue(repeated.isNPlusOne());
+        assertEquals("GradeDAO.listByEnrollment", repeated.caller());
+        assertThrows(AssertionError.class, () -> QueryBudget.assertMaxQueries(10, "per-student grades", () -> {
+            for (Enrollment enrollment : enrollmentService.listBySection(sectionId)) {
+                gradeService.listComponents(enrollment.getEnrollmentId());
+            }
+        }));
+    }
+
+    @Test
+    @DisplayName("Identical repeats are reported separately from N+1")
+    void testIdenticalRepeatsAreNotNPlusOne() {
+        QueryScope scope = QueryBudget.measure("same lookup repeated", () -> {
+            for (int i = 0; i < 6; i++) {
+                gradeService.listComponentsBySection(sectionId);
+            }
+        });
+        assertFalse(scope.getRepeatedStatements().isEmpty());
+        assertTrue(scope.getRepeatedStatements().stream()
+                .filter(r -> r.sql().contains("FROM grades g"))
+                .noneMatch(QueryScope.RepeatedStatement::isNPlusOne));
+    }
+
+    @Test
+    @DisplayName("Nested scopes count toward their parent")
+    void testNestedScopes() throws SQLException {
+        try (QueryScope outer = QueryScope.open("outer")) {
+            try (QueryScope inner = QueryScope.open("inner")) {
+                gradeService.listComponentsBySection(sectionId);
+                assertTrue(inner.getStatementCount() >= 1);
+            }
+            try (Connection conn = DatabaseConnection.getErpConnection(); Statement st = conn.createStatement()) {
+                st.executeQuery("SELECT COUNT(*) FROM grades").close();
+            }
+            assertTrue(outer.getStatementCount() >= 2);
+        }
+    }
+}
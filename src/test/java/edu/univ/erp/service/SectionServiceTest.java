@@ -91,6 +91,7 @@ class SectionServiceTest extends BaseDAOTest {
         instructor.setUsername("inst1");
         instructor.setRole("INSTRUCTOR");
         sessionManager.setCurrentUser(instructor);
+        sessionManager.setInstructorId(1L);
 
         // Act
         List<Section> sections = sectionService.listByInstructor(1L);
@@ -99,6 +100,22 @@ class SectionServiceTest extends BaseDAOTest {
         assertNotNull(sections, "Should return sections for instructor");
     }
 
+    @Test
+    @DisplayName("Should not list another instructor's sections")
+    void testListByInstructorRejectsOtherInstructor() {
+        // Arrange: Mock logged-in instructor with a different instructor ID
+        User instructor = new User();
+        instructor.setUserId(2L);
+        instructor.setUsername("inst1");
+        instructor.setRole("INSTRUCTOR");
+        sessionManager.setCurrentUser(instructor);
+        sessionManager.setInstructorId(99L);
+
+        // Act & Assert
+        assertThrows(PermissionException.class, () -> sectionService.listByInstructor(1L),
+                "Should only list the instructor's own sections");
+    }
+
     @Test
     @DisplayName("Should require admin role to list all sections")
     void testListAllRequiresAdmin() {
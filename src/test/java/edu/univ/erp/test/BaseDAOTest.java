@@ -13,15 +13,23 @@ import java.sql.Statement;
 
 /**
  * Base class for DAO unit tests providing database setup and cleanup.
+ * Tests run against the embedded in-memory database unless another
+ * provider is requested, e.g. mvn test -Ddb.provider=mysql.
  */
 public abstract class BaseDAOTest {
     private static final Logger logger = LoggerFactory.getLogger(BaseDAOTest.class);
 
+    static {
+        if (System.getProperty("db.provider") == null) {
+            System.setProperty("db.provider", "embedded");
+        }
+    }
+
     @BeforeAll
     static void setUpDatabase() {
         // Verify database connections are available
         if (!DatabaseConnection.testConnections()) {
-            throw new RuntimeException("Database connections not available. Please ensure MySQL is running and databases are created.");
+            throw new RuntimeException("Database connections not available. Check the db.provider setting; for MySQL ensure the server is running and databases are created.");
         }
         logger.info("Database connections verified for testing");
     }
@@ -0,0 +1,57 @@
+package edu.univ.erp.test;
+
+import edu.univ.erp.data.QueryScope;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-count assertions for tests, backed by {@link QueryScope}. Requires
+ * db.querydetector.enabled=true, which the surefire configuration sets.
+ * <pre>
+ *   QueryBudget.assertMaxQueries(3, "load roster", () -> service.loadRoster(sectionId));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Run the action inside a QueryScope and return the closed scope for inspection.
+     */
+    public static QueryScope measure(String action, Executable body) {
+        assertTrue(QueryScope.isEnabled(), "Query budgets need -Ddb.querydetector.enabled=true");
+        QueryScope scope = QueryScope.open(action);
+        try (scope) {
+            body.execute();
+        } catch (Throwable t) {
+            fail("'" + action + "' threw " + t, t);
+        }
+        return scope;
+    }
+
+    /**
+     * Fail if the action runs more than maxStatements SQL statements.
+     */
+    public static QueryScope assertMaxQueries(int maxStatements, String action, Executable body) {
+        QueryScope scope = measure(action, body);
+        assertTrue(scope.getStatementCount() <= maxStatements,
+                "Query budget exceeded (max " + maxStatements + "): " + scope);
+        return scope;
+    }
+
+    /**
+     * Fail if any statement repeats with different parameters, i.e. a per-row lookup.
+     */
+    public static QueryScope assertNoNPlusOne(String action, Executable body) {
+        QueryScope scope = measure(action, body);
+        List<QueryScope.RepeatedStatement> nPlusOne = scope.getRepeatedStatements().stream()
+                .filter(QueryScope.RepeatedStatement::isNPlusOne)
+                .toList();
+        assertTrue(nPlusOne.isEmpty(), "N+1 queries in '" + action + "': " + nPlusOne);
+        return scope;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.univ.erp.ui;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.awt.EventQueue;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtWatchdogTest {
+
+    private static EdtWatchdog watchdog;
+
+    @BeforeAll
+    static void install() {
+        watchdog = EdtWatchdog.install(100);
+    }
+
+    @AfterAll
+    static void uninstall() {
+        EdtWatchdog.uninstall();
+    }
+
+    @Test
+    void capturesTheStackOfALongEvent() throws Exception {
+        EventQueue.invokeAndWait(EdtWatchdogTest::slowHandler);
+        // invokeAndWait returns before dispatchEvent finishes timing; let the queue move on
+        EventQueue.invokeAndWait(() -> { });
+
+        EdtWatchdog.Stall stall = watchdog.getStalls().stream()
+                .filter(s -> Arrays.stream(s.stack()).anyMatch(f -> f.getMethodName().equals("slowHandler")))
+                .findFirst().orElseThrow(() -> new AssertionError(watchdog.report()));
+        assertTrue(stall.blockedMillis() >= 100, watchdog.report());
+        assertTrue(watchdog.getEventDurations().getMaxNanos() >= 300_000_000L, watchdog.report());
+        assertTrue(watchdog.report().contains("slowHandler"));
+    }
+
+    @Test
+    void measuresDispatchLatency() throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (watchdog.getDispatchLatency().getCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(watchdog.getDispatchLatency().getCount() > 0);
+    }
+
+    private static void slowHandler() {
+        try {
+            Thread.sleep(400);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package edu.univ.erp.ui;
+
+import edu.univ.erp.data.InstrumentedDataSource;
+import edu.univ.erp.data.RunningStatements;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskExecutorTest {
+
+    @Test
+    void reportsCannotTakeEverySlot() throws Exception {
+        TaskExecutor executor = new TaskExecutor(4, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> await(release), TaskPriority.REPORT);
+        }
+        CountDownLatch interactiveRan = new CountDownLatch(1);
+        executor.submit(interactiveRan::countDown, TaskPriority.INTERACTIVE);
+
+        assertTrue(interactiveRan.await(5, TimeUnit.SECONDS), "interactive task waited behind reports");
+        assertEquals(2, executor.getRunning(TaskPriority.REPORT));
+        assertEquals(2, executor.getQueued(TaskPriority.REPORT));
+        release.countDown();
+    }
+
+    @Test
+    void queuedTasksStartInPriorityOrder() throws Exception {
+        TaskExecutor executor = new TaskExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> await(release), TaskPriority.INTERACTIVE);
+
+        List<TaskPriority> order = new CopyOnWriteArrayList<>();
+        CountDownLatch allRan = new CountDownLatch(3);
+        for (TaskPriority priority : new TaskPriority[]{TaskPriority.REPORT, TaskPriority.PREFETCH, TaskPriority.INTERACTIVE}) {
+            executor.submit(() -> {
+                order.add(priority);
+                allRan.countDown();
+            }, priority);
+        }
+        release.countDown();
+
+        assertTrue(allRan.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(TaskPriority.INTERACTIVE, TaskPriority.PREFETCH, TaskPriority.REPORT), order);
+    }
+
+    @Test
+    void cancellingTheGroupCancelsTheRunningStatement() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:task_cancel_test;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = new InstrumentedDataSource(h2, false);
+
+        TaskGroup group = new TaskGroup("test");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch stopped = new CountDownLatch(1);
+        CountDownLatch finishedCalled = new CountDownLatch(1);
+        new BackgroundTask<Long, Void>(group) {
+            @Override
+            protected Long runInBackground() throws Exception {
+                try (Connection conn = dataSource.getConnection();
+                     Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT SUM(X * X) FROM SYSTEM_RANGE(1, 100000000000)")) {
+                    rs.next();
+                    return rs.getLong(1);
+                } catch (SQLException e) {
+                    failure.set(e);
+                    throw e;
+                } finally {
+                    stopped.countDown();
+                }
+            }
+
+            @Override
+            protected void finished() {
+                finishedCalled.countDown();
+            }
+        }.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (RunningStatements.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, group.size());
+        assertEquals(1, group.cancelAll());
+
+        assertTrue(stopped.await(5, TimeUnit.SECONDS), "query kept running after cancel");
+        assertInstanceOf(SQLException.class, failure.get());
+        assertEquals(0, group.size());
+        assertFalse(finishedCalled.await(200, TimeUnit.MILLISECONDS), "finished() called for a cancelled task");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
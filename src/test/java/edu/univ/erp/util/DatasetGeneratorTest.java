@@ -0,0 +1,100 @@
+package edu.univ.erp.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import edu.univ.erp.data.EmbeddedDataSourceProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DatasetGenerator Tests")
+class DatasetGeneratorTest {
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Generate into a private embedded database pair, isolated from the one the DAO tests share.
+     */
+    private DatasetGenerator.Summary generate(String databaseName, DatasetGenerator.Spec spec, Connection[] out) throws SQLException {
+        EmbeddedDataSourceProvider provider = new EmbeddedDataSourceProvider(databaseName, true);
+        DataSource auth = provider.createAuthDataSource();
+        DataSource erp = provider.createErpDataSource();
+        pools.add((HikariDataSource) auth);
+        pools.add((HikariDataSource) erp);
+        out[0] = auth.getConnection();
+        out[1] = erp.getConnection();
+        return new DatasetGenerator(spec).generate(out[0], out[1]);
+    }
+
+    private static long queryLong(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Generates consistent data on top of the seed data")
+    void testGeneratesConsistentData() throws SQLException {
+        Connection[] conns = new Connection[2];
+        DatasetGenerator.Summary summary = generate("gen_consistent", DatasetGenerator.Spec.forStudents(500, 7L), conns);
+        try (Connection auth = conns[0]; Connection erp = conns[1]) {
+            // Seed data has 2 students, 1 instructor and 4 users
+            assertEquals(502, queryLong(erp, "SELECT COUNT(*) FROM students"));
+            assertEquals(4 + 500 + summary.instructors(), queryLong(auth, "SELECT COUNT(*) FROM users_auth"));
+            assertEquals(summary.enrollments() + 2, queryLong(erp, "SELECT COUNT(*) FROM enrollments"));
+            assertEquals(summary.grades() + 6, queryLong(erp, "SELECT COUNT(*) FROM grades"));
+            assertTrue(summary.enrollments() > 500 * 4, "Most requested enrollments should find a seat");
+
+            // Every generated student has a STUDENT account
+            long maxUserId = queryLong(auth, "SELECT MAX(user_id) FROM users_auth");
+            assertEquals(0, queryLong(erp, "SELECT COUNT(*) FROM students WHERE user_id > " + maxUserId));
+            assertEquals(0, queryLong(auth, "SELECT COUNT(*) FROM users_auth u WHERE u.role = 'STUDENT' AND u.user_id > 4 "
+                    + "AND u.username NOT LIKE 'stu%'"));
+
+            // Seat counts match active enrollments and never exceed capacity
+            assertEquals(0, queryLong(erp, "SELECT COUNT(*) FROM sections s WHERE s.enrolled <> "
+                    + "(SELECT COUNT(*) FROM enrollments e WHERE e.section_id = s.section_id AND e.status <> 'DROPPED')"));
+            assertEquals(0, queryLong(erp, "SELECT COUNT(*) FROM sections WHERE enrolled > capacity"));
+
+            // Past terms are completed with a final grade, the current term is in progress
+            assertEquals(0, queryLong(erp, "SELECT COUNT(*) FROM enrollments WHERE status = 'COMPLETED' AND final_grade IS NULL"));
+            assertTrue(queryLong(erp, "SELECT COUNT(*) FROM enrollments e JOIN sections s ON e.section_id = s.section_id "
+                    + "WHERE e.status = 'ENROLLED' AND s.semester = 'Fall' AND s.year = 2025") > 0);
+            assertEquals(0, queryLong(erp, "SELECT COUNT(*) FROM grades WHERE score > max_score OR score < 0"));
+        }
+    }
+
+    @Test
+    @DisplayName("Same seed produces the same data")
+    void testReproducibleFromSeed() throws SQLException {
+        DatasetGenerator.Spec spec = DatasetGenerator.Spec.forStudents(200, 11L);
+        Connection[] first = new Connection[2];
+        Connection[] second = new Connection[2];
+        generate("gen_repro_a", spec, first);
+        generate("gen_repro_b", spec, second);
+
+        String checksum = "SELECT SUM(score * 100 + enrollment_id) FROM grades";
+        try (Connection a = first[1]; Connection b = second[1]) {
+            assertEquals(queryLong(a, checksum), queryLong(b, checksum));
+            assertEquals(queryLong(a, "SELECT SUM(section_id * 7 + student_id) FROM enrollments"),
+                    queryLong(b, "SELECT SUM(section_id * 7 + student_id) FROM enrollments"));
+        } finally {
+            first[0].close();
+            second[0].close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package edu.univ.erp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    @Test
+    void smallSetsAreExact() {
+        TDigest digest = new TDigest();
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        for (double value : new double[]{72, 55, 91, 64}) {
+            digest.add(value);
+        }
+        assertEquals(4, digest.getCount());
+        assertEquals((64 + 72) / 2.0, digest.quantile(0.5), 1e-9);
+        assertEquals(55, digest.quantile(0.0), 1e-9);
+        assertEquals(91, digest.quantile(1.0), 1e-9);
+        digest.add(80);
+        assertEquals(72, digest.quantile(0.5), 1e-9);
+    }
+
+    @Test
+    void mergedDigestsStayCloseToExactPercentiles() {
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        TDigest merged = new TDigest();
+        // One digest per "section" of 50, merged like a department-wide view
+        for (int start = 0; start < values.length; start += 50) {
+            TDigest section = new TDigest();
+            for (int i = start; i < start + 50; i++) {
+                values[i] = Math.min(100, Math.max(0, 72 + 12 * random.nextGaussian()));
+                section.add(values[i]);
+            }
+            merged.add(TDigest.fromBytes(section.toBytes()));
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, merged.getCount());
+        assertTrue(merged.centroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION);
+        for (double q : new double[]{0.01, 0.1, 0.5, 0.9, 0.99}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertEquals(exact, merged.quantile(q), 0.5, "q=" + q);
+        }
+        assertEquals(values[0], merged.getMin());
+        assertEquals(values[values.length - 1], merged.getMax());
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        TDigest digest = new TDigest();
+        for (int i = 0; i < 1_000; i++) {
+            digest.add(i % 101);
+        }
+        TDigest copy = TDigest.fromBytes(digest.toBytes());
+        assertEquals(digest.getCount(), copy.getCount());
+        for (double q = 0; q <= 1.0; q += 0.125) {
+            assertEquals(digest.quantile(q), copy.quantile(q), 1e-9);
+        }
+    }
+
+    @Test
+    void removingFromSmallSetsIsExact() {
+        TDigest digest = new TDigest();
+        for (double value : new double[]{60, 75, 80, 90}) {
+            digest.add(value);
+        }
+        assertTrue(digest.remove(80));
+        assertEquals(3, digest.getCount());
+        assertEquals(75.0, digest.quantile(0.5), 1e-9);
+        assertFalse(digest.remove(70), "a value that was never added is not removed");
+        assertEquals(3, digest.getCount());
+
+        // A value merged into a larger centroid cannot be taken out exactly
+        TDigest large = new TDigest();
+        for (int i = 0; i < 10_000; i++) {
+            large.add(i % 100);
+        }
+        double median = large.quantile(0.5);
+        assertFalse(large.remove(50));
+        assertEquals(10_000, large.getCount());
+        assertEquals(median, large.quantile(0.5));
+    }
+}